@@ -30,6 +30,7 @@ class ShadowsPlugin implements Plugin<Project> {
         compileJavaTask.doFirst {
             options.compilerArgs.add("-Aorg.robolectric.annotation.processing.shadowPackage=${project.shadows.packageName}")
             options.compilerArgs.add("-Aorg.robolectric.annotation.processing.sdkCheckMode=${project.shadows.sdkCheckMode}")
+            options.compilerArgs.add("-Aorg.robolectric.annotation.processing.sdkIndexDir=${project.buildDir}/robolectric-sdk-indexes")
         }
 
         // include generated sources in javadoc jar
@@ -33,6 +33,8 @@ import org.robolectric.internal.bytecode.SandboxConfig;
 import org.robolectric.internal.bytecode.ShadowInfo;
 import org.robolectric.internal.bytecode.ShadowMap;
 import org.robolectric.internal.bytecode.ShadowWrangler;
+import org.robolectric.util.LeakDetector;
+import org.robolectric.util.Logger;
 import org.robolectric.util.PerfStatsCollector;
 import org.robolectric.util.PerfStatsCollector.Event;
 import org.robolectric.util.PerfStatsCollector.Metadata;
@@ -51,6 +53,9 @@ public class SandboxTestRunner extends BlockJUnit4ClassRunner {
   private final Interceptors interceptors;
   private final List<PerfStatsReporter> perfStatsReporters;
   private final HashSet<Class<?>> loadedTestClasses = new HashSet<>();
+  private final boolean trackAllocations =
+      Boolean.getBoolean("robolectric.perfStats.trackAllocations");
+  private final boolean trackHeap = Boolean.getBoolean("robolectric.perfStats.trackHeap");
 
   public SandboxTestRunner(Class<?> klass) throws InitializationError {
     super(klass);
@@ -219,8 +224,10 @@ public class SandboxTestRunner extends BlockJUnit4ClassRunner {
         PerfStatsCollector perfStatsCollector = PerfStatsCollector.getInstance();
         perfStatsCollector.reset();
         perfStatsCollector.setEnabled(!perfStatsReporters.isEmpty());
+        perfStatsCollector.setAllocationTrackingEnabled(trackAllocations);
+        perfStatsCollector.setHeapTrackingEnabled(trackHeap);
 
-        Event initialization = perfStatsCollector.startEvent("initialization");
+        Event initialization = perfStatsCollector.startEvent("initialization", true);
 
         Sandbox sandbox = getSandbox(method);
 
@@ -245,6 +252,7 @@ public class SandboxTestRunner extends BlockJUnit4ClassRunner {
           throw new RuntimeException(e);
         }
 
+        Event reset = null;
         try {
           // Only invoke @BeforeClass once per class
           invokeBeforeClass(bootstrappedTestClass);
@@ -255,15 +263,31 @@ public class SandboxTestRunner extends BlockJUnit4ClassRunner {
 
           final Statement statement = helperTestRunner.methodBlock(new FrameworkMethod(bootstrappedMethod));
 
+          Event test = perfStatsCollector.startEvent("test", true);
+          boolean success = false;
           // todo: this try/finally probably isn't right -- should mimic RunAfters? [xw]
           try {
             statement.evaluate();
+            success = true;
           } finally {
+            test.finished(success);
+            reset = perfStatsCollector.startEvent("reset", true);
             afterTest(method, bootstrappedMethod);
           }
         } finally {
           Thread.currentThread().setContextClassLoader(priorContextClassLoader);
-          finallyAfterTest(method);
+          if (reset == null) {
+            reset = perfStatsCollector.startEvent("reset", true);
+          }
+          try {
+            finallyAfterTest(method);
+          } finally {
+            reset.finished();
+          }
+
+          if (LeakDetector.isEnabled()) {
+            reportLeaks(method, findLeaks(sandbox));
+          }
 
           reportPerfStats(perfStatsCollector);
           perfStatsCollector.reset();
@@ -272,6 +296,25 @@ public class SandboxTestRunner extends BlockJUnit4ClassRunner {
     };
   }
 
+  private List<LeakDetector.Leak> findLeaks(Sandbox sandbox) {
+    ClassLoader classLoader = sandbox.getRobolectricClassLoader();
+    List<Class<?>> rootClasses = classLoader instanceof SandboxClassLoader
+        ? ((SandboxClassLoader) classLoader).getLoadedClasses()
+        : Collections.emptyList();
+    return LeakDetector.findLeaks(rootClasses);
+  }
+
+  /**
+   * Called after each test when leak detection is enabled, with the objects the test leaked, if
+   * any.
+   */
+  protected void reportLeaks(FrameworkMethod method, List<LeakDetector.Leak> leaks) {
+    for (LeakDetector.Leak leak : leaks) {
+      Logger.error("%s.%s: leaked %s",
+          method.getDeclaringClass().getName(), method.getName(), leak);
+    }
+  }
+
   private void reportPerfStats(PerfStatsCollector perfStatsCollector) {
     if (perfStatsReporters.isEmpty()) {
       return;
@@ -32,7 +32,8 @@ import org.robolectric.annotation.processing.validator.Validator;
  */
 @SupportedOptions({
   RobolectricProcessor.PACKAGE_OPT, 
-  RobolectricProcessor.SHOULD_INSTRUMENT_PKG_OPT})
+  RobolectricProcessor.SHOULD_INSTRUMENT_PKG_OPT,
+  RobolectricProcessor.SDK_INDEX_DIR})
 @SupportedAnnotationTypes("org.robolectric.annotation.*")
 public class RobolectricProcessor extends AbstractProcessor {
   static final String PACKAGE_OPT = "org.robolectric.annotation.processing.shadowPackage";
@@ -41,6 +42,7 @@ public class RobolectricProcessor extends AbstractProcessor {
   static final String JSON_DOCS_DIR = "org.robolectric.annotation.processing.jsonDocsDir";
   static final String SDK_CHECK_MODE =
       "org.robolectric.annotation.processing.sdkCheckMode";
+  static final String SDK_INDEX_DIR = "org.robolectric.annotation.processing.sdkIndexDir";
 
   private Builder modelBuilder;
   private String shadowPackage;
@@ -51,6 +53,7 @@ public class RobolectricProcessor extends AbstractProcessor {
   private final List<Generator> generators = new ArrayList<>();
   private final Map<TypeElement, Validator> elementValidators = new HashMap<>(13);
   private File jsonDocsDir;
+  private File sdkIndexDir;
 
   /**
    * Default constructor.
@@ -78,7 +81,7 @@ public class RobolectricProcessor extends AbstractProcessor {
     modelBuilder = new Builder(environment);
 
     addValidator(new ImplementationValidator(modelBuilder, environment));
-    addValidator(new ImplementsValidator(modelBuilder, environment, sdkCheckMode));
+    addValidator(new ImplementsValidator(modelBuilder, environment, sdkCheckMode, sdkIndexDir));
     addValidator(new RealObjectValidator(modelBuilder, environment));
     addValidator(new ResetterValidator(modelBuilder, environment));
   }
@@ -120,6 +123,7 @@ public class RobolectricProcessor extends AbstractProcessor {
       this.shouldInstrumentPackages =
           !"false".equalsIgnoreCase(options.get(SHOULD_INSTRUMENT_PKG_OPT));
       jsonDocsDir = new File(options.getOrDefault(JSON_DOCS_DIR, "build/docs/json"));
+      sdkIndexDir = new File(options.getOrDefault(SDK_INDEX_DIR, "build/robolectric-sdk-indexes"));
       this.sdkCheckMode =
           SdkCheckMode.valueOf(options.getOrDefault(SDK_CHECK_MODE, "WARN").toUpperCase());
 
@@ -4,6 +4,7 @@ import static org.robolectric.annotation.processing.validator.ImplementationVali
 
 import com.sun.source.tree.ImportTree;
 import com.sun.source.util.Trees;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -11,6 +12,8 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.lang.model.element.AnnotationMirror;
@@ -30,6 +33,7 @@ import org.robolectric.annotation.Implementation;
 import org.robolectric.annotation.processing.DocumentedMethod;
 import org.robolectric.annotation.processing.Helpers;
 import org.robolectric.annotation.processing.RobolectricModel;
+import org.robolectric.annotation.processing.validator.SdkStore.ImplementationMethod;
 
 /**
  * Validator that checks usages of {@link org.robolectric.annotation.Implements}.
@@ -42,10 +46,12 @@ public class ImplementsValidator extends Validator {
   public static final String STATIC_INITIALIZER_METHOD_NAME = "__staticInitializer__";
   public static final String CONSTRUCTOR_METHOD_NAME = "__constructor__";
 
-  private static final SdkStore sdkStore = new SdkStore();
+  // shared by compilations in the same JVM which use the same indexes
+  private static final Map<File, SdkStore> sdkStores = new ConcurrentHashMap<>();
 
   private final ProcessingEnvironment env;
   private final SdkCheckMode sdkCheckMode;
+  private final SdkStore sdkStore;
 
   /**
    * Supported modes for validation of {@link Implementation} methods against SDKs.
@@ -57,11 +63,12 @@ public class ImplementsValidator extends Validator {
   }
 
   public ImplementsValidator(RobolectricModel.Builder modelBuilder, ProcessingEnvironment env,
-      SdkCheckMode sdkCheckMode) {
+      SdkCheckMode sdkCheckMode, File sdkIndexDir) {
     super(modelBuilder, env, IMPLEMENTS_CLASS);
 
     this.env = env;
     this.sdkCheckMode = sdkCheckMode;
+    this.sdkStore = sdkStores.computeIfAbsent(sdkIndexDir.getAbsoluteFile(), SdkStore::new);
   }
 
   private TypeElement getClassNameTypeElement(AnnotationValue cv) {
@@ -241,10 +248,17 @@ public class ImplementsValidator extends Validator {
           : Kind.ERROR;
       Problems problems = new Problems(kind);
 
-      for (SdkStore.Sdk sdk : sdkStore.sdksMatching(implementation, classMinSdk, classMaxSdk)) {
-        String problem = sdk.verifyMethod(sdkClassElem, methodElement, looseSignatures);
-        if (problem != null) {
-          problems.add(problem, sdk.sdkInt);
+      // SDKs are checked in parallel; the method's signature is read from javac's model up front,
+      // so that only the thread-safe SDK indexes are used off this thread
+      ImplementationMethod implementationMethod =
+          new ImplementationMethod(sdkClassElem, methodElement);
+      List<SdkStore.Sdk> sdks = sdkStore.sdksMatching(implementation, classMinSdk, classMaxSdk);
+      List<String> sdkProblems = sdks.parallelStream()
+          .map(sdk -> sdk.verifyMethod(implementationMethod, looseSignatures))
+          .collect(Collectors.toList());
+      for (int i = 0; i < sdks.size(); i++) {
+        if (sdkProblems.get(i) != null) {
+          problems.add(sdkProblems.get(i), sdks.get(i).sdkInt);
         }
       }
 
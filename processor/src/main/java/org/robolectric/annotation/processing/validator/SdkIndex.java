@@ -0,0 +1,268 @@
+package org.robolectric.annotation.processing.validator;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.robolectric.annotation.processing.validator.SdkStore.ClassInfo;
+
+/**
+ * Compact index of the classes and methods of an SDK jar, which `@Implementation` methods are
+ * validated against.
+ *
+ * Reading class files from an android-all jar is slow, and every compilation of a shadow library
+ * used to do it again for every SDK. The index is built once per jar, stored in a file, and
+ * memory-mapped by later compilations, which only decode the classes they look up.
+ *
+ * The file is made of, in big-endian order:
+ * # a header: magic number, version, API level and class count;
+ * # for each class, sorted by name, the offsets of its name and of its methods;
+ * # for each class, its method count, then the offsets of each method's name and descriptor, and
+ *   its access flags;
+ * # a pool of strings, each its length followed by its UTF-8 bytes.
+ */
+class SdkIndex {
+  private static final int MAGIC = 0x524f4249; // "ROBI"
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 16;
+  private static final int CLASS_ENTRY_SIZE = 8;
+  private static final int METHOD_ENTRY_SIZE = 12;
+
+  private final ByteBuffer buffer;
+  final int sdkInt;
+  private final int classCount;
+
+  private SdkIndex(ByteBuffer buffer) {
+    this.buffer = buffer;
+    this.sdkInt = buffer.getInt(8);
+    this.classCount = buffer.getInt(12);
+  }
+
+  /**
+   * Maps the index of the jar at {@code jarUrl} stored in {@code indexDir}, building it first if
+   * there is none for this version of the jar yet.
+   */
+  static SdkIndex load(URL jarUrl, File indexDir) throws IOException {
+    URLConnection connection = jarUrl.openConnection();
+    String jarName = new File(jarUrl.getPath()).getName();
+    File indexFile = new File(indexDir, jarName
+        + "-" + connection.getContentLengthLong() + "-" + connection.getLastModified() + ".idx");
+    if (indexFile.exists()) {
+      ByteBuffer buffer = map(indexFile);
+      if (buffer.limit() >= HEADER_SIZE
+          && buffer.getInt(0) == MAGIC
+          && buffer.getInt(4) == VERSION) {
+        return new SdkIndex(buffer);
+      }
+    }
+
+    try (InputStream jarIn = connection.getInputStream()) {
+      build(jarUrl, jarIn, indexFile);
+    }
+    deleteStaleIndexes(indexDir, jarName, indexFile);
+    return new SdkIndex(map(indexFile));
+  }
+
+  /**
+   * Deletes the indexes of other versions of the jar named {@code jarName}, so only one index per
+   * jar is kept however often the jar is rebuilt.
+   */
+  private static void deleteStaleIndexes(File indexDir, String jarName, File indexFile) {
+    File[] staleIndexFiles = indexDir.listFiles((dir, name) ->
+        name.startsWith(jarName + "-")
+            && name.endsWith(".idx")
+            && !name.equals(indexFile.getName()));
+    if (staleIndexFiles != null) {
+      for (File staleIndexFile : staleIndexFiles) {
+        // may fail while another compilation has it mapped, in which case it goes next time
+        staleIndexFile.delete();
+      }
+    }
+  }
+
+  private static ByteBuffer map(File indexFile) throws IOException {
+    try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  /**
+   * Returns the methods of the class named {@code className}, in binary form (e.g. {@code
+   * android.view.View$OnClickListener}), or null if there's no such class.
+   */
+  ClassInfo getClassInfo(String className) {
+    int classIndex = findClass(className);
+    if (classIndex < 0) {
+      return null;
+    }
+
+    ClassInfo classInfo = new ClassInfo();
+    int methodsOffset = buffer.getInt(HEADER_SIZE + classIndex * CLASS_ENTRY_SIZE + 4);
+    int methodCount = buffer.getInt(methodsOffset);
+    for (int i = 0; i < methodCount; i++) {
+      int methodOffset = methodsOffset + 4 + i * METHOD_ENTRY_SIZE;
+      classInfo.addMethod(
+          readString(buffer.getInt(methodOffset)),
+          readString(buffer.getInt(methodOffset + 4)),
+          buffer.getInt(methodOffset + 8));
+    }
+    return classInfo;
+  }
+
+  private int findClass(String className) {
+    int low = 0;
+    int high = classCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = readString(buffer.getInt(HEADER_SIZE + mid * CLASS_ENTRY_SIZE)).compareTo(className);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  private String readString(int offset) {
+    int length = buffer.getInt(offset);
+    byte[] bytes = new byte[length];
+    ByteBuffer duplicate = buffer.duplicate();
+    duplicate.position(offset + 4);
+    duplicate.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void build(URL jarUrl, InputStream jarIn, File indexFile) throws IOException {
+    Integer sdkInt = null;
+    // class name -> [name, descriptor, access] of each method
+    Map<String, List<Object[]>> classes = new TreeMap<>();
+    ZipInputStream zipIn = new ZipInputStream(new BufferedInputStream(jarIn));
+    ZipEntry entry;
+    while ((entry = zipIn.getNextEntry()) != null) {
+      String name = entry.getName();
+      if (name.equals("build.prop")) {
+        sdkInt = readSdkInt(zipIn);
+      } else if (name.endsWith(".class")) {
+        String className = name.substring(0, name.length() - ".class".length()).replace('/', '.');
+        classes.put(className, readMethods(zipIn));
+      }
+    }
+    if (sdkInt == null) {
+      throw new IOException("no build.prop in " + jarUrl);
+    }
+
+    ByteArrayOutputStream strings = new ByteArrayOutputStream();
+    Map<String, Integer> stringOffsets = new HashMap<>();
+    int stringsOffset = HEADER_SIZE + classes.size() * CLASS_ENTRY_SIZE;
+    for (List<Object[]> methods : classes.values()) {
+      stringsOffset += 4 + methods.size() * METHOD_ENTRY_SIZE;
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(MAGIC);
+    out.writeInt(VERSION);
+    out.writeInt(sdkInt);
+    out.writeInt(classes.size());
+    int methodsOffset = HEADER_SIZE + classes.size() * CLASS_ENTRY_SIZE;
+    for (Map.Entry<String, List<Object[]>> classEntry : classes.entrySet()) {
+      out.writeInt(stringsOffset + intern(classEntry.getKey(), strings, stringOffsets));
+      out.writeInt(methodsOffset);
+      methodsOffset += 4 + classEntry.getValue().size() * METHOD_ENTRY_SIZE;
+    }
+    for (List<Object[]> methods : classes.values()) {
+      out.writeInt(methods.size());
+      for (Object[] method : methods) {
+        out.writeInt(stringsOffset + intern((String) method[0], strings, stringOffsets));
+        out.writeInt(stringsOffset + intern((String) method[1], strings, stringOffsets));
+        out.writeInt((Integer) method[2]);
+      }
+    }
+    strings.writeTo(out);
+    out.flush();
+
+    // written aside and moved in place, so concurrent compilations never map a partial index
+    indexFile.getParentFile().mkdirs();
+    File tempFile = File.createTempFile(indexFile.getName(), ".tmp", indexFile.getParentFile());
+    try {
+      try (FileOutputStream fileOut = new FileOutputStream(tempFile)) {
+        bytes.writeTo(fileOut);
+      }
+      Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      tempFile.delete();
+    }
+  }
+
+  private static int intern(
+      String string, ByteArrayOutputStream strings, Map<String, Integer> stringOffsets)
+      throws IOException {
+    Integer offset = stringOffsets.get(string);
+    if (offset == null) {
+      offset = strings.size();
+      stringOffsets.put(string, offset);
+      byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+      new DataOutputStream(strings).writeInt(utf8.length);
+      strings.write(utf8);
+    }
+    return offset;
+  }
+
+  private static List<Object[]> readMethods(InputStream classIn) throws IOException {
+    ClassReader classReader = new ClassReader(classIn);
+    ClassNode classNode = new ClassNode();
+    classReader.accept(classNode,
+        ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    List<Object[]> methods = new ArrayList<>(classNode.methods.size());
+    for (Object aMethod : classNode.methods) {
+      MethodNode method = (MethodNode) aMethod;
+      methods.add(new Object[] {method.name, method.desc, method.access});
+    }
+    return methods;
+  }
+
+  /**
+   * Determine the API level for this SDK jar by inspecting its `build.prop` file.
+   *
+   * If the `ro.build.version.codename` value isn't `REL`, this is an unreleased SDK, which
+   * is represented as `10000` (see {@link android.os.Build.VERSION_CODES#CUR_DEVELOPMENT}.
+   *
+   * @return the API level, or `10000`
+   */
+  private static int readSdkInt(InputStream buildPropIn) throws IOException {
+    Properties properties = new Properties();
+    properties.load(buildPropIn);
+    int sdkInt = Integer.parseInt(properties.getProperty("ro.build.version.sdk"));
+    String codename = properties.getProperty("ro.build.version.codename");
+    if (!"REL".equals(codename)) {
+      sdkInt = 10000;
+    }
+
+    return sdkInt;
+  }
+}
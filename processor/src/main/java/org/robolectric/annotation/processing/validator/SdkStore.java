@@ -9,39 +9,40 @@ import com.sun.tools.javac.code.Type.ArrayType;
 import com.sun.tools.javac.code.Type.TypeVar;
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.jar.JarFile;
-import java.util.zip.ZipEntry;
+import java.util.stream.Collectors;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeMirror;
-import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
-import org.objectweb.asm.tree.ClassNode;
-import org.objectweb.asm.tree.MethodNode;
 import org.robolectric.annotation.Implementation;
 
 class SdkStore {
 
+  private final File indexDir;
   private final Set<Sdk> sdks = new TreeSet<>();
   private boolean loaded = false;
 
+  /** Keeps SDK indexes in {@code indexDir}, so they outlive the compilation that built them. */
+  SdkStore(File indexDir) {
+    this.indexDir = indexDir;
+  }
+
   List<Sdk> sdksMatching(Implementation implementation, int classMinSdk, int classMaxSdk) {
     loadSdksOnce();
 
@@ -73,12 +74,12 @@ class SdkStore {
 
   private synchronized void loadSdksOnce() {
     if (!loaded) {
-      sdks.addAll(loadFromSdksFile("/sdks.txt"));
+      sdks.addAll(loadFromSdksFile("/sdks.txt", indexDir));
       loaded = true;
     }
   }
 
-  private static List<Sdk> loadFromSdksFile(String resourceFileName) {
+  private static List<Sdk> loadFromSdksFile(String resourceFileName, File indexDir) {
     try (InputStream resIn = SdkStore.class.getResourceAsStream(resourceFileName)) {
       if (resIn == null) {
         throw new RuntimeException("no such resource " + resourceFileName);
@@ -86,14 +87,17 @@ class SdkStore {
 
       BufferedReader in =
           new BufferedReader(new InputStreamReader(resIn, Charset.defaultCharset()));
-      List<Sdk> sdks = new ArrayList<>();
+      List<String> paths = new ArrayList<>();
       String line;
       while ((line = in.readLine()) != null) {
         if (!line.startsWith("#")) {
-          sdks.add(new Sdk(line));
+          paths.add(line);
         }
       }
-      return sdks;
+      // indexes are built or mapped for all SDKs at once, the first build reads every jar
+      return paths.parallelStream()
+          .map(path -> new Sdk(path, indexDir))
+          .collect(Collectors.toList());
     } catch (IOException e) {
       throw new RuntimeException("failed reading " + resourceFileName, e);
     }
@@ -113,49 +117,81 @@ class SdkStore {
     return paramType.replaceAll("<.*", "");
   }
 
+  /**
+   * An `@Implementation` method, with its signature read once, to be checked against any number of
+   * SDKs.
+   */
+  static class ImplementationMethod {
+    final String methodName;
+    final String className;
+    final MethodInfo methodInfo;
+    final MethodExtraInfo extraInfo;
+    final boolean returnTypeMismatchSuppressed;
+
+    ImplementationMethod(TypeElement sdkClassElem, ExecutableElement methodElement) {
+      this.methodName = methodElement.getSimpleName().toString();
+      this.className = getClassFQName(sdkClassElem);
+      this.methodInfo = new MethodInfo(methodElement);
+      this.extraInfo = new MethodExtraInfo(methodElement);
+      this.returnTypeMismatchSuppressed =
+          suppressWarnings(methodElement, "robolectric.ShadowReturnTypeMismatch");
+    }
+  }
+
+  private static boolean suppressWarnings(ExecutableElement methodElement, String warningName) {
+    SuppressWarnings[] suppressWarnings = methodElement.getAnnotationsByType(SuppressWarnings.class);
+    for (SuppressWarnings suppression : suppressWarnings) {
+      for (String name : suppression.value()) {
+        if (warningName.equals(name)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   static class Sdk implements Comparable<Sdk> {
     private static final ClassInfo NULL_CLASS_INFO = new ClassInfo();
 
     private final String path;
-    private final JarFile jarFile;
+    private final SdkIndex sdkIndex;
     final int sdkInt;
     private final Map<String, ClassInfo> classInfos = new HashMap<>();
-    private static File tempDir;
 
-    Sdk(String path) {
+    Sdk(String path, File indexDir) {
       this.path = path;
-      this.jarFile = ensureJar();
-      this.sdkInt = readSdkInt();
+      this.sdkIndex = loadIndex(indexDir);
+      this.sdkInt = sdkIndex.sdkInt;
     }
 
     /**
      * Matches an `@Implementation` method against the framework method for this SDK.
      *
-     * @param sdkClassElem the framework class being shadowed
-     * @param methodElement the `@Implementation` method declaration to check
+     * @param implementationMethod the `@Implementation` method to check
      * @param looseSignatures if `true`, also match any framework method with the same class,
      *     name, return type, and arity of parameters.
      * @return a string describing any problems with this method, or `null` if it checks out.
      */
-    public String verifyMethod(TypeElement sdkClassElem, ExecutableElement methodElement,
-        boolean looseSignatures) {
-      String className = getClassFQName(sdkClassElem);
+    String verifyMethod(ImplementationMethod implementationMethod, boolean looseSignatures) {
+      String className = implementationMethod.className;
+      String methodName = implementationMethod.methodName;
       ClassInfo classInfo = getClassInfo(className);
 
       if (classInfo == null) {
         return "No such class " + className;
       }
 
-      MethodExtraInfo sdkMethod = classInfo.findMethod(methodElement, looseSignatures);
+      MethodExtraInfo sdkMethod =
+          classInfo.findMethod(implementationMethod.methodInfo, looseSignatures);
       if (sdkMethod == null) {
         return "No such method in " + className;
       }
 
-      MethodExtraInfo implMethod = new MethodExtraInfo(methodElement);
+      MethodExtraInfo implMethod = implementationMethod.extraInfo;
       if (!sdkMethod.equals(implMethod)
-          && !suppressWarnings(methodElement, "robolectric.ShadowReturnTypeMismatch")) {
+          && !implementationMethod.returnTypeMismatchSuppressed) {
         if (implMethod.isStatic != sdkMethod.isStatic) {
-          return "@Implementation for " + methodElement.getSimpleName()
+          return "@Implementation for " + methodName
               + " is " + (implMethod.isStatic ? "static" : "not static")
               + " unlike the SDK method";
         }
@@ -167,7 +203,7 @@ class SdkStore {
                   || typeIsNumeric(sdkMethod, implMethod)) {
             return null;
           } else {
-            return "@Implementation for " + methodElement.getSimpleName()
+            return "@Implementation for " + methodName
                 + " has a return type of " + implMethod.returnType
                 + ", not " + sdkMethod.returnType + " as in the SDK method";
           }
@@ -177,18 +213,6 @@ class SdkStore {
       return null;
     }
 
-    private boolean suppressWarnings(ExecutableElement methodElement, String warningName) {
-      SuppressWarnings[] suppressWarnings = methodElement.getAnnotationsByType(SuppressWarnings.class);
-      for (SuppressWarnings suppression : suppressWarnings) {
-        for (String name : suppression.value()) {
-          if (warningName.equals(name)) {
-            return true;
-          }
-        }
-      }
-      return false;
-    }
-
     private boolean typeIsNumeric(MethodExtraInfo sdkMethod, MethodExtraInfo implMethod) {
       return implMethod.returnType.equals("java.lang.Number")
       && isNumericType(sdkMethod.returnType);
@@ -208,7 +232,7 @@ class SdkStore {
     }
 
     /**
-     * Load and analyze bytecode for the specified class, with caching.
+     * Look up the specified class in this SDK's index, with caching.
      *
      * @param name the name of the class to analyze
      * @return information about the methods in the specified class
@@ -216,90 +240,28 @@ class SdkStore {
     private synchronized ClassInfo getClassInfo(String name) {
       ClassInfo classInfo = classInfos.get(name);
       if (classInfo == null) {
-        ClassNode classNode = loadClassNode(name);
-
-        if (classNode == null) {
-          classInfos.put(name, NULL_CLASS_INFO);
-        } else {
-          classInfo = new ClassInfo(classNode);
-          classInfos.put(name, classInfo);
-        }
+        classInfo = sdkIndex.getClassInfo(name);
+        classInfos.put(name, classInfo == null ? NULL_CLASS_INFO : classInfo);
       }
 
       return classInfo == NULL_CLASS_INFO ? null : classInfo;
     }
 
-    /**
-     * Determine the API level for this SDK jar by inspecting its `build.prop` file.
-     *
-     * If the `ro.build.version.codename` value isn't `REL`, this is an unreleased SDK, which
-     * is represented as `10000` (see {@link android.os.Build.VERSION_CODES#CUR_DEVELOPMENT}.
-     *
-     * @return the API level, or `10000`
-     */
-    private int readSdkInt() {
-      Properties properties = new Properties();
-      try (InputStream inputStream = jarFile.getInputStream(jarFile.getJarEntry("build.prop"))) {
-        properties.load(inputStream);
-      } catch (IOException e) {
-        throw new RuntimeException("failed to read build.prop from " + path);
-      }
-      int sdkInt = Integer.parseInt(properties.getProperty("ro.build.version.sdk"));
-      String codename = properties.getProperty("ro.build.version.codename");
-      if (!"REL".equals(codename)) {
-        sdkInt = 10000;
-      }
-
-      return sdkInt;
-    }
-
-    private JarFile ensureJar() {
+    private SdkIndex loadIndex(File indexDir) {
       try {
+        URL jarUrl;
         if (path.startsWith("classpath:")) {
-          return new JarFile(copyResourceToFile(URI.create(path).getSchemeSpecificPart()));
+          String resourcePath = URI.create(path).getSchemeSpecificPart();
+          jarUrl = SdkStore.class.getClassLoader().getResource(resourcePath);
+          if (jarUrl == null) {
+            throw new RuntimeException("no such resource " + resourcePath);
+          }
         } else {
-          return new JarFile(path);
-        }
-
-      } catch (IOException e) {
-        throw new RuntimeException("failed to open SDK " + sdkInt + " at " + path, e);
-      }
-    }
-
-    private static File copyResourceToFile(String resourcePath) throws IOException {
-      if (tempDir == null){
-        File tempFile = File.createTempFile("prefix", "suffix");
-        tempFile.deleteOnExit();
-        tempDir = tempFile.getParentFile();
-      }
-      InputStream jarIn = SdkStore.class.getClassLoader().getResourceAsStream(resourcePath);
-      File outFile = new File(tempDir, new File(resourcePath).getName());
-      outFile.deleteOnExit();
-      try (FileOutputStream jarOut = new FileOutputStream(outFile)) {
-        byte[] buffer = new byte[4096];
-        int len;
-        while ((len = jarIn.read(buffer)) != -1) {
-          jarOut.write(buffer, 0, len);
+          jarUrl = new File(path).toURI().toURL();
         }
-      }
-
-      return outFile;
-    }
-
-    private ClassNode loadClassNode(String name) {
-      String classFileName = name.replace('.', '/') + ".class";
-      ZipEntry entry = jarFile.getEntry(classFileName);
-      if (entry == null) {
-        return null;
-      }
-      try (InputStream inputStream = jarFile.getInputStream(entry)) {
-        ClassReader classReader = new ClassReader(inputStream);
-        ClassNode classNode = new ClassNode();
-        classReader.accept(classNode,
-            ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
-        return classNode;
+        return SdkIndex.load(jarUrl, indexDir);
       } catch (IOException e) {
-        throw new RuntimeException("failed to analyze " + classFileName + " in " + path, e);
+        throw new RuntimeException("failed to index SDK at " + path, e);
       }
     }
 
@@ -313,22 +275,17 @@ class SdkStore {
     private final Map<MethodInfo, MethodExtraInfo> methods = new HashMap<>();
     private final Map<MethodInfo, MethodExtraInfo> erasedParamTypesMethods = new HashMap<>();
 
-    private ClassInfo() {
+    ClassInfo() {
     }
 
-    public ClassInfo(ClassNode classNode) {
-      for (Object aMethod : classNode.methods) {
-        MethodNode method = ((MethodNode) aMethod);
-        MethodInfo methodInfo = new MethodInfo(method);
-        MethodExtraInfo methodExtraInfo = new MethodExtraInfo(method);
-        methods.put(methodInfo, methodExtraInfo);
-        erasedParamTypesMethods.put(methodInfo.erase(), methodExtraInfo);
-      }
+    void addMethod(String name, String desc, int access) {
+      MethodInfo methodInfo = new MethodInfo(name, desc);
+      MethodExtraInfo methodExtraInfo = new MethodExtraInfo(desc, access);
+      methods.put(methodInfo, methodExtraInfo);
+      erasedParamTypesMethods.put(methodInfo.erase(), methodExtraInfo);
     }
 
-    MethodExtraInfo findMethod(ExecutableElement methodElement, boolean looseSignatures) {
-      MethodInfo methodInfo = new MethodInfo(methodElement);
-
+    MethodExtraInfo findMethod(MethodInfo methodInfo, boolean looseSignatures) {
       MethodExtraInfo methodExtraInfo = methods.get(methodInfo);
       if (looseSignatures && methodExtraInfo == null) {
         methodExtraInfo = erasedParamTypesMethods.get(methodInfo.erase());
@@ -341,10 +298,10 @@ class SdkStore {
     private final String name;
     private final List<String> paramTypes = new ArrayList<>();
 
-    /** Create a MethodInfo from ASM in-memory representation (an Android framework method). */
-    public MethodInfo(MethodNode method) {
-      this.name = method.name;
-      for (Type type : Type.getArgumentTypes(method.desc)) {
+    /** Create a MethodInfo from a name and descriptor (an Android framework method). */
+    public MethodInfo(String name, String desc) {
+      this.name = name;
+      for (Type type : Type.getArgumentTypes(desc)) {
         paramTypes.add(normalize(type));
       }
     }
@@ -418,9 +375,9 @@ class SdkStore {
     private final boolean isStatic;
     private final String returnType;
 
-    public MethodExtraInfo(MethodNode method) {
-      this.isStatic = (method.access & Opcodes.ACC_STATIC) != 0;
-      this.returnType = typeWithoutGenerics(normalize(Type.getReturnType(method.desc)));
+    public MethodExtraInfo(String desc, int access) {
+      this.isStatic = (access & Opcodes.ACC_STATIC) != 0;
+      this.returnType = typeWithoutGenerics(normalize(Type.getReturnType(desc)));
     }
 
     public MethodExtraInfo(ExecutableElement methodElement) {
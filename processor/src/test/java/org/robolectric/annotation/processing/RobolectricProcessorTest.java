@@ -8,6 +8,7 @@ import static com.google.testing.compile.JavaSourcesSubjectFactory.javaSources;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.robolectric.annotation.processing.RobolectricProcessor.JSON_DOCS_DIR;
 import static org.robolectric.annotation.processing.RobolectricProcessor.PACKAGE_OPT;
+import static org.robolectric.annotation.processing.RobolectricProcessor.SDK_INDEX_DIR;
 import static org.robolectric.annotation.processing.RobolectricProcessor.SHOULD_INSTRUMENT_PKG_OPT;
 import static org.robolectric.annotation.processing.Utils.DEFAULT_OPTS;
 import static org.robolectric.annotation.processing.Utils.SHADOW_EXTRACTOR_SOURCE;
@@ -39,6 +40,12 @@ public class RobolectricProcessorTest {
         new RobolectricProcessor(DEFAULT_OPTS).getSupportedOptions()).contains(SHOULD_INSTRUMENT_PKG_OPT);
   }
 
+  @Test
+  public void robolectricProcessor_supportsSdkIndexDirOption() {
+    assertThat(new RobolectricProcessor(DEFAULT_OPTS).getSupportedOptions())
+        .contains(SDK_INDEX_DIR);
+  }
+
   @Test
   public void unannotatedSource_shouldCompile() {
     assertAbout(javaSources())
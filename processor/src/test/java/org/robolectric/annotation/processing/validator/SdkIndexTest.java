@@ -0,0 +1,85 @@
+package org.robolectric.annotation.processing.validator;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Tests for {@link SdkIndex} */
+@RunWith(JUnit4.class)
+public class SdkIndexTest {
+  @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+  private File jarFile;
+  private File indexDir;
+
+  @Before
+  public void setUp() throws Exception {
+    jarFile = tempFolder.newFile("android-all.jar");
+    indexDir = tempFolder.newFolder("indexes");
+    try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jarFile))) {
+      jarOut.putNextEntry(new JarEntry("build.prop"));
+      jarOut.write("ro.build.version.sdk=28\nro.build.version.codename=REL\n".getBytes(UTF_8));
+      addClass(jarOut, "java/util/AbstractMap$SimpleEntry");
+      addClass(jarOut, "java/util/ArrayList");
+    }
+  }
+
+  @Test
+  public void load_shouldReadSdkIntAndMethods() throws Exception {
+    SdkIndex sdkIndex = SdkIndex.load(jarFile.toURI().toURL(), indexDir);
+
+    assertThat(sdkIndex.sdkInt).isEqualTo(28);
+    assertThat(sdkIndex.getClassInfo("java.util.ArrayList")
+        .findMethod(new SdkStore.MethodInfo("trimToSize", "()V"), false))
+        .isEqualTo(new SdkStore.MethodExtraInfo("()V", 0));
+    assertThat(sdkIndex.getClassInfo("java.util.AbstractMap$SimpleEntry")).isNotNull();
+    assertThat(sdkIndex.getClassInfo("java.util.HashMap")).isNull();
+  }
+
+  @Test
+  public void load_shouldReuseIndexForSameJar() throws Exception {
+    SdkIndex.load(jarFile.toURI().toURL(), indexDir);
+    File[] indexFiles = indexDir.listFiles();
+    long builtAt = indexFiles[0].lastModified();
+    indexFiles[0].setLastModified(builtAt - 10_000);
+
+    SdkIndex.load(jarFile.toURI().toURL(), indexDir);
+
+    assertThat(indexDir.listFiles()).hasLength(1);
+    assertThat(indexFiles[0].lastModified()).isEqualTo(builtAt - 10_000);
+  }
+
+  @Test
+  public void load_shouldDeleteIndexOfPreviousJarVersion() throws Exception {
+    SdkIndex.load(jarFile.toURI().toURL(), indexDir);
+    File previousIndexFile = indexDir.listFiles()[0];
+    jarFile.setLastModified(jarFile.lastModified() - 10_000);
+
+    SdkIndex.load(jarFile.toURI().toURL(), indexDir);
+
+    assertThat(indexDir.listFiles()).hasLength(1);
+    assertThat(previousIndexFile.exists()).isFalse();
+  }
+
+  private static void addClass(JarOutputStream jarOut, String internalName) throws Exception {
+    jarOut.putNextEntry(new JarEntry(internalName + ".class"));
+    try (InputStream in = ClassLoader.getSystemResourceAsStream(internalName + ".class")) {
+      byte[] buffer = new byte[4096];
+      int len;
+      while ((len = in.read(buffer)) != -1) {
+        jarOut.write(buffer, 0, len);
+      }
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package org.robolectric.res.android;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.robolectric.res.android.LoadedArsc.LoadedPackage;
+import org.robolectric.res.android.LoadedArsc.TypeSpec;
+import org.robolectric.res.android.ResourceTypes.ResTable_type;
+
+/**
+ * Compares matching the configs of all types in a resource table against a few device
+ * configurations, with {@link ResTable_config#match}, {@link PackedConfig#match}, and the cached
+ * filter of {@link TypeSpec#GetMatchingTypes}.
+ *
+ * Run with `./gradlew :resources:jmh -PframeworkApk=<path to an android-all jar>` to use the
+ * framework's resources; the test app's are used otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigMatchBenchmark {
+  private static final String[] DEVICE_QUALIFIERS = {
+      "en-rUS-ldltr-sw411dp-w411dp-h731dp-normal-notlong-notround-port-notnight-xxhdpi"
+          + "-finger-keyssoft-nokeys-navhidden-nonav-v28",
+      "fr-rCA-ldltr-sw600dp-w960dp-h600dp-large-long-land-night-mdpi-notouch-keysexposed"
+          + "-qwerty-navexposed-dpad-v28",
+      "b+sr+Latn-ldrtl-sw320dp-w320dp-h480dp-small-round-port-watch-hdpi-finger-v28",
+  };
+
+  @Param("src/test/resources/binaryresources/resources.ap_")
+  public String frameworkApk;
+
+  private final List<TypeSpec> typeSpecs = new ArrayList<>();
+  private final List<ResTable_config> configs = new ArrayList<>();
+  private final List<PackedConfig> packedConfigs = new ArrayList<>();
+  private final List<ResTable_config> deviceConfigs = new ArrayList<>();
+  private final List<PackedConfig> packedDeviceConfigs = new ArrayList<>();
+
+  @Setup
+  public void setUp() {
+    CppApkAssets apkAssets = CppApkAssets.Load(frameworkApk, true);
+    if (apkAssets == null) {
+      throw new IllegalArgumentException("couldn't load resources from " + frameworkApk);
+    }
+    for (LoadedPackage loadedPackage : apkAssets.GetLoadedArsc().GetPackages()) {
+      loadedPackage.ForEachTypeSpec((spec, index) -> {
+        typeSpecs.add(spec);
+        for (ResTable_type type : spec.types) {
+          ResTable_config config = ResTable_config.fromDtoH(type.config);
+          configs.add(config);
+          packedConfigs.add(PackedConfig.pack(config));
+        }
+      });
+    }
+
+    for (String qualifiers : DEVICE_QUALIFIERS) {
+      ResTable_config deviceConfig = new ResTable_config();
+      if (!ConfigDescription.parse(qualifiers, deviceConfig, false)) {
+        throw new IllegalArgumentException(qualifiers);
+      }
+      deviceConfigs.add(deviceConfig);
+      packedDeviceConfigs.add(PackedConfig.pack(deviceConfig));
+    }
+  }
+
+  @Benchmark
+  public int resTableConfigMatch() {
+    int matches = 0;
+    for (ResTable_config deviceConfig : deviceConfigs) {
+      for (ResTable_config config : configs) {
+        if (config.match(deviceConfig)) {
+          matches++;
+        }
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public int packedConfigMatch() {
+    int matches = 0;
+    for (PackedConfig deviceConfig : packedDeviceConfigs) {
+      for (PackedConfig config : packedConfigs) {
+        if (config.match(deviceConfig)) {
+          matches++;
+        }
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public int cachedMatchingTypes() {
+    int matches = 0;
+    for (PackedConfig deviceConfig : packedDeviceConfigs) {
+      for (TypeSpec typeSpec : typeSpecs) {
+        matches += typeSpec.GetMatchingTypes(deviceConfig).cardinality();
+      }
+    }
+    return matches;
+  }
+}
@@ -1,5 +1,8 @@
 package org.robolectric;
 
+import org.robolectric.util.IndexedScheduler;
+import org.robolectric.util.Scheduler;
+
 /**
  * Class that encapsulates reading global configuration options from the Java system properties file.
  */
@@ -10,6 +13,8 @@ public class RoboSettings {
   private static String mavenRepositoryUserName;
   private static String mavenRepositoryPassword;
   private static boolean useGlobalScheduler;
+  private static boolean useIndexedScheduler;
+  private static boolean useRealBackgroundLoopers;
 
   static {
     mavenRepositoryId = System.getProperty("robolectric.dependency.repo.id", "sonatype");
@@ -17,6 +22,8 @@ public class RoboSettings {
     mavenRepositoryUserName = System.getProperty("robolectric.dependency.repo.username");
     mavenRepositoryPassword = System.getProperty("robolectric.dependency.repo.password");
     useGlobalScheduler = Boolean.getBoolean("robolectric.scheduling.global");
+    useIndexedScheduler = Boolean.getBoolean("robolectric.scheduling.indexed");
+    useRealBackgroundLoopers = Boolean.getBoolean("robolectric.scheduling.realBackgroundLoopers");
   }
 
   public static String getMavenRepositoryId() {
@@ -58,4 +65,33 @@ public class RoboSettings {
   public static void setUseGlobalScheduler(boolean useGlobalScheduler) {
     RoboSettings.useGlobalScheduler = useGlobalScheduler;
   }
+
+  public static boolean isUseIndexedScheduler() {
+    return useIndexedScheduler;
+  }
+
+  public static void setUseIndexedScheduler(boolean useIndexedScheduler) {
+    RoboSettings.useIndexedScheduler = useIndexedScheduler;
+  }
+
+  /**
+   * Returns true if loopers created on background threads dispatch their messages on their own
+   * thread, as due at the virtual clock, instead of through a {@link Scheduler} driven by the test.
+   * Enabled with the {@code robolectric.scheduling.realBackgroundLoopers} system property.
+   */
+  public static boolean isUseRealBackgroundLoopers() {
+    return useRealBackgroundLoopers;
+  }
+
+  public static void setUseRealBackgroundLoopers(boolean useRealBackgroundLoopers) {
+    RoboSettings.useRealBackgroundLoopers = useRealBackgroundLoopers;
+  }
+
+  /**
+   * Returns a new {@link Scheduler}, an {@link IndexedScheduler} if enabled with the {@code
+   * robolectric.scheduling.indexed} system property.
+   */
+  public static Scheduler newScheduler() {
+    return useIndexedScheduler ? new IndexedScheduler() : new Scheduler();
+  }
 }
@@ -3,14 +3,22 @@ package org.robolectric.res;
 import static java.util.Arrays.asList;
 
 import java.io.BufferedInputStream;
+import java.io.EOFException;
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,12 +27,13 @@ import java.util.NavigableSet;
 import java.util.TreeMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
 import org.robolectric.util.Join;
 import org.robolectric.util.Util;
 
 abstract public class Fs {
   public static Fs fromJar(URL url) {
-    return new JarFs(new File(fixFileURL(url).getPath()));
+    return JarFs.open(new File(fixFileURL(url).getPath()));
   }
   
   private static URI fixFileURL(URL u) {
@@ -41,7 +50,7 @@ abstract public class Fs {
   public static FsFile fileFromPath(String urlString) {
     if (urlString.startsWith("jar:")) {
       String[] parts = urlString.replaceFirst("jar:", "").split("!", 0);
-      Fs fs = new JarFs(new File(parts[0]));
+      Fs fs = JarFs.open(new File(parts[0]));
       return fs.join(parts[1].substring(1));
     } else {
       return new FileFsFile(new File(urlString));
@@ -70,7 +79,7 @@ abstract public class Fs {
   }
 
   public static FsFile newJarFile(File file) {
-    JarFs jarFs = new JarFs(file);
+    JarFs jarFs = JarFs.open(file);
     return jarFs.new JarFsFile("");
   }
 
@@ -82,43 +91,215 @@ abstract public class Fs {
     return newFile(new File("."));
   }
 
+  /**
+   * A jar or zip file. Instances are shared JVM-wide through a pool of open archives, so that
+   * resolving files in the same jar doesn't reopen it and re-read its central directory every
+   * time. The pool holds at most {@code robolectric.fs.jarPoolSize} (16 by default) archives, and
+   * drops the least recently used one beyond that.
+   *
+   * The {@link JarFile} is reference counted: the pool holds one reference, and each stream read
+   * from it another, so it's closed as soon as the archive has left the pool and its last stream is
+   * closed. {@link FsFile}s of an archive which has left the pool reopen it while they read.
+   *
+   * Stored (uncompressed) entries are read straight from a read-only mapping of the jar, without
+   * copying them through the {@link JarFile}.
+   */
   static class JarFs extends Fs {
-    private static final Map<File, NavigableMap<String, JarEntry>> CACHE =
-        new LinkedHashMap<File, NavigableMap<String, JarEntry>>() {
+    private static final int POOL_SIZE = Integer.getInteger("robolectric.fs.jarPoolSize", 16);
+
+    // access ordered, so the eldest entry is the least recently used one
+    private static final Map<File, JarFs> POOL =
+        new LinkedHashMap<File, JarFs>(16, 0.75f, true) {
           @Override
-          protected boolean removeEldestEntry(Map.Entry<File, NavigableMap<String, JarEntry>> fileNavigableMapEntry) {
-            return size() > 10;
+          protected boolean removeEldestEntry(Map.Entry<File, JarFs> eldest) {
+            if (size() > POOL_SIZE) {
+              eldest.getValue().release();
+              return true;
+            }
+            return false;
           }
         };
 
-    private final JarFile jarFile;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    private final File file;
+    private final long lastModified;
+    private final long length;
     private final NavigableMap<String, JarEntry> jarEntryMap;
 
-    public JarFs(File file) {
-      try {
-        jarFile = new JarFile(file);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
+    // guarded by this
+    private JarFile jarFile;
+    private int references;
+    private Map<String, ByteBuffer> storedEntries;
+
+    /** Returns the pooled {@link JarFs} for {@code file}, opening it if needed or if it changed. */
+    static JarFs open(File file) {
+      File absoluteFile = file.getAbsoluteFile();
+      synchronized (POOL) {
+        JarFs jarFs = POOL.get(absoluteFile);
+        if (jarFs != null && jarFs.isUpToDate()) {
+          return jarFs;
+        }
+        JarFs opened = new JarFs(absoluteFile);
+        POOL.put(absoluteFile, opened);
+        if (jarFs != null) {
+          jarFs.release();
+        }
+        return opened;
       }
+    }
 
-      NavigableMap<String, JarEntry> cachedMap;
-      synchronized (CACHE) {
-        cachedMap = CACHE.get(file.getAbsoluteFile());
+    private JarFs(File file) {
+      this.file = file;
+      this.lastModified = file.lastModified();
+      this.length = file.length();
+      // the pool's reference
+      acquire();
+
+      jarEntryMap = new TreeMap<>();
+      Enumeration<JarEntry> entries = jarFile.entries();
+      while (entries.hasMoreElements()) {
+        JarEntry jarEntry = entries.nextElement();
+        jarEntryMap.put(jarEntry.getName(), jarEntry);
       }
+    }
+
+    private boolean isUpToDate() {
+      return file.lastModified() == lastModified && file.length() == length;
+    }
 
-      if (cachedMap == null) {
-        cachedMap = new TreeMap<>();
-        Enumeration<JarEntry> entries = jarFile.entries();
-        while (entries.hasMoreElements()) {
-          JarEntry jarEntry = entries.nextElement();
-          cachedMap.put(jarEntry.getName(), jarEntry);
+    /** Returns the {@link JarFile}, opening it if it was closed; each call must be released. */
+    private synchronized JarFile acquire() {
+      if (references++ == 0) {
+        try {
+          jarFile = new JarFile(file);
+        } catch (IOException e) {
+          references--;
+          throw new RuntimeException(e);
         }
-        synchronized (CACHE) {
-          CACHE.put(file.getAbsoluteFile(), cachedMap);
+      }
+      return jarFile;
+    }
+
+    private synchronized void release() {
+      if (--references == 0) {
+        try {
+          jarFile.close();
+        } catch (IOException e) {
+          // nothing was written, so nothing is lost
         }
+        jarFile = null;
+      }
+    }
+
+    synchronized boolean isOpen() {
+      return jarFile != null;
+    }
+
+    /** Returns a stream over {@code entry} which holds the {@link JarFile} open until closed. */
+    private InputStream getInputStream(JarEntry entry) throws IOException {
+      JarFile jarFile = acquire();
+      try {
+        return new FilterInputStream(jarFile.getInputStream(entry)) {
+          private boolean closed;
+
+          @Override
+          public void close() throws IOException {
+            try {
+              super.close();
+            } finally {
+              if (!closed) {
+                closed = true;
+                release();
+              }
+            }
+          }
+        };
+      } catch (IOException | RuntimeException e) {
+        release();
+        throw e;
       }
+    }
 
-      jarEntryMap = cachedMap;
+    /**
+     * Returns the contents of the stored entry named {@code name}, or null if it's compressed, or
+     * the jar can't be mapped or has changed since.
+     */
+    private ByteBuffer getStoredEntry(String name) {
+      if (!isUpToDate()) {
+        return null;
+      }
+      ByteBuffer entry;
+      synchronized (this) {
+        if (storedEntries == null) {
+          storedEntries = mapStoredEntries();
+        }
+        entry = storedEntries.get(name);
+      }
+      return entry == null ? null : entry.duplicate();
+    }
+
+    /**
+     * Maps the jar and finds its stored entries through the central directory. The mapping doesn't
+     * hold a file handle once the channel is closed.
+     */
+    private Map<String, ByteBuffer> mapStoredEntries() {
+      Map<String, ByteBuffer> entries = new HashMap<>();
+      if (length > Integer.MAX_VALUE) {
+        return entries;
+      }
+      ByteBuffer jar;
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        jar = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      } catch (IOException e) {
+        return entries;
+      }
+      jar.order(ByteOrder.LITTLE_ENDIAN);
+
+      int end = -1;
+      for (int i = jar.limit() - 22; i >= Math.max(0, jar.limit() - 22 - 0xffff); i--) {
+        if (jar.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+          end = i;
+          break;
+        }
+      }
+      if (end < 0) {
+        return entries;
+      }
+      int count = jar.getShort(end + 10) & 0xffff;
+      long offset = jar.getInt(end + 16) & 0xffffffffL;
+      // zip64 archives aren't mapped, the JarFile reads them
+      for (int i = 0; i < count && offset + 46 <= jar.limit(); i++) {
+        int header = (int) offset;
+        if (jar.getInt(header) != CENTRAL_DIRECTORY_HEADER_SIGNATURE) {
+          break;
+        }
+        int method = jar.getShort(header + 10) & 0xffff;
+        long compressedSize = jar.getInt(header + 20) & 0xffffffffL;
+        int nameLength = jar.getShort(header + 28) & 0xffff;
+        int extraLength = jar.getShort(header + 30) & 0xffff;
+        int commentLength = jar.getShort(header + 32) & 0xffff;
+        long localHeader = jar.getInt(header + 42) & 0xffffffffL;
+        if (method == ZipEntry.STORED && localHeader + LOCAL_HEADER_SIZE <= jar.limit()) {
+          byte[] name = new byte[nameLength];
+          ByteBuffer nameBuffer = jar.duplicate();
+          nameBuffer.position(header + 46);
+          nameBuffer.get(name);
+          long data = localHeader + LOCAL_HEADER_SIZE
+              + (jar.getShort((int) localHeader + 26) & 0xffff)
+              + (jar.getShort((int) localHeader + 28) & 0xffff);
+          if (data + compressedSize <= jar.limit()) {
+            ByteBuffer entry = jar.duplicate();
+            entry.position((int) data);
+            entry.limit((int) (data + compressedSize));
+            entries.put(new String(name, StandardCharsets.UTF_8), entry.slice());
+          }
+        }
+        offset += 46 + nameLength + extraLength + commentLength;
+      }
+      return entries;
     }
 
     @Override public FsFile join(String folderBaseName) {
@@ -203,11 +384,39 @@ abstract public class Fs {
       }
 
       @Override public InputStream getInputStream() throws IOException {
-        return new BufferedInputStream(jarFile.getInputStream(jarEntryMap.get(path)));
+        JarEntry entry = jarEntryMap.get(path);
+        ByteBuffer stored = getStoredEntry(entry.getName());
+        if (stored != null) {
+          return new ByteBufferInputStream(stored);
+        }
+        return new BufferedInputStream(JarFs.this.getInputStream(entry));
       }
 
       @Override public byte[] getBytes() throws IOException {
-        return Util.readBytes(jarFile.getInputStream(jarEntryMap.get(path)));
+        JarEntry entry = jarEntryMap.get(path);
+        ByteBuffer stored = getStoredEntry(entry.getName());
+        if (stored != null) {
+          byte[] bytes = new byte[stored.remaining()];
+          stored.get(bytes);
+          return bytes;
+        }
+        long size = entry.getSize();
+        try (InputStream in = JarFs.this.getInputStream(entry)) {
+          if (size < 0 || size > Integer.MAX_VALUE) {
+            return Util.readBytes(in);
+          }
+          // the size is known from the central directory, read straight into the result
+          byte[] bytes = new byte[(int) size];
+          int offset = 0;
+          while (offset < bytes.length) {
+            int read = in.read(bytes, offset, bytes.length - offset);
+            if (read < 0) {
+              throw new EOFException("unexpected end of " + getPath());
+            }
+            offset += read;
+          }
+          return bytes;
+        }
       }
 
       @Override public FsFile join(String... pathParts) {
@@ -226,7 +435,7 @@ abstract public class Fs {
 
       @Override
       public long length() {
-        return jarFile.getEntry(path).getSize();
+        return jarEntryMap.get(path).getSize();
       }
 
       @Override
@@ -243,7 +452,7 @@ abstract public class Fs {
       }
 
       private String getJarFileName() {
-        return jarFile.getName();
+        return file.getPath();
       }
 
       @Override
@@ -257,5 +466,44 @@ abstract public class Fs {
     }
   }
 
+  /** Reads a buffer, e.g. a slice of a mapped file, without copying it first. */
+  private static class ByteBufferInputStream extends InputStream {
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, read);
+      return read;
+    }
+
+    @Override
+    public long skip(long n) {
+      int skipped = (int) Math.max(0, Math.min(n, buffer.remaining()));
+      buffer.position(buffer.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+  }
+
   abstract public FsFile join(String folderBaseName);
 }
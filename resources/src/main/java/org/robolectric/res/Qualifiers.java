@@ -3,6 +3,7 @@ package org.robolectric.res;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.robolectric.res.android.ConfigDescription;
+import org.robolectric.res.android.PackedConfig;
 import org.robolectric.res.android.ResTable_config;
 
 /**
@@ -20,6 +21,7 @@ public class Qualifiers {
 
   private final String qualifiers;
   private final ResTable_config config;
+  private PackedConfig packedConfig;
 
   public static Qualifiers parse(String qualifiers) {
     return parse(qualifiers, true);
@@ -45,6 +47,14 @@ public class Qualifiers {
     return config;
   }
 
+  /** Returns the config, packed for matching against device configurations. */
+  public PackedConfig getPackedConfig() {
+    if (packedConfig == null) {
+      packedConfig = PackedConfig.pack(config);
+    }
+    return packedConfig;
+  }
+
   @Override
   public String toString() {
     return qualifiers;
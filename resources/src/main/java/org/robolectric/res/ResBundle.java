@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import org.robolectric.res.android.PackedConfig;
 import org.robolectric.res.android.ResTable_config;
 import org.robolectric.util.Logger;
 
@@ -31,10 +32,11 @@ public class ResBundle {
       List<TypedResource> values = map.get(resName);
       if (values == null || values.size() == 0) return null;
 
+      PackedConfig packedToMatch = PackedConfig.pack(toMatch);
       TypedResource bestMatchSoFar = null;
       for (TypedResource candidate : values) {
         ResTable_config candidateConfig = candidate.getConfig();
-        if (candidateConfig.match(toMatch)) {
+        if (candidate.getXmlContext().getQualifiers().getPackedConfig().match(packedToMatch)) {
           if (bestMatchSoFar == null || candidateConfig.isBetterThan(bestMatchSoFar.getConfig(), toMatch)) {
             bestMatchSoFar = candidate;
           }
@@ -0,0 +1,219 @@
+package org.robolectric.res.android;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import org.robolectric.res.android.LoadedArsc.LoadedPackage;
+import org.robolectric.res.android.LoadedArsc.TypeSpec;
+
+/**
+ * JVM-wide cache of loaded {@link CppApkAssets}, shared by all sandboxes and SDK levels.
+ *
+ * <p>Parsing the {@link LoadedArsc} of an APK is expensive, and the framework and app resources
+ * are the same for every sandbox. Since this class isn't loaded by sandbox class loaders, an APK
+ * is parsed once for the same path, modification time and size, and every {@link #acquire} returns
+ * a new {@link CppApkAssets} sharing the parsed, immutable state. Asset managers {@link #retain}
+ * the {@link CppApkAssets} they use, and {@link #release} them when they stop using them or are
+ * destroyed.
+ *
+ * <p>Entries that aren't retained are kept for later sandboxes until the estimated size of all
+ * entries exceeds the memory budget, set in bytes with the {@code
+ * robolectric.resources.apkAssetsCacheBytes} system property. Then the least recently used entries
+ * that aren't retained are evicted.
+ */
+public class ApkAssetsCache {
+
+  static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+  // rough heap sizes of what LoadedArsc parses out of a resource table, besides the table itself
+  private static final long PACKAGE_BYTES = 1024;
+  private static final long TYPE_SPEC_BYTES = 128;
+  private static final long TYPE_BYTES = 256;
+
+  private static final ApkAssetsCache INSTANCE =
+      new ApkAssetsCache(
+          Long.getLong("robolectric.resources.apkAssetsCacheBytes", DEFAULT_MAX_BYTES));
+
+  public static ApkAssetsCache getInstance() {
+    return INSTANCE;
+  }
+
+  /** Loads {@link CppApkAssets} on a cache miss. */
+  @FunctionalInterface
+  public interface Loader {
+    CppApkAssets load();
+  }
+
+  private final long maxBytes;
+  // access ordered, so iteration starts at the least recently used entry
+  private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes;
+
+  ApkAssetsCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Returns {@link CppApkAssets} for the APK at {@code path}, calling {@code loader} only if it
+   * isn't cached yet, or null if loading fails.
+   */
+  public CppApkAssets acquire(
+      String path, boolean system, boolean loadAsSharedLibrary, Loader loader) {
+    Key key = new Key(path, system, loadAsSharedLibrary);
+    Entry entry;
+    synchronized (this) {
+      entry = entries.get(key);
+      if (entry == null) {
+        entry = new Entry();
+        entries.put(key, entry);
+      }
+      // keeps the entry from being evicted while it loads
+      entry.refCount++;
+    }
+
+    // loaded outside of the cache's lock, so that different APKs can be loaded concurrently
+    synchronized (entry) {
+      if (!entry.loaded) {
+        CppApkAssets loaded = loader.load();
+        synchronized (this) {
+          entry.loaded = true;
+          entry.template = loaded;
+          if (loaded == null) {
+            entries.remove(key);
+          } else {
+            entry.bytes = sizeOf(loaded);
+            totalBytes += entry.bytes;
+          }
+        }
+      }
+    }
+
+    synchronized (this) {
+      if (entry.template == null) {
+        entry.refCount--;
+        return null;
+      }
+      CppApkAssets apkAssets = entry.template.shallowCopy();
+      apkAssets.cache_entry_ = entry;
+      // may be over budget after loading, only other entries that aren't retained can go
+      evict();
+      entry.refCount--;
+      return apkAssets;
+    }
+  }
+
+  /**
+   * Keeps the entry of each of {@code apkAssets} returned by {@link #acquire} from being evicted,
+   * until it's {@link #release released} as often as it was retained.
+   */
+  public synchronized void retain(Iterable<CppApkAssets> apkAssets) {
+    for (CppApkAssets assets : apkAssets) {
+      if (assets.cache_entry_ != null) {
+        assets.cache_entry_.refCount++;
+      }
+    }
+  }
+
+  /** Releases {@code apkAssets} previously {@link #retain retained}. */
+  public synchronized void release(Iterable<CppApkAssets> apkAssets) {
+    boolean unreferenced = false;
+    for (CppApkAssets assets : apkAssets) {
+      if (assets.cache_entry_ != null && --assets.cache_entry_.refCount == 0) {
+        unreferenced = true;
+      }
+    }
+    if (unreferenced) {
+      evict();
+    }
+  }
+
+  /**
+   * Returns the estimated heap size of {@code apkAssets}: its resource table and idmap, and what
+   * {@link LoadedArsc} parses out of them.
+   */
+  long sizeOf(CppApkAssets apkAssets) {
+    long bytes = 0;
+    if (apkAssets.resources_asset_ != null) {
+      bytes += apkAssets.resources_asset_.getLength();
+    }
+    if (apkAssets.idmap_asset_ != null) {
+      bytes += apkAssets.idmap_asset_.getLength();
+    }
+    if (apkAssets.loaded_arsc_ != null) {
+      for (LoadedPackage loadedPackage : apkAssets.loaded_arsc_.GetPackages()) {
+        bytes += PACKAGE_BYTES;
+        for (TypeSpec typeSpec : loadedPackage.type_specs_.values()) {
+          bytes += TYPE_SPEC_BYTES + (long) typeSpec.type_count * TYPE_BYTES;
+        }
+      }
+    }
+    return bytes;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  private void evict() {
+    Iterator<Entry> iterator = entries.values().iterator();
+    while (totalBytes > maxBytes && iterator.hasNext()) {
+      Entry entry = iterator.next();
+      if (entry.refCount == 0 && entry.loaded) {
+        iterator.remove();
+        totalBytes -= entry.bytes;
+      }
+    }
+  }
+
+  /** The cached state of an APK, referenced by the {@link CppApkAssets} acquired for it. */
+  static class Entry {
+    private int refCount;
+    private boolean loaded;
+    private CppApkAssets template;
+    private long bytes;
+  }
+
+  /** Identifies an APK's contents by path, modification time and size, and how it's loaded. */
+  private static class Key {
+    private final String path;
+    private final long lastModified;
+    private final long length;
+    private final boolean system;
+    private final boolean loadAsSharedLibrary;
+
+    private Key(String path, boolean system, boolean loadAsSharedLibrary) {
+      File file = new File(path);
+      this.path = path;
+      this.lastModified = file.lastModified();
+      this.length = file.length();
+      this.system = system;
+      this.loadAsSharedLibrary = loadAsSharedLibrary;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      return lastModified == key.lastModified
+          && length == key.length
+          && system == key.system
+          && loadAsSharedLibrary == key.loadAsSharedLibrary
+          && path.equals(key.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, lastModified, length, system, loadAsSharedLibrary);
+    }
+  }
+}
@@ -1112,7 +1112,7 @@ static Asset createFromCompressedMap(FileMap dataMap,
     FileMap mMap;           // for memory-mapped input
     int mFd;            // for file input
 
-// class StreamingZipInflater mZipInflater;  // for streaming large compressed assets
+    StreamingZipInflater mZipInflater;  // for streaming large compressed assets
 
     byte[] mBuf;       // for getBuffer()
 /*
@@ -1216,9 +1216,9 @@ static Asset createFromCompressedMap(FileMap dataMap,
       mUncompressedLen = uncompressedLen;
       assert(mOffset == 0);
 
-      // if (uncompressedLen > StreamingZipInflater::OUTPUT_CHUNK_SIZE) {
-      // mZipInflater = new StreamingZipInflater(dataMap, uncompressedLen);
-      // }
+      if (uncompressedLen > StreamingZipInflater.OUTPUT_CHUNK_SIZE) {
+        mZipInflater = new StreamingZipInflater(dataMap, uncompressedLen);
+      }
       return NO_ERROR;
     }
 
@@ -1235,29 +1235,32 @@ static Asset createFromCompressedMap(FileMap dataMap,
       assert(mOffset >= 0 && mOffset <= mUncompressedLen);
 
        /* If we're relying on a streaming inflater, go through that */
-//       if (mZipInflater) {
-//       actual = mZipInflater.read(buf, count);
-//       } else {
-      if (mBuf == null) {
-        if (getBuffer(false) == null)
+      if (mZipInflater != null) {
+        actual = mZipInflater.read(buf, bufOffset, count);
+        if (actual < 0) {
           return -1;
-      }
-      assert(mBuf != null);
+        }
+      } else {
+        if (mBuf == null) {
+          if (getBuffer(false) == null)
+            return -1;
+        }
+        assert(mBuf != null);
 
-      /* adjust count if we're near EOF */
-      maxLen = toIntExact(mUncompressedLen - mOffset);
-      if (count > maxLen)
-        count = maxLen;
+        /* adjust count if we're near EOF */
+        maxLen = toIntExact(mUncompressedLen - mOffset);
+        if (count > maxLen)
+          count = maxLen;
 
-      if (!isTruthy(count))
-        return 0;
+        if (!isTruthy(count))
+          return 0;
 
-      /* copy from buffer */
-      //printf("comp buf read\n");
-//      memcpy(buf, (String)mBuf + mOffset, count);
-      System.arraycopy(mBuf, toIntExact(mOffset), buf, bufOffset, count);
-      actual = count;
-//       }
+        /* copy from buffer */
+        //printf("comp buf read\n");
+//        memcpy(buf, (String)mBuf + mOffset, count);
+        System.arraycopy(mBuf, toIntExact(mOffset), buf, bufOffset, count);
+        actual = count;
+      }
 
       mOffset += actual;
       return actual;
@@ -1279,9 +1282,11 @@ static Asset createFromCompressedMap(FileMap dataMap,
       if (newPosn == (long) -1)
       return newPosn;
 
-      // if (mZipInflater) {
-      //   mZipInflater.seekAbsolute(newPosn);
-      // }
+      if (mZipInflater != null) {
+        if (mZipInflater.seekAbsolute(newPosn) != newPosn) {
+          return -1;
+        }
+      }
       mOffset = newPosn;
       return mOffset;
     }
@@ -1299,8 +1304,10 @@ static Asset createFromCompressedMap(FileMap dataMap,
 //       delete[] mBuf;
        mBuf = null;
 
-//       delete mZipInflater;
-//       mZipInflater = null;
+       if (mZipInflater != null) {
+         mZipInflater.end();
+         mZipInflater = null;
+       }
 
        if (mFd > 0) {
 //       ::close(mFd);
@@ -1358,8 +1365,10 @@ static Asset createFromCompressedMap(FileMap dataMap,
        * Success - now that we have the full asset in RAM we
        * no longer need the streaming inflater
        */
-      // delete mZipInflater;
-      // mZipInflater = null;
+      if (mZipInflater != null) {
+        mZipInflater.end();
+        mZipInflater = null;
+      }
 
       mBuf = buf;
       // buf = null;
@@ -58,6 +58,18 @@ public class CppApkAssets {
     this.path_ = path_;
   }
 
+  // Robolectric: the ApkAssetsCache entry this instance was acquired from, if any.
+  ApkAssetsCache.Entry cache_entry_;
+
+  // Robolectric: a new instance sharing this one's loaded state, see ApkAssetsCache.
+  CppApkAssets shallowCopy() {
+    CppApkAssets copy = new CppApkAssets(zip_handle_, path_);
+    copy.resources_asset_ = resources_asset_;
+    copy.idmap_asset_ = idmap_asset_;
+    copy.loaded_arsc_ = loaded_arsc_;
+    return copy;
+  }
+
   public String GetPath() { return path_; }
 
   // This is never nullptr.
@@ -84,7 +96,7 @@ public class CppApkAssets {
   private String path_;
   Asset resources_asset_;
   Asset idmap_asset_;
-  private LoadedArsc loaded_arsc_;
+  LoadedArsc loaded_arsc_;
   // };
 //
 // }  // namespace android
@@ -15,13 +15,12 @@ import static org.robolectric.res.android.Util.dtohl;
 import static org.robolectric.res.android.Util.dtohs;
 import static org.robolectric.res.android.Util.isTruthy;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import org.robolectric.res.Fs;
@@ -37,6 +36,7 @@ import org.robolectric.res.android.LoadedArsc.TypeSpec;
 import org.robolectric.res.android.ResourceTypes.ResTable_entry;
 import org.robolectric.res.android.ResourceTypes.ResTable_map;
 import org.robolectric.res.android.ResourceTypes.ResTable_map_entry;
+import org.robolectric.res.android.ResourceTypes.ResTable_ref;
 import org.robolectric.res.android.ResourceTypes.ResTable_type;
 import org.robolectric.res.android.ResourceTypes.Res_value;
 
@@ -71,10 +71,13 @@ public class CppAssetManager2 {
   public static class ResolvedBag {
     // A single key-value entry in a bag.
     public static class Entry {
+      // Res_value is immutable, so entries can share it
+      private static final Res_value EMPTY_VALUE = new Res_value();
+
       // The key, as described in ResTable_map.name.
       public int key;
 
-      public Res_value value = new Res_value();
+      public Res_value value = EMPTY_VALUE;
 
       // Which ApkAssets this entry came from.
       public ApkAssetsCookie cookie;
@@ -85,7 +88,7 @@ public class CppAssetManager2 {
       public ResolvedBag.Entry copy() {
         Entry entry = new Entry();
         entry.key = key;
-        entry.value = value.copy();
+        entry.value = value;
         entry.cookie = cookie == null ? null : ApkAssetsCookie.forInt(cookie.intValue());
         entry.key_pool = key_pool;
         entry.type_pool = type_pool;
@@ -200,7 +203,12 @@ public class CppAssetManager2 {
   // Cached set of bags. These are cached because they can inherit keys from parent bags,
   // which involves some calculation.
 //  private std.unordered_map<int, util.unique_cptr<ResolvedBag>> cached_bags_;
-  final private Map<Integer, ResolvedBag> cached_bags_ = new HashMap<>();
+  // Robolectric: shared with the other asset managers with the same ApkAssets and configuration,
+  // see ResolvedBagCache. Looked up again when the first bag is needed after either changes.
+  private ResolvedBagCache.Bags cached_bags_;
+  // Robolectric: true once bags resolved against earlier ApkAssets were carried over, see
+  // SetApkAssets(); such bags are only valid for this asset manager, so they are never shared.
+  private boolean cached_bags_private_;
 //  };
 
 //final ResolvedBag.Entry* begin(final ResolvedBag* bag) { return bag.entries; }
@@ -247,13 +255,22 @@ public class CppAssetManager2 {
     // The dynamic package ID map for the package from which this resource came from.
     DynamicRefTable dynamic_ref_table;
 
+    // Robolectric: the package and type the entry came from, from which the string pool references
+    // to its names are only created when asked for.
+    LoadedPackage package_;
+    ResTable_type type;
+
     // The string pool reference to the type's name. This uses a different string pool than
     // the global string pool, but this is hidden from the caller.
-    StringPoolRef type_string_ref;
+    StringPoolRef type_string_ref() {
+      return new StringPoolRef(package_.GetTypeStringPool(), type.id - 1);
+    }
 
     // The string pool reference to the entry's name. This uses a different string pool than
     // the global string pool, but this is hidden from the caller.
-    StringPoolRef entry_string_ref;
+    StringPoolRef entry_string_ref() {
+      return new StringPoolRef(package_.GetKeyStringPool(), entry.key.index);
+    }
   }
 
 //  AssetManager2() { memset(&configuration_, 0, sizeof(configuration_)); }
@@ -272,6 +289,13 @@ public class CppAssetManager2 {
     if (invalidate_caches) {
 //      InvalidateCaches(static_cast<int>(-1));
       InvalidateCaches(-1);
+    } else {
+      // Robolectric: the shared bags are looked up by ApkAssets, so carry them all over to bags of
+      // this asset manager's own; other asset managers with the new ApkAssets mustn't see them.
+      if (cached_bags_ != null) {
+        cached_bags_private_ = true;
+      }
+      InvalidateCaches(0);
     }
     return true;
   }
@@ -609,7 +633,7 @@ public class CppAssetManager2 {
 //                            int* out_flags);
   private ApkAssetsCookie FindEntry(int resid, short density_override,
       boolean stop_at_first_match,
-      final Ref<FindEntryResult> out_entry) {
+      final FindEntryResult out_entry) {
     ATRACE_CALL();
 
     // Might use this if density_override != 0.
@@ -618,7 +642,7 @@ public class CppAssetManager2 {
     // Select our configuration or generate a density override configuration.
     ResTable_config desired_config = configuration_;
     if (density_override != 0 && density_override != configuration_.density) {
-      density_override_config = configuration_;
+      density_override_config = new ResTable_config(configuration_);
       density_override_config.density = density_override;
       desired_config = density_override_config;
     }
@@ -669,11 +693,13 @@ public class CppAssetManager2 {
 
       // If there is an IDMAP supplied with this package, translate the entry ID.
       if (type_spec.idmap_entries != null) {
+        final Ref<Integer> local_entry_idx_ref = new Ref<>(local_entry_idx);
         if (!LoadedIdmap
-            .Lookup(type_spec.idmap_entries, local_entry_idx, new Ref<>(local_entry_idx))) {
+            .Lookup(type_spec.idmap_entries, local_entry_idx, local_entry_idx_ref)) {
           // There is no mapping, so the resource is not meant to be in this overlay package.
           continue;
         }
+        local_entry_idx = local_entry_idx_ref.get();
       }
 
       type_flags |= type_spec.GetFlagsForEntryIndex(local_entry_idx);
@@ -749,15 +775,12 @@ public class CppAssetManager2 {
       return K_INVALID_COOKIE;
     }
 
-    FindEntryResult out_entry_ = new FindEntryResult();
-    out_entry_.entry = best_entry;
-    out_entry_.config = best_config;
-    out_entry_.type_flags = type_flags;
-    out_entry_.type_string_ref = new StringPoolRef(best_package.GetTypeStringPool(), best_type.id - 1);
-    out_entry_.entry_string_ref =
-        new StringPoolRef(best_package.GetKeyStringPool(), best_entry.key.index);
-    out_entry_.dynamic_ref_table = package_group.dynamic_ref_table;
-    out_entry.set(out_entry_);
+    out_entry.entry = best_entry;
+    out_entry.config = best_config;
+    out_entry.type_flags = type_flags;
+    out_entry.package_ = best_package;
+    out_entry.type = best_type;
+    out_entry.dynamic_ref_table = package_group.dynamic_ref_table;
     return best_cookie;
   }
 
@@ -767,9 +790,9 @@ public class CppAssetManager2 {
   // Returns false if the resource was not found or the name was missing/corrupt.
 //  boolean GetResourceName(int resid, ResourceName* out_name);
   public boolean GetResourceName(int resid, ResourceName out_name) {
-    final Ref<FindEntryResult> entryRef = new Ref<>(null);
+    final FindEntryResult entry = new FindEntryResult();
     ApkAssetsCookie cookie =
-        FindEntry(resid, (short) 0 /* density_override */, true /* stop_at_first_match */, entryRef);
+        FindEntry(resid, (short) 0 /* density_override */, true /* stop_at_first_match */, entry);
     if (cookie.intValue() == kInvalidCookie) {
       return false;
     }
@@ -783,8 +806,7 @@ public class CppAssetManager2 {
     out_name.package_ = package_.GetPackageName();
     // out_name.package_len = out_name.package_.length();
 
-    FindEntryResult entry = entryRef.get();
-    out_name.type = entry.type_string_ref.string();
+    out_name.type = entry.type_string_ref().string();
     // out_name.type_len = out_name.type == null ? 0 : out_name.type.length();
     // out_name.type16 = null;
     if (out_name.type == null) {
@@ -795,7 +817,7 @@ public class CppAssetManager2 {
       // }
     }
 
-    out_name.entry = entry.entry_string_ref.string();
+    out_name.entry = entry.entry_string_ref().string();
     // out_name.entry_len = out_name.entry == null ? 0 : out_name.entry.length();
     // out_name.entry16 = null;
     if (out_name.entry == null) {
@@ -813,11 +835,11 @@ public class CppAssetManager2 {
   // Returns false if the resource was not found.
 //  boolean GetResourceFlags(int resid, int* out_flags);
   boolean GetResourceFlags(int resid, Ref<Integer> out_flags) {
-    final Ref<FindEntryResult> entry = new Ref<>(null);
+    final FindEntryResult entry = new FindEntryResult();
     ApkAssetsCookie cookie = FindEntry(resid, (short) 0 /* density_override */,
         false /* stop_at_first_match */, entry);
     if (cookie.intValue() != kInvalidCookie) {
-      out_flags.set(entry.get().type_flags);
+      out_flags.set(entry.type_flags);
       // this makes no sense, not a boolean:
       // return cookie;
     }
@@ -844,14 +866,14 @@ public class CppAssetManager2 {
       short density_override, Ref<Res_value> out_value,
       final Ref<ResTable_config> out_selected_config,
       final Ref<Integer> out_flags) {
-    final Ref<FindEntryResult> entry = new Ref<>(null);
+    final FindEntryResult entry = new FindEntryResult();
     ApkAssetsCookie cookie =
         FindEntry(resid, density_override, false /* stop_at_first_match */, entry);
     if (cookie.intValue() == kInvalidCookie) {
       return K_INVALID_COOKIE;
     }
 
-    if (isTruthy(dtohl(entry.get().entry.flags) & ResTable_entry.FLAG_COMPLEX)) {
+    if (isTruthy(dtohl(entry.entry.flags) & ResTable_entry.FLAG_COMPLEX)) {
       if (!may_be_bag) {
         System.err.println(String.format("Resource %08x is a complex map type.", resid));
         return K_INVALID_COOKIE;
@@ -859,22 +881,23 @@ public class CppAssetManager2 {
 
       // Create a reference since we can't represent this complex type as a Res_value.
       out_value.set(new Res_value((byte) Res_value.TYPE_REFERENCE, resid));
-      out_selected_config.set(entry.get().config);
-      out_flags.set(entry.get().type_flags);
+      out_selected_config.set(entry.config);
+      out_flags.set(entry.type_flags);
       return cookie;
     }
 
     // final Res_value device_value = reinterpret_cast<final Res_value>(
     //     reinterpret_cast<final byte*>(entry.entry) + dtohs(entry.entry.size));
     // out_value.copyFrom_dtoh(*device_value);
-    Res_value device_value = entry.get().entry.getResValue();
-    out_value.set(device_value.copy());
+    // Res_value is immutable, and read into a new instance, so it doesn't need to be copied
+    Res_value device_value = entry.entry.getResValue();
+    out_value.set(device_value);
 
     // Convert the package ID to the runtime assigned package ID.
-    entry.get().dynamic_ref_table.lookupResourceValue(out_value);
+    entry.dynamic_ref_table.lookupResourceValue(out_value);
 
-    out_selected_config.set(entry.get().config);
-    out_flags.set(entry.get().type_flags);
+    out_selected_config.set(entry.config);
+    out_flags.set(entry.type_flags);
     return cookie;
   }
 
@@ -924,8 +947,7 @@ public class CppAssetManager2 {
   // been seen while traversing bag parents.
   //  final ResolvedBag* GetBag(int resid);
   public final ResolvedBag GetBag(int resid) {
-    List<Integer> found_resids = new ArrayList<>();
-    return GetBag(resid, found_resids);
+    return GetBag(resid, new int[8], 0);
   }
 
   // Retrieves the best matching bag/map resource with ID `resid`.
@@ -938,23 +960,25 @@ public class CppAssetManager2 {
   //      ...
   //    }
   //  }
-  ResolvedBag GetBag(int resid, List<Integer> child_resids) {
+  //
+  // Robolectric: the first `child_count` elements of `child_resids` are the ids of the bags whose
+  // parents are being resolved, kept in a primitive array rather than a List<Integer>. The map
+  // entries are read straight from the resource table rather than through ResTable_map views.
+  private ResolvedBag GetBag(int resid, int[] child_resids, int child_count) {
     // ATRACE_NAME("AssetManager::GetBag");
 
-    ResolvedBag cached_iter = cached_bags_.get(resid);
+    ResolvedBag cached_iter = cached_bags().get(resid);
     if (cached_iter != null) {
       return cached_iter;
     }
 
-    final Ref<FindEntryResult> entryRef = new Ref<>(null);
+    final FindEntryResult entry = new FindEntryResult();
     ApkAssetsCookie cookie =
-        FindEntry(resid, (short) 0 /* density_override */, false /* stop_at_first_match */, entryRef);
+        FindEntry(resid, (short) 0 /* density_override */, false /* stop_at_first_match */, entry);
     if (cookie.intValue() == kInvalidCookie) {
       return null;
     }
 
-    FindEntryResult entry = entryRef.get();
-
     // Check that the size of the entry header is at least as big as
     // the desired ResTable_map_entry. Also verify that the entry
     // was intended to be a map.
@@ -968,86 +992,62 @@ public class CppAssetManager2 {
     // final ResTable_map map_entry =
     //     reinterpret_cast<final ResTable_map*>(reinterpret_cast<final byte*>(map) + map.size);
     // final ResTable_map map_entry_end = map_entry + dtohl(map.count);
-    final ResTable_map_entry map = new ResTable_map_entry(entry.entry.myBuf(), entry.entry.myOffset());
-    int curOffset = map.myOffset() + map.size;
-    ResTable_map map_entry = null; // = new ResTable_map(map.myBuf(), curOffset);
-    final int map_entry_end =
-        curOffset + dtohl(map.count) * ResTable_map.SIZEOF;
-    if (curOffset < map_entry_end) {
-      map_entry = new ResTable_map(map.myBuf(), curOffset);
-    }
+    final ByteBuffer buf = entry.entry.myBuf();
+    final int map = entry.entry.myOffset();
+    final int map_count = dtohl(buf.getInt(map + ResTable_entry.SIZEOF + ResTable_ref.SIZEOF));
+    int map_entry = map + dtohs(entry.entry.size);
+    final int map_entry_end = map_entry + map_count * ResTable_map.SIZEOF;
 
     // Keep track of ids that have already been seen to prevent infinite loops caused by circular
     // dependencies between bags
-    child_resids.add(resid);
+    if (child_count == child_resids.length) {
+      child_resids = Arrays.copyOf(child_resids, child_count * 2);
+    }
+    child_resids[child_count++] = resid;
 
-    final Ref<Integer> parent_resid = new Ref<>(dtohl(map.parent.ident));
-    if (parent_resid.get() == 0 || child_resids.contains(parent_resid.get())) {
+    int parent_resid = dtohl(buf.getInt(map + ResTable_entry.SIZEOF));
+    if (parent_resid == 0 || contains(child_resids, child_count, parent_resid)) {
       // There is no parent or that a circular dependency exist, meaning there is nothing to
       // inherit and we can do a simple copy of the entries in the map.
-      final int entry_count = (map_entry_end - curOffset) / ResTable_map.SIZEOF;
+      final int entry_count = map_count;
       // util.unique_cptr<ResolvedBag> new_bag{reinterpret_cast<ResolvedBag*>(
       //     malloc(sizeof(ResolvedBag) + (entry_count * sizeof(ResolvedBag.Entry))))};
       ResolvedBag new_bag = new ResolvedBag();
       ResolvedBag.Entry[] new_entry = new_bag.entries = new Entry[entry_count];
-      int i = 0;
-      for (; curOffset < map_entry_end;
-          map_entry = new ResTable_map(map_entry.myBuf(), curOffset)) {
-        final Ref<Integer> new_key = new Ref<>(dtohl(map_entry.name.ident));
-        if (!is_internal_resid(new_key.get())) {
-          // Attributes, arrays, etc don't have a resource id as the name. They specify
-          // other data, which would be wrong to change via a lookup.
-          if (entry.dynamic_ref_table.lookupResourceId(new_key) != NO_ERROR) {
-            System.err.println(String.format("Failed to resolve key 0x%08x in bag 0x%08x.", new_key.get(),
-                resid));
-            return null;
-          }
+      for (int i = 0; map_entry < map_entry_end; i++) {
+        int new_key = GetBagKey(buf, map_entry, entry.dynamic_ref_table, resid);
+        if (new_key == 0) {
+          return null;
         }
-        Entry new_entry_ = new_entry[i] = new Entry();
-        new_entry_.cookie = cookie;
-        new_entry_.key = new_key.get();
-        new_entry_.key_pool = null;
-        new_entry_.type_pool = null;
-        new_entry_.value = map_entry.value.copy();
-        final Ref<Res_value> valueRef = new Ref<>(new_entry_.value);
-        int err = entry.dynamic_ref_table.lookupResourceValue(valueRef);
-        new_entry_.value = valueRef.get();
-        if (err != NO_ERROR) {
-          System.err.println(String.format(
-              "Failed to resolve value t=0x%02x d=0x%08x for key 0x%08x.", new_entry_.value.dataType,
-              new_entry_.value.data, new_key.get()));
+        new_entry[i] = NewBagEntry(buf, map_entry, new_key, cookie, entry.dynamic_ref_table);
+        if (new_entry[i] == null) {
           return null;
         }
-        // ++new_entry;
-        ++i;
-
-        final int size = dtohs(map_entry.value.size);
-//      curOffset += size + sizeof(*map)-sizeof(map->value);
-        curOffset += size + ResTable_map.SIZEOF-Res_value.SIZEOF;
-
+        map_entry = NextMapEntry(buf, map_entry);
       }
       new_bag.type_spec_flags = entry.type_flags;
       new_bag.entry_count = entry_count;
-      ResolvedBag result = new_bag;
-      cached_bags_.put(resid, new_bag);
-      return result;
+      return cached_bags().putIfAbsent(resid, new_bag);
     }
 
     // In case the parent is a dynamic reference, resolve it.
-    entry.dynamic_ref_table.lookupResourceId(parent_resid);
+    int translated_parent_resid = entry.dynamic_ref_table.translateResourceId(parent_resid);
+    if (translated_parent_resid != 0) {
+      parent_resid = translated_parent_resid;
+    }
 
     // Get the parent and do a merge of the keys.
-    final ResolvedBag parent_bag = GetBag(parent_resid.get(), child_resids);
+    final ResolvedBag parent_bag = GetBag(parent_resid, child_resids, child_count);
     if (parent_bag == null) {
       // Failed to get the parent that should exist.
-      System.err.println(String.format("Failed to find parent 0x%08x of bag 0x%08x.", parent_resid.get(),
+      System.err.println(String.format("Failed to find parent 0x%08x of bag 0x%08x.", parent_resid,
           resid));
       return null;
     }
 
     // Create the max possible entries we can make. Once we construct the bag,
     // we will realloc to fit to size.
-    final int max_count = parent_bag.entry_count + dtohl(map.count);
+    final int max_count = parent_bag.entry_count + map_count;
     // util::unique_cptr<ResolvedBag> new_bag{reinterpret_cast<ResolvedBag*>(
     //     malloc(sizeof(ResolvedBag) + (max_count * sizeof(ResolvedBag::Entry))))};
     ResolvedBag new_bag = new ResolvedBag();
@@ -1061,16 +1061,11 @@ public class CppAssetManager2 {
     final int parentEntryCount = parent_bag.entry_count;
 
     // The keys are expected to be in sorted order. Merge the two bags.
-    while (map_entry != null && map_entry.myOffset() != map_entry_end && parentEntryIndex != parentEntryCount) {
-      final Ref<Integer> child_keyRef = new Ref<>(dtohl(map_entry.name.ident));
-      if (!is_internal_resid(child_keyRef.get())) {
-        if (entry.dynamic_ref_table.lookupResourceId(child_keyRef) != NO_ERROR) {
-          System.err.println(String.format("Failed to resolve key 0x%08x in bag 0x%08x.", child_keyRef.get(),
-              resid));
-          return null;
-        }
+    while (map_entry != map_entry_end && parentEntryIndex != parentEntryCount) {
+      int child_key = GetBagKey(buf, map_entry, entry.dynamic_ref_table, resid);
+      if (child_key == 0) {
+        return null;
       }
-      int child_key = child_keyRef.get();
 
       Entry parent_entry = parent_bag.entries[parentEntryIndex];
       if (parent_entry == null) {
@@ -1080,24 +1075,14 @@ public class CppAssetManager2 {
       if (child_key <= parent_entry.key) {
         // Use the child key if it comes before the parent
         // or is equal to the parent (overrides).
-        Entry new_entry_ = new_entry[newEntryIndex] = new Entry();
-        new_entry_.cookie = cookie;
-        new_entry_.key = child_key;
-        new_entry_.key_pool = null;
-        new_entry_.type_pool = null;
-        new_entry_.value = map_entry.value.copy();
-        final Ref<Res_value> valueRef = new Ref<>(new_entry_.value);
-        int err = entry.dynamic_ref_table.lookupResourceValue(valueRef);
-        new_entry_.value = valueRef.get();
-        if (err != NO_ERROR) {
-          System.err.println(String.format(
-              "Failed to resolve value t=0x%02x d=0x%08x for key 0x%08x.", new_entry_.value.dataType,
-              new_entry_.value.data, child_key));
+        new_entry[newEntryIndex] =
+            NewBagEntry(buf, map_entry, child_key, cookie, entry.dynamic_ref_table);
+        if (new_entry[newEntryIndex] == null) {
           return null;
         }
 
         // ++map_entry;
-        map_entry = new ResTable_map(map_entry.myBuf(), map_entry.myOffset() + map_entry.value.size + ResTable_map.SIZEOF - Res_value.SIZEOF);
+        map_entry = NextMapEntry(buf, map_entry);
       } else {
         // Take the parent entry as-is.
         // memcpy(new_entry, parent_entry, sizeof(*new_entry));
@@ -1116,33 +1101,18 @@ public class CppAssetManager2 {
     }
 
     // Finish the child entries if they exist.
-    while (map_entry != null && map_entry.myOffset() != map_entry_end) {
-      final Ref<Integer> new_key = new Ref<>(map_entry.name.ident);
-      if (!is_internal_resid(new_key.get())) {
-        if (entry.dynamic_ref_table.lookupResourceId(new_key) != NO_ERROR) {
-          System.err.println(String.format("Failed to resolve key 0x%08x in bag 0x%08x.", new_key.get(),
-              resid));
-          return null;
-        }
+    while (map_entry != map_entry_end) {
+      int new_key = GetBagKey(buf, map_entry, entry.dynamic_ref_table, resid);
+      if (new_key == 0) {
+        return null;
       }
-      Entry new_entry_ = new_entry[newEntryIndex] = new Entry();
-      new_entry_.cookie = cookie;
-      new_entry_.key = new_key.get();
-      new_entry_.key_pool = null;
-      new_entry_.type_pool = null;
-      new_entry_.value = map_entry.value.copy();
-      final Ref<Res_value> valueRef = new Ref<>(new_entry_.value);
-      int err = entry.dynamic_ref_table.lookupResourceValue(valueRef);
-      new_entry_.value = valueRef.get();
-      if (err != NO_ERROR) {
-        System.err.println(String.format(
-            "Failed to resolve value t=0x%02x d=0x%08x for key 0x%08x.",
-            new_entry_.value.dataType,
-            new_entry_.value.data, new_key.get()));
+      new_entry[newEntryIndex] =
+          NewBagEntry(buf, map_entry, new_key, cookie, entry.dynamic_ref_table);
+      if (new_entry[newEntryIndex] == null) {
         return null;
       }
       // ++map_entry;
-      map_entry = new ResTable_map(map_entry.myBuf(), map_entry.myOffset() + map_entry.value.size + ResTable_map.SIZEOF - Res_value.SIZEOF);
+      map_entry = NextMapEntry(buf, map_entry);
       // ++new_entry;
       ++newEntryIndex;
     }
@@ -1166,18 +1136,76 @@ public class CppAssetManager2 {
     if (actual_count != max_count) {
       // new_bag.reset(reinterpret_cast<ResolvedBag*>(realloc(
       //     new_bag.release(), sizeof(ResolvedBag) + (actual_count * sizeof(ResolvedBag::Entry)))));
-      Entry[] resizedEntries = new Entry[actual_count];
-      System.arraycopy(new_bag.entries, 0, resizedEntries, 0, actual_count);
-      new_bag.entries = resizedEntries;
+      new_bag.entries = Arrays.copyOf(new_bag.entries, actual_count);
     }
 
     // Combine flags from the parent and our own bag.
     new_bag.type_spec_flags = entry.type_flags | parent_bag.type_spec_flags;
     new_bag.entry_count = actual_count;
-    ResolvedBag result2 = new_bag;
     // cached_bags_[resid] = std::move(new_bag);
-    cached_bags_.put(resid, new_bag);
-    return result2;
+    return cached_bags().putIfAbsent(resid, new_bag);
+  }
+
+  ResolvedBagCache.Bags cached_bags() {
+    if (cached_bags_ == null) {
+      cached_bags_ = cached_bags_private_
+          ? new ResolvedBagCache.Bags()
+          : ResolvedBagCache.getInstance().get(apk_assets_, configuration_);
+    }
+    return cached_bags_;
+  }
+
+  private static boolean contains(int[] resids, int count, int resid) {
+    for (int i = 0; i < count; i++) {
+      if (resids[i] == resid) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // Returns the run-time key of the ResTable_map at `map_entry`, or 0 if it can't be resolved.
+  private static int GetBagKey(ByteBuffer buf, int map_entry, DynamicRefTable dynamic_ref_table,
+      int resid) {
+    int key = dtohl(buf.getInt(map_entry));
+    if (is_internal_resid(key)) {
+      // Attributes, arrays, etc don't have a resource id as the name. They specify
+      // other data, which would be wrong to change via a lookup.
+      return key;
+    }
+    int translated_key = dynamic_ref_table.translateResourceId(key);
+    if (translated_key == 0) {
+      System.err.println(String.format("Failed to resolve key 0x%08x in bag 0x%08x.", key, resid));
+    }
+    return translated_key;
+  }
+
+  // Returns a bag entry for the value of the ResTable_map at `map_entry`, or null if it can't be
+  // resolved.
+  private static Entry NewBagEntry(ByteBuffer buf, int map_entry, int key, ApkAssetsCookie cookie,
+      DynamicRefTable dynamic_ref_table) {
+    Res_value value = new Res_value(buf, map_entry + ResTable_ref.SIZEOF);
+    Res_value resolved_value = dynamic_ref_table.translateResourceValue(value);
+    if (resolved_value == null) {
+      System.err.println(String.format(
+          "Failed to resolve value t=0x%02x d=0x%08x for key 0x%08x.", value.dataType,
+          value.data, key));
+      return null;
+    }
+    Entry new_entry = new Entry();
+    new_entry.cookie = cookie;
+    new_entry.key = key;
+    new_entry.key_pool = null;
+    new_entry.type_pool = null;
+    new_entry.value = resolved_value;
+    return new_entry;
+  }
+
+  // Returns the offset of the ResTable_map following the one at `map_entry`.
+  private static int NextMapEntry(ByteBuffer buf, int map_entry) {
+    // map_entry + map_entry->value.size + sizeof(*map_entry) - sizeof(map_entry->value)
+    int value_size = dtohs(buf.getShort(map_entry + ResTable_ref.SIZEOF));
+    return map_entry + value_size + ResTable_map.SIZEOF - Res_value.SIZEOF;
   }
 
   String GetResourceName(int resid) {
@@ -1272,6 +1300,7 @@ public class CppAssetManager2 {
   // Triggers the re-construction of lists of types that match the set configuration.
   // This should always be called when mutating the AssetManager's configuration or ApkAssets set.
   void RebuildFilterList() {
+    PackedConfig packed_configuration = PackedConfig.pack(configuration_);
     for (PackageGroup group : package_groups_) {
       for (ConfiguredPackage impl : group.packages_) {
         // // Destroy it.
@@ -1292,12 +1321,13 @@ public class CppAssetManager2 {
           FilteredConfigGroup configGroup = impl.filtered_configs_.editItemAt(type_index);
           // const auto iter_end = spec->types + spec->type_count;
           //   for (auto iter = spec->types; iter != iter_end; ++iter) {
-          for (ResTable_type iter : spec.types) {
-            ResTable_config this_config = ResTable_config.fromDtoH(iter.config);
-            if (this_config.match(configuration_)) {
-              configGroup.configurations.add(this_config);
-              configGroup.types.add(iter);
-            }
+          //
+          // Robolectric: which types match is worked out once per configuration for each spec.
+          BitSet matching_types = spec.GetMatchingTypes(packed_configuration);
+          for (int i = matching_types.nextSetBit(0); i >= 0; i = matching_types.nextSetBit(i + 1)) {
+            ResTable_type iter = spec.types[i];
+            configGroup.configurations.add(ResTable_config.fromDtoH(iter.config));
+            configGroup.types.add(iter);
           }
         });
       }
@@ -1307,23 +1337,24 @@ public class CppAssetManager2 {
   // Purge all resources that are cached and vary by the configuration axis denoted by the
   // bitmask `diff`.
 //  void InvalidateCaches(int diff);
+  //
+  // Robolectric: the cached bags are shared, so rather than purging them, this switches to the bags
+  // of the new ApkAssets and configuration, or to new private bags, see cached_bags_private_.
   private void InvalidateCaches(int diff) {
-    if (diff == 0xffffffff) {
+    ResolvedBagCache.Bags old_bags = cached_bags_;
+    cached_bags_ = null;
+    if (diff == 0xffffffff || old_bags == null) {
       // Everything must go.
-      cached_bags_.clear();
+      cached_bags_private_ = false;
       return;
     }
 
     // Be more conservative with what gets purged. Only if the bag has other possible
     // variations with respect to what changed (diff) should we remove it.
     // for (auto iter = cached_bags_.cbegin(); iter != cached_bags_.cend();) {
-    for (Integer key : new ArrayList<>(cached_bags_.keySet())) {
-      // if (diff & iter.second.type_spec_flags) {
-      if (isTruthy(diff & cached_bags_.get(key).type_spec_flags)) {
-        // iter = cached_bags_.erase(iter);
-        cached_bags_.remove(key);
-      }
-    }
+    //   if (diff & iter.second.type_spec_flags) {
+    //     iter = cached_bags_.erase(iter);
+    cached_bags().putAllIfAbsent(old_bags, diff);
   }
 
   // Creates a new Theme from this AssetManager.
@@ -1417,9 +1448,8 @@ public class CppAssetManager2 {
       //     using reverse_bag_iterator = std::reverse_iterator<const ResolvedBag::Entry*>;
       // const auto bag_iter_end = reverse_bag_iterator(begin(bag));
       //     for (auto bag_iter = reverse_bag_iterator(end(bag)); bag_iter != bag_iter_end; ++bag_iter) {
-      List<Entry> bagEntries = new ArrayList<>(Arrays.asList(bag.entries));
-      Collections.reverse(bagEntries);
-      for (ResolvedBag.Entry bag_iter : bagEntries) {
+      for (int bag_index = bag.entries.length - 1; bag_index >= 0; bag_index--) {
+        ResolvedBag.Entry bag_iter = bag.entries[bag_index];
         //   final int attr_resid = bag_iter.key;
         final int attr_resid = bag_iter == null ? 0 : bag_iter.key;
 
@@ -1521,8 +1551,8 @@ public class CppAssetManager2 {
             if (entry_idx < type.entry_count) {
               ThemeEntry entry = type.entries[entry_idx];
               if (entry == null) {
-                entry = new ThemeEntry();
-                entry.value = new Res_value();
+                // an unset entry holds a null value
+                return K_INVALID_COOKIE;
               }
               type_spec_flags |= entry.type_spec_flags;
 
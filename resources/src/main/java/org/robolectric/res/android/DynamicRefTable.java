@@ -95,12 +95,22 @@ public class DynamicRefTable
 //  // Performs the actual conversion of build-time resource ID to run-time
 //  // resource ID.
   int lookupResourceId(Ref<Integer> resId) {
-    int res = resId.get();
+    int translated = translateResourceId(resId.get());
+    if (translated == 0) {
+      return UNKNOWN_ERROR;
+    }
+    resId.set(translated);
+    return NO_ERROR;
+  }
+
+  // Robolectric: like lookupResourceId(Ref<Integer>), without boxing. Returns the run-time
+  // resource ID, or 0 if `res` can't be translated.
+  int translateResourceId(int res) {
     int packageId = Res_GETPACKAGE(res) + 1;
 
     if (packageId == APP_PACKAGE_ID && !mAppAsLib) {
       // No lookup needs to be done, app package IDs are absolute.
-      return NO_ERROR;
+      return res;
     }
 
     if (packageId == 0 || (packageId == APP_PACKAGE_ID && mAppAsLib)) {
@@ -109,8 +119,7 @@ public class DynamicRefTable
       // Or if app resource is loaded as shared library, the resource which has
       // app package Id is local resources.
       // so we fix up those resources with the calling package ID.
-      resId.set((0xFFFFFF & (resId.get())) | (((int) mAssignedPackageId) << 24));
-      return NO_ERROR;
+      return (0xFFFFFF & res) | (((int) mAssignedPackageId) << 24);
     }
 
     // Do a proper lookup.
@@ -123,23 +132,32 @@ public class DynamicRefTable
           ALOGW("e[0x%02x] . 0x%02x", i, mLookupTable[i]);
         }
       }
-      return UNKNOWN_ERROR;
+      return 0;
     }
 
-    resId.set((res & 0x00ffffff) | (((int) translatedId) << 24));
-    return NO_ERROR;
+    return (res & 0x00ffffff) | (((int) translatedId) << 24);
   }
 //
   int lookupResourceValue(Ref<Res_value> value) {
+    Res_value resolved = translateResourceValue(value.get());
+    if (resolved == null) {
+      return UNKNOWN_ERROR;
+    }
+    value.set(resolved);
+    return NO_ERROR;
+  }
+
+  // Robolectric: like lookupResourceValue(Ref<Res_value>), but returns `inValue` itself if it
+  // needs no translation, or null if it can't be translated.
+  Res_value translateResourceValue(Res_value inValue) {
     byte resolvedType = DataType.REFERENCE.code();
-    Res_value inValue = value.get();
     switch (DataType.fromCode(inValue.dataType)) {
       case ATTRIBUTE:
         resolvedType = DataType.ATTRIBUTE.code();
         // fallthrough
       case REFERENCE:
         if (!mAppAsLib) {
-          return NO_ERROR;
+          return inValue;
         }
 
         // If the package is loaded as shared library, the resource reference
@@ -151,18 +169,15 @@ public class DynamicRefTable
       case DYNAMIC_REFERENCE:
         break;
       default:
-        return NO_ERROR;
+        return inValue;
     }
 
-    final Ref<Integer> resIdRef = new Ref<>(inValue.data);
-    int err = lookupResourceId(resIdRef);
-    value.set(inValue.withData(resIdRef.get()));
-    if (err != NO_ERROR) {
-      return err;
+    int resId = translateResourceId(inValue.data);
+    if (resId == 0) {
+      return null;
     }
 
-    value.set(new Res_value(resolvedType, resIdRef.get()));
-    return NO_ERROR;
+    return new Res_value(resolvedType, resId);
  }
 
   public Map<String, Byte> entries() {
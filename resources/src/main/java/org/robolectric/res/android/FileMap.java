@@ -252,13 +252,8 @@ public class FileMap {
     if (mDataPtr == null) {
       mDataPtr = new byte[mDataLength];
 
-      InputStream is;
       try {
-        if (isFromZip) {
-          is = zipFile.getInputStream(zipEntry);
-        } else {
-          is = new FileInputStream(getFileName());
-        }
+        InputStream is = openInputStream();
         try {
           readFully(is, mDataPtr);
         } finally {
@@ -271,6 +266,15 @@ public class FileMap {
     return mDataPtr;
   }
 
+  /** Opens a new stream over the (uncompressed) data of this map. */
+  InputStream openInputStream() throws IOException {
+    if (isFromZip) {
+      return zipFile.getInputStream(zipEntry);
+    } else {
+      return new FileInputStream(getFileName());
+    }
+  }
+
   public static void readFully(InputStream is, byte[] bytes) throws IOException {
     int size = bytes.length;
     int remaining = size;
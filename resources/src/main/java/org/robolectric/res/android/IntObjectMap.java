@@ -0,0 +1,114 @@
+package org.robolectric.res.android;
+
+import java.util.Arrays;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * A hash map from primitive int keys, such as resource IDs, to non-null values. Unlike a {@code
+ * HashMap<Integer, V>}, looking up a key doesn't box it, and entries aren't allocated.
+ *
+ * <p>Not thread safe.
+ */
+class IntObjectMap<V> {
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] keys;
+  // a null value marks an empty slot
+  private V[] values;
+  private int size;
+
+  IntObjectMap() {
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /** Returns the value for {@code key}, or null if there is none. */
+  V get(int key) {
+    int mask = keys.length - 1;
+    for (int i = hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+      if (keys[i] == key) {
+        return values[i];
+      }
+    }
+    return null;
+  }
+
+  /** Associates {@code value}, which must not be null, with {@code key}. */
+  void put(int key, V value) {
+    if (value == null) {
+      throw new NullPointerException("value");
+    }
+    if ((size + 1) * 4 > keys.length * 3) {
+      rehash(keys.length * 2);
+    }
+    int mask = keys.length - 1;
+    int i = hash(key) & mask;
+    while (values[i] != null) {
+      if (keys[i] == key) {
+        values[i] = value;
+        return;
+      }
+      i = (i + 1) & mask;
+    }
+    keys[i] = key;
+    values[i] = value;
+    size++;
+  }
+
+  /** Removes the entries whose value matches {@code filter}. */
+  void removeIf(Predicate<? super V> filter) {
+    int removed = 0;
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null && filter.test(values[i])) {
+        values[i] = null;
+        removed++;
+      }
+    }
+    if (removed > 0) {
+      // linear probing can't leave holes in a run of keys, so reinsert the remaining ones
+      rehash(keys.length);
+    }
+  }
+
+  /** Calls {@code action} with every value and its key. */
+  void forEach(ObjIntConsumer<? super V> action) {
+    for (int i = 0; i < values.length; i++) {
+      if (values[i] != null) {
+        action.accept(values[i], keys[i]);
+      }
+    }
+  }
+
+  void clear() {
+    Arrays.fill(values, null);
+    size = 0;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void rehash(int capacity) {
+    int[] oldKeys = keys;
+    V[] oldValues = values;
+    allocate(capacity);
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void allocate(int capacity) {
+    keys = new int[capacity];
+    values = (V[]) new Object[capacity];
+    size = 0;
+  }
+
+  private static int hash(int key) {
+    // resource IDs differ mostly in their low bits, spread them over the table
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+}
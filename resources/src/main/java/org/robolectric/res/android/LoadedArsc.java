@@ -18,11 +18,13 @@ import static org.robolectric.res.android.Util.logError;
 import static org.robolectric.res.android.Util.logWarning;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.robolectric.res.android.Chunk.Iterator;
 import org.robolectric.res.android.Idmap.LoadedIdmap;
 import org.robolectric.res.android.ResourceTypes.IdmapEntry_header;
@@ -107,6 +109,43 @@ public class LoadedArsc {
       int[] flags = type_spec.getSpecFlags();
       return flags[entry_index];
     }
+
+    // Robolectric: the configs of the types, packed on first use, and which types match each of the
+    // last few device configurations. LoadedArscs are shared, so each AssetManager that filters
+    // types for an already seen configuration only has to copy the matching ones.
+    private static final int MAX_CACHED_CONFIGURATIONS = 16;
+    private volatile PackedConfig[] packed_configs;
+    private final Map<PackedConfig, BitSet> matching_types = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the indexes of the types whose config matches {@code configuration}. The returned
+     * set mustn't be modified.
+     */
+    BitSet GetMatchingTypes(PackedConfig configuration) {
+      BitSet matching = matching_types.get(configuration);
+      if (matching == null) {
+        PackedConfig[] configs = packed_configs;
+        if (configs == null) {
+          configs = new PackedConfig[types.length];
+          for (int i = 0; i < types.length; i++) {
+            configs[i] = PackedConfig.pack(ResTable_config.fromDtoH(types[i].config));
+          }
+          packed_configs = configs;
+        }
+
+        matching = new BitSet(configs.length);
+        for (int i = 0; i < configs.length; i++) {
+          if (configs[i].match(configuration)) {
+            matching.set(i);
+          }
+        }
+        if (matching_types.size() >= MAX_CACHED_CONFIGURATIONS) {
+          matching_types.clear();
+        }
+        matching_types.put(configuration, matching);
+      }
+      return matching;
+    }
   }
 
   // Returns the string pool where all string resource values
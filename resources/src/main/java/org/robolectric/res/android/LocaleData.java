@@ -1,13 +1,8 @@
 package org.robolectric.res.android;
 
-import static org.robolectric.res.android.LocaleDataTables.LIKELY_SCRIPTS;
 import static org.robolectric.res.android.LocaleDataTables.MAX_PARENT_DEPTH;
-import static org.robolectric.res.android.LocaleDataTables.REPRESENTATIVE_LOCALES;
-import static org.robolectric.res.android.LocaleDataTables.SCRIPT_CODES;
-import static org.robolectric.res.android.LocaleDataTables.SCRIPT_PARENTS;
 
 import java.util.Arrays;
-import java.util.Map;
 
 // transliterated from https://android.googlesource.com/platform/frameworks/base/+/android-9.0.0_r12/libs/androidfw/LocaleData.cpp
 public class LocaleData {
@@ -30,15 +25,9 @@ public class LocaleData {
 
   private static int findParent(int packed_locale, final String script) {
     if (hasRegion(packed_locale)) {
-      for (Map.Entry<String, Map<Integer, Integer>> entry : SCRIPT_PARENTS.entrySet()) {
-        if (script.equals(entry.getKey())) {
-          Map<Integer, Integer> map = entry.getValue();
-          Integer lookup_result = map.get(packed_locale);
-          if (lookup_result != null) {
-            return lookup_result;
-          }
-          break;
-        }
+      int lookup_result = LocaleDataTables.findParent(packed_locale, script);
+      if (lookup_result != 0) {
+        return lookup_result;
       }
       return dropRegion(packed_locale);
     }
@@ -103,7 +92,7 @@ public class LocaleData {
             (((long) script.charAt(1) & 0xff) << 16) |
             (((long) script.charAt(2) & 0xff) << 8) |
             ((long) script.charAt(3) & 0xff));
-    return (REPRESENTATIVE_LOCALES.contains(packed_locale));
+    return LocaleDataTables.isRepresentative(packed_locale);
   }
 
   private static final int US_SPANISH = 0x65735553; // es-US
@@ -185,26 +174,17 @@ public class LocaleData {
       return;
     }
     int lookup_key = packLocale(language, region);
-    Byte lookup_result = LIKELY_SCRIPTS.get(lookup_key);
-    if (lookup_result == null) {
+    if (!LocaleDataTables.findLikelyScript(lookup_key, out)) {
       // We couldn't find the locale. Let's try without the region
       if (region[0] != '\0') {
         lookup_key = dropRegion(lookup_key);
-        lookup_result = LIKELY_SCRIPTS.get(lookup_key);
-        if (lookup_result != null) {
-//          memcpy(out, SCRIPT_CODES[lookup_result.second], SCRIPT_LENGTH);
-          System.arraycopy(SCRIPT_CODES[lookup_result], 0, out, 0, SCRIPT_LENGTH);
+        if (LocaleDataTables.findLikelyScript(lookup_key, out)) {
           return;
         }
       }
       // We don't know anything about the locale
 //      memset(out, '\0', SCRIPT_LENGTH);
       Arrays.fill(out, (byte) 0);
-      return;
-    } else {
-      // We found the locale.
-//      memcpy(out, SCRIPT_CODES[lookup_result.second], SCRIPT_LENGTH);
-      System.arraycopy(SCRIPT_CODES[lookup_result], 0, out, 0, SCRIPT_LENGTH);
     }
   }
 
@@ -0,0 +1,292 @@
+package org.robolectric.res.android;
+
+import static org.robolectric.res.android.LocaleData.localeDataComputeScript;
+import static org.robolectric.res.android.ResTable_config.KEYSHIDDEN_NO;
+import static org.robolectric.res.android.ResTable_config.KEYSHIDDEN_SOFT;
+import static org.robolectric.res.android.ResTable_config.MASK_HDR;
+import static org.robolectric.res.android.ResTable_config.MASK_KEYSHIDDEN;
+import static org.robolectric.res.android.ResTable_config.MASK_LAYOUTDIR;
+import static org.robolectric.res.android.ResTable_config.MASK_NAVHIDDEN;
+import static org.robolectric.res.android.ResTable_config.MASK_SCREENLONG;
+import static org.robolectric.res.android.ResTable_config.MASK_SCREENROUND;
+import static org.robolectric.res.android.ResTable_config.MASK_SCREENSIZE;
+import static org.robolectric.res.android.ResTable_config.MASK_UI_MODE_NIGHT;
+import static org.robolectric.res.android.ResTable_config.MASK_UI_MODE_TYPE;
+import static org.robolectric.res.android.ResTable_config.MASK_WIDE_COLOR_GAMUT;
+import static org.robolectric.res.android.ResTable_config.kFilipino;
+import static org.robolectric.res.android.ResTable_config.kTagalog;
+
+import java.util.Arrays;
+
+/**
+ * A {@link ResTable_config} packed into a few longs, for matching it against device configurations
+ * many times over.
+ *
+ * {@link #match(PackedConfig)} gives the same answer as {@link ResTable_config#match}, but checks
+ * all the fields which must be equal (unless unspecified) with one masked xor per long, and all
+ * the fields which must not exceed the device's with one subtraction per long. The script used to
+ * match a locale is only computed once.
+ *
+ * The {@link ResTable_config} mustn't be changed once packed.
+ */
+public final class PackedConfig {
+  // Fields which must be equal to the device's, unless 0.
+  // equal0: mcc (16) | mnc (16) | orientation (8) | touchscreen (8) | keyboard (8) | navigation (8)
+  // equal1: minorVersion (16) | layout dir & long (8) | ui mode type & night (8) | round (8)
+  //     | hdr & wide color gamut (8) | nav hidden (8)
+  private final long equal0;
+  private final long equal1;
+  private final long equalMask0;
+  private final long equalMask1;
+
+  // Fields which mustn't be greater than the device's, each followed by a guard bit.
+  // lessOrEqual0: smallestScreenWidthDp (16) | screenWidthDp (16) | screenHeightDp (16)
+  //     | screen size (4)
+  // lessOrEqual1: screenWidth (16) | screenHeight (16) | sdkVersion (16)
+  private final long lessOrEqual0;
+  private final long lessOrEqual1;
+  private static final long GUARDS0 = 1L << 16 | 1L << 33 | 1L << 50 | 1L << 55;
+  private static final long GUARDS1 = 1L << 16 | 1L << 33 | 1L << 50;
+
+  private final int keysHidden;
+
+  // language and country codes, as in ResTable_config#locale(), with "fil" as "tl"
+  private final int locale;
+  private final int language;
+  private final int country;
+  // as a device configuration: the requested script, if any
+  private final int requestedScript;
+  private final boolean hasRequestedScript;
+  // as a config to match: the script to match, if known, or else the country must match;
+  // computed on first use
+  private int script;
+  private volatile byte scriptState = SCRIPT_UNRESOLVED;
+  private static final byte SCRIPT_UNRESOLVED = 0;
+  private static final byte SCRIPT_KNOWN = 1;
+  private static final byte SCRIPT_UNKNOWN = 2;
+
+  // unless every field fits in its packed form, matching falls back to ResTable_config
+  private final boolean fits;
+  private final ResTable_config config;
+
+  private PackedConfig(ResTable_config config) {
+    this.config = config;
+    this.fits = fits(config.mcc, 0xffff)
+        && fits(config.mnc, 0xffff)
+        && fits(config.orientation, 0xff)
+        && fits(config.touchscreen, 0xff)
+        && fits(config.keyboard, 0xff)
+        && fits(config.navigation, 0xff)
+        && fits(config.minorVersion, 0xffff)
+        && fits(config.smallestScreenWidthDp, 0xffff)
+        && fits(config.screenWidthDp, 0xffff)
+        && fits(config.screenHeightDp, 0xffff)
+        && fits(config.screenWidth, 0xffff)
+        && fits(config.screenHeight, 0xffff)
+        && fits(config.sdkVersion, 0xffff);
+
+    long equal0 = 0;
+    long equalMask0 = 0;
+    equal0 |= config.mcc & 0xffffL;
+    equalMask0 |= config.mcc == 0 ? 0 : 0xffffL;
+    equal0 |= (config.mnc & 0xffffL) << 16;
+    equalMask0 |= config.mnc == 0 ? 0 : 0xffffL << 16;
+    equal0 |= (config.orientation & 0xffL) << 32;
+    equalMask0 |= config.orientation == 0 ? 0 : 0xffL << 32;
+    equal0 |= (config.touchscreen & 0xffL) << 40;
+    equalMask0 |= config.touchscreen == 0 ? 0 : 0xffL << 40;
+    equal0 |= (config.keyboard & 0xffL) << 48;
+    equalMask0 |= config.keyboard == 0 ? 0 : 0xffL << 48;
+    equal0 |= (config.navigation & 0xffL) << 56;
+    equalMask0 |= config.navigation == 0 ? 0 : 0xffL << 56;
+    this.equal0 = equal0;
+    this.equalMask0 = equalMask0;
+
+    int screenLayout = config.screenLayout & (MASK_LAYOUTDIR | MASK_SCREENLONG);
+    int uiMode = config.uiMode & (MASK_UI_MODE_TYPE | MASK_UI_MODE_NIGHT);
+    int screenRound = config.screenLayout2 & MASK_SCREENROUND;
+    int colorMode = config.colorMode & (MASK_HDR | MASK_WIDE_COLOR_GAMUT);
+    int navHidden = config.inputFlags & MASK_NAVHIDDEN;
+    long equal1 = 0;
+    long equalMask1 = 0;
+    equal1 |= config.minorVersion & 0xffffL;
+    equalMask1 |= config.minorVersion == 0 ? 0 : 0xffffL;
+    equal1 |= (long) screenLayout << 16;
+    equalMask1 |= (long) (subfieldMask(screenLayout, MASK_LAYOUTDIR)
+        | subfieldMask(screenLayout, MASK_SCREENLONG)) << 16;
+    equal1 |= (long) uiMode << 24;
+    equalMask1 |= (long) (subfieldMask(uiMode, MASK_UI_MODE_TYPE)
+        | subfieldMask(uiMode, MASK_UI_MODE_NIGHT)) << 24;
+    equal1 |= (long) screenRound << 32;
+    equalMask1 |= (long) subfieldMask(screenRound, MASK_SCREENROUND) << 32;
+    equal1 |= (long) colorMode << 40;
+    equalMask1 |= (long) (subfieldMask(colorMode, MASK_HDR)
+        | subfieldMask(colorMode, MASK_WIDE_COLOR_GAMUT)) << 40;
+    equal1 |= (long) navHidden << 48;
+    equalMask1 |= (long) subfieldMask(navHidden, MASK_NAVHIDDEN) << 48;
+    this.equal1 = equal1;
+    this.equalMask1 = equalMask1;
+
+    this.lessOrEqual0 = (config.smallestScreenWidthDp & 0xffffL)
+        | (config.screenWidthDp & 0xffffL) << 17
+        | (config.screenHeightDp & 0xffffL) << 34
+        | (long) (config.screenLayout & MASK_SCREENSIZE) << 51;
+    this.lessOrEqual1 = (config.screenWidth & 0xffffL)
+        | (config.screenHeight & 0xffffL) << 17
+        | (config.sdkVersion & 0xffffL) << 34;
+
+    this.keysHidden = config.inputFlags & MASK_KEYSHIDDEN;
+
+    this.locale = config.locale();
+    byte[] language = config.language;
+    if (language[0] == kFilipino[0] && language[1] == kFilipino[1]) {
+      language = kTagalog;
+    }
+    this.language = (language[0] & 0xff) << 8 | (language[1] & 0xff);
+    this.country = (config.country[0] & 0xff) << 8 | (config.country[1] & 0xff);
+
+    this.requestedScript = toInt(config.localeScript);
+    this.hasRequestedScript = config.localeScript[0] != '\0';
+  }
+
+  private void resolveScript() {
+    if (hasRequestedScript || config.localeScriptWasComputed) {
+      script = requestedScript;
+      scriptState = SCRIPT_KNOWN;
+    } else {
+      byte[] computedScript = new byte[4];
+      localeDataComputeScript(computedScript, config.language, config.country);
+      if (computedScript[0] != '\0') {
+        script = toInt(computedScript);
+        scriptState = SCRIPT_KNOWN;
+      } else {
+        scriptState = SCRIPT_UNKNOWN;
+      }
+    }
+  }
+
+  private static int toInt(byte[] script) {
+    return (script[0] & 0xff) << 24 | (script[1] & 0xff) << 16
+        | (script[2] & 0xff) << 8 | (script[3] & 0xff);
+  }
+
+  /** Packs {@code config}, either a config to match or a device configuration. */
+  public static PackedConfig pack(ResTable_config config) {
+    return new PackedConfig(config);
+  }
+
+  private static boolean fits(int value, int max) {
+    return value >= 0 && value <= max;
+  }
+
+  private static int subfieldMask(int value, int mask) {
+    return (value & mask) == 0 ? 0 : mask;
+  }
+
+  /** Returns whether this config matches the device configuration {@code settings}. */
+  public boolean match(PackedConfig settings) {
+    if (!fits || !settings.fits) {
+      return config.match(settings.config);
+    }
+
+    if (((equal0 ^ settings.equal0) & equalMask0) != 0
+        || ((equal1 ^ settings.equal1) & equalMask1) != 0) {
+      return false;
+    }
+
+    if (((settings.lessOrEqual0 | GUARDS0) - lessOrEqual0 & GUARDS0) != GUARDS0
+        || ((settings.lessOrEqual1 | GUARDS1) - lessOrEqual1 & GUARDS1) != GUARDS1) {
+      return false;
+    }
+
+    if (keysHidden != 0 && keysHidden != settings.keysHidden) {
+      // For compatibility, we count a request for KEYSHIDDEN_NO as also
+      // matching the more recent KEYSHIDDEN_SOFT.
+      if (keysHidden != KEYSHIDDEN_NO || settings.keysHidden != KEYSHIDDEN_SOFT) {
+        return false;
+      }
+    }
+
+    if (locale != 0) {
+      if (language != settings.language) {
+        return false;
+      }
+      if (scriptState == SCRIPT_UNRESOLVED) {
+        resolveScript();
+      }
+      if (!settings.hasRequestedScript || scriptState == SCRIPT_UNKNOWN) {
+        if ((country & 0xff00) != 0 && country != settings.country) {
+          return false;
+        }
+      } else if (script != settings.requestedScript) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof PackedConfig)) {
+      return false;
+    }
+    PackedConfig that = (PackedConfig) o;
+    if (!fits || !that.fits) {
+      return !fits && !that.fits && sameConfig(config, that.config);
+    }
+    return equal0 == that.equal0
+        && equal1 == that.equal1
+        && lessOrEqual0 == that.lessOrEqual0
+        && lessOrEqual1 == that.lessOrEqual1
+        && keysHidden == that.keysHidden
+        && locale == that.locale
+        && language == that.language
+        && country == that.country
+        && requestedScript == that.requestedScript
+        && config.localeScriptWasComputed == that.config.localeScriptWasComputed;
+  }
+
+  // every field, in full, since ResTable_config.compare() truncates the ones that might not fit
+  private static boolean sameConfig(ResTable_config a, ResTable_config b) {
+    return a.mcc == b.mcc
+        && a.mnc == b.mnc
+        && a.orientation == b.orientation
+        && a.touchscreen == b.touchscreen
+        && a.density == b.density
+        && a.keyboard == b.keyboard
+        && a.navigation == b.navigation
+        && a.inputFlags == b.inputFlags
+        && a.screenWidth == b.screenWidth
+        && a.screenHeight == b.screenHeight
+        && a.sdkVersion == b.sdkVersion
+        && a.minorVersion == b.minorVersion
+        && a.screenLayout == b.screenLayout
+        && a.screenLayout2 == b.screenLayout2
+        && a.colorMode == b.colorMode
+        && a.uiMode == b.uiMode
+        && a.smallestScreenWidthDp == b.smallestScreenWidthDp
+        && a.screenWidthDp == b.screenWidthDp
+        && a.screenHeightDp == b.screenHeightDp
+        && a.localeScriptWasComputed == b.localeScriptWasComputed
+        && Arrays.equals(a.language, b.language)
+        && Arrays.equals(a.country, b.country)
+        && Arrays.equals(a.localeScript, b.localeScript)
+        && Arrays.equals(a.localeVariant, b.localeVariant)
+        && Arrays.equals(a.localeNumberingSystem, b.localeNumberingSystem);
+  }
+
+  @Override
+  public int hashCode() {
+    long hash = equal0;
+    hash = 31 * hash + equal1;
+    hash = 31 * hash + lessOrEqual0;
+    hash = 31 * hash + lessOrEqual1;
+    hash = 31 * hash + keysHidden;
+    hash = 31 * hash + locale;
+    hash = 31 * hash + requestedScript;
+    return (int) (hash ^ (hash >>> 32));
+  }
+}
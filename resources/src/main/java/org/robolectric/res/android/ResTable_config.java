@@ -680,6 +680,18 @@ public class ResTable_config {
     this.localeVariant = new byte[8];
   }
 
+  /** Returns a deep copy of {@code other}, which later changes to either don't affect. */
+  public ResTable_config(ResTable_config other) {
+    this(other.size, other.mcc, other.mnc, other.language.clone(), other.country.clone(),
+        other.orientation, other.touchscreen, other.density, other.keyboard, other.navigation,
+        other.inputFlags, other.screenWidth, other.screenHeight, other.sdkVersion,
+        other.minorVersion, other.screenLayout, other.uiMode, other.smallestScreenWidthDp,
+        other.screenWidthDp, other.screenHeightDp, other.localeScript.clone(),
+        other.localeVariant.clone(), other.screenLayout2, other.colorMode, other.screenConfigPad2,
+        other.unknown == null ? null : other.unknown.clone());
+    this.localeScriptWasComputed = other.localeScriptWasComputed;
+  }
+
   public int minorVersion;
   public int screenLayout;
 
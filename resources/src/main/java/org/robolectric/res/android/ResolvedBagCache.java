@@ -0,0 +1,192 @@
+package org.robolectric.res.android;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.robolectric.res.android.CppAssetManager2.ResolvedBag;
+
+/**
+ * JVM-wide cache of the {@link ResolvedBag}s of {@link CppAssetManager2}s, shared by all asset
+ * managers with the same ordered {@link CppApkAssets} and configuration.
+ *
+ * <p>Resolving a style walks and merges its whole parent chain, and every new {@code Resources} of
+ * every test would otherwise do it again for the same framework and app styles. Bags only depend on
+ * the parsed {@link LoadedArsc}s, their order, which determines the cookies and package IDs, and
+ * the configuration, so asset managers agreeing on those get the same {@link Bags}. As with {@link
+ * ApkAssetsCache}, this class isn't loaded by sandbox class loaders.
+ *
+ * <p>Bags are resolved lazily and must not be modified once cached. The {@link LoadedArsc}s are
+ * only weakly referenced, and at most {@code robolectric.resources.bagCacheSize} (32 by default)
+ * combinations of APKs and configuration are kept, evicting the least recently used one beyond that.
+ */
+public class ResolvedBagCache {
+
+  static final int DEFAULT_MAX_SIZE = 32;
+
+  private static final ResolvedBagCache INSTANCE =
+      new ResolvedBagCache(Integer.getInteger("robolectric.resources.bagCacheSize", DEFAULT_MAX_SIZE));
+
+  public static ResolvedBagCache getInstance() {
+    return INSTANCE;
+  }
+
+  /** Bags resolved from one ordered list of APKs, in one configuration. */
+  static class Bags {
+    private final IntObjectMap<ResolvedBag> bags = new IntObjectMap<>();
+
+    /** Returns the bag resolved for {@code resid}, or null if it isn't cached yet. */
+    synchronized ResolvedBag get(int resid) {
+      return bags.get(resid);
+    }
+
+    /**
+     * Caches {@code bag} for {@code resid}, unless another thread resolved it first. Returns the
+     * cached bag.
+     */
+    synchronized ResolvedBag putIfAbsent(int resid, ResolvedBag bag) {
+      ResolvedBag cached = bags.get(resid);
+      if (cached != null) {
+        return cached;
+      }
+      bags.put(resid, bag);
+      return bag;
+    }
+
+    /**
+     * Caches the bags of {@code other} that don't vary with the configuration axes in {@code diff},
+     * which are still valid here, unless they are already cached.
+     */
+    void putAllIfAbsent(Bags other, int diff) {
+      // copied first, so that both locks are never held at once
+      IntObjectMap<ResolvedBag> valid = new IntObjectMap<>();
+      synchronized (other) {
+        other.bags.forEach(
+            (bag, resid) -> {
+              if ((diff & bag.type_spec_flags) == 0) {
+                valid.put(resid, bag);
+              }
+            });
+      }
+      synchronized (this) {
+        valid.forEach(
+            (bag, resid) -> {
+              if (bags.get(resid) == null) {
+                bags.put(resid, bag);
+              }
+            });
+      }
+    }
+
+    synchronized int size() {
+      return bags.size();
+    }
+  }
+
+  private final int maxSize;
+  // access ordered, so the eldest entry is the least recently used one
+  private final LinkedHashMap<Key, Bags> entries;
+
+  ResolvedBagCache(int maxSize) {
+    this.maxSize = maxSize;
+    this.entries =
+        new LinkedHashMap<Key, Bags>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Bags> eldest) {
+            return size() > ResolvedBagCache.this.maxSize || eldest.getKey().isCleared();
+          }
+        };
+  }
+
+  /**
+   * Returns the bags of {@code apkAssets}, which may be null if none are set yet, in {@code
+   * configuration}, creating them if needed.
+   */
+  synchronized Bags get(List<CppApkAssets> apkAssets, ResTable_config configuration) {
+    Key key =
+        new Key(apkAssets == null ? Collections.<CppApkAssets>emptyList() : apkAssets, configuration);
+    Bags bags = entries.get(key);
+    if (bags == null) {
+      bags = new Bags();
+      entries.put(key.withCopiedConfiguration(), bags);
+    }
+    return bags;
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  /** Identifies bags by the identity of the loaded APKs, in order, and the configuration. */
+  private static class Key {
+    private final WeakReference<LoadedArsc>[] loadedArscs;
+    private final ResTable_config configuration;
+    private final int hashCode;
+
+    @SuppressWarnings("unchecked")
+    private Key(List<CppApkAssets> apkAssets, ResTable_config configuration) {
+      this.loadedArscs = new WeakReference[apkAssets.size()];
+      int hashCode = 1;
+      for (int i = 0; i < loadedArscs.length; i++) {
+        LoadedArsc loadedArsc = apkAssets.get(i).GetLoadedArsc();
+        loadedArscs[i] = new WeakReference<>(loadedArsc);
+        hashCode = 31 * hashCode + System.identityHashCode(loadedArsc);
+      }
+      this.configuration = configuration;
+      // configurations are told apart by equals, they are few for the same APKs
+      this.hashCode = hashCode;
+    }
+
+    private Key(WeakReference<LoadedArsc>[] loadedArscs, ResTable_config configuration,
+        int hashCode) {
+      this.loadedArscs = loadedArscs;
+      this.configuration = configuration;
+      this.hashCode = hashCode;
+    }
+
+    /**
+     * Returns a key to store in the cache, with its own copy of the configuration, since the lookup
+     * key holds the asset manager's own one, which may change later.
+     */
+    private Key withCopiedConfiguration() {
+      return new Key(loadedArscs, new ResTable_config(configuration), hashCode);
+    }
+
+    private boolean isCleared() {
+      for (WeakReference<LoadedArsc> loadedArsc : loadedArscs) {
+        if (loadedArsc.get() == null) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      Key key = (Key) o;
+      if (hashCode != key.hashCode || loadedArscs.length != key.loadedArscs.length) {
+        return false;
+      }
+      for (int i = 0; i < loadedArscs.length; i++) {
+        LoadedArsc loadedArsc = loadedArscs[i].get();
+        if (loadedArsc == null || loadedArsc != key.loadedArscs[i].get()) {
+          return false;
+        }
+      }
+      // the same axes CppAssetManager2.SetConfiguration invalidates cached bags for
+      return configuration.diff(key.configuration) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
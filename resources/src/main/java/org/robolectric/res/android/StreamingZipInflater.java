@@ -0,0 +1,98 @@
+package org.robolectric.res.android;
+
+import static org.robolectric.res.android.Util.ALOGE;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// transliterated from https://android.googlesource.com/platform/frameworks/base/+/android-9.0.0_r12/libs/androidfw/StreamingZipInflater.cpp
+// and https://android.googlesource.com/platform/frameworks/base/+/android-9.0.0_r12/libs/androidfw/include/androidfw/StreamingZipInflater.h
+/*
+ * Streaming access to compressed asset data.
+ *
+ * Robolectric: rather than running zlib over mapped compressed data, this reads through the
+ * inflating stream of the zip entry backing a {@link FileMap}, so only the inflater's bounded
+ * buffers are held in memory. Seeking backwards restarts inflation from the start of the entry.
+ */
+class StreamingZipInflater {
+  static final int OUTPUT_CHUNK_SIZE = 64 * 1024;
+
+  private final FileMap mDataMap;
+  private final long mOutTotalSize;
+
+  private InputStream mStream;
+  private long mOutCurPosition; // current position in total offset
+
+  // Flavor that pages in the compressed data from a memory-mapped buffer
+  // StreamingZipInflater::StreamingZipInflater(FileMap* dataMap, size_t uncompSize) {
+  StreamingZipInflater(FileMap dataMap, long uncompSize) {
+    mDataMap = dataMap;
+    mOutTotalSize = uncompSize;
+  }
+
+  // ssize_t StreamingZipInflater::read(void* outBuf, size_t count) {
+  int read(byte[] outBuf, int outOffset, int count) {
+    if (count > mOutTotalSize - mOutCurPosition) {
+      count = (int) (mOutTotalSize - mOutCurPosition);
+    }
+    int bytesRead = 0;
+    try {
+      InputStream stream = stream();
+      while (bytesRead < count) {
+        int read = stream.read(outBuf, outOffset + bytesRead, count - bytesRead);
+        if (read < 0) {
+          ALOGE("Premature end of compressed data in %s", mDataMap);
+          return -1;
+        }
+        bytesRead += read;
+      }
+    } catch (IOException e) {
+      ALOGE("Error inflating asset: %s", e.getMessage());
+      return -1;
+    }
+    mOutCurPosition += bytesRead;
+    return bytesRead;
+  }
+
+  // off64_t StreamingZipInflater::seekAbsolute(off64_t absoluteInputPosition) {
+  long seekAbsolute(long absoluteInputPosition) {
+    try {
+      if (absoluteInputPosition < mOutCurPosition) {
+        // rewind and reprocess the data from the beginning
+        end();
+      }
+      InputStream stream = stream();
+      while (mOutCurPosition < absoluteInputPosition) {
+        long skipped = stream.skip(absoluteInputPosition - mOutCurPosition);
+        if (skipped <= 0) {
+          return -1;
+        }
+        mOutCurPosition += skipped;
+      }
+    } catch (IOException e) {
+      ALOGE("Error inflating asset: %s", e.getMessage());
+      return -1;
+    }
+    return mOutCurPosition;
+  }
+
+  // void StreamingZipInflater::end() {
+  void end() {
+    if (mStream != null) {
+      try {
+        mStream.close();
+      } catch (IOException e) {
+        // ignore, the stream is only read
+      }
+      mStream = null;
+    }
+    mOutCurPosition = 0;
+  }
+
+  private InputStream stream() throws IOException {
+    if (mStream == null) {
+      mStream = mDataMap.openInputStream();
+    }
+    return mStream;
+  }
+}
@@ -0,0 +1,165 @@
+package org.robolectric.res.android;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Collections.singletonList;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.robolectric.res.android.LoadedArsc.LoadedPackage;
+import org.robolectric.res.android.LoadedArsc.TypeSpec;
+
+@RunWith(JUnit4.class)
+public class ApkAssetsCacheTest {
+  private static final long ENTRY_BYTES = 100;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final AtomicInteger loads = new AtomicInteger();
+  private final ApkAssetsCache cache = new FixedSizeApkAssetsCache(2 * ENTRY_BYTES);
+
+  @Test
+  public void acquire_shouldLoadOnce_andShareLoadedArsc() {
+    CppApkAssets first = cache.acquire("/app.apk", false, false, this::load);
+    CppApkAssets second = cache.acquire("/app.apk", false, false, this::load);
+
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.GetLoadedArsc()).isSameAs(first.GetLoadedArsc());
+  }
+
+  @Test
+  public void acquire_shouldLoadAgain_whenLoadedDifferently() {
+    cache.acquire("/app.apk", false, false, this::load);
+    cache.acquire("/app.apk", false, true, this::load);
+    cache.acquire("/app.apk", true, false, this::load);
+
+    assertThat(loads.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void acquire_shouldLoadAgain_whenFileChanged() throws Exception {
+    File apk = temporaryFolder.newFile("app.apk");
+    cache.acquire(apk.getPath(), false, false, this::load);
+
+    try (FileOutputStream out = new FileOutputStream(apk)) {
+      out.write(new byte[] {1, 2, 3});
+    }
+    cache.acquire(apk.getPath(), false, false, this::load);
+
+    assertThat(loads.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void acquire_shouldNotCacheFailedLoads() {
+    assertThat(cache.acquire("/app.apk", false, false, () -> null)).isNull();
+
+    assertThat(cache.acquire("/app.apk", false, false, this::load)).isNotNull();
+    assertThat(loads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void release_shouldKeepUnretainedEntries_withinBudget() {
+    cache.acquire("/a.apk", false, false, this::load);
+    release(retain(cache.acquire("/b.apk", false, false, this::load)));
+
+    cache.acquire("/a.apk", false, false, this::load);
+    assertThat(loads.get()).isEqualTo(2);
+    assertThat(cache.getTotalBytes()).isEqualTo(2 * ENTRY_BYTES);
+  }
+
+  @Test
+  public void acquire_shouldEvictLeastRecentlyUsedUnretainedEntries_overBudget() {
+    cache.acquire("/a.apk", false, false, this::load);
+    cache.acquire("/b.apk", false, false, this::load);
+    cache.acquire("/a.apk", false, false, this::load);
+    cache.acquire("/c.apk", false, false, this::load);
+
+    assertThat(cache.size()).isEqualTo(2);
+    cache.acquire("/a.apk", false, false, this::load);
+    assertThat(loads.get()).isEqualTo(3);
+    cache.acquire("/b.apk", false, false, this::load);
+    assertThat(loads.get()).isEqualTo(4);
+  }
+
+  @Test
+  public void acquire_shouldNotEvictRetainedEntries_overBudget() {
+    CppApkAssets a = retain(cache.acquire("/a.apk", false, false, this::load));
+    retain(cache.acquire("/b.apk", false, false, this::load));
+    retain(cache.acquire("/c.apk", false, false, this::load));
+
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(cache.getTotalBytes()).isEqualTo(3 * ENTRY_BYTES);
+
+    release(a);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getTotalBytes()).isEqualTo(2 * ENTRY_BYTES);
+  }
+
+  @Test
+  public void release_shouldKeepEntry_untilReleasedAsOftenAsRetained() {
+    CppApkAssets a = retain(retain(cache.acquire("/a.apk", false, false, this::load)));
+    retain(cache.acquire("/b.apk", false, false, this::load));
+    retain(cache.acquire("/c.apk", false, false, this::load));
+
+    release(a);
+    assertThat(cache.size()).isEqualTo(3);
+    release(a);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void sizeOf_shouldCountParsedTypes() {
+    ApkAssetsCache cache = new ApkAssetsCache(0);
+    CppApkAssets apkAssets = emptyApkAssets();
+    long emptySize = cache.sizeOf(apkAssets);
+
+    LoadedPackage loadedPackage = new LoadedPackage();
+    TypeSpec typeSpec = new TypeSpec();
+    typeSpec.type_count = 2;
+    loadedPackage.type_specs_.put(0, typeSpec);
+    apkAssets.loaded_arsc_.packages_.add(loadedPackage);
+    long oneTypeSpecSize = cache.sizeOf(apkAssets);
+    typeSpec.type_count = 4;
+
+    assertThat(oneTypeSpecSize).isGreaterThan(emptySize);
+    assertThat(cache.sizeOf(apkAssets)).isGreaterThan(oneTypeSpecSize);
+  }
+
+  /** Returns {@link CppApkAssets} without any resources. */
+  static CppApkAssets emptyApkAssets() {
+    CppApkAssets apkAssets = new CppApkAssets(null, "app.apk");
+    apkAssets.loaded_arsc_ = LoadedArsc.CreateEmpty();
+    return apkAssets;
+  }
+
+  private CppApkAssets retain(CppApkAssets apkAssets) {
+    cache.retain(singletonList(apkAssets));
+    return apkAssets;
+  }
+
+  private void release(CppApkAssets apkAssets) {
+    cache.release(singletonList(apkAssets));
+  }
+
+  private CppApkAssets load() {
+    loads.incrementAndGet();
+    return emptyApkAssets();
+  }
+
+  private static class FixedSizeApkAssetsCache extends ApkAssetsCache {
+    FixedSizeApkAssetsCache(long maxBytes) {
+      super(maxBytes);
+    }
+
+    @Override
+    long sizeOf(CppApkAssets apkAssets) {
+      return ENTRY_BYTES;
+    }
+  }
+}
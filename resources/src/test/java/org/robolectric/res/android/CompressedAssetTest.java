@@ -0,0 +1,93 @@
+package org.robolectric.res.android;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.robolectric.res.android.Asset.AccessMode;
+
+@RunWith(JUnit4.class)
+public class CompressedAssetTest {
+  private static final int LENGTH = 4 * StreamingZipInflater.OUTPUT_CHUNK_SIZE + 17;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final byte[] contents = new byte[LENGTH];
+  private ZipFile zipFile;
+
+  @Before
+  public void setUp() throws Exception {
+    for (int i = 0; i < contents.length; i++) {
+      contents[i] = (byte) (i * 31 / 7);
+    }
+    File zip = temporaryFolder.newFile("assets.zip");
+    try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+      out.putNextEntry(new ZipEntry("assets/large.bin"));
+      out.write(contents);
+      out.closeEntry();
+    }
+    zipFile = new ZipFile(zip);
+  }
+
+  @Test
+  public void read_shouldStreamLargeAssets_withoutBuffering() {
+    Asset asset = openAsset();
+
+    byte[] read = new byte[LENGTH];
+    int offset = 0;
+    int count;
+    while ((count = asset.read(read, offset, Math.min(1000, LENGTH - offset))) > 0) {
+      offset += count;
+    }
+
+    assertThat(offset).isEqualTo(LENGTH);
+    assertThat(Arrays.equals(read, contents)).isTrue();
+    assertThat(asset.isAllocated()).isFalse();
+  }
+
+  @Test
+  public void seek_shouldRepositionStream_forwardsAndBackwards() {
+    Asset asset = openAsset();
+
+    assertThat(asset.seek(LENGTH - 10, Asset.SEEK_SET)).isEqualTo(LENGTH - 10);
+    assertThat(readByte(asset)).isEqualTo(contents[LENGTH - 10]);
+
+    assertThat(asset.seek(5, Asset.SEEK_SET)).isEqualTo(5);
+    assertThat(readByte(asset)).isEqualTo(contents[5]);
+    assertThat(asset.getRemainingLength()).isEqualTo(LENGTH - 6);
+    assertThat(asset.isAllocated()).isFalse();
+  }
+
+  @Test
+  public void getBuffer_shouldInflateWholeAsset_andKeepReading() {
+    Asset asset = openAsset();
+    asset.seek(100, Asset.SEEK_SET);
+
+    assertThat(Arrays.equals(asset.getBuffer(false), contents)).isTrue();
+    assertThat(asset.isAllocated()).isTrue();
+    assertThat(readByte(asset)).isEqualTo(contents[100]);
+  }
+
+  private Asset openAsset() {
+    ZipEntry entry = zipFile.getEntry("assets/large.bin");
+    FileMap fileMap = new FileMap();
+    fileMap.createFromZip(entry.getName(), zipFile, entry, LENGTH, true);
+    return Asset.createFromCompressedMap(fileMap, LENGTH, AccessMode.ACCESS_STREAMING);
+  }
+
+  private static byte readByte(Asset asset) {
+    byte[] buf = new byte[1];
+    assertThat(asset.read(buf, 0, 1)).isEqualTo(1);
+    return buf[0];
+  }
+}
@@ -0,0 +1,51 @@
+package org.robolectric.res.android;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class IntObjectMapTest {
+  private final IntObjectMap<String> map = new IntObjectMap<>();
+
+  @Test
+  public void put_shouldReplaceValue_andGrow() {
+    for (int i = 0; i < 1000; i++) {
+      map.put(0x7f010000 + i, "a" + i);
+    }
+    map.put(0x7f010000, "b");
+
+    assertThat(map.size()).isEqualTo(1000);
+    assertThat(map.get(0x7f010000)).isEqualTo("b");
+    assertThat(map.get(0x7f010000 + 999)).isEqualTo("a999");
+    assertThat(map.get(0x7f020000)).isNull();
+  }
+
+  @Test
+  public void removeIf_shouldKeepOtherKeysReachable() {
+    for (int i = 0; i < 100; i++) {
+      map.put(i * 16, i % 2 == 0 ? "even" : "odd");
+    }
+
+    map.removeIf("even"::equals);
+
+    assertThat(map.size()).isEqualTo(50);
+    for (int i = 0; i < 100; i++) {
+      assertThat(map.get(i * 16)).isEqualTo(i % 2 == 0 ? null : "odd");
+    }
+  }
+
+  @Test
+  public void clear_shouldRemoveEverything() {
+    map.put(0, "zero");
+    map.put(-1, "minus one");
+
+    map.clear();
+
+    assertThat(map.size()).isEqualTo(0);
+    assertThat(map.get(0)).isNull();
+    assertThat(map.get(-1)).isNull();
+  }
+}
@@ -0,0 +1,143 @@
+package org.robolectric.res.android;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Builds {@code locale_data.bin}, read by {@link LocaleDataTables}, from the readable tables in
+ * {@code locale_data.txt}.
+ *
+ * <p>Usage: {@code LocaleDataTablesGenerator
+ * resources/src/test/resources/org/robolectric/res/android/locale_data.txt
+ * resources/src/main/resources/org/robolectric/res/android/locale_data.bin}
+ */
+public class LocaleDataTablesGenerator {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length != 2) {
+      System.err.println("usage: LocaleDataTablesGenerator <locale_data.txt> <locale_data.bin>");
+      System.exit(1);
+    }
+    byte[] data;
+    try (Reader source = Files.newBufferedReader(Paths.get(args[0]), UTF_8)) {
+      data = generate(source);
+    }
+    Files.write(Paths.get(args[1]), data);
+  }
+
+  /** Returns the contents of {@code locale_data.bin} for the tables read from {@code source}. */
+  static byte[] generate(Reader source) throws IOException {
+    List<String> scripts = new ArrayList<>();
+    Map<Integer, Integer> likelyScripts = new TreeMap<>();
+    TreeSet<Long> representativeLocales = new TreeSet<>();
+    Map<String, Map<Integer, Integer>> parents = new TreeMap<>();
+
+    BufferedReader reader = new BufferedReader(source);
+    String section = null;
+    String line;
+    int lineNumber = 0;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      int commentStart = line.indexOf('#');
+      if (commentStart >= 0) {
+        line = line.substring(0, commentStart);
+      }
+      line = line.trim();
+      if (line.isEmpty()) {
+        continue;
+      }
+      if (line.startsWith("[") && line.endsWith("]")) {
+        section = line.substring(1, line.length() - 1);
+        if (section.startsWith("parents ")) {
+          parents.put(
+              checkScript(section.substring("parents ".length()), lineNumber), new TreeMap<>());
+        }
+        continue;
+      }
+
+      String[] fields = line.split("\\s+");
+      if ("scripts".equals(section) && fields.length == 1) {
+        scripts.add(checkScript(fields[0], lineNumber));
+      } else if ("likely scripts".equals(section) && fields.length == 2) {
+        int script = scripts.indexOf(fields[1]);
+        if (script < 0) {
+          throw new IllegalArgumentException(
+              "line " + lineNumber + ": unknown script " + fields[1]);
+        }
+        likelyScripts.put((int) parseHex(fields[0], lineNumber), script);
+      } else if ("representative locales".equals(section) && fields.length == 1) {
+        representativeLocales.add(parseHex(fields[0], lineNumber));
+      } else if (section != null && section.startsWith("parents ") && fields.length == 2) {
+        parents
+            .get(section.substring("parents ".length()))
+            .put((int) parseHex(fields[0], lineNumber), (int) parseHex(fields[1], lineNumber));
+      } else {
+        throw new IllegalArgumentException("line " + lineNumber + ": unexpected " + line);
+      }
+    }
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    out.writeInt(LocaleDataTables.MAGIC);
+    out.writeInt(LocaleDataTables.VERSION);
+
+    out.writeInt(scripts.size());
+    for (String script : scripts) {
+      out.write(script.getBytes(US_ASCII));
+    }
+
+    out.writeInt(likelyScripts.size());
+    for (int packedLocale : likelyScripts.keySet()) {
+      out.writeInt(packedLocale);
+    }
+    for (int script : likelyScripts.values()) {
+      out.writeByte(script);
+    }
+
+    out.writeInt(representativeLocales.size());
+    for (long packedLocaleAndScript : representativeLocales) {
+      out.writeLong(packedLocaleAndScript);
+    }
+
+    out.writeInt(parents.size());
+    for (Map.Entry<String, Map<Integer, Integer>> table : parents.entrySet()) {
+      out.write(table.getKey().getBytes(US_ASCII));
+      out.writeInt(table.getValue().size());
+      for (int packedLocale : table.getValue().keySet()) {
+        out.writeInt(packedLocale);
+      }
+      for (int packedParent : table.getValue().values()) {
+        out.writeInt(packedParent);
+      }
+    }
+    out.flush();
+    return bytes.toByteArray();
+  }
+
+  private static String checkScript(String script, int lineNumber) {
+    if (script.length() != LocaleData.SCRIPT_LENGTH) {
+      throw new IllegalArgumentException("line " + lineNumber + ": bad script " + script);
+    }
+    return script;
+  }
+
+  private static long parseHex(String value, int lineNumber) {
+    if (!value.startsWith("0x")) {
+      throw new IllegalArgumentException("line " + lineNumber + ": expected hex, got " + value);
+    }
+    return Long.parseUnsignedLong(value.substring(2), 16);
+  }
+}
@@ -0,0 +1,84 @@
+package org.robolectric.res.android;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.ByteStreams;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LocaleDataTablesTest {
+  private static final int ENGLISH = 0x656E0000; // en
+  private static final int AUSTRALIAN_ENGLISH = 0x656E4155; // en-AU
+  private static final int INTERNATIONAL_ENGLISH = 0x656E8400; // en-001
+  private static final int MACAO_CHINESE = 0x7A684D4F; // zh-MO
+  private static final int HONG_KONG_CHINESE = 0x7A68484B; // zh-HK
+
+  @Test
+  public void findLikelyScript_shouldFindScript() {
+    byte[] script = new byte[4];
+
+    assertThat(LocaleDataTables.findLikelyScript(ENGLISH, script)).isTrue();
+    assertThat(new String(script, US_ASCII)).isEqualTo("Latn");
+  }
+
+  @Test
+  public void findLikelyScript_shouldLeaveOutputUnchanged_forUnknownLocale() {
+    byte[] script = {'X', 'x', 'x', 'x'};
+
+    assertThat(LocaleDataTables.findLikelyScript(0x7A7A0000, script)).isFalse();
+    assertThat(new String(script, US_ASCII)).isEqualTo("Xxxx");
+  }
+
+  @Test
+  public void localeDataComputeScript_shouldFallBackToLanguage() {
+    byte[] script = new byte[4];
+
+    LocaleData.localeDataComputeScript(
+        script, "ru".getBytes(US_ASCII), "US".getBytes(US_ASCII));
+
+    assertThat(new String(script, US_ASCII)).isEqualTo("Cyrl");
+  }
+
+  @Test
+  public void isRepresentative() {
+    assertThat(LocaleDataTables.isRepresentative(packWithScript(0x656E5553, "Latn"))).isTrue();
+    assertThat(LocaleDataTables.isRepresentative(packWithScript(0x656E5553, "Cyrl"))).isFalse();
+  }
+
+  @Test
+  public void findParent() {
+    assertThat(LocaleDataTables.findParent(AUSTRALIAN_ENGLISH, "Latn"))
+        .isEqualTo(INTERNATIONAL_ENGLISH);
+    assertThat(LocaleDataTables.findParent(MACAO_CHINESE, "Hant")).isEqualTo(HONG_KONG_CHINESE);
+    assertThat(LocaleDataTables.findParent(AUSTRALIAN_ENGLISH, "Cyrl")).isEqualTo(0);
+    assertThat(LocaleDataTables.findParent(ENGLISH, "Latn")).isEqualTo(0);
+  }
+
+  @Test
+  public void localeDataBin_shouldMatchSourceData() throws Exception {
+    byte[] expected;
+    try (Reader source = new InputStreamReader(
+        LocaleDataTablesTest.class.getResourceAsStream("locale_data.txt"), UTF_8)) {
+      expected = LocaleDataTablesGenerator.generate(source);
+    }
+    byte[] actual;
+    try (InputStream in = LocaleDataTables.class.getResourceAsStream("locale_data.bin")) {
+      actual = ByteStreams.toByteArray(in);
+    }
+
+    assertThat(actual).isEqualTo(expected);
+  }
+
+  private static long packWithScript(int packedLocale, String script) {
+    return (long) packedLocale << 32
+        | (long) (script.charAt(0) << 24 | script.charAt(1) << 16
+            | script.charAt(2) << 8 | script.charAt(3)) & 0xffffffffL;
+  }
+}
@@ -0,0 +1,115 @@
+package org.robolectric.res.android;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.common.truth.Truth.assertWithMessage;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class PackedConfigTest {
+  private static final String[] CONFIGS = {
+      "",
+      "mcc310", "mcc310-mnc004", "mcc208-mnc00",
+      "en", "en-rUS", "en-rGB", "fr", "fr-rCA", "tl", "fil", "fil-rPH", "sr", "sr-rRS",
+      "b+sr+Latn", "b+zh+Hant", "zh-rTW", "zh-rCN", "b+en+US+POSIX",
+      "ldltr", "ldrtl",
+      "sw320dp", "sw600dp", "w480dp", "h720dp", "w820dp-h1024dp",
+      "small", "normal", "large", "xlarge", "long", "notlong", "round", "notround",
+      "widecg", "nowidecg", "highdr", "lowdr",
+      "port", "land", "square",
+      "car", "desk", "television", "watch", "vrheadset", "night", "notnight",
+      "ldpi", "mdpi", "xxhdpi", "anydpi", "nodpi",
+      "notouch", "finger",
+      "keysexposed", "keyshidden", "keyssoft",
+      "nokeys", "qwerty", "12key",
+      "navexposed", "navhidden",
+      "nonav", "dpad", "trackball", "wheel",
+      "v14", "v21", "v28",
+      "en-rUS-ldrtl-sw600dp-w720dp-h1024dp-large-long-notround-land-night-xhdpi-finger"
+          + "-keysexposed-qwerty-navhidden-dpad-v26",
+      "land-v17", "night-v8", "large-port", "fr-land", "b+sr+Latn-sw600dp",
+  };
+
+  private static final String[] DEVICE_CONFIGS = {
+      "",
+      "en-rUS-ldltr-sw411dp-w411dp-h731dp-normal-notlong-notround-port-notnight-xxhdpi"
+          + "-finger-keyssoft-nokeys-navhidden-nonav-v28",
+      "fr-rCA-ldltr-sw600dp-w960dp-h600dp-large-long-land-night-mdpi-notouch-keysexposed"
+          + "-qwerty-navexposed-dpad-v21",
+      "mcc310-mnc004-b+sr+Latn-ldrtl-sw320dp-w320dp-h480dp-small-round-widecg-highdr-port"
+          + "-watch-hdpi-finger-keyshidden-12key-navexposed-trackball-v26",
+      "fil-rPH-v28", "tl-v28", "zh-rTW-v28", "b+zh+Hant+TW-v28", "en-rGB-car-v23",
+      "mcc208-mnc00-fr-rFR-xlarge-television-v28",
+  };
+
+  @Test
+  public void match_shouldAgreeWithResTableConfig() {
+    List<ResTable_config> configs = parseAll(CONFIGS);
+    List<ResTable_config> deviceConfigs = parseAll(DEVICE_CONFIGS);
+    deviceConfigs.addAll(configs);
+
+    for (ResTable_config deviceConfig : deviceConfigs) {
+      PackedConfig packedDeviceConfig = PackedConfig.pack(deviceConfig);
+      for (ResTable_config config : configs) {
+        assertWithMessage(config + " matching " + deviceConfig)
+            .that(PackedConfig.pack(config).match(packedDeviceConfig))
+            .isEqualTo(config.match(deviceConfig));
+      }
+    }
+  }
+
+  @Test
+  public void match_shouldFallBack_forValuesWhichDontFit() {
+    ResTable_config config = new ResTable_config();
+    config.screenWidthDp = 100_000;
+    ResTable_config deviceConfig = new ResTable_config();
+    deviceConfig.screenWidthDp = 99_999;
+
+    assertThat(PackedConfig.pack(config).match(PackedConfig.pack(deviceConfig))).isFalse();
+    assertThat(PackedConfig.pack(deviceConfig).match(PackedConfig.pack(config))).isTrue();
+  }
+
+  @Test
+  public void equals_shouldCompareMatchingFields() {
+    assertThat(PackedConfig.pack(parse("en-rUS-land-v28")))
+        .isEqualTo(PackedConfig.pack(parse("en-rUS-land-v28")));
+    assertThat(PackedConfig.pack(parse("en-rUS-land-v28")))
+        .isNotEqualTo(PackedConfig.pack(parse("en-rUS-port-v28")));
+  }
+
+  @Test
+  public void equals_shouldCompareConfigs_forValuesWhichDontFit() {
+    ResTable_config config = new ResTable_config();
+    config.screenWidthDp = 100_000;
+    ResTable_config sameConfig = new ResTable_config();
+    sameConfig.screenWidthDp = 100_000;
+    ResTable_config otherConfig = new ResTable_config();
+    otherConfig.screenWidthDp = 100_001;
+
+    assertThat(PackedConfig.pack(config)).isEqualTo(PackedConfig.pack(sameConfig));
+    assertThat(PackedConfig.pack(config).hashCode())
+        .isEqualTo(PackedConfig.pack(sameConfig).hashCode());
+    assertThat(PackedConfig.pack(config)).isNotEqualTo(PackedConfig.pack(otherConfig));
+    assertThat(PackedConfig.pack(config)).isNotEqualTo(PackedConfig.pack(new ResTable_config()));
+  }
+
+  private static List<ResTable_config> parseAll(String[] qualifiers) {
+    List<ResTable_config> configs = new ArrayList<>();
+    for (String qualifier : qualifiers) {
+      configs.add(parse(qualifier));
+    }
+    return configs;
+  }
+
+  private static ResTable_config parse(String qualifiers) {
+    ResTable_config config = new ResTable_config();
+    if (!qualifiers.isEmpty() && !ConfigDescription.parse(qualifiers, config, false)) {
+      throw new IllegalArgumentException(qualifiers);
+    }
+    return config;
+  }
+}
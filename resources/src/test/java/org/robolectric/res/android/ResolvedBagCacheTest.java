@@ -0,0 +1,116 @@
+package org.robolectric.res.android;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.util.Arrays.asList;
+import static org.robolectric.res.android.ApkAssetsCacheTest.emptyApkAssets;
+import static org.robolectric.res.android.AConfiguration.ACONFIGURATION_ORIENTATION;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.robolectric.res.android.CppAssetManager2.ResolvedBag;
+import org.robolectric.res.android.ResolvedBagCache.Bags;
+
+@RunWith(JUnit4.class)
+public class ResolvedBagCacheTest {
+  private final ResolvedBagCache cache = new ResolvedBagCache(2);
+  private final CppApkAssets framework = emptyApkAssets();
+  private final CppApkAssets app = emptyApkAssets();
+
+  @Test
+  public void get_shouldShareBags_forSameLoadedArscsAndConfiguration() {
+    Bags bags = cache.get(asList(framework, app), new ResTable_config());
+
+    assertThat(cache.get(asList(framework.shallowCopy(), app.shallowCopy()), new ResTable_config()))
+        .isSameAs(bags);
+  }
+
+  @Test
+  public void get_shouldNotShareBags_forDifferentOrderOrConfiguration() {
+    Bags bags = cache.get(asList(framework, app), new ResTable_config());
+    ResTable_config landscape = new ResTable_config();
+    landscape.orientation = ResTable_config.ORIENTATION_LAND;
+
+    assertThat(cache.get(asList(app, framework), new ResTable_config())).isNotSameAs(bags);
+    assertThat(cache.get(asList(framework, app), landscape)).isNotSameAs(bags);
+  }
+
+  @Test
+  public void get_shouldEvictLeastRecentlyUsedBags() {
+    Bags bags = cache.get(asList(framework), new ResTable_config());
+    cache.get(asList(app), new ResTable_config());
+    cache.get(asList(framework, app), new ResTable_config());
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(asList(framework), new ResTable_config())).isNotSameAs(bags);
+  }
+
+  @Test
+  public void putIfAbsent_shouldKeepFirstBag() {
+    Bags bags = cache.get(asList(framework), new ResTable_config());
+    ResolvedBag first = new ResolvedBag();
+
+    assertThat(bags.putIfAbsent(0x7f0b0001, first)).isSameAs(first);
+    assertThat(bags.putIfAbsent(0x7f0b0001, new ResolvedBag())).isSameAs(first);
+    assertThat(bags.get(0x7f0b0001)).isSameAs(first);
+  }
+
+  @Test
+  public void putAllIfAbsent_shouldOnlyCopyBagsNotVaryingWithDiff() {
+    Bags portraitBags = cache.get(asList(framework), new ResTable_config());
+    ResolvedBag unvarying = new ResolvedBag();
+    ResolvedBag varying = new ResolvedBag();
+    varying.type_spec_flags = ACONFIGURATION_ORIENTATION;
+    portraitBags.putIfAbsent(1, unvarying);
+    portraitBags.putIfAbsent(2, varying);
+    ResTable_config landscape = new ResTable_config();
+    landscape.orientation = ResTable_config.ORIENTATION_LAND;
+
+    Bags landscapeBags = cache.get(asList(framework), landscape);
+    landscapeBags.putAllIfAbsent(portraitBags, ACONFIGURATION_ORIENTATION);
+
+    assertThat(landscapeBags.get(1)).isSameAs(unvarying);
+    assertThat(landscapeBags.get(2)).isNull();
+  }
+
+  @Test
+  public void setApkAssetsWithoutInvalidating_shouldKeepCarriedOverBagsPrivate() {
+    CppAssetManager2 assetManager = new CppAssetManager2();
+    assetManager.SetApkAssets(asList(framework), true);
+    ResolvedBag bag = new ResolvedBag();
+    assetManager.cached_bags().putIfAbsent(0x01010001, bag);
+
+    assetManager.SetApkAssets(asList(framework, app), false);
+    CppAssetManager2 otherAssetManager = new CppAssetManager2();
+    otherAssetManager.SetApkAssets(asList(framework, app), true);
+
+    assertThat(assetManager.cached_bags().get(0x01010001)).isSameAs(bag);
+    assertThat(otherAssetManager.cached_bags().get(0x01010001)).isNull();
+  }
+
+  @Test
+  public void densityOverrides_shouldNotChangeCachedConfiguration() {
+    CppAssetManager2 assetManager = new CppAssetManager2();
+    assetManager.SetApkAssets(asList(framework), true);
+    ResolvedBag bag = new ResolvedBag();
+    assetManager.cached_bags().putIfAbsent(0x01010001, bag);
+
+    getResource(assetManager, 0x01010001, (short) 240);
+    getResource(assetManager, 0x01010001, (short) 320);
+    CppAssetManager2 otherAssetManager = new CppAssetManager2();
+    otherAssetManager.SetApkAssets(asList(framework), true);
+    CppAssetManager2 hdpiAssetManager = new CppAssetManager2();
+    ResTable_config hdpi = new ResTable_config();
+    hdpi.density = 240;
+    hdpiAssetManager.SetConfiguration(hdpi);
+    hdpiAssetManager.SetApkAssets(asList(framework), true);
+
+    assertThat(otherAssetManager.cached_bags().get(0x01010001)).isSameAs(bag);
+    assertThat(hdpiAssetManager.cached_bags().get(0x01010001)).isNull();
+  }
+
+  private static void getResource(CppAssetManager2 assetManager, int resid, short density) {
+    assetManager.GetResource(resid, false, density, new Ref<>(null), new Ref<>(null),
+        new Ref<>(null));
+  }
+}
@@ -13,12 +13,16 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nonnull;
 import org.junit.Ignore;
 import org.junit.runners.model.FrameworkMethod;
@@ -54,6 +58,7 @@ import org.robolectric.internal.dependency.PropertiesDependencyResolver;
 import org.robolectric.manifest.AndroidManifest;
 import org.robolectric.res.Fs;
 import org.robolectric.res.FsFile;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.Logger;
 import org.robolectric.util.PerfStatsCollector;
 import org.robolectric.util.ReflectionHelpers;
@@ -68,6 +73,8 @@ public class RobolectricTestRunner extends SandboxTestRunner {
 
   private static ApkLoader apkLoader;
   private static final Map<ManifestIdentifier, AndroidManifest> appManifestsCache = new HashMap<>();
+  // the number of test runners grouping their children by sandbox so far
+  private static final AtomicInteger groupingRunnerCount = new AtomicInteger();
 
   private final SdkPicker sdkPicker;
   private final ConfigMerger configMerger;
@@ -77,6 +84,9 @@ public class RobolectricTestRunner extends SandboxTestRunner {
   private boolean alwaysIncludeVariantMarkersInName =
       Boolean.parseBoolean(
           System.getProperty("robolectric.alwaysIncludeVariantMarkersInTestName", "false"));
+  private final boolean groupTestsBySandbox = Boolean.getBoolean("robolectric.groupTestsBySandbox");
+  private final boolean reverseSandboxOrder =
+      groupTestsBySandbox && groupingRunnerCount.getAndIncrement() % 2 == 1;
 
   static {
     new SecureRandom(); // this starts up the Poller SunPKCS11-Darwin thread early, outside of any Robolectric classloader
@@ -323,7 +333,46 @@ public class RobolectricTestRunner extends SandboxTestRunner {
             ": " + e.getMessage(), e);
       }
     }
-    return children;
+    return groupTestsBySandbox ? groupBySandbox(children) : children;
+  }
+
+  /**
+   * Reorders {@code children} so that those running in the same sandbox are adjacent, rather than
+   * interleaving SDKs and resources modes per test method, so sandboxes don't need to be swapped or
+   * recreated in the middle of a test class. Tests keep their relative order within a sandbox.
+   *
+   * <p>As an affinity hint across test classes, sandboxes are ordered by SDK and resources mode, in
+   * alternating directions for consecutive test classes, so that a test class starts in the sandbox
+   * the previous one finished in.
+   */
+  private List<FrameworkMethod> groupBySandbox(List<FrameworkMethod> children) {
+    Map<List<Object>, List<FrameworkMethod>> groups = new LinkedHashMap<>();
+    for (FrameworkMethod child : children) {
+      RobolectricFrameworkMethod roboMethod = (RobolectricFrameworkMethod) child;
+      // the parts of a sandbox's key which vary by test method, see createClassLoaderConfig()
+      List<Object> sandboxKey = Arrays.asList(
+          roboMethod.sdkConfig,
+          roboMethod.resourcesMode,
+          Arrays.asList(roboMethod.config.shadows()),
+          Arrays.asList(roboMethod.config.instrumentedPackages()));
+      groups.computeIfAbsent(sandboxKey, key -> new ArrayList<>()).add(child);
+    }
+
+    Comparator<List<FrameworkMethod>> bySdkAndResourcesMode =
+        Comparator.comparing(
+                (List<FrameworkMethod> group) -> ((RobolectricFrameworkMethod) group.get(0)).sdkConfig)
+            .thenComparing(group -> ((RobolectricFrameworkMethod) group.get(0)).resourcesMode);
+    if (reverseSandboxOrder) {
+      bySdkAndResourcesMode = bySdkAndResourcesMode.reversed();
+    }
+    List<List<FrameworkMethod>> sortedGroups = new ArrayList<>(groups.values());
+    sortedGroups.sort(bySdkAndResourcesMode);
+
+    List<FrameworkMethod> groupedChildren = new ArrayList<>(children.size());
+    for (List<FrameworkMethod> group : sortedGroups) {
+      groupedChildren.addAll(group);
+    }
+    return groupedChildren;
   }
 
   @Override protected boolean shouldIgnore(FrameworkMethod method) {
@@ -411,6 +460,11 @@ public class RobolectricTestRunner extends SandboxTestRunner {
           .measure("reset Android state (after test)", this::resetStaticState);
     } finally {
       RobolectricFrameworkMethod roboMethod = (RobolectricFrameworkMethod) method;
+      // only needed so the application isn't reported as leaked; otherwise tests may still reach
+      // it through RuntimeEnvironment after they've finished, e.g. from @AfterClass methods
+      if (roboMethod.parallelUniverseInterface != null && LeakDetector.isEnabled()) {
+        roboMethod.parallelUniverseInterface.releaseApplicationState();
+      }
       roboMethod.testLifecycle = null;
       roboMethod.parallelUniverseInterface = null;
     }
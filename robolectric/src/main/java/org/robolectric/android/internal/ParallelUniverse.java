@@ -35,6 +35,7 @@ import java.security.Security;
 import java.util.Locale;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.robolectric.ApkLoader;
+import org.robolectric.RoboSettings;
 import org.robolectric.RuntimeEnvironment;
 import org.robolectric.android.Bootstrap;
 import org.robolectric.android.fakes.RoboMonitoringInstrumentation;
@@ -60,9 +61,10 @@ import org.robolectric.shadows.ShadowLog;
 import org.robolectric.shadows.ShadowLooper;
 import org.robolectric.shadows.ShadowPackageManager;
 import org.robolectric.shadows.ShadowPackageParser;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.PerfStatsCollector;
+import org.robolectric.util.PerfStatsCollector.Event;
 import org.robolectric.util.ReflectionHelpers;
-import org.robolectric.util.Scheduler;
 import org.robolectric.util.TempDirectory;
 
 @SuppressLint("NewApi")
@@ -90,7 +92,7 @@ public class ParallelUniverse implements ParallelUniverseInterface {
     RuntimeEnvironment.application = null;
     RuntimeEnvironment.setActivityThread(null);
     RuntimeEnvironment.setTempDirectory(new TempDirectory(createTestDataDirRootPath(method)));
-    RuntimeEnvironment.setMasterScheduler(new Scheduler());
+    RuntimeEnvironment.setMasterScheduler(RoboSettings.newScheduler());
     RuntimeEnvironment.setMainThread(Thread.currentThread());
 
     if (!loggingInitialized) {
@@ -189,6 +191,7 @@ public class ParallelUniverse implements ParallelUniverseInterface {
 
     Application application = createApplication(appManifest, config);
     RuntimeEnvironment.application = application;
+    LeakDetector.watch(application, "Application");
 
     Instrumentation instrumentation =
         createInstrumentation(activityThread, applicationInfo, application);
@@ -242,8 +245,15 @@ public class ParallelUniverse implements ParallelUniverseInterface {
 
       instrumentation.onCreate(new Bundle());
 
-      PerfStatsCollector.getInstance()
-          .measure("application onCreate()", () -> application.onCreate());
+      Event applicationOnCreate =
+          PerfStatsCollector.getInstance().startEvent("application onCreate()", true);
+      boolean success = false;
+      try {
+        application.onCreate();
+        success = true;
+      } finally {
+        applicationOnCreate.finished(success);
+      }
     }
   }
 
@@ -380,6 +390,13 @@ public class ParallelUniverse implements ParallelUniverseInterface {
     }
   }
 
+  @Override
+  public void releaseApplicationState() {
+    RuntimeEnvironment.application = null;
+    RuntimeEnvironment.systemContext = null;
+    RuntimeEnvironment.setActivityThread(null);
+  }
+
   @Override
   public Object getCurrentApplication() {
     return RuntimeEnvironment.application;
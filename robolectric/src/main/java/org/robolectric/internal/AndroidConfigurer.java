@@ -105,10 +105,22 @@ public class AndroidConfigurer {
     builder.doNotInstrumentPackage("android.arch.persistence.room.migration");
     builder.doNotInstrumentPackage("android.support.test");
 
+    // Opt-in: classes without any shadow known at build time keep their original method bodies.
+    boolean leanInstrumentation = Boolean.getBoolean("robolectric.instrumentation.lean");
     for (ShadowProvider provider : ServiceLoader.load(ShadowProvider.class)) {
       for (String packagePrefix : provider.getProvidedPackageNames()) {
         builder.addInstrumentedPackage(packagePrefix);
       }
+      // only used by lean instrumentation, and they'd needlessly weigh on sandbox cache keys
+      if (leanInstrumentation) {
+        for (String className : provider.getShadowMap().keySet()) {
+          builder.addShadowedClass(className);
+        }
+        for (String className : provider.getShadowPickerMap().keySet()) {
+          builder.addShadowedClass(className);
+        }
+      }
     }
+    builder.useLeanInstrumentation(leanInstrumentation);
   }
 }
@@ -22,6 +22,13 @@ public interface ParallelUniverseInterface {
 
   void tearDownApplication();
 
+  /**
+   * Drops the references to the test's application held by {@link
+   * org.robolectric.RuntimeEnvironment}, once the test and its teardown have finished, so it can
+   * be garbage collected.
+   */
+  void releaseApplicationState();
+
   Object getCurrentApplication();
 
 }
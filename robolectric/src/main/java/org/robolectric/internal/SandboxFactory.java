@@ -1,7 +1,10 @@
 package org.robolectric.internal;
 
 import android.annotation.SuppressLint;
+import com.google.common.annotations.VisibleForTesting;
+import java.lang.ref.SoftReference;
 import java.net.URL;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -9,24 +12,55 @@ import javax.annotation.Nonnull;
 import org.robolectric.internal.bytecode.InstrumentationConfiguration;
 import org.robolectric.internal.bytecode.SandboxClassLoader;
 import org.robolectric.internal.dependency.DependencyResolver;
+import org.robolectric.util.PerfStatsCollector;
 
 @SuppressLint("NewApi")
 public class SandboxFactory {
   public static final SandboxFactory INSTANCE = new SandboxFactory();
 
+  /**
+   * The share of the maximum heap sandboxes are strongly held within, unless overridden by the
+   * {@code robolectric.sandboxHeapBudgetMb} system property.
+   */
+  private static final double DEFAULT_HEAP_BUDGET_FRACTION = 0.5;
+
   /** The factor for cache size. See {@link #CACHE_SIZE} for details. */
   private static final int CACHE_SIZE_FACTOR = 3;
 
-  /** We need to set the cache size of class loaders more than the number of supported APIs as different tests may have different configurations. */
+  /**
+   * We need to set the cache size of class loaders more than the number of supported APIs as
+   * different tests may have different configurations. Sandboxes held softly count towards it too,
+   * since their classes take metaspace, which the heap budget doesn't see.
+   */
   private static final int CACHE_SIZE = SdkConfig.getSupportedApis().size() * CACHE_SIZE_FACTOR;
 
-  // Simple LRU Cache. SdkEnvironments are unique across InstrumentationConfiguration and SdkConfig
-  private final LinkedHashMap<SandboxKey, SdkEnvironment> sdkToEnvironment = new LinkedHashMap<SandboxKey, SdkEnvironment>() {
-    @Override
-    protected boolean removeEldestEntry(Map.Entry<SandboxKey, SdkEnvironment> eldest) {
-      return size() > CACHE_SIZE;
-    }
-  };
+  private final long heapBudget;
+  private final int cacheSize;
+
+  // LRU cache of the sandboxes strongly held while the heap is within budget.
+  // SdkEnvironments are unique across InstrumentationConfiguration and SdkConfig
+  private final LinkedHashMap<SandboxKey, SdkEnvironment> sdkToEnvironment =
+      new LinkedHashMap<>(16, 0.75f, true);
+
+  // Sandboxes evicted from the LRU cache, which may be reused until the GC needs their memory
+  private final LinkedHashMap<SandboxKey, SoftReference<SdkEnvironment>> evictedSdkToEnvironment =
+      new LinkedHashMap<>();
+
+  public SandboxFactory() {
+    this(getDefaultHeapBudget(), CACHE_SIZE);
+  }
+
+  SandboxFactory(long heapBudget, int cacheSize) {
+    this.heapBudget = heapBudget;
+    this.cacheSize = cacheSize;
+  }
+
+  private static long getDefaultHeapBudget() {
+    long heapBudgetMb = Long.getLong("robolectric.sandboxHeapBudgetMb", 0);
+    return heapBudgetMb > 0
+        ? heapBudgetMb * 1024 * 1024
+        : (long) (Runtime.getRuntime().maxMemory() * DEFAULT_HEAP_BUDGET_FRACTION);
+  }
 
   public synchronized SdkEnvironment getSdkEnvironment(
       InstrumentationConfiguration instrumentationConfig, SdkConfig sdkConfig,
@@ -35,16 +69,70 @@ public class SandboxFactory {
 
     SdkEnvironment sdkEnvironment = sdkToEnvironment.get(key);
     if (sdkEnvironment == null) {
-      URL[] urls = dependencyResolver.getLocalArtifactUrls(sdkConfig.getAndroidSdkDependency());
-
-      ClassLoader robolectricClassLoader = createClassLoader(instrumentationConfig, urls);
-      sdkEnvironment = createSdkEnvironment(sdkConfig, robolectricClassLoader);
+      SoftReference<SdkEnvironment> evicted = evictedSdkToEnvironment.remove(key);
+      sdkEnvironment = evicted == null ? null : evicted.get();
+    }
+    if (sdkEnvironment == null) {
+      sdkEnvironment = PerfStatsCollector.getInstance().measure("create sandbox", () -> {
+        URL[] urls = dependencyResolver.getLocalArtifactUrls(sdkConfig.getAndroidSdkDependency());
 
-      sdkToEnvironment.put(key, sdkEnvironment);
+        ClassLoader robolectricClassLoader = createClassLoader(instrumentationConfig, urls);
+        return createSdkEnvironment(sdkConfig, robolectricClassLoader);
+      });
     }
+    sdkToEnvironment.put(key, sdkEnvironment);
+    evictToHeapBudget();
     return sdkEnvironment;
   }
 
+  /**
+   * If more heap than the budget is used, demotes the least recently used sandbox to a soft
+   * reference, always keeping the most recently used one. Demoting doesn't free any heap until the
+   * GC runs, so at most one sandbox is demoted per insertion. Sandboxes are then only discarded,
+   * and later recreated, when the GC is about to run out of memory, or when more than {@link
+   * #CACHE_SIZE} sandboxes are held, strongly or softly.
+   */
+  private void evictToHeapBudget() {
+    Iterator<Map.Entry<SandboxKey, SdkEnvironment>> eldest = sdkToEnvironment.entrySet().iterator();
+    if (sdkToEnvironment.size() > 1 && usedHeap() > heapBudget) {
+      Map.Entry<SandboxKey, SdkEnvironment> entry = eldest.next();
+      evictedSdkToEnvironment.put(entry.getKey(), new SoftReference<>(entry.getValue()));
+      eldest.remove();
+    }
+    evictedSdkToEnvironment.values().removeIf(reference -> reference.get() == null);
+
+    // the least recently evicted sandboxes go first, then the least recently used ones
+    Iterator<SandboxKey> evicted = evictedSdkToEnvironment.keySet().iterator();
+    while (evicted.hasNext() && sandboxCount() > cacheSize) {
+      evicted.next();
+      evicted.remove();
+    }
+    eldest = sdkToEnvironment.entrySet().iterator();
+    while (sdkToEnvironment.size() > 1 && sandboxCount() > cacheSize) {
+      eldest.next();
+      eldest.remove();
+    }
+  }
+
+  private int sandboxCount() {
+    return sdkToEnvironment.size() + evictedSdkToEnvironment.size();
+  }
+
+  @VisibleForTesting
+  synchronized int getStronglyHeldSandboxCount() {
+    return sdkToEnvironment.size();
+  }
+
+  @VisibleForTesting
+  synchronized int getSandboxCount() {
+    return sandboxCount();
+  }
+
+  protected long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
   protected SdkEnvironment createSdkEnvironment(SdkConfig sdkConfig,
       ClassLoader robolectricClassLoader) {
     return new SdkEnvironment(sdkConfig, robolectricClassLoader);
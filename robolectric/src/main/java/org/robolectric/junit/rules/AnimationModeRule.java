@@ -0,0 +1,55 @@
+package org.robolectric.junit.rules;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowChoreographer.AnimationMode;
+
+/**
+ * Fast-forwards animations during each test, so that tests with many transitions don't spend most
+ * of their time running animation frames. See {@link ShadowChoreographer#setAnimationMode}.
+ *
+ * <pre>
+ * {@literal @}Rule public AnimationModeRule animations = AnimationModeRule.endState();
+ * </pre>
+ */
+public final class AnimationModeRule implements TestRule {
+  private final AnimationMode mode;
+  private final int frameCount;
+
+  /** Animations jump to their end state on the frame following their first one. */
+  public static AnimationModeRule endState() {
+    return new AnimationModeRule(AnimationMode.END_STATE, 0);
+  }
+
+  /**
+   * Animations only run {@code frameCount} evenly spaced frames between their first and last ones.
+   */
+  public static AnimationModeRule sampled(int frameCount) {
+    if (frameCount < 0) {
+      throw new IllegalArgumentException("frameCount must not be negative: " + frameCount);
+    }
+    return new AnimationModeRule(AnimationMode.SAMPLED, frameCount);
+  }
+
+  private AnimationModeRule(AnimationMode mode, int frameCount) {
+    this.mode = mode;
+    this.frameCount = frameCount;
+  }
+
+  @Override
+  public Statement apply(final Statement base, Description description) {
+    return new Statement() {
+      @Override
+      public void evaluate() throws Throwable {
+        ShadowChoreographer.setAnimationMode(mode, frameCount);
+        try {
+          base.evaluate();
+        } finally {
+          ShadowChoreographer.setAnimationMode(AnimationMode.REAL);
+        }
+      }
+    };
+  }
+}
@@ -124,6 +124,11 @@ public class BootstrapDeferringRobolectricTestRunner extends RobolectricTestRunn
       hooksInterface.tearDownApplication();
     }
 
+    @Override
+    public void releaseApplicationState() {
+      hooksInterface.releaseApplicationState();
+    }
+
     @Override
     public Object getCurrentApplication() {
       return hooksInterface.getCurrentApplication();
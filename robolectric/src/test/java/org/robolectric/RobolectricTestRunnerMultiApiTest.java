@@ -43,6 +43,7 @@ public class RobolectricTestRunnerMultiApiTest {
   private SdkPicker sdkPicker;
   private String priorResourcesMode;
   private String priorAlwaysInclude;
+  private String priorGroupTestsBySandbox;
 
   @Before
   public void setUp() {
@@ -58,6 +59,9 @@ public class RobolectricTestRunnerMultiApiTest {
 
     priorAlwaysInclude = System.getProperty("robolectric.alwaysIncludeVariantMarkersInTestName");
     System.clearProperty("robolectric.alwaysIncludeVariantMarkersInTestName");
+
+    priorGroupTestsBySandbox = System.getProperty("robolectric.groupTestsBySandbox");
+    System.clearProperty("robolectric.groupTestsBySandbox");
   }
 
   @After
@@ -65,6 +69,7 @@ public class RobolectricTestRunnerMultiApiTest {
     TestUtil.resetSystemProperty(
         "robolectric.alwaysIncludeVariantMarkersInTestName", priorAlwaysInclude);
     TestUtil.resetSystemProperty("robolectric.resourcesMode", priorResourcesMode);
+    TestUtil.resetSystemProperty("robolectric.groupTestsBySandbox", priorGroupTestsBySandbox);
   }
 
   @Test
@@ -218,6 +223,17 @@ public class RobolectricTestRunnerMultiApiTest {
     assertThat(runListener.finished).hasSize(sdksInclusivelyBetweenJellyBeanMr2AndLollipop);
   }
 
+  @Test
+  public void withGroupTestsBySandbox_shouldRunTestsForTheSameSdkConsecutively() throws Throwable {
+    System.setProperty("robolectric.groupTestsBySandbox", "true");
+    runner = runnerOf(TestClassConfigWithSdkGroupAndTwoMethods.class);
+
+    List<Integer> apis = apisFor(runner.getChildren());
+    assertThat(apis).containsExactly(JELLY_BEAN, JELLY_BEAN, LOLLIPOP, LOLLIPOP);
+    assertThat(apis.get(0)).isEqualTo(apis.get(1));
+    assertThat(apis.get(2)).isEqualTo(apis.get(3));
+  }
+
   ///////////////////////////
 
   @Nonnull
@@ -311,6 +327,13 @@ public class RobolectricTestRunnerMultiApiTest {
     }
   }
 
+  @Config(sdk = {JELLY_BEAN, LOLLIPOP})
+  public static class TestClassConfigWithSdkGroupAndTwoMethods {
+    @Test public void testOne() {}
+
+    @Test public void testTwo() {}
+  }
+
   private static List<Integer> apisFor(List<FrameworkMethod> children) {
     List<Integer> apis = new ArrayList<>();
     for (FrameworkMethod child : children) {
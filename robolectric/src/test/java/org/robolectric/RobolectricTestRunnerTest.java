@@ -27,6 +27,7 @@ import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.JUnit4;
 import org.junit.runners.MethodSorters;
+import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.robolectric.RobolectricTestRunner.ResourcesMode;
 import org.robolectric.RobolectricTestRunner.RobolectricFrameworkMethod;
@@ -37,6 +38,7 @@ import org.robolectric.internal.ParallelUniverseInterface;
 import org.robolectric.internal.SdkConfig;
 import org.robolectric.internal.SdkEnvironment;
 import org.robolectric.manifest.AndroidManifest;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.PerfStatsCollector.Metric;
 import org.robolectric.util.PerfStatsReporter;
 import org.robolectric.util.TestUtil;
@@ -184,6 +186,53 @@ public class RobolectricTestRunnerTest {
     assertThat(metricNames).contains("initialization");
   }
 
+  @Test
+  public void shouldNotReportLeaks_forCleanTests() throws Exception {
+    List<String> checkedMethods = new ArrayList<>();
+    List<LeakDetector.Leak> leaks = new ArrayList<>();
+    String priorLeakDetection = System.getProperty("robolectric.leakDetection");
+    System.setProperty("robolectric.leakDetection", "true");
+    try {
+      RobolectricTestRunner runner = new MyRobolectricTestRunner(TestWithTwoMethods.class) {
+        @Override
+        protected void reportLeaks(FrameworkMethod method, List<LeakDetector.Leak> methodLeaks) {
+          checkedMethods.add(method.getName());
+          leaks.addAll(methodLeaks);
+        }
+      };
+
+      runner.run(notifier);
+    } finally {
+      TestUtil.resetSystemProperty("robolectric.leakDetection", priorLeakDetection);
+    }
+
+    assertThat(events).isEmpty();
+    assertThat(checkedMethods).containsExactly("first", "second");
+    assertThat(leaks).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepApplicationState_whenLeakDetectionIsDisabled() throws Exception {
+    List<ParallelUniverseInterface> parallelUniverses = new ArrayList<>();
+    RobolectricTestRunner runner =
+        new MyRobolectricTestRunner(TestWithTwoMethods.class) {
+          @Override
+          ParallelUniverseInterface getHooksInterface(SdkEnvironment sdkEnvironment) {
+            ParallelUniverseInterface parallelUniverse = super.getHooksInterface(sdkEnvironment);
+            parallelUniverses.add(parallelUniverse);
+            return parallelUniverse;
+          }
+        };
+
+    runner.run(notifier);
+
+    assertThat(events).isEmpty();
+    assertThat(parallelUniverses).isNotEmpty();
+    for (ParallelUniverseInterface parallelUniverse : parallelUniverses) {
+      assertThat(parallelUniverse.getCurrentApplication()).isNotNull();
+    }
+  }
+
   /////////////////////////////
 
   public static class MyParallelUniverseWithFailingSetUp extends ParallelUniverse {
@@ -0,0 +1,106 @@
+package org.robolectric.android.util.concurrent;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.util.Scheduler;
+
+@RunWith(AndroidJUnit4.class)
+public class RealThreadRoboExecutorServiceTest {
+  private final RealThreadRoboExecutorService executorService =
+      new RealThreadRoboExecutorService(2);
+  private final Scheduler backgroundScheduler = Robolectric.getBackgroundThreadScheduler();
+  private final CountDownLatch latch = new CountDownLatch(1);
+
+  @Before
+  public void setUp() throws Exception {
+    backgroundScheduler.pause();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    latch.countDown();
+    executorService.shutdownNow();
+  }
+
+  @Test(timeout = 5000)
+  public void submit_shouldRunTaskOnAnotherThread() throws Exception {
+    Future<Thread> future = executorService.submit(Thread::currentThread);
+
+    assertThat(future.get()).isNotSameAs(Thread.currentThread());
+  }
+
+  @Test(timeout = 5000)
+  public void submit_shouldShowIncompleteTasksOnScheduler() throws Exception {
+    Future<?> future = executorService.submit(this::awaitLatch);
+
+    assertThat(backgroundScheduler.size()).isEqualTo(1);
+    assertThat(future.isDone()).isFalse();
+
+    latch.countDown();
+    future.get();
+    assertThat(executorService.awaitIdle(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(backgroundScheduler.size()).isEqualTo(0);
+    assertThat(executorService.getCompletedTaskCount()).isEqualTo(1);
+  }
+
+  @Test(timeout = 5000)
+  public void runBackgroundTasks_shouldWaitForTasks() throws Exception {
+    Future<String> future = executorService.submit(() -> {
+      awaitLatch();
+      return "foo";
+    });
+    new Thread(latch::countDown).start();
+
+    ShadowApplication.runBackgroundTasks();
+
+    assertThat(future.isDone()).isTrue();
+    assertThat(future.get()).isEqualTo("foo");
+  }
+
+  @Test(timeout = 5000)
+  public void runBackgroundTasks_shouldLetTasksPostToScheduler() throws Exception {
+    boolean[] ran = new boolean[1];
+    executorService.execute(() -> {
+      awaitLatch();
+      backgroundScheduler.post(() -> ran[0] = true);
+    });
+    new Thread(latch::countDown).start();
+
+    ShadowApplication.runBackgroundTasks();
+
+    assertThat(ran[0]).isTrue();
+  }
+
+  @Test(timeout = 5000)
+  public void shutdownNow_shouldReturnPendingTasks() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      executorService.execute(this::awaitLatch);
+    }
+
+    List<Runnable> notExecutedRunnables = executorService.shutdownNow();
+
+    assertThat(notExecutedRunnables).hasSize(1);
+    assertThat(executorService.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    assertThat(executorService.getPendingTaskCount()).isEqualTo(0);
+    assertThat(backgroundScheduler.size()).isEqualTo(0);
+  }
+
+  private void awaitLatch() {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
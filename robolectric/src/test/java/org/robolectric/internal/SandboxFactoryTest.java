@@ -0,0 +1,91 @@
+package org.robolectric.internal;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.robolectric.internal.bytecode.InstrumentationConfiguration;
+import org.robolectric.internal.dependency.DependencyResolver;
+
+@RunWith(JUnit4.class)
+public class SandboxFactoryTest {
+  private final InstrumentationConfiguration config =
+      InstrumentationConfiguration.newBuilder().build();
+  private DependencyResolver dependencyResolver;
+  private long usedHeap;
+  private int createdSandboxCount;
+
+  private final SandboxFactory sandboxFactory =
+      new SandboxFactory(100, 3) {
+        @Override
+        protected SdkEnvironment createSdkEnvironment(
+            SdkConfig sdkConfig, ClassLoader robolectricClassLoader) {
+          createdSandboxCount++;
+          return super.createSdkEnvironment(sdkConfig, robolectricClassLoader);
+        }
+
+        @Override
+        protected long usedHeap() {
+          return usedHeap;
+        }
+      };
+
+  @Before
+  public void setUp() throws Exception {
+    URL androidAllJar = new File("android-all.jar").toURI().toURL();
+    dependencyResolver = dependency -> androidAllJar;
+  }
+
+  @Test
+  public void getSdkEnvironment_shouldReuseSandbox_forSameKey() {
+    SdkEnvironment sdkEnvironment = getSdkEnvironment(16, false);
+
+    assertThat(getSdkEnvironment(16, false)).isSameAs(sdkEnvironment);
+    assertThat(getSdkEnvironment(16, true)).isNotSameAs(sdkEnvironment);
+    assertThat(getSdkEnvironment(17, false)).isNotSameAs(sdkEnvironment);
+    assertThat(createdSandboxCount).isEqualTo(3);
+  }
+
+  @Test
+  public void getSdkEnvironment_shouldKeepSandboxesWhileSoftlyReachable_whenOverHeapBudget() {
+    usedHeap = 1000;
+    SdkEnvironment sdkEnvironment = getSdkEnvironment(16, false);
+    getSdkEnvironment(17, false);
+    getSdkEnvironment(18, false);
+
+    assertThat(getSdkEnvironment(16, false)).isSameAs(sdkEnvironment);
+    assertThat(createdSandboxCount).isEqualTo(3);
+  }
+
+  @Test
+  public void getSdkEnvironment_shouldDemoteOneSandboxPerInsertion_whenOverHeapBudget() {
+    getSdkEnvironment(16, false);
+    getSdkEnvironment(17, false);
+    usedHeap = 1000;
+    getSdkEnvironment(18, false);
+
+    assertThat(sandboxFactory.getStronglyHeldSandboxCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void getSdkEnvironment_shouldNotHoldMoreSandboxesThanCacheSize() {
+    usedHeap = 1000;
+    SdkEnvironment sdkEnvironment = getSdkEnvironment(16, false);
+    getSdkEnvironment(17, false);
+    getSdkEnvironment(18, false);
+    getSdkEnvironment(19, false);
+
+    assertThat(sandboxFactory.getSandboxCount()).isEqualTo(3);
+    assertThat(getSdkEnvironment(16, false)).isNotSameAs(sdkEnvironment);
+    assertThat(createdSandboxCount).isEqualTo(5);
+  }
+
+  private SdkEnvironment getSdkEnvironment(int apiLevel, boolean useLegacyResources) {
+    return sandboxFactory.getSdkEnvironment(
+        config, new SdkConfig(apiLevel), useLegacyResources, dependencyResolver);
+  }
+}
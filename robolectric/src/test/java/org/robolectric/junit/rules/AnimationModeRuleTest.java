@@ -0,0 +1,43 @@
+package org.robolectric.junit.rules;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import android.animation.ValueAnimator;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.shadows.ShadowChoreographer;
+import org.robolectric.shadows.ShadowChoreographer.AnimationMode;
+
+/** Tests for {@link AnimationModeRule}. */
+@RunWith(AndroidJUnit4.class)
+public final class AnimationModeRuleTest {
+
+  @Rule public AnimationModeRule rule = AnimationModeRule.endState();
+
+  @Test
+  public void shouldSetAnimationModeDuringTest() {
+    assertThat(ShadowChoreographer.getAnimationMode()).isEqualTo(AnimationMode.END_STATE);
+  }
+
+  @Test
+  public void shouldRunAnimationToItsEndStateInTwoFrames() {
+    final List<Integer> values = new ArrayList<>();
+    ValueAnimator animator = ValueAnimator.ofInt(0, 10);
+    animator.setDuration(3000);
+    animator.addUpdateListener(animation -> values.add((int) animation.getAnimatedValue()));
+
+    Robolectric.getForegroundThreadScheduler().pause();
+    animator.start();
+    Robolectric.flushForegroundThreadScheduler();
+
+    assertThat(animator.isRunning()).isFalse();
+    assertThat(values.get(values.size() - 1)).isEqualTo(10);
+    // the start value, possibly once more on the first frame, then the end value
+    assertThat(values.size()).isAtMost(3);
+  }
+}
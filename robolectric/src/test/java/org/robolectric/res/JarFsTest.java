@@ -0,0 +1,137 @@
+package org.robolectric.res;
+
+import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.robolectric.util.Util;
+
+@RunWith(JUnit4.class)
+public class JarFsTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void fileFromPath_shouldReuseOpenJar() throws Exception {
+    File jar = writeJar("a.jar", "res/layout/main.xml", "<layout/>");
+    String url = "jar:" + jar.getPath() + "!/res/layout/main.xml";
+
+    FsFile first = Fs.fileFromPath(url);
+    FsFile second = Fs.fileFromPath(url);
+
+    assertThat(Fs.JarFs.open(jar)).isSameAs(Fs.JarFs.open(jar));
+    assertThat(second).isEqualTo(first);
+    assertThat(new String(second.getBytes(), UTF_8)).isEqualTo("<layout/>");
+  }
+
+  @Test
+  public void open_shouldReopen_whenJarChanged() throws Exception {
+    File jar = writeJar("a.jar", "assets/file.txt", "old");
+    FsFile old = Fs.newJarFile(jar).join("assets", "file.txt");
+    assertThat(new String(old.getBytes(), UTF_8)).isEqualTo("old");
+
+    writeJar("a.jar", "assets/file.txt", "new contents");
+
+    FsFile updated = Fs.newJarFile(jar).join("assets", "file.txt");
+    assertThat(new String(updated.getBytes(), UTF_8)).isEqualTo("new contents");
+  }
+
+  @Test
+  public void getBytes_shouldStillRead_afterJarLeftPool() throws Exception {
+    File jar = writeJar("first.jar", "assets/file.txt", "first");
+    FsFile file = Fs.newJarFile(jar).join("assets", "file.txt");
+
+    for (int i = 0; i < 32; i++) {
+      Fs.newJarFile(writeJar("other" + i + ".jar", "assets/file.txt", "other"));
+    }
+
+    assertThat(new String(file.getBytes(), UTF_8)).isEqualTo("first");
+  }
+
+  @Test
+  public void getBytes_shouldReadStoredAndDeflatedEntries() throws Exception {
+    File jar = temporaryFolder.newFile("mixed.jar");
+    byte[] stored = "stored".getBytes(UTF_8);
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      JarEntry storedEntry = new JarEntry("stored.txt");
+      storedEntry.setMethod(ZipEntry.STORED);
+      storedEntry.setSize(stored.length);
+      CRC32 crc = new CRC32();
+      crc.update(stored);
+      storedEntry.setCrc(crc.getValue());
+      out.putNextEntry(storedEntry);
+      out.write(stored);
+      out.closeEntry();
+
+      out.putNextEntry(new JarEntry("deflated.txt"));
+      out.write("deflated".getBytes(UTF_8));
+      out.closeEntry();
+    }
+
+    FsFile root = Fs.newJarFile(jar);
+    assertThat(new String(root.join("stored.txt").getBytes(), UTF_8)).isEqualTo("stored");
+    assertThat(new String(root.join("deflated.txt").getBytes(), UTF_8)).isEqualTo("deflated");
+  }
+
+  @Test
+  public void open_shouldCloseReplacedJar_afterLastStreamIsClosed() throws Exception {
+    File jar = writeJar("a.jar", "assets/file.txt", "old");
+    Fs.JarFs old = Fs.JarFs.open(jar);
+    InputStream stream = old.join("assets", "file.txt").getInputStream();
+
+    File changed = writeJar("changed.jar", "assets/file.txt", "new contents");
+    Files.move(changed.toPath(), jar.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    assertThat(Fs.JarFs.open(jar)).isNotSameAs(old);
+    assertThat(old.isOpen()).isTrue();
+
+    // reads to the end and closes the stream
+    assertThat(new String(Util.readBytes(stream), UTF_8)).isEqualTo("old");
+    assertThat(old.isOpen()).isFalse();
+    assertThat(Fs.JarFs.open(jar).isOpen()).isTrue();
+  }
+
+  @Test
+  public void getInputStream_shouldReadStoredEntry() throws Exception {
+    File jar = temporaryFolder.newFile("stored.jar");
+    byte[] stored = "stored".getBytes(UTF_8);
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      JarEntry storedEntry = new JarEntry("stored.txt");
+      storedEntry.setMethod(ZipEntry.STORED);
+      storedEntry.setSize(stored.length);
+      CRC32 crc = new CRC32();
+      crc.update(stored);
+      storedEntry.setCrc(crc.getValue());
+      out.putNextEntry(storedEntry);
+      out.write(stored);
+      out.closeEntry();
+    }
+
+    try (InputStream in = Fs.newJarFile(jar).join("stored.txt").getInputStream()) {
+      assertThat(new String(Util.readBytes(in), UTF_8)).isEqualTo("stored");
+    }
+  }
+
+  private File writeJar(String name, String entryName, String contents) throws IOException {
+    File jar = new File(temporaryFolder.getRoot(), name);
+    try (JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+      out.putNextEntry(new JarEntry(entryName));
+      out.write(contents.getBytes(UTF_8));
+      out.closeEntry();
+    }
+    return jar;
+  }
+}
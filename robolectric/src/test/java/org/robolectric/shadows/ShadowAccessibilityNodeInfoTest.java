@@ -199,6 +199,45 @@ public class ShadowAccessibilityNodeInfoTest {
     assertThat(node).isEqualTo(clone);
   }
 
+  @Test
+  public void clone_doesNotShareChildrenAddedAfterCloning() {
+    AccessibilityNodeInfo child = AccessibilityNodeInfo.obtain();
+    shadowOf(node).addChild(child);
+    AccessibilityNodeInfo clone = AccessibilityNodeInfo.obtain(node);
+
+    shadowOf(clone).addChild(AccessibilityNodeInfo.obtain());
+    shadowOf(node).addChild(AccessibilityNodeInfo.obtain());
+    shadowOf(node).addChild(AccessibilityNodeInfo.obtain());
+
+    assertThat(clone.getChildCount()).isEqualTo(2);
+    assertThat(node.getChildCount()).isEqualTo(3);
+  }
+
+  @Test
+  @Config(minSdk = LOLLIPOP)
+  public void clone_doesNotShareActionsAddedAfterCloning() {
+    node.addAction(AccessibilityAction.ACTION_CLICK);
+    AccessibilityNodeInfo clone = AccessibilityNodeInfo.obtain(node);
+
+    clone.addAction(AccessibilityAction.ACTION_LONG_CLICK);
+
+    assertThat(node.getActionList()).containsExactly(AccessibilityAction.ACTION_CLICK);
+    assertThat(clone.getActionList())
+        .containsExactly(AccessibilityAction.ACTION_CLICK, AccessibilityAction.ACTION_LONG_CLICK);
+  }
+
+  @Test
+  public void obtainTrackingModeOff_stillDetectsUnrecycledNodes() {
+    ShadowAccessibilityNodeInfo.setObtainTrackingMode(
+        ShadowAccessibilityNodeInfo.ObtainTrackingMode.OFF);
+    AccessibilityNodeInfo untracked = AccessibilityNodeInfo.obtain();
+    node.recycle();
+
+    assertThat(ShadowAccessibilityNodeInfo.areThereUnrecycledNodes(true)).isTrue();
+    untracked.recycle();
+    assertThat(ShadowAccessibilityNodeInfo.areThereUnrecycledNodes(false)).isFalse();
+  }
+
   @After
   public void tearDown() {
     ShadowAccessibilityNodeInfo.resetObtainedInstances();
@@ -17,6 +17,7 @@ import java.io.File;
 import java.io.FileDescriptor;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.nio.file.Files;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -279,4 +280,58 @@ public class ShadowBitmapFactoryTest {
     assertThat(bitmap.getWidth()).isEqualTo(100);
     assertThat(bitmap.getHeight()).isEqualTo(100);
   }
+
+  @Test
+  public void decodeByteArray_shouldGetWidthAndHeightFromImageHeaders() {
+    byte[] png = {
+      (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n',
+      0, 0, 0, 13, 'I', 'H', 'D', 'R',
+      0, 0, 0x01, 0x2C, 0, 0, 0, (byte) 0xC8
+    };
+    assertSize(BitmapFactory.decodeByteArray(png, 0, png.length), 300, 200);
+
+    byte[] gif = {'G', 'I', 'F', '8', '9', 'a', 0x2C, 0x01, (byte) 0xC8, 0};
+    assertSize(BitmapFactory.decodeByteArray(gif, 0, gif.length), 300, 200);
+
+    byte[] webp = {
+      'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8', 'X',
+      10, 0, 0, 0, 0, 0, 0, 0, 0x2B, 0x01, 0, (byte) 0xC7, 0, 0
+    };
+    assertSize(BitmapFactory.decodeByteArray(webp, 0, webp.length), 300, 200);
+  }
+
+  @Test
+  public void decodeFile_shouldGetWidthAndHeightFromFile_andNoticeChanges() throws Exception {
+    File file = File.createTempFile("image", ".png");
+    file.deleteOnExit();
+    Files.write(file.toPath(), pngHeader(300, 200));
+    assertSize(BitmapFactory.decodeFile(file.getPath()), 300, 200);
+
+    Files.write(file.toPath(), pngHeader(30, 20));
+    assertThat(file.setLastModified(file.lastModified() + 2000)).isTrue();
+    assertSize(BitmapFactory.decodeFile(file.getPath()), 30, 20);
+  }
+
+  @Test
+  public void decodeByteArray_shouldNotConfuseDifferentImages() {
+    byte[] big = pngHeader(300, 200);
+    byte[] small = pngHeader(30, 20);
+    assertSize(BitmapFactory.decodeByteArray(big, 0, big.length), 300, 200);
+    assertSize(BitmapFactory.decodeByteArray(small, 0, small.length), 30, 20);
+    assertSize(BitmapFactory.decodeByteArray(big, 0, big.length), 300, 200);
+  }
+
+  private static byte[] pngHeader(int width, int height) {
+    return new byte[] {
+      (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n',
+      0, 0, 0, 13, 'I', 'H', 'D', 'R',
+      (byte) (width >> 24), (byte) (width >> 16), (byte) (width >> 8), (byte) width,
+      (byte) (height >> 24), (byte) (height >> 16), (byte) (height >> 8), (byte) height
+    };
+  }
+
+  private static void assertSize(Bitmap bitmap, int width, int height) {
+    assertThat(bitmap.getWidth()).isEqualTo(width);
+    assertThat(bitmap.getHeight()).isEqualTo(height);
+  }
 }
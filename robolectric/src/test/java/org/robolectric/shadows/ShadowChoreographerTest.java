@@ -6,10 +6,12 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import android.animation.ValueAnimator;
 import android.view.Choreographer;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
 import org.robolectric.util.TimeUtils;
 
 @RunWith(AndroidJUnit4.class)
@@ -27,6 +29,21 @@ public class ShadowChoreographerTest {
     assertThat(time2 - time1).isEqualTo(frameInterval);
   }
 
+  @Test
+  public void setAnimationMode_sampled_shouldSpaceFramesByAnimatorDuration() {
+    ShadowChoreographer.setAnimationMode(ShadowChoreographer.AnimationMode.SAMPLED, 3);
+    ValueAnimator animator = ValueAnimator.ofInt(0, 10);
+    animator.setDuration(4000);
+    Robolectric.getForegroundThreadScheduler().pause();
+    animator.start();
+
+    final Choreographer instance = ShadowChoreographer.getInstance();
+    long time1 = instance.getFrameTimeNanos();
+    long time2 = instance.getFrameTimeNanos();
+
+    assertThat(time2 - time1).isEqualTo(1000 * TimeUtils.NANOS_PER_MS);
+  }
+
   @Test
   public void removeFrameCallback_shouldRemoveCallback() {
     Choreographer instance = ShadowChoreographer.getInstance();
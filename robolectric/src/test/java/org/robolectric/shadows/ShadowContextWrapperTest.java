@@ -257,6 +257,33 @@ public class ShadowContextWrapperTest {
     assertThat(transcript).isEmpty();
   }
 
+  @Test
+  public void unregisterReceiver_shouldKeepOtherReceiversForSameAction() throws Exception {
+    BroadcastReceiver larryReceiver = broadcastReceiver("Larry");
+    contextWrapper.registerReceiver(larryReceiver, intentFilter("foo", "baz"));
+    BroadcastReceiver bobReceiver = broadcastReceiver("Bob");
+    contextWrapper.registerReceiver(bobReceiver, intentFilter("foo"));
+
+    contextWrapper.unregisterReceiver(larryReceiver);
+
+    contextWrapper.sendBroadcast(new Intent("foo"));
+    contextWrapper.sendBroadcast(new Intent("baz"));
+    assertThat(transcript).containsExactly("Bob notified of foo");
+  }
+
+  @Test
+  public void sendOrderedBroadcast_shouldKeepRegistrationOrderForEqualPriorities()
+      throws Exception {
+    String action = "test";
+    contextWrapper.registerReceiver(broadcastReceiver("First"), new IntentFilter(action));
+    contextWrapper.registerReceiver(broadcastReceiver("Second"), new IntentFilter(action));
+
+    contextWrapper.sendOrderedBroadcast(new Intent(action), null);
+    assertThat(transcript)
+        .containsExactly("First notified of test", "Second notified of test")
+        .inOrder();
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void unregisterReceiver_shouldThrowExceptionWhenReceiverIsNotRegistered() throws Exception {
     contextWrapper.unregisterReceiver(new AppWidgetProvider());
@@ -294,4 +294,75 @@ public class ShadowLogTest {
     assertThat(ShadowLog.getLogsForTag("tag1")).isEmpty();
     assertThat(ShadowLog.getLogs()).isEmpty();
   }
+
+  @Test
+  public void setCaptureLimit_keepsLatestLogs() {
+    ShadowLog.setCaptureLimit(2);
+    Log.d("tag1", "1");
+    Log.d("tag2", "2");
+    Log.d("tag1", "3");
+
+    assertThat(ShadowLog.getLogs())
+        .containsExactly(
+            new LogItem(Log.DEBUG, "tag2", "2", null), new LogItem(Log.DEBUG, "tag1", "3", null))
+        .inOrder();
+    assertThat(ShadowLog.getLogsForTag("tag1"))
+        .containsExactly(new LogItem(Log.DEBUG, "tag1", "3", null));
+  }
+
+  @Test
+  public void setCaptureLevel_dropsLowerLevelLogs() {
+    ShadowLog.setCaptureLevel(Log.INFO);
+    ShadowLog.setCaptureLevel("verbose", Log.VERBOSE);
+    Log.d("tag", "dropped");
+    Log.i("tag", "kept");
+    Log.v("verbose", "kept");
+
+    assertThat(ShadowLog.getLogs())
+        .containsExactly(
+            new LogItem(Log.INFO, "tag", "kept", null),
+            new LogItem(Log.VERBOSE, "verbose", "kept", null))
+        .inOrder();
+  }
+
+  @Test
+  public void setStreamAsync_printsLogsWhenFlushed() {
+    PrintStream old = ShadowLog.stream;
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    ShadowLog.stream = new PrintStream(bos);
+    try {
+      ShadowLog.setStreamAsync(true);
+      Log.d("tag", "1");
+      Log.e("tag", "2");
+      ShadowLog.flushStream();
+
+      assertThat(new String(bos.toByteArray(), UTF_8))
+          .isEqualTo("D/tag: 1" + System.lineSeparator() + "E/tag: 2" + System.lineSeparator());
+    } finally {
+      ShadowLog.setStreamAsync(false);
+      ShadowLog.stream = old;
+    }
+  }
+
+  @Test
+  public void reset_printsPendingLogsAndStopsAsyncWriter() {
+    PrintStream old = ShadowLog.stream;
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    ShadowLog.stream = new PrintStream(bos);
+    try {
+      ShadowLog.setStreamAsync(true);
+      Log.d("tag", "1");
+
+      ShadowLog.reset();
+
+      assertThat(new String(bos.toByteArray(), UTF_8))
+          .isEqualTo("D/tag: 1" + System.lineSeparator());
+      for (Thread thread : Thread.getAllStackTraces().keySet()) {
+        assertThat(thread.getName()).isNotEqualTo("ShadowLog stream writer");
+      }
+    } finally {
+      ShadowLog.setStreamAsync(false);
+      ShadowLog.stream = old;
+    }
+  }
 }
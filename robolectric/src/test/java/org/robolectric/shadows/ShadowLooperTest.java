@@ -8,10 +8,14 @@ import android.content.Context;
 import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
+import android.os.SystemClock;
 import androidx.test.core.app.ApplicationProvider;
 import androidx.test.ext.junit.runners.AndroidJUnit4;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.After;
 import org.junit.Rule;
@@ -435,8 +439,78 @@ public class ShadowLooperTest {
     }
   }
 
+  @Test(timeout = 5000)
+  public void realBackgroundLooper_dispatchesOnLooperThread_whenDue() {
+    RoboSettings.setUseRealBackgroundLoopers(true);
+    HandlerThread ht = getHandlerThread();
+    final List<Thread> dispatchedOn = new CopyOnWriteArrayList<>();
+    Runnable recordThread =
+        new Runnable() {
+          @Override
+          public void run() {
+            dispatchedOn.add(Thread.currentThread());
+          }
+        };
+    Handler handler = new Handler(ht.getLooper());
+
+    handler.post(recordThread);
+    handler.postDelayed(recordThread, 100);
+    ShadowLooper.idleBackgroundLoopers();
+    assertThat(dispatchedOn).named("before delay").containsExactly(ht);
+
+    shadowOf(ht.getLooper()).idle(100, TimeUnit.MILLISECONDS);
+    assertThat(dispatchedOn).named("after delay").containsExactly(ht, ht);
+    ht.quit();
+  }
+
+  @Test(timeout = 5000)
+  public void realBackgroundLooper_idle_advancesOnlyItsOwnScheduler() {
+    RoboSettings.setUseRealBackgroundLoopers(true);
+    HandlerThread ht = getHandlerThread();
+    final List<Thread> dispatchedOn = new CopyOnWriteArrayList<>();
+    Runnable recordThread =
+        new Runnable() {
+          @Override
+          public void run() {
+            dispatchedOn.add(Thread.currentThread());
+          }
+        };
+    Handler handler = new Handler(ht.getLooper());
+    long uptimeMillis = SystemClock.uptimeMillis();
+
+    handler.postDelayed(recordThread, 100);
+    shadowOf(ht.getLooper()).idle(100, TimeUnit.MILLISECONDS);
+
+    assertThat(dispatchedOn).containsExactly(ht);
+    assertThat(SystemClock.uptimeMillis()).isEqualTo(uptimeMillis);
+    ht.quit();
+  }
+
+  @Test(timeout = 5000)
+  public void realBackgroundLooper_isWokenUp_whenItsSchedulerAdvances() {
+    RoboSettings.setUseRealBackgroundLoopers(true);
+    HandlerThread ht = getHandlerThread();
+    final List<Thread> dispatchedOn = new CopyOnWriteArrayList<>();
+    Runnable recordThread =
+        new Runnable() {
+          @Override
+          public void run() {
+            dispatchedOn.add(Thread.currentThread());
+          }
+        };
+    Handler handler = new Handler(ht.getLooper());
+
+    handler.postDelayed(recordThread, 100);
+    shadowOf(ht.getLooper()).getScheduler().advanceBy(100, TimeUnit.MILLISECONDS);
+    ShadowLooper.idleBackgroundLoopers();
+
+    assertThat(dispatchedOn).containsExactly(ht);
+    ht.quit();
+  }
+
   @After
   public void tearDown() {
     RoboSettings.setUseGlobalScheduler(false);
+    RoboSettings.setUseRealBackgroundLoopers(false);
   }
 }
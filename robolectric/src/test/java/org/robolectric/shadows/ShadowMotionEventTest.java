@@ -42,6 +42,26 @@ public class ShadowMotionEventTest {
     assertEquals(5, event.getPointerId(1));
   }
 
+  @Test
+  public void addingSecondPointer_keepsFirstPointerIdAndToolType() {
+    MotionEvent.PointerProperties properties = new MotionEvent.PointerProperties();
+    properties.id = 3;
+    properties.toolType = MotionEvent.TOOL_TYPE_STYLUS;
+    MotionEvent.PointerCoords coords = new MotionEvent.PointerCoords();
+    coords.x = 5.0f;
+    coords.y = 10.0f;
+    MotionEvent stylusEvent = MotionEvent.obtain(100, 200, MotionEvent.ACTION_MOVE, 1,
+        new MotionEvent.PointerProperties[] {properties}, new MotionEvent.PointerCoords[] {coords},
+        0, 0, 1.0f, 1.0f, 0, 0, 0, 0);
+
+    shadowOf(stylusEvent).setPointer2(20.0f, 30.0f);
+
+    assertThat(stylusEvent.getPointerCount()).isEqualTo(2);
+    assertThat(stylusEvent.getPointerId(0)).isEqualTo(3);
+    assertThat(stylusEvent.getToolType(0)).isEqualTo(MotionEvent.TOOL_TYPE_STYLUS);
+    assertThat(stylusEvent.getX(0)).isEqualTo(5.0f);
+  }
+
   @Test
   public void indexShowsUpInAction() {
     shadowMotionEvent.setPointerIndex(1);
@@ -70,4 +90,33 @@ public class ShadowMotionEventTest {
     assertEquals(1, event.findPointerIndex(1));
     assertEquals(-1, event.findPointerIndex(3));
   }
+
+  @Test
+  public void obtainedCopy_doesNotShareSamplesWithOriginal() {
+    event.addBatch(300, 15.0f, 20.0f, 1.0f, 1.0f, 0);
+    MotionEvent copy = MotionEvent.obtain(event);
+
+    copy.addBatch(400, 25.0f, 30.0f, 1.0f, 1.0f, 0);
+    copy.setLocation(50.0f, 60.0f);
+
+    assertThat(event.getHistorySize()).isEqualTo(1);
+    assertThat(event.getHistoricalX(0, 0)).isEqualTo(5.0f);
+    assertThat(event.getX()).isEqualTo(15.0f);
+    assertThat(event.getY()).isEqualTo(20.0f);
+    assertThat(copy.getHistorySize()).isEqualTo(2);
+    assertThat(copy.getHistoricalX(0, 1)).isEqualTo(15.0f);
+  }
+
+  @Test
+  public void recycledEvent_isReinitialized() {
+    event.addBatch(300, 15.0f, 20.0f, 1.0f, 1.0f, 0);
+    event.recycle();
+
+    MotionEvent obtained = MotionEvent.obtain(500, 600, MotionEvent.ACTION_DOWN, 1.0f, 2.0f, 0);
+
+    assertThat(obtained.getHistorySize()).isEqualTo(0);
+    assertThat(obtained.getEventTime()).isEqualTo(600);
+    assertThat(obtained.getX()).isEqualTo(1.0f);
+    assertThat(obtained.getY()).isEqualTo(2.0f);
+  }
 }
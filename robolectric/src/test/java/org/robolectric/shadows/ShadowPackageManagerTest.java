@@ -808,6 +808,32 @@ public class ShadowPackageManagerTest {
         .isEqualTo("org.robolectric.shadows.TestActivityAlias");
   }
 
+  @Test
+  public void queryIntentActivities_RestrictedToOtherPackage() throws Exception {
+    Intent i = new Intent(Intent.ACTION_MAIN);
+    i.addCategory(Intent.CATEGORY_LAUNCHER);
+    i.setPackage(TEST_PACKAGE_NAME);
+
+    assertThat(packageManager.queryIntentActivities(i, 0)).isEmpty();
+
+    i.setPackage("org.robolectric");
+    assertThat(packageManager.queryIntentActivities(i, 0)).hasSize(1);
+  }
+
+  @Test
+  public void queryIntentActivities_afterRemovePackage_shouldNotMatch() throws Exception {
+    Intent implicit = new Intent(Intent.ACTION_MAIN);
+    implicit.addCategory(Intent.CATEGORY_LAUNCHER);
+    Intent explicit = new Intent();
+    explicit.setClassName(
+        ApplicationProvider.getApplicationContext(), "org.robolectric.shadows.TestActivity");
+
+    shadowPackageManager.removePackage("org.robolectric");
+
+    assertThat(packageManager.queryIntentActivities(implicit, 0)).isEmpty();
+    assertThat(packageManager.queryIntentActivities(explicit, 0)).isEmpty();
+  }
+
   @Test
   public void queryIntentActivities_DisabledComponentExplicitIntent() throws Exception {
     Intent i = new Intent();
@@ -3,10 +3,14 @@ package org.robolectric.util;
 import static com.google.common.truth.Truth.assertThat;
 
 import androidx.test.ext.junit.runners.AndroidJUnit4;
+import com.google.common.io.Files;
+import java.io.File;
 import java.io.IOException;
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.robolectric.shadows.util.SQLiteLibraryLoader;
 
@@ -16,6 +20,8 @@ public class SQLiteLibraryLoaderTest {
   private String savedOs, savedArch;
   private SQLiteLibraryLoader loader;
 
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   @Before
   public void setUp() {
     loader = new SQLiteLibraryLoader();
@@ -40,6 +46,27 @@ public class SQLiteLibraryLoaderTest {
     assertThat(loader.isLoaded()).isTrue();
   }
 
+  @Test
+  public void shouldReuseLibraryExtractedIntoCache() throws IOException {
+    File cacheRoot = temporaryFolder.getRoot();
+    File extracted = loader.extractToCache(cacheRoot);
+    long lastModified = extracted.lastModified();
+
+    assertThat(new SQLiteLibraryLoader().extractToCache(cacheRoot)).isEqualTo(extracted);
+    assertThat(extracted.lastModified()).isEqualTo(lastModified);
+  }
+
+  @Test
+  public void shouldReplaceCorruptLibraryInCache() throws IOException {
+    File cacheRoot = temporaryFolder.getRoot();
+    File extracted = loader.extractToCache(cacheRoot);
+    byte[] library = Files.toByteArray(extracted);
+    Files.write(new byte[] {1, 2, 3}, extracted);
+
+    assertThat(loader.extractToCache(cacheRoot)).isEqualTo(extracted);
+    assertThat(Files.toByteArray(extracted)).isEqualTo(library);
+  }
+
   @Test
   public void shouldFindLibraryForWindowsXPX86() throws IOException {
     assertThat(loadLibrary(new SQLiteLibraryLoader(WINDOWS), "Windows XP", "x86"))
@@ -124,6 +124,7 @@ public abstract class ClassInstrumentor {
   }
 
   private void instrumentMethods(MutableClass mutableClass) {
+    boolean mayBeShadowed = mutableClass.config.mayBeShadowed(mutableClass.getName());
     for (MethodNode method : mutableClass.getMethods()) {
       rewriteMethodBody(mutableClass, method);
 
@@ -133,7 +134,11 @@ public abstract class ClassInstrumentor {
       } else if (method.name.equals("<init>")) {
         instrumentConstructor(mutableClass, method);
       } else if (!isSyntheticAccessorMethod(method) && !Modifier.isAbstract(method.access)) {
-        instrumentNormalMethod(mutableClass, method);
+        if (mayBeShadowed) {
+          instrumentNormalMethod(mutableClass, method);
+        } else {
+          instrumentUnshadowedMethod(mutableClass, method);
+        }
       }
     }
   }
@@ -334,15 +339,7 @@ public abstract class ClassInstrumentor {
     if ((method.access & Opcodes.ACC_ABSTRACT) == 0) {
       method.access = method.access | Opcodes.ACC_FINAL;
     }
-    // if a native method, remove native modifier and force return a default value
-    if ((method.access & Opcodes.ACC_NATIVE) != 0) {
-      method.access = method.access & ~Opcodes.ACC_NATIVE;
-
-      RobolectricGeneratorAdapter generator = new RobolectricGeneratorAdapter(method);
-      Type returnType = generator.getReturnType();
-      generator.pushDefaultReturnValueToStack(returnType);
-      generator.returnValue();
-    }
+    stripNativeModifier(method);
 
     // todo figure out
     String originalName = method.name;
@@ -360,6 +357,32 @@ public abstract class ClassInstrumentor {
     mutableClass.addMethod(delegatorMethodNode);
   }
 
+  /**
+   * Used instead of {@link #instrumentNormalMethod} for classes that can't have a shadow, see {@link
+   * InstrumentationConfiguration#mayBeShadowed}, whose methods would always call real code anyway.
+   * # Keep the method and its body in place, so calls don't go through the {@link ClassHandler}.
+   * # Remove the `native` modifier, if present.
+   * # Create a private `$$robo$$methodName` method calling it, for {@link
+   *   org.robolectric.shadow.api.Shadow#directlyOn} and friends.
+   */
+  protected void instrumentUnshadowedMethod(MutableClass mutableClass, MethodNode method) {
+    stripNativeModifier(method);
+    mutableClass.addMethod(
+        redirectorMethod(mutableClass, method, directMethodName(mutableClass, method.name)));
+  }
+
+  /** If a native method, removes the native modifier and forces it to return a default value. */
+  private void stripNativeModifier(MethodNode method) {
+    if ((method.access & Opcodes.ACC_NATIVE) != 0) {
+      method.access = method.access & ~Opcodes.ACC_NATIVE;
+
+      RobolectricGeneratorAdapter generator = new RobolectricGeneratorAdapter(method);
+      Type returnType = generator.getReturnType();
+      generator.pushDefaultReturnValueToStack(returnType);
+      generator.returnValue();
+    }
+  }
+
   private String directMethodName(MutableClass mutableClass, String originalName) {
     return SHADOW_IMPL.directMethodName(mutableClass.getName(), originalName);
   }
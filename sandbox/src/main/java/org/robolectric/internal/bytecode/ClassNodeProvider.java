@@ -3,29 +3,78 @@ package org.robolectric.internal.bytecode;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.tree.ClassNode;
 
+/**
+ * Provides the hierarchy of classes, without loading them, to {@link InstrumentingClassWriter}.
+ *
+ * <p>Only the headers of classes are read, and kept in compact form. The hierarchy of classes read
+ * from a jar is shared by all providers for the same jar in the JVM, such as the class loaders of
+ * all sandboxes for an SDK, so each class is only read once.
+ */
 public abstract class ClassNodeProvider {
-  private final Map<String, ClassNode> classNodes = new ConcurrentHashMap<>();
+  // jar -> internal class name -> class info
+  private static final Map<String, Map<String, ClassInfo>> classInfosByJar =
+      new ConcurrentHashMap<>();
+
+  private final Map<String, ClassInfo> classInfos = new ConcurrentHashMap<>();
 
   protected abstract byte[] getClassBytes(String className) throws ClassNotFoundException;
 
-  ClassNode getClassNode(String internalClassName) throws ClassNotFoundException {
-    ClassNode classNode = classNodes.get(internalClassName);
-    if (classNode == null) {
-      classNode = createClassNode(internalClassName);
-      classNodes.put(internalClassName, classNode);
+  /**
+   * Returns an identifier of the jar {@code internalClassName} would be read from, such as its URL,
+   * or null if it isn't read from a jar, or its hierarchy mustn't be shared.
+   */
+  protected String getClassJar(String internalClassName) {
+    return null;
+  }
+
+  ClassInfo getClassInfo(String internalClassName) throws ClassNotFoundException {
+    ClassInfo classInfo = classInfos.get(internalClassName);
+    if (classInfo == null) {
+      String jar = getClassJar(internalClassName);
+      if (jar == null) {
+        classInfo = createClassInfo(internalClassName);
+      } else {
+        Map<String, ClassInfo> jarClassInfos =
+            classInfosByJar.computeIfAbsent(jar, k -> new ConcurrentHashMap<>());
+        classInfo = jarClassInfos.get(internalClassName);
+        if (classInfo == null) {
+          classInfo = createClassInfo(internalClassName);
+          jarClassInfos.put(internalClassName, classInfo);
+        }
+      }
+      classInfos.put(internalClassName, classInfo);
     }
-    return classNode;
+    return classInfo;
   }
 
-  private ClassNode createClassNode(String internalClassName) throws ClassNotFoundException {
+  private ClassInfo createClassInfo(String internalClassName) throws ClassNotFoundException {
     byte[] byteCode = getClassBytes(internalClassName);
     ClassReader classReader = new ClassReader(byteCode);
-    ClassNode classNode = new ClassNode();
-    classReader.accept(classNode,
-        ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
-    return classNode;
+    return new ClassInfo(
+        classReader.getAccess(), classReader.getSuperName(), classReader.getInterfaces());
   }
 
+  /** The access flags, superclass and interfaces of a class. */
+  static final class ClassInfo {
+    private static final String[] NO_INTERFACES = new String[0];
+
+    final int access;
+    final String superName;
+    final String[] interfaces;
+
+    private ClassInfo(int access, String superName, String[] interfaces) {
+      this.access = access;
+      // the same names are repeated throughout a hierarchy
+      this.superName = superName == null ? null : superName.intern();
+      if (interfaces.length == 0) {
+        this.interfaces = NO_INTERFACES;
+      } else {
+        this.interfaces = new String[interfaces.length];
+        for (int i = 0; i < interfaces.length; i++) {
+          this.interfaces[i] = interfaces[i].intern();
+        }
+      }
+    }
+  }
 }
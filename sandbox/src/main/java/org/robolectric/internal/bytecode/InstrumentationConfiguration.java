@@ -45,6 +45,8 @@ public class InstrumentationConfiguration {
   private final Set<String> classesToNotAcquire;
   private final Set<String> packagesToNotAcquire;
   private final Set<String> packagesToNotInstrument;
+  private final Set<String> shadowedClasses;
+  private final boolean leanInstrumentation;
   private int cachedHashCode;
 
   private final TypeMapper typeMapper;
@@ -59,6 +61,30 @@ public class InstrumentationConfiguration {
       Collection<String> packagesToNotAquire,
       Collection<String> classesToNotInstrument,
       Collection<String> packagesToNotInstrument) {
+    this(
+        classNameTranslations,
+        interceptedMethods,
+        instrumentedPackages,
+        instrumentedClasses,
+        classesToNotAcquire,
+        packagesToNotAquire,
+        classesToNotInstrument,
+        packagesToNotInstrument,
+        Collections.emptySet(),
+        false);
+  }
+
+  protected InstrumentationConfiguration(
+      Map<String, String> classNameTranslations,
+      Collection<MethodRef> interceptedMethods,
+      Collection<String> instrumentedPackages,
+      Collection<String> instrumentedClasses,
+      Collection<String> classesToNotAcquire,
+      Collection<String> packagesToNotAquire,
+      Collection<String> classesToNotInstrument,
+      Collection<String> packagesToNotInstrument,
+      Collection<String> shadowedClasses,
+      boolean leanInstrumentation) {
     this.classNameTranslations = ImmutableMap.copyOf(classNameTranslations);
     this.interceptedMethods = ImmutableSet.copyOf(interceptedMethods);
     this.instrumentedPackages = ImmutableList.copyOf(instrumentedPackages);
@@ -67,6 +93,8 @@ public class InstrumentationConfiguration {
     this.packagesToNotAcquire = ImmutableSet.copyOf(packagesToNotAquire);
     this.classesToNotInstrument = ImmutableSet.copyOf(classesToNotInstrument);
     this.packagesToNotInstrument = ImmutableSet.copyOf(packagesToNotInstrument);
+    this.shadowedClasses = ImmutableSet.copyOf(shadowedClasses);
+    this.leanInstrumentation = leanInstrumentation;
     this.cachedHashCode = 0;
 
     this.typeMapper = new TypeMapper(classNameTranslations());
@@ -90,6 +118,26 @@ public class InstrumentationConfiguration {
         && !(isInPackagesToNotInstrument(mutableClass.getName()));
   }
 
+  /**
+   * Determine if calls to the methods of an instrumented class must be dispatched to the {@link
+   * ClassHandler}, because a shadow may intercept them.
+   *
+   * <p>That's always the case unless lean instrumentation is enabled, in which case only the classes
+   * with a shadow known at build time, from the {@code ShadowProvider}s, and the extra instrumented
+   * classes, such as the ones shadowed by {@code @Config(shadows=...)}, are dispatched. The methods
+   * of all other classes keep their original bodies and always run real code.
+   *
+   * @param   className The fully-qualified class name.
+   * @return  True if the methods of the class may be shadowed.
+   */
+  public boolean mayBeShadowed(String className) {
+    return !leanInstrumentation
+        || instrumentedClasses.contains(className)
+        || shadowedClasses.contains(className)
+        // shadow maps are keyed by canonical name
+        || shadowedClasses.contains(className.replace('$', '.'));
+  }
+
   /**
    * Determine if {@link SandboxClassLoader} should load a given class.
    *
@@ -182,6 +230,8 @@ public class InstrumentationConfiguration {
     if (!instrumentedPackages.equals(that.instrumentedPackages)) return false;
     if (!instrumentedClasses.equals(that.instrumentedClasses)) return false;
     if (!interceptedMethods.equals(that.interceptedMethods)) return false;
+    if (!shadowedClasses.equals(that.shadowedClasses)) return false;
+    if (leanInstrumentation != that.leanInstrumentation) return false;
 
 
     return true;
@@ -198,6 +248,8 @@ public class InstrumentationConfiguration {
     result = 31 * result + classNameTranslations.hashCode();
     result = 31 * result + interceptedMethods.hashCode();
     result = 31 * result + classesToNotAcquire.hashCode();
+    result = 31 * result + shadowedClasses.hashCode();
+    result = 31 * result + (leanInstrumentation ? 1 : 0);
     cachedHashCode = result;
     return result;
   }
@@ -241,6 +293,8 @@ public class InstrumentationConfiguration {
     public final Collection<String> instrumentedClasses = new HashSet<>();
     public final Collection<String> classesToNotInstrument = new HashSet<>();
     public final Collection<String> packagesToNotInstrument = new HashSet<>();
+    public final Collection<String> shadowedClasses = new HashSet<>();
+    public boolean leanInstrumentation;
 
     public Builder() {
     }
@@ -254,6 +308,8 @@ public class InstrumentationConfiguration {
       instrumentedClasses.addAll(classLoaderConfig.instrumentedClasses);
       classesToNotInstrument.addAll(classLoaderConfig.classesToNotInstrument);
       packagesToNotInstrument.addAll(classLoaderConfig.packagesToNotInstrument);
+      shadowedClasses.addAll(classLoaderConfig.shadowedClasses);
+      leanInstrumentation = classLoaderConfig.leanInstrumentation;
     }
 
     public Builder doNotAcquireClass(Class<?> clazz) {
@@ -301,6 +357,20 @@ public class InstrumentationConfiguration {
       return this;
     }
 
+    public Builder addShadowedClass(String className) {
+      this.shadowedClasses.add(className);
+      return this;
+    }
+
+    /**
+     * Only dispatch calls to the methods of classes which may be shadowed, see {@link
+     * InstrumentationConfiguration#mayBeShadowed}.
+     */
+    public Builder useLeanInstrumentation(boolean leanInstrumentation) {
+      this.leanInstrumentation = leanInstrumentation;
+      return this;
+    }
+
     public InstrumentationConfiguration build() {
       return new InstrumentationConfiguration(
           classNameTranslations,
@@ -310,7 +380,9 @@ public class InstrumentationConfiguration {
           classesToNotAcquire,
           packagesToNotAcquire,
           classesToNotInstrument,
-          packagesToNotInstrument);
+          packagesToNotInstrument,
+          shadowedClasses,
+          leanInstrumentation);
     }
   }
 }
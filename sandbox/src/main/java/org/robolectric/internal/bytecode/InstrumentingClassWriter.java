@@ -1,9 +1,9 @@
 package org.robolectric.internal.bytecode;
 
-import java.util.List;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
+import org.robolectric.internal.bytecode.ClassNodeProvider.ClassInfo;
 
 /**
  * ClassWriter implementation that verifies classes by comparing type information obtained
@@ -33,8 +33,8 @@ public class InstrumentingClassWriter extends ClassWriter {
   @Override
   protected String getCommonSuperClass(final String type1, final String type2) {
     try {
-      ClassNode info1 = typeInfo(type1);
-      ClassNode info2 = typeInfo(type2);
+      ClassInfo info1 = typeInfo(type1);
+      ClassInfo info2 = typeInfo(type2);
       if ((info1.access & Opcodes.ACC_INTERFACE) != 0) {
         if (typeImplements(type2, info2, type1)) {
           return type1;
@@ -81,7 +81,7 @@ public class InstrumentingClassWriter extends ClassWriter {
     }
   }
 
-  private String typeAncestors(String type, ClassNode info) throws ClassNotFoundException {
+  private String typeAncestors(String type, ClassInfo info) throws ClassNotFoundException {
     StringBuilder b = new StringBuilder();
     while (!"java/lang/Object".equals(type)) {
       b.append(';').append(type);
@@ -91,10 +91,10 @@ public class InstrumentingClassWriter extends ClassWriter {
     return b.toString();
   }
 
-  private boolean typeImplements(String type, ClassNode info, String itf)
+  private boolean typeImplements(String type, ClassInfo info, String itf)
       throws ClassNotFoundException {
     while (!"java/lang/Object".equals(type)) {
-      List<String> itfs = info.interfaces;
+      String[] itfs = info.interfaces;
       for (String itf2 : itfs) {
         if (itf2.equals(itf)) {
           return true;
@@ -111,7 +111,7 @@ public class InstrumentingClassWriter extends ClassWriter {
     return false;
   }
 
-  private ClassNode typeInfo(final String type) throws ClassNotFoundException {
-    return classNodeProvider.getClassNode(type);
+  private ClassInfo typeInfo(final String type) throws ClassNotFoundException {
+    return classNodeProvider.getClassInfo(type);
   }
 }
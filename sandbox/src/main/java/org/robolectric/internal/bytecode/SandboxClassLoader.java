@@ -12,6 +12,9 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.Logger;
 import org.robolectric.util.PerfStatsCollector;
 import org.robolectric.util.ReflectionHelpers;
@@ -27,6 +30,7 @@ public class SandboxClassLoader extends URLClassLoader {
   private final InstrumentationConfiguration config;
   private final ClassInstrumentor classInstrumentor;
   private final ClassNodeProvider classNodeProvider;
+  private final List<Class<?>> loadedClasses = new ArrayList<>();
 
   public SandboxClassLoader(InstrumentationConfiguration config) {
     this(ClassLoader.getSystemClassLoader(), config);
@@ -51,6 +55,18 @@ public class SandboxClassLoader extends URLClassLoader {
       protected byte[] getClassBytes(String internalClassName) throws ClassNotFoundException {
         return getByteCode(internalClassName);
       }
+
+      @Override
+      protected String getClassJar(String internalClassName) {
+        URL url = getClassUrlPreferringLocalUrls(internalClassName.replace('.', '/') + ".class");
+        if (url == null || !"jar".equals(url.getProtocol())) {
+          return null;
+        }
+        // jar:file:/path/to/android-all.jar!/android/view/View.class
+        String path = url.getPath();
+        int separator = path.indexOf("!/");
+        return separator == -1 ? null : path.substring(0, separator);
+      }
     };
   }
 
@@ -96,6 +112,14 @@ public class SandboxClassLoader extends URLClassLoader {
     return urls.getResource(name);
   }
 
+  private URL getClassUrlPreferringLocalUrls(String resName) {
+    URL fromUrlsClassLoader = urls.getResource(resName);
+    if (fromUrlsClassLoader != null) {
+      return fromUrlsClassLoader;
+    }
+    return getResource(resName);
+  }
+
   private InputStream getClassBytesAsStreamPreferringLocalUrls(String resName) {
     InputStream fromUrlsClassLoader = urls.getResourceAsStream(resName);
     if (fromUrlsClassLoader != null) {
@@ -131,7 +155,13 @@ public class SandboxClassLoader extends URLClassLoader {
         bytes = postProcessUninstrumentedClass(mutableClass, origClassBytes);
       }
       ensurePackage(className);
-      return defineClass(className, bytes, 0, bytes.length);
+      Class<?> loadedClass = defineClass(className, bytes, 0, bytes.length);
+      if (LeakDetector.isEnabled()) {
+        synchronized (loadedClasses) {
+          loadedClasses.add(loadedClass);
+        }
+      }
+      return loadedClass;
     } catch (Exception e) {
       throw new ClassNotFoundException("couldn't load " + className, e);
     } catch (OutOfMemoryError e) {
@@ -140,6 +170,16 @@ public class SandboxClassLoader extends URLClassLoader {
     }
   }
 
+  /**
+   * Returns the classes this class loader has loaded so far, while leak detection was enabled; see
+   * {@link LeakDetector}.
+   */
+  public List<Class<?>> getLoadedClasses() {
+    synchronized (loadedClasses) {
+      return new ArrayList<>(loadedClasses);
+    }
+  }
+
   protected byte[] postProcessUninstrumentedClass(
       MutableClass mutableClass, byte[] origClassBytes) {
     return origClassBytes;
@@ -191,6 +191,36 @@ public class SandboxClassLoaderTest {
         "methodInvoked: AnExampleClass.__constructor__()");
   }
 
+  @Test
+  public void withLeanInstrumentation_shouldNotDelegateToHandlerForMethodsOfUnshadowedClasses() throws Exception {
+    setClassLoader(new SandboxClassLoader(configureBuilder().useLeanInstrumentation(true).build()));
+    Class<?> exampleClass = loadClass(AnExampleClass.class);
+    Method normalMethod = exampleClass.getMethod("normalMethod", String.class, int.class);
+    String methodName = shadow.directMethodName(exampleClass.getName(), "normalMethod");
+    Method directMethod = exampleClass.getDeclaredMethod(methodName, String.class, int.class);
+    directMethod.setAccessible(true);
+
+    Object exampleInstance = exampleClass.getDeclaredConstructor().newInstance();
+    assertEquals("normalMethod(value1, 123)", normalMethod.invoke(exampleInstance, "value1", 123));
+    assertEquals("normalMethod(value2, 456)", directMethod.invoke(exampleInstance, "value2", 456));
+    assertThat(transcript).containsExactly(
+        "methodInvoked: AnExampleClass.__constructor__()");
+  }
+
+  @Test
+  public void withLeanInstrumentation_shouldDelegateToHandlerForMethodsOfShadowedClasses() throws Exception {
+    setClassLoader(new SandboxClassLoader(configureBuilder()
+        .useLeanInstrumentation(true)
+        .addShadowedClass(AnExampleClass.class.getName())
+        .build()));
+    Class<?> exampleClass = loadClass(AnExampleClass.class);
+    Method normalMethod = exampleClass.getMethod("normalMethod", String.class, int.class);
+
+    Object exampleInstance = exampleClass.getDeclaredConstructor().newInstance();
+    assertEquals("response from methodInvoked: AnExampleClass.normalMethod(java.lang.String value1, int 123)",
+        normalMethod.invoke(exampleInstance, "value1", 123));
+  }
+
   @Test
   public void soMockitoDoesntExplodeDueToTooManyMethods_shouldGenerateClassSpecificDirectAccessMethodWhichIsPrivateAndFinal() throws Exception {
     Class<?> exampleClass = loadClass(AnExampleClass.class);
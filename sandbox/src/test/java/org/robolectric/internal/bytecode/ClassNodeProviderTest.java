@@ -0,0 +1,67 @@
+package org.robolectric.internal.bytecode;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.objectweb.asm.Opcodes;
+import org.robolectric.internal.bytecode.ClassNodeProvider.ClassInfo;
+import org.robolectric.util.Util;
+
+@RunWith(JUnit4.class)
+public class ClassNodeProviderTest {
+  private final List<String> transcript = new ArrayList<>();
+
+  @Test
+  public void getClassInfo_shouldReadClassHeader() throws Exception {
+    ClassInfo classInfo = new TestClassNodeProvider(null).getClassInfo("java/util/ArrayList");
+
+    assertThat(classInfo.access & Opcodes.ACC_INTERFACE).isEqualTo(0);
+    assertThat(classInfo.superName).isEqualTo("java/util/AbstractList");
+    assertThat(classInfo.interfaces).asList().contains("java/util/List");
+  }
+
+  @Test
+  public void getClassInfo_shouldShareClassesFromTheSameJar() throws Exception {
+    String jar = "file:/" + getClass().getName() + "/shared.jar";
+    ClassInfo classInfo = new TestClassNodeProvider(jar).getClassInfo("java/util/List");
+
+    assertThat(new TestClassNodeProvider(jar).getClassInfo("java/util/List")).isSameAs(classInfo);
+    assertThat(transcript).containsExactly("java/util/List");
+  }
+
+  @Test
+  public void getClassInfo_shouldNotShareClassesNotFromAJar() throws Exception {
+    new TestClassNodeProvider(null).getClassInfo("java/util/List");
+    new TestClassNodeProvider(null).getClassInfo("java/util/List");
+
+    assertThat(transcript).containsExactly("java/util/List", "java/util/List");
+  }
+
+  private class TestClassNodeProvider extends ClassNodeProvider {
+    private final String jar;
+
+    TestClassNodeProvider(String jar) {
+      this.jar = jar;
+    }
+
+    @Override
+    protected byte[] getClassBytes(String className) throws ClassNotFoundException {
+      transcript.add(className);
+      try (InputStream in = ClassLoader.getSystemResourceAsStream(className + ".class")) {
+        return Util.readBytes(in);
+      } catch (Exception e) {
+        throw new ClassNotFoundException(className, e);
+      }
+    }
+
+    @Override
+    protected String getClassJar(String internalClassName) {
+      return jar;
+    }
+  }
+}
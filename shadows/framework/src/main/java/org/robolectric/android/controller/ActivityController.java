@@ -23,6 +23,7 @@ import org.robolectric.shadow.api.Shadow;
 import org.robolectric.shadows.ShadowActivity;
 import org.robolectric.shadows.ShadowContextThemeWrapper;
 import org.robolectric.shadows.ShadowViewRootImpl;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.ReflectionHelpers;
 
 public class ActivityController<T extends Activity> extends ComponentController<ActivityController<T>, T> {
@@ -37,6 +38,7 @@ public class ActivityController<T extends Activity> extends ComponentController<
 
   private ActivityController(T activity, Intent intent) {
     super(activity, intent);
+    LeakDetector.watch(activity, "Activity");
   }
 
   private ActivityController<T> attach() {
@@ -0,0 +1,184 @@
+package org.robolectric.android.util.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.util.Scheduler;
+
+/**
+ * Executor service that runs operations on a bounded pool of real threads, for CPU-bound background
+ * work which would run single-threaded on {@link RoboExecutorService}.
+ *
+ * <p>Each task that hasn't completed yet is represented on the background scheduler by a
+ * placeholder, which waits for the task when the scheduler runs it. Tests can keep using the
+ * scheduler to wait for background work, e.g. with {@link ShadowApplication#runBackgroundTasks()},
+ * and {@link Scheduler#size()} includes the tasks still pending or running. Tasks are removed from
+ * the scheduler as they complete.
+ *
+ * <p>Threads are created by the given {@link ThreadFactory}; on JDKs that support them, pass {@code
+ * Thread.ofVirtual().factory()} to run tasks on virtual threads.
+ */
+public class RealThreadRoboExecutorService extends AbstractExecutorService {
+  private final Scheduler scheduler;
+  private final ExecutorService threadPool;
+  // tasks which haven't completed -> their placeholders on the scheduler
+  private final Map<Task, Runnable> placeholders = new ConcurrentHashMap<>();
+  private final AtomicInteger pendingTaskCount = new AtomicInteger();
+  private final AtomicInteger runningTaskCount = new AtomicInteger();
+  private final AtomicInteger completedTaskCount = new AtomicInteger();
+
+  /** Creates an executor service with one thread per available processor. */
+  public RealThreadRoboExecutorService() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  public RealThreadRoboExecutorService(int threadCount) {
+    this(threadCount, Executors.defaultThreadFactory());
+  }
+
+  public RealThreadRoboExecutorService(int threadCount, ThreadFactory threadFactory) {
+    this.scheduler = ShadowApplication.getInstance().getBackgroundThreadScheduler();
+    this.threadPool = Executors.newFixedThreadPool(threadCount, threadFactory);
+  }
+
+  @Override
+  public void execute(Runnable runnable) {
+    Task task = new Task(runnable);
+    Runnable placeholder = () -> awaitCompletion(task);
+    placeholders.put(task, placeholder);
+    pendingTaskCount.incrementAndGet();
+    if (scheduler.isPaused()) {
+      scheduler.post(placeholder);
+    }
+
+    try {
+      threadPool.execute(task);
+    } catch (RejectedExecutionException e) {
+      pendingTaskCount.decrementAndGet();
+      completed(task);
+      throw e;
+    }
+  }
+
+  private class Task implements Runnable {
+    private final Runnable runnable;
+
+    Task(Runnable runnable) {
+      this.runnable = runnable;
+    }
+
+    @Override
+    public void run() {
+      pendingTaskCount.decrementAndGet();
+      runningTaskCount.incrementAndGet();
+      try {
+        runnable.run();
+      } finally {
+        runningTaskCount.decrementAndGet();
+        completedTaskCount.incrementAndGet();
+        completed(this);
+      }
+    }
+  }
+
+  private void completed(Task task) {
+    Runnable placeholder = placeholders.remove(task);
+    synchronized (scheduler) {
+      if (placeholder != null) {
+        scheduler.remove(placeholder);
+      }
+      scheduler.notifyAll();
+    }
+  }
+
+  /**
+   * Runs on the scheduler, which holds its own lock while running tasks. Waiting on it releases
+   * the lock, so the task can still post to the scheduler, and remove itself from it, meanwhile.
+   */
+  private void awaitCompletion(Task task) {
+    synchronized (scheduler) {
+      while (placeholders.containsKey(task)) {
+        try {
+          scheduler.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Blocks until no tasks are pending or running, or until the timeout elapses.
+   *
+   * @return true if all tasks submitted so far have completed
+   */
+  public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (scheduler) {
+      while (!placeholders.isEmpty()) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+          return false;
+        }
+        scheduler.wait(remainingMillis);
+      }
+    }
+    return true;
+  }
+
+  /** Returns the number of tasks submitted which haven't started running yet. */
+  public int getPendingTaskCount() {
+    return pendingTaskCount.get();
+  }
+
+  /** Returns the number of tasks currently running. */
+  public int getRunningTaskCount() {
+    return runningTaskCount.get();
+  }
+
+  /** Returns the number of tasks which have completed, normally or not. */
+  public int getCompletedTaskCount() {
+    return completedTaskCount.get();
+  }
+
+  @Override
+  public void shutdown() {
+    threadPool.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Runnable> notExecutedRunnables = new ArrayList<>();
+    for (Runnable task : threadPool.shutdownNow()) {
+      pendingTaskCount.decrementAndGet();
+      completed((Task) task);
+      notExecutedRunnables.add(((Task) task).runnable);
+    }
+    return notExecutedRunnables;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return threadPool.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return threadPool.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return threadPool.awaitTermination(timeout, unit);
+  }
+}
@@ -4,9 +4,12 @@ import android.graphics.Bitmap;
 import android.graphics.Bitmap.CompressFormat;
 import android.graphics.Point;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.util.Iterator;
 import java.util.Locale;
 import javax.imageio.IIOImage;
@@ -21,7 +24,197 @@ import javax.imageio.stream.ImageOutputStream;
 public class ImageUtil {
   private static boolean initialized;
 
+  // enough for the PNG, GIF and WebP headers
+  private static final int HEADER_SIZE = 30;
+
+  /**
+   * Returns the size of the image in {@code is}, or null if it isn't an image. PNG, GIF, WebP and
+   * JPEG sizes are read from their headers, other formats are read with ImageIO.
+   */
   public static Point getImageSizeFromStream(InputStream is) {
+    if (is == null) {
+      return getImageSizeFromImageIO(null);
+    }
+    try {
+      // keep everything read, so that ImageIO can start over if the header isn't understood
+      RecordingInputStream recording = new RecordingInputStream(is);
+      Point size = getImageSizeFromHeader(recording);
+      if (size != null) {
+        return size;
+      }
+      return getImageSizeFromImageIO(
+          new SequenceInputStream(
+              new ByteArrayInputStream(recording.recorded.toByteArray()), is));
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static Point getImageSizeFromHeader(RecordingInputStream is) throws IOException {
+    byte[] header = new byte[HEADER_SIZE];
+    int length = is.readFully(header);
+    if (length >= 24
+        && header[0] == (byte) 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+        && header[12] == 'I' && header[13] == 'H' && header[14] == 'D' && header[15] == 'R') {
+      return new Point(readIntBigEndian(header, 16), readIntBigEndian(header, 20));
+    }
+    if (length >= 10 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F') {
+      return new Point(readShortLittleEndian(header, 6), readShortLittleEndian(header, 8));
+    }
+    if (length >= 30
+        && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+        && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+      return getWebPSize(header);
+    }
+    if (length >= 2 && header[0] == (byte) 0xFF && header[1] == (byte) 0xD8) {
+      return getJpegSize(is, header, length);
+    }
+    return null;
+  }
+
+  private static Point getWebPSize(byte[] header) {
+    if (header[12] == 'V' && header[13] == 'P' && header[14] == '8') {
+      switch (header[15]) {
+        case ' ': // lossy, 14 bit dimensions after the frame tag and start code
+          return new Point(
+              readShortLittleEndian(header, 26) & 0x3FFF,
+              readShortLittleEndian(header, 28) & 0x3FFF);
+        case 'L': // lossless, 14 bit dimensions minus one after the signature byte
+          int bits = readIntLittleEndian(header, 21);
+          return new Point((bits & 0x3FFF) + 1, ((bits >> 14) & 0x3FFF) + 1);
+        case 'X': // extended, 24 bit dimensions minus one
+          return new Point(
+              readInt24LittleEndian(header, 24) + 1, readInt24LittleEndian(header, 27) + 1);
+        default:
+          break;
+      }
+    }
+    return null;
+  }
+
+  /** Scans JPEG segments up to the start of frame, which holds the image size. */
+  private static Point getJpegSize(RecordingInputStream is, byte[] header, int length)
+      throws IOException {
+    InputStream segments =
+        new SequenceInputStream(new ByteArrayInputStream(header, 2, length - 2), is);
+    while (true) {
+      if (segments.read() != 0xFF) {
+        return null;
+      }
+      int marker;
+      do {
+        marker = segments.read();
+      } while (marker == 0xFF);
+      if (marker < 0) {
+        return null;
+      }
+      if (marker == 0xD8 || marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+        continue; // markers without a segment
+      }
+      int segmentLength = (segments.read() << 8) | segments.read();
+      if (segmentLength < 2) {
+        return null;
+      }
+      if (marker >= 0xC0 && marker <= 0xCF
+          && marker != 0xC4 && marker != 0xC8 && marker != 0xCC) {
+        byte[] frame = new byte[5];
+        if (readFully(segments, frame) < frame.length) {
+          return null;
+        }
+        // precision, then height and width
+        return new Point(
+            ((frame[3] & 0xFF) << 8) | (frame[4] & 0xFF),
+            ((frame[1] & 0xFF) << 8) | (frame[2] & 0xFF));
+      }
+      if (skipFully(segments, segmentLength - 2) < segmentLength - 2) {
+        return null;
+      }
+      if (marker == 0xDA || marker == 0xD9) {
+        return null; // image data or end of image before a frame
+      }
+    }
+  }
+
+  private static int readIntBigEndian(byte[] b, int offset) {
+    return ((b[offset] & 0xFF) << 24)
+        | ((b[offset + 1] & 0xFF) << 16)
+        | ((b[offset + 2] & 0xFF) << 8)
+        | (b[offset + 3] & 0xFF);
+  }
+
+  private static int readIntLittleEndian(byte[] b, int offset) {
+    return (b[offset] & 0xFF)
+        | ((b[offset + 1] & 0xFF) << 8)
+        | ((b[offset + 2] & 0xFF) << 16)
+        | ((b[offset + 3] & 0xFF) << 24);
+  }
+
+  private static int readInt24LittleEndian(byte[] b, int offset) {
+    return (b[offset] & 0xFF) | ((b[offset + 1] & 0xFF) << 8) | ((b[offset + 2] & 0xFF) << 16);
+  }
+
+  private static int readShortLittleEndian(byte[] b, int offset) {
+    return (b[offset] & 0xFF) | ((b[offset + 1] & 0xFF) << 8);
+  }
+
+  private static int readFully(InputStream is, byte[] buffer) throws IOException {
+    int length = 0;
+    while (length < buffer.length) {
+      int read = is.read(buffer, length, buffer.length - length);
+      if (read < 0) {
+        break;
+      }
+      length += read;
+    }
+    return length;
+  }
+
+  private static long skipFully(InputStream is, long count) throws IOException {
+    byte[] buffer = new byte[(int) Math.min(count, 4096)];
+    long skipped = 0;
+    while (skipped < count) {
+      int read = is.read(buffer, 0, (int) Math.min(count - skipped, buffer.length));
+      if (read < 0) {
+        break;
+      }
+      skipped += read;
+    }
+    return skipped;
+  }
+
+  /** Keeps a copy of everything read from a stream. */
+  private static class RecordingInputStream extends InputStream {
+    private final InputStream in;
+    private final ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+
+    RecordingInputStream(InputStream in) {
+      this.in = in;
+    }
+
+    int readFully(byte[] buffer) throws IOException {
+      return ImageUtil.readFully(this, buffer);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = in.read();
+      if (b >= 0) {
+        recorded.write(b);
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = in.read(b, off, len);
+      if (read > 0) {
+        recorded.write(b, off, read);
+      }
+      return read;
+    }
+  }
+
+  private static Point getImageSizeFromImageIO(InputStream is) {
     if (!initialized) {
       // Stops ImageIO from creating temp files when reading images
       // from input stream.
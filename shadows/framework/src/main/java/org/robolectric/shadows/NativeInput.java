@@ -25,10 +25,7 @@ import static org.robolectric.shadows.NativeAndroidInput.AMOTION_EVENT_AXIS_Y;
 
 import android.os.Parcel;
 import android.view.MotionEvent.PointerProperties;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import org.robolectric.res.android.Ref;
 
 /**
  * Java representation of framework native input Transliterated from oreo-mr1 (SDK 27)
@@ -70,7 +67,7 @@ public class NativeInput {
    */
   static class PointerCoords {
 
-    private static final int MAX_AXES = 30;
+    static final int MAX_AXES = 30;
 
     // Bitfield of axes that are present in this structure.
     private NativeBitSet64 bits = new NativeBitSet64();
@@ -176,6 +173,17 @@ public class NativeInput {
     //       return !(*this == other);
     //     }
 
+    /** Copies these coordinates into packed arrays, see {@link MotionEvent}. */
+    void copyTo(long[] outBits, float[] outValues, int index) {
+      outBits[index] = bits.getValue();
+      System.arraycopy(values, 0, outValues, index * MAX_AXES, bits.count());
+    }
+
+    /** Returns the index of the value of {@code axis} among the values of the axes in {@code bits}. */
+    static int indexOfBit(long bits, int axis) {
+      return Long.bitCount(bits & ~(0xffffffffffffffffL >>> axis));
+    }
+
     public void copyFrom(PointerCoords other) {
       bits = new NativeBitSet64(other.bits);
       int count = bits.count();
@@ -184,7 +192,7 @@ public class NativeInput {
       }
     }
 
-    private static void tooManyAxes(int axis) {
+    static void tooManyAxes(int axis) {
       // native code just logs this as warning. Be a bit more defensive for now and throw
       throw new IllegalStateException(
           String.format(
@@ -272,6 +280,11 @@ public class NativeInput {
 
   /*
    * Motion events.
+   *
+   * Deviates from the original platform implementation to keep samples in packed primitive arrays:
+   * event times, and for each pointer of each sample the axis bits and a fixed MAX_AXES stride of
+   * axis values laid out like PointerCoords. Arrays keep their capacity when the event is
+   * re-initialized, so events recycled through MotionEvent.obtain don't allocate.
    */
   static class MotionEvent extends InputEvent {
 
@@ -282,6 +295,8 @@ public class NativeInput {
     @SuppressWarnings("FloatingPointLiteralPrecision")
     private static final double M_PI_2 = 1.57079632679489661923f; /* pi/2 */
 
+    private static final int MAX_AXES = PointerCoords.MAX_AXES;
+
     private int mAction;
     private int mActionButton;
     private int mFlags;
@@ -293,9 +308,15 @@ public class NativeInput {
     private float mXPrecision;
     private float mYPrecision;
     private long mDownTime;
-    private List<PointerProperties> mPointerProperties = new ArrayList<>();
-    private List<Long> mSampleEventTimes = new ArrayList<>();
-    private List<NativeInput.PointerCoords> mSamplePointerCoords = new ArrayList<>();
+    private int mPointerCount;
+    private int[] mPointerIds = new int[1];
+    private int[] mPointerToolTypes = new int[1];
+    private int mSampleCount;
+    private long[] mSampleEventTimes = new long[1];
+    // axis bits for each pointer of each sample
+    private long[] mSampleAxisBits = new long[1];
+    // axis values for each pointer of each sample, MAX_AXES apart
+    private float[] mSampleAxisValues = new float[MAX_AXES];
 
     @Override
     public int getType() {
@@ -384,32 +405,27 @@ public class NativeInput {
     }
 
     public int getPointerCount() {
-      return mPointerProperties.size();
+      return mPointerCount;
     }
 
-    public PointerProperties getPointerProperties(int pointerIndex) {
-      return mPointerProperties.get(pointerIndex);
+    public int getPointerId(int pointerIndex) {
+      return mPointerIds[pointerIndex];
     }
 
-    public int getPointerId(int pointerIndex) {
-      return mPointerProperties.get(pointerIndex).id;
+    public void setPointerId(int pointerIndex, int id) {
+      mPointerIds[pointerIndex] = id;
     }
 
     public int getToolType(int pointerIndex) {
-      return mPointerProperties.get(pointerIndex).toolType;
+      return mPointerToolTypes[pointerIndex];
     }
 
     public long getEventTime() {
-      return mSampleEventTimes.get(getHistorySize());
-    }
-
-    public PointerCoords getRawPointerCoords(int pointerIndex) {
-
-      return mSamplePointerCoords.get(getHistorySize() * getPointerCount() + pointerIndex);
+      return mSampleEventTimes[getHistorySize()];
     }
 
     public float getRawAxisValue(int axis, int pointerIndex) {
-      return getRawPointerCoords(pointerIndex).getAxisValue(axis);
+      return getHistoricalRawAxisValue(axis, pointerIndex, getHistorySize());
     }
 
     public float getRawX(int pointerIndex) {
@@ -421,14 +437,7 @@ public class NativeInput {
     }
 
     public float getAxisValue(int axis, int pointerIndex) {
-      float value = getRawPointerCoords(pointerIndex).getAxisValue(axis);
-      switch (axis) {
-        case AMOTION_EVENT_AXIS_X:
-          return value + mXOffset;
-        case AMOTION_EVENT_AXIS_Y:
-          return value + mYOffset;
-      }
-      return value;
+      return getHistoricalAxisValue(axis, pointerIndex, getHistorySize());
     }
 
     public float getX(int pointerIndex) {
@@ -468,19 +477,20 @@ public class NativeInput {
     }
 
     public int getHistorySize() {
-      return mSampleEventTimes.size() - 1;
+      return mSampleCount - 1;
     }
 
     public long getHistoricalEventTime(int historicalIndex) {
-      return mSampleEventTimes.get(historicalIndex);
+      return mSampleEventTimes[historicalIndex];
     }
 
-    public PointerCoords getHistoricalRawPointerCoords(int pointerIndex, int historicalIndex) {
-      return mSamplePointerCoords.get(historicalIndex * getPointerCount() + pointerIndex);
+    /** Returns the bits of the axes present for a pointer, see {@link PointerCoords#getBits()}. */
+    public long getHistoricalRawAxisBits(int pointerIndex, int historicalIndex) {
+      return mSampleAxisBits[historicalIndex * mPointerCount + pointerIndex];
     }
 
     public float getHistoricalRawAxisValue(int axis, int pointerIndex, int historicalIndex) {
-      return getHistoricalRawPointerCoords(pointerIndex, historicalIndex).getAxisValue(axis);
+      return getAxisValue(historicalIndex * mPointerCount + pointerIndex, axis);
     }
 
     public float getHistoricalRawX(int pointerIndex, int historicalIndex) {
@@ -492,7 +502,7 @@ public class NativeInput {
     }
 
     public float getHistoricalAxisValue(int axis, int pointerIndex, int historicalIndex) {
-      float value = getHistoricalRawPointerCoords(pointerIndex, historicalIndex).getAxisValue(axis);
+      float value = getHistoricalRawAxisValue(axis, pointerIndex, historicalIndex);
       switch (axis) {
         case AMOTION_EVENT_AXIS_X:
           return value + mXOffset;
@@ -538,10 +548,18 @@ public class NativeInput {
       return getHistoricalAxisValue(AMOTION_EVENT_AXIS_ORIENTATION, pointerIndex, historicalIndex);
     }
 
+    /**
+     * Sets a raw axis value of a pointer in a sample, e.g. the one just appended by {@link
+     * #addSample(long)}.
+     */
+    public void setHistoricalRawAxisValue(
+        int axis, int pointerIndex, int historicalIndex, float value) {
+      setAxisValue(historicalIndex * mPointerCount + pointerIndex, axis, value);
+    }
+
     public int findPointerIndex(int pointerId) {
-      int pointerCount = mPointerProperties.size();
-      for (int i = 0; i < pointerCount; i++) {
-        if (mPointerProperties.get(i).id == pointerId) {
+      for (int i = 0; i < mPointerCount; i++) {
+        if (mPointerIds[i] == pointerId) {
           return i;
         }
       }
@@ -566,6 +584,42 @@ public class NativeInput {
         int pointerCount,
         PointerProperties[] pointerProperties,
         NativeInput.PointerCoords[] pointerCoords) {
+      initialize(
+          deviceId,
+          source,
+          action,
+          actionButton,
+          flags,
+          edgeFlags,
+          metaState,
+          buttonState,
+          xOffset,
+          yOffset,
+          xPrecision,
+          yPrecision,
+          downTime,
+          pointerCount,
+          pointerProperties);
+      addSample(eventTime, pointerCoords);
+    }
+
+    /** Initializes the event without any samples, to be added with {@link #addSample(long)}. */
+    public void initialize(
+        int deviceId,
+        int source,
+        int action,
+        int actionButton,
+        int flags,
+        int edgeFlags,
+        int metaState,
+        int buttonState,
+        float xOffset,
+        float yOffset,
+        float xPrecision,
+        float yPrecision,
+        long downTime,
+        int pointerCount,
+        PointerProperties[] pointerProperties) {
       super.initialize(deviceId, source);
       mAction = action;
       mActionButton = actionButton;
@@ -578,11 +632,12 @@ public class NativeInput {
       mXPrecision = xPrecision;
       mYPrecision = yPrecision;
       mDownTime = downTime;
-      mPointerProperties.clear();
-      mPointerProperties.addAll(Arrays.asList(pointerProperties).subList(0, pointerCount));
-      mSampleEventTimes.clear();
-      mSamplePointerCoords.clear();
-      addSample(eventTime, Arrays.asList(pointerCoords).subList(0, pointerCount));
+      setPointerCount(pointerCount);
+      for (int i = 0; i < pointerCount; i++) {
+        mPointerIds[i] = pointerProperties[i].id;
+        mPointerToolTypes[i] = pointerProperties[i].toolType;
+      }
+      mSampleCount = 0;
     }
 
     public void copyFrom(MotionEvent other, boolean keepHistory) {
@@ -598,32 +653,73 @@ public class NativeInput {
       mXPrecision = other.mXPrecision;
       mYPrecision = other.mYPrecision;
       mDownTime = other.mDownTime;
-      mPointerProperties = other.mPointerProperties;
-      mSampleEventTimes.clear();
-      mSamplePointerCoords.clear();
-      if (keepHistory) {
-        mSampleEventTimes.addAll(other.mSampleEventTimes);
-        mSamplePointerCoords.addAll(other.mSamplePointerCoords);
-      } else {
-        mSampleEventTimes.add(other.getEventTime());
-        int pointerCount = other.getPointerCount();
-        int historySize = other.getHistorySize();
-        // mSamplePointerCoords.appendArray(other->mSamplePointerCoords.array()
-        //    + (historySize * pointerCount), pointerCount);
-        int currentStartIndex = historySize * pointerCount;
-        mSamplePointerCoords.addAll(
-            other.mSamplePointerCoords.subList(
-                currentStartIndex, currentStartIndex + pointerCount));
-      }
+      setPointerCount(other.mPointerCount);
+      System.arraycopy(other.mPointerIds, 0, mPointerIds, 0, mPointerCount);
+      System.arraycopy(other.mPointerToolTypes, 0, mPointerToolTypes, 0, mPointerCount);
+      int firstSample = keepHistory ? 0 : other.getHistorySize();
+      mSampleCount = other.mSampleCount - firstSample;
+      ensureSampleCapacity(mSampleCount);
+      System.arraycopy(
+          other.mSampleEventTimes, firstSample, mSampleEventTimes, 0, mSampleCount);
+      int firstCoords = firstSample * mPointerCount;
+      int coordsCount = mSampleCount * mPointerCount;
+      System.arraycopy(other.mSampleAxisBits, firstCoords, mSampleAxisBits, 0, coordsCount);
+      System.arraycopy(
+          other.mSampleAxisValues,
+          firstCoords * MAX_AXES,
+          mSampleAxisValues,
+          0,
+          coordsCount * MAX_AXES);
     }
 
     public void addSample(long eventTime, PointerCoords[] pointerCoords) {
-      addSample(eventTime, Arrays.asList(pointerCoords));
+      int historicalIndex = addSample(eventTime);
+      int coordsIndex = historicalIndex * mPointerCount;
+      for (int i = 0; i < mPointerCount; i++) {
+        pointerCoords[i].copyTo(mSampleAxisBits, mSampleAxisValues, coordsIndex + i);
+      }
     }
 
-    public void addSample(long eventTime, List<PointerCoords> pointerCoords) {
-      mSampleEventTimes.add(eventTime);
-      mSamplePointerCoords.addAll(pointerCoords);
+    /**
+     * Appends a sample at {@code eventTime} with no axis values, and returns its historical index.
+     */
+    public int addSample(long eventTime) {
+      ensureSampleCapacity(mSampleCount + 1);
+      mSampleEventTimes[mSampleCount] = eventTime;
+      int coordsIndex = mSampleCount * mPointerCount;
+      Arrays.fill(mSampleAxisBits, coordsIndex, coordsIndex + mPointerCount, 0);
+      return mSampleCount++;
+    }
+
+    /**
+     * Adds pointers with id and tool type 0 and no axis values to every sample, until there are
+     * {@code pointerCount} of them.
+     */
+    void ensurePointerCount(int pointerCount) {
+      int oldPointerCount = mPointerCount;
+      if (pointerCount <= oldPointerCount) {
+        return;
+      }
+      long[] oldBits = Arrays.copyOf(mSampleAxisBits, mSampleCount * oldPointerCount);
+      float[] oldValues =
+          Arrays.copyOf(mSampleAxisValues, mSampleCount * oldPointerCount * MAX_AXES);
+      setPointerCount(pointerCount);
+      for (int i = oldPointerCount; i < pointerCount; i++) {
+        mPointerIds[i] = 0;
+        mPointerToolTypes[i] = 0;
+      }
+      ensureSampleCapacity(mSampleCount);
+      Arrays.fill(mSampleAxisBits, 0);
+      for (int h = 0; h < mSampleCount; h++) {
+        System.arraycopy(
+            oldBits, h * oldPointerCount, mSampleAxisBits, h * pointerCount, oldPointerCount);
+        System.arraycopy(
+            oldValues,
+            h * oldPointerCount * MAX_AXES,
+            mSampleAxisValues,
+            h * pointerCount * MAX_AXES,
+            oldPointerCount * MAX_AXES);
+      }
     }
 
     public void offsetLocation(float xOffset, float yOffset) {
@@ -636,9 +732,23 @@ public class NativeInput {
       mYOffset *= scaleFactor;
       mXPrecision *= scaleFactor;
       mYPrecision *= scaleFactor;
-      int numSamples = mSamplePointerCoords.size();
-      for (int i = 0; i < numSamples; i++) {
-        mSamplePointerCoords.get(i).scale(scaleFactor);
+      int numCoords = mSampleCount * mPointerCount;
+      for (int i = 0; i < numCoords; i++) {
+        // No need to scale pressure or size since they are normalized.
+        // No need to scale orientation since it is meaningless to do so.
+        scaleAxisValue(i, AMOTION_EVENT_AXIS_X, scaleFactor);
+        scaleAxisValue(i, AMOTION_EVENT_AXIS_Y, scaleFactor);
+        scaleAxisValue(i, AMOTION_EVENT_AXIS_TOUCH_MAJOR, scaleFactor);
+        scaleAxisValue(i, AMOTION_EVENT_AXIS_TOUCH_MINOR, scaleFactor);
+        scaleAxisValue(i, AMOTION_EVENT_AXIS_TOOL_MAJOR, scaleFactor);
+        scaleAxisValue(i, AMOTION_EVENT_AXIS_TOOL_MINOR, scaleFactor);
+      }
+    }
+
+    private void scaleAxisValue(int coordsIndex, int axis, float scaleFactor) {
+      float value = getAxisValue(coordsIndex, axis);
+      if (value != 0) {
+        setAxisValue(coordsIndex, axis, value * scaleFactor);
       }
     }
 
@@ -652,59 +762,61 @@ public class NativeInput {
       // and rawY for that point.
       float oldXOffset = mXOffset;
       float oldYOffset = mYOffset;
-      final Ref<Float> newX = new Ref<>(0f);
-      final Ref<Float> newY = new Ref<>(0f);
       float rawX = getRawX(0);
       float rawY = getRawY(0);
-      transformPoint(matrix, rawX + oldXOffset, rawY + oldYOffset, newX, newY);
-      mXOffset = newX.get() - rawX;
-      mYOffset = newY.get() - rawY;
+      float x = rawX + oldXOffset;
+      float y = rawY + oldYOffset;
+      mXOffset = transformX(matrix, x, y) - rawX;
+      mYOffset = transformY(matrix, x, y) - rawY;
       // Determine how the origin is transformed by the matrix so that we
       // can transform orientation vectors.
-      final Ref<Float> originX = new Ref<>(0f);
-      final Ref<Float> originY = new Ref<>(0f);
-      transformPoint(matrix, 0, 0, originX, originY);
+      float originX = transformX(matrix, 0, 0);
+      float originY = transformY(matrix, 0, 0);
       // Apply the transformation to all samples.
-      int numSamples = mSamplePointerCoords.size();
-      for (int i = 0; i < numSamples; i++) {
-        PointerCoords c = mSamplePointerCoords.get(i);
-        final Ref<Float> x = new Ref<>(c.getAxisValue(AMOTION_EVENT_AXIS_X) + oldXOffset);
-        final Ref<Float> y = new Ref<>(c.getAxisValue(AMOTION_EVENT_AXIS_Y) + oldYOffset);
-        transformPoint(matrix, x.get(), y.get(), x, y);
-        c.setAxisValue(AMOTION_EVENT_AXIS_X, x.get() - mXOffset);
-        c.setAxisValue(AMOTION_EVENT_AXIS_Y, y.get() - mYOffset);
-        float orientation = c.getAxisValue(AMOTION_EVENT_AXIS_ORIENTATION);
-        c.setAxisValue(
+      int numCoords = mSampleCount * mPointerCount;
+      for (int i = 0; i < numCoords; i++) {
+        x = getAxisValue(i, AMOTION_EVENT_AXIS_X) + oldXOffset;
+        y = getAxisValue(i, AMOTION_EVENT_AXIS_Y) + oldYOffset;
+        setAxisValue(i, AMOTION_EVENT_AXIS_X, transformX(matrix, x, y) - mXOffset);
+        setAxisValue(i, AMOTION_EVENT_AXIS_Y, transformY(matrix, x, y) - mYOffset);
+        float orientation = getAxisValue(i, AMOTION_EVENT_AXIS_ORIENTATION);
+        setAxisValue(
+            i,
             AMOTION_EVENT_AXIS_ORIENTATION,
-            transformAngle(matrix, orientation, originX.get(), originY.get()));
+            transformAngle(matrix, orientation, originX, originY));
       }
     }
 
-    private static void transformPoint(
-        float[] matrix, float x, float y, Ref<Float> outX, Ref<Float> outY) {
-      checkState(matrix.length == 9);
-      // Apply perspective transform like Skia.
+    // transformPoint() split in two, so that no output parameters are needed.
+    // Apply perspective transform like Skia.
+    private static float transformX(float[] matrix, float x, float y) {
       float newX = matrix[0] * x + matrix[1] * y + matrix[2];
+      return newX * inverseZ(matrix, x, y);
+    }
+
+    private static float transformY(float[] matrix, float x, float y) {
       float newY = matrix[3] * x + matrix[4] * y + matrix[5];
+      return newY * inverseZ(matrix, x, y);
+    }
+
+    private static float inverseZ(float[] matrix, float x, float y) {
       float newZ = matrix[6] * x + matrix[7] * y + matrix[8];
       if (newZ != 0) {
         newZ = 1.0f / newZ;
       }
-      outX.set(newX * newZ);
-      outY.set(newY * newZ);
+      return newZ;
     }
 
     static float transformAngle(float[] matrix, float angleRadians, float originX, float originY) {
       checkState(matrix.length == 9);
       // ruct and transform a vector oriented at the specified clockwise angle from vertical.
       // Coordinate system: down is increasing Y, right is increasing X.
-      final Ref<Float> x = new Ref<>((float) Math.sin(angleRadians));
-      final Ref<Float> y = new Ref<>(-(float) Math.cos(angleRadians));
-      transformPoint(matrix, x.get(), y.get(), x, y);
-      x.set(x.get() - originX);
-      y.set(y.get() - originY);
+      float x = (float) Math.sin(angleRadians);
+      float y = -(float) Math.cos(angleRadians);
+      float transformedX = transformX(matrix, x, y) - originX;
+      float transformedY = transformY(matrix, x, y) - originY;
       // Derive the transformed vector's clockwise angle from vertical.
-      double result = Math.atan2(x.get(), -y.get());
+      double result = Math.atan2(transformedX, -transformedY);
       if (result < -M_PI_2) {
         result += M_PI;
       } else if (result > M_PI_2) {
@@ -735,22 +847,18 @@ public class NativeInput {
       mXPrecision = parcel.readFloat();
       mYPrecision = parcel.readFloat();
       mDownTime = parcel.readLong();
-      mPointerProperties = new ArrayList<>(pointerCount);
-      mSampleEventTimes = new ArrayList<>(sampleCount);
-      mSamplePointerCoords = new ArrayList<>(sampleCount * pointerCount);
+      setPointerCount(pointerCount);
       for (int i = 0; i < pointerCount; i++) {
-        PointerProperties properties = new PointerProperties();
-        mPointerProperties.add(properties);
-        properties.id = parcel.readInt();
-        properties.toolType = parcel.readInt();
+        mPointerIds[i] = parcel.readInt();
+        mPointerToolTypes[i] = parcel.readInt();
       }
+      mSampleCount = 0;
+      ensureSampleCapacity(sampleCount);
       while (sampleCount > 0) {
         sampleCount--;
-        mSampleEventTimes.add(parcel.readLong());
+        int historicalIndex = addSample(parcel.readLong());
         for (int i = 0; i < pointerCount; i++) {
-          NativeInput.PointerCoords pointerCoords = new NativeInput.PointerCoords();
-          mSamplePointerCoords.add(pointerCoords);
-          if (!pointerCoords.readFromParcel(parcel)) {
+          if (!readFromParcel(parcel, historicalIndex * pointerCount + i)) {
             return false;
           }
         }
@@ -759,10 +867,8 @@ public class NativeInput {
     }
 
     public boolean writeToParcel(Parcel parcel) {
-      int pointerCount = mPointerProperties.size();
-      int sampleCount = mSampleEventTimes.size();
-      parcel.writeInt(pointerCount);
-      parcel.writeInt(sampleCount);
+      parcel.writeInt(mPointerCount);
+      parcel.writeInt(mSampleCount);
       parcel.writeInt(mDeviceId);
       parcel.writeInt(mSource);
       parcel.writeInt(mAction);
@@ -776,22 +882,38 @@ public class NativeInput {
       parcel.writeFloat(mXPrecision);
       parcel.writeFloat(mYPrecision);
       parcel.writeLong(mDownTime);
-      for (int i = 0; i < pointerCount; i++) {
-        PointerProperties properties = mPointerProperties.get(i);
-        parcel.writeInt(properties.id);
-        parcel.writeInt(properties.toolType);
+      for (int i = 0; i < mPointerCount; i++) {
+        parcel.writeInt(mPointerIds[i]);
+        parcel.writeInt(mPointerToolTypes[i]);
       }
-      for (int h = 0; h < sampleCount; h++) {
-        parcel.writeLong(mSampleEventTimes.get(h));
-        for (int i = 0; i < pointerCount; i++) {
-          if (!mSamplePointerCoords.get(i).writeToParcel(parcel)) {
-            return false;
+      for (int h = 0; h < mSampleCount; h++) {
+        parcel.writeLong(mSampleEventTimes[h]);
+        for (int i = 0; i < mPointerCount; i++) {
+          int coordsIndex = h * mPointerCount + i;
+          long bits = mSampleAxisBits[coordsIndex];
+          parcel.writeLong(bits);
+          int count = Long.bitCount(bits);
+          for (int j = 0; j < count; j++) {
+            parcel.writeFloat(mSampleAxisValues[coordsIndex * MAX_AXES + j]);
           }
         }
       }
       return true;
     }
 
+    private boolean readFromParcel(Parcel parcel, int coordsIndex) {
+      long bits = parcel.readLong();
+      int count = Long.bitCount(bits);
+      if (count > MAX_AXES) {
+        return false;
+      }
+      mSampleAxisBits[coordsIndex] = bits;
+      for (int j = 0; j < count; j++) {
+        mSampleAxisValues[coordsIndex * MAX_AXES + j] = parcel.readFloat();
+      }
+      return true;
+    }
+
     public static boolean isTouchEvent(int source, int action) {
       if ((source & AINPUT_SOURCE_CLASS_POINTER) != 0) {
         // Specifically excludes HOVER_MOVE and SCROLL.
@@ -813,17 +935,55 @@ public class NativeInput {
       return isTouchEvent(getSource(), mAction);
     }
 
-    // Low-level accessors.
-    public List<PointerProperties> getPointerProperties() {
-      return mPointerProperties;
+    // Packed sample storage.
+
+    private void setPointerCount(int pointerCount) {
+      if (mPointerIds.length < pointerCount) {
+        mPointerIds = Arrays.copyOf(mPointerIds, pointerCount);
+        mPointerToolTypes = Arrays.copyOf(mPointerToolTypes, pointerCount);
+      }
+      mPointerCount = pointerCount;
     }
 
-    List<Long> getSampleEventTimes() {
-      return mSampleEventTimes;
+    private void ensureSampleCapacity(int sampleCount) {
+      if (mSampleEventTimes.length < sampleCount) {
+        mSampleEventTimes =
+            Arrays.copyOf(mSampleEventTimes, Math.max(sampleCount, mSampleEventTimes.length * 2));
+      }
+      int coordsCount = sampleCount * mPointerCount;
+      if (mSampleAxisBits.length < coordsCount) {
+        int capacity = Math.max(coordsCount, mSampleAxisBits.length * 2);
+        mSampleAxisBits = Arrays.copyOf(mSampleAxisBits, capacity);
+        mSampleAxisValues = Arrays.copyOf(mSampleAxisValues, capacity * MAX_AXES);
+      }
     }
 
-    List<NativeInput.PointerCoords> getSamplePointerCoords() {
-      return mSamplePointerCoords;
+    private float getAxisValue(int coordsIndex, int axis) {
+      long bits = mSampleAxisBits[coordsIndex];
+      if (axis < 0 || axis > 63 || (bits & NativeBitSet64.valueForBit(axis)) == 0) {
+        return 0;
+      }
+      return mSampleAxisValues[coordsIndex * MAX_AXES + PointerCoords.indexOfBit(bits, axis)];
+    }
+
+    private void setAxisValue(int coordsIndex, int axis, float value) {
+      checkState(axis >= 0 && axis <= 63, "axis out of range");
+      long bits = mSampleAxisBits[coordsIndex];
+      int offset = coordsIndex * MAX_AXES;
+      int index = PointerCoords.indexOfBit(bits, axis);
+      if ((bits & NativeBitSet64.valueForBit(axis)) == 0) {
+        if (value == 0) {
+          return; // axes with value 0 do not need to be stored
+        }
+        int count = Long.bitCount(bits);
+        if (count >= MAX_AXES) {
+          PointerCoords.tooManyAxes(axis);
+        }
+        mSampleAxisBits[coordsIndex] = bits | NativeBitSet64.valueForBit(axis);
+        System.arraycopy(
+            mSampleAxisValues, offset + index, mSampleAxisValues, offset + index + 1, count - index);
+      }
+      mSampleAxisValues[offset + index] = value;
     }
   }
 }
@@ -0,0 +1,274 @@
+package org.robolectric.shadows;
+
+import android.content.ComponentName;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageParser.Activity;
+import android.content.pm.PackageParser.Component;
+import android.content.pm.PackageParser.IntentInfo;
+import android.content.pm.PackageParser.Package;
+import android.content.pm.PackageParser.Provider;
+import android.content.pm.PackageParser.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index over the components of packages known to {@link ShadowPackageManager}, modeled after the
+ * framework's {@code com.android.server.IntentResolver}.
+ *
+ * <p>Components are bucketed by every action, category, data scheme and base MIME type declared by
+ * their intent filters. Each of those is a necessary condition for an {@link IntentFilter} to match
+ * an {@link Intent}, so the smallest bucket that applies to an intent is a superset of the matching
+ * components. Candidates are returned in package installation order, then in declaration order, so
+ * callers that run the exact filter match over them get the same answers as a full scan.
+ */
+class PackageIntentIndex {
+
+  final ComponentIndex<Activity> activities = new ComponentIndex<>();
+  final ComponentIndex<Service> services = new ComponentIndex<>();
+  final ComponentIndex<Activity> receivers = new ComponentIndex<>();
+  final ComponentIndex<Provider> providers = new ComponentIndex<>();
+
+  void addPackage(Package appPackage) {
+    activities.add(appPackage, appPackage.activities);
+    services.add(appPackage, appPackage.services);
+    receivers.add(appPackage, appPackage.receivers);
+    providers.add(appPackage, appPackage.providers);
+  }
+
+  void removePackage(String packageName) {
+    activities.remove(packageName);
+    services.remove(packageName);
+    receivers.remove(packageName);
+    providers.remove(packageName);
+  }
+
+  /** Re-indexes {@code appPackages} from scratch, in iteration order. */
+  void rebuild(Collection<Package> appPackages) {
+    clear();
+    for (Package appPackage : appPackages) {
+      addPackage(appPackage);
+    }
+  }
+
+  void clear() {
+    activities.clear();
+    services.clear();
+    receivers.clear();
+    providers.clear();
+  }
+
+  /** Index over one kind of component (activities, services, receivers or providers). */
+  static class ComponentIndex<C extends Component<? extends IntentInfo>> {
+    /** How {@link IntentFilter} stores the {@code *}/{@code *} and {@code *} data types. */
+    private static final String ANY_TYPE = "*";
+
+    private final Set<C> allComponents = new LinkedHashSet<>();
+    private final Set<C> typedComponents = new LinkedHashSet<>();
+    private final Map<String, List<C>> componentsByPackage = new LinkedHashMap<>();
+    private final Map<ComponentName, C> componentsByName = new HashMap<>();
+    private final Map<String, Set<C>> actionToComponents = new HashMap<>();
+    private final Map<String, Set<C>> categoryToComponents = new HashMap<>();
+    private final Map<String, Set<C>> schemeToComponents = new HashMap<>();
+    private final Map<String, Set<C>> baseTypeToComponents = new HashMap<>();
+
+    private void add(Package appPackage, List<C> components) {
+      List<C> indexed = new ArrayList<>(components);
+      componentsByPackage.put(appPackage.packageName, indexed);
+      for (C component : indexed) {
+        allComponents.add(component);
+        componentsByName.putIfAbsent(component.getComponentName(), component);
+        for (IntentFilter filter : component.intents) {
+          addAll(actionToComponents, filter.actionsIterator(), component);
+          addAll(categoryToComponents, filter.categoriesIterator(), component);
+          addAll(schemeToComponents, filter.schemesIterator(), component);
+          Iterator<String> types = filter.typesIterator();
+          if (types != null && types.hasNext()) {
+            typedComponents.add(component);
+            while (types.hasNext()) {
+              put(baseTypeToComponents, baseType(types.next()), component);
+            }
+          }
+        }
+      }
+    }
+
+    private void remove(String packageName) {
+      List<C> removed = componentsByPackage.remove(packageName);
+      if (removed == null) {
+        return;
+      }
+      for (C component : removed) {
+        allComponents.remove(component);
+        typedComponents.remove(component);
+        for (IntentFilter filter : component.intents) {
+          removeAll(actionToComponents, filter.actionsIterator(), component);
+          removeAll(categoryToComponents, filter.categoriesIterator(), component);
+          removeAll(schemeToComponents, filter.schemesIterator(), component);
+          Iterator<String> types = filter.typesIterator();
+          while (types != null && types.hasNext()) {
+            remove(baseTypeToComponents, baseType(types.next()), component);
+          }
+        }
+
+        ComponentName componentName = component.getComponentName();
+        if (componentsByName.get(componentName) == component) {
+          componentsByName.remove(componentName);
+          // another package may declare a component with the same name
+          C replacement = scanForComponent(componentName);
+          if (replacement != null) {
+            componentsByName.put(componentName, replacement);
+          }
+        }
+      }
+    }
+
+    private void clear() {
+      allComponents.clear();
+      typedComponents.clear();
+      componentsByPackage.clear();
+      componentsByName.clear();
+      actionToComponents.clear();
+      categoryToComponents.clear();
+      schemeToComponents.clear();
+      baseTypeToComponents.clear();
+    }
+
+    /**
+     * Returns the first component, in package installation order, with the given name, or null if
+     * there is none.
+     */
+    C find(ComponentName componentName) {
+      return componentsByName.get(componentName);
+    }
+
+    /**
+     * Returns the components that may have an intent filter matching {@code intent}, in package
+     * installation order. Callers still need to match each candidate's filters against the intent.
+     */
+    Collection<C> candidatesFor(Intent intent) {
+      Collection<C> candidates = allComponents;
+
+      String packageName = intent.getPackage();
+      List<C> inPackage = null;
+      if (packageName != null) {
+        inPackage = componentsByPackage.get(packageName);
+        if (inPackage == null) {
+          return Collections.emptyList();
+        }
+        candidates = inPackage;
+      }
+
+      String action = intent.getAction();
+      if (action != null) {
+        candidates = smaller(candidates, actionToComponents.get(action));
+      }
+
+      Set<String> categories = intent.getCategories();
+      if (categories != null) {
+        for (String category : categories) {
+          candidates = smaller(candidates, categoryToComponents.get(category));
+        }
+      }
+
+      // Filters without schemes still match content: and file: URIs when they declare a type, see
+      // IntentFilter#matchData.
+      String scheme = intent.getScheme();
+      if (scheme != null
+          && !scheme.isEmpty()
+          && !"content".equals(scheme)
+          && !"file".equals(scheme)) {
+        candidates = smaller(candidates, schemeToComponents.get(scheme));
+      }
+
+      String type = intent.getType();
+      if (type != null) {
+        String baseType = baseType(type);
+        if (ANY_TYPE.equals(baseType) || baseTypeToComponents.containsKey(ANY_TYPE)) {
+          candidates = smaller(candidates, typedComponents);
+        } else {
+          candidates = smaller(candidates, baseTypeToComponents.get(baseType));
+        }
+      }
+
+      if (inPackage != null && candidates != inPackage) {
+        // a bucket won over the package's own list; restrict it to the requested package
+        List<C> result = new ArrayList<>();
+        for (C component : candidates) {
+          if (packageName.equals(component.owner.packageName)) {
+            result.add(component);
+          }
+        }
+        return result;
+      }
+      return candidates;
+    }
+
+    private C scanForComponent(ComponentName componentName) {
+      for (List<C> components : componentsByPackage.values()) {
+        for (C component : components) {
+          if (componentName.equals(component.getComponentName())) {
+            return component;
+          }
+        }
+      }
+      return null;
+    }
+
+    private static <C> Collection<C> smaller(Collection<C> current, Set<C> bucket) {
+      if (bucket == null) {
+        return Collections.emptySet();
+      }
+      return bucket.size() < current.size() ? bucket : current;
+    }
+
+    private static <C> void addAll(Map<String, Set<C>> index, Iterator<String> keys, C component) {
+      if (keys == null) {
+        return;
+      }
+      while (keys.hasNext()) {
+        put(index, keys.next(), component);
+      }
+    }
+
+    private static <C> void put(Map<String, Set<C>> index, String key, C component) {
+      Set<C> bucket = index.get(key);
+      if (bucket == null) {
+        bucket = new LinkedHashSet<>();
+        index.put(key, bucket);
+      }
+      bucket.add(component);
+    }
+
+    private static <C> void removeAll(
+        Map<String, Set<C>> index, Iterator<String> keys, C component) {
+      if (keys == null) {
+        return;
+      }
+      while (keys.hasNext()) {
+        remove(index, keys.next(), component);
+      }
+    }
+
+    private static <C> void remove(Map<String, Set<C>> index, String key, C component) {
+      Set<C> bucket = index.get(key);
+      if (bucket != null && bucket.remove(component) && bucket.isEmpty()) {
+        index.remove(key);
+      }
+    }
+
+    /** Returns the part of a MIME type before the slash, which is how partial types are stored. */
+    private static String baseType(String type) {
+      int slash = type.indexOf('/');
+      return slash > 0 ? type.substring(0, slash) : type;
+    }
+  }
+}
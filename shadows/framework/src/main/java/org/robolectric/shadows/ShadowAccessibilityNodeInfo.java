@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Implementation;
@@ -33,6 +34,7 @@ import org.robolectric.annotation.Implements;
 import org.robolectric.annotation.RealObject;
 import org.robolectric.annotation.Resetter;
 import org.robolectric.shadow.api.Shadow;
+import org.robolectric.util.Logger;
 import org.robolectric.util.ReflectionHelpers;
 import org.robolectric.util.ReflectionHelpers.ClassParameter;
 
@@ -40,12 +42,30 @@ import org.robolectric.util.ReflectionHelpers.ClassParameter;
  * Properties of {@link android.view.accessibility.AccessibilityNodeInfo} that are normally locked
  * may be changed using test APIs.
  *
- * Calls to {@code obtain()} and {@code recycle()} are tracked to help spot bugs.
+ * Calls to {@code obtain()} and {@code recycle()} are tracked to help spot bugs. How much is
+ * recorded about each obtained node is set with {@link #setObtainTrackingMode}.
  */
 @Implements(AccessibilityNodeInfo.class)
 public class ShadowAccessibilityNodeInfo {
-  // Map of obtained instances of the class along with stack traces of how they were obtained
-  private static final Map<StrictEqualityNodeWrapper, StackTraceElement[]> obtainedInstances =
+  /** How calls to {@code obtain()} are recorded for {@link #areThereUnrecycledNodes(boolean)}. */
+  public enum ObtainTrackingMode {
+    /** Unrecycled nodes are detected, but where they were obtained isn't recorded. */
+    OFF,
+    /** Where nodes were obtained is recorded for one in {@value #SAMPLING_INTERVAL} of them. */
+    SAMPLED,
+    /** Where every node was obtained is recorded. */
+    FULL;
+
+    static final int SAMPLING_INTERVAL = 64;
+  }
+
+  private static final ObtainTrackingMode DEFAULT_OBTAIN_TRACKING_MODE =
+      parseObtainTrackingMode(System.getProperty("robolectric.accessibility.nodeTracking"));
+
+  private static ObtainTrackingMode obtainTrackingMode = DEFAULT_OBTAIN_TRACKING_MODE;
+
+  // Map of obtained instances of the class along with how they were obtained
+  private static final Map<StrictEqualityNodeWrapper, ObtainedInstance> obtainedInstances =
       new HashMap<>();
 
   private static final SparseArray<StrictEqualityNodeWrapper> orderedInstances =
@@ -116,6 +136,9 @@ public class ShadowAccessibilityNodeInfo {
 
   private List<AccessibilityNodeInfo> children;
 
+  // Whether children is shared with clones of this node, and must be copied before changing it
+  private boolean childrenShared;
+
   private Rect boundsInScreen = new Rect();
 
   private Rect boundsInParent = new Rect();
@@ -125,6 +148,8 @@ public class ShadowAccessibilityNodeInfo {
   // In API prior to 21, actions are stored in a flag, after 21 they are stored in array of
   // AccessibilityAction so custom actions can be supported.
   private ArrayList<AccessibilityAction> actionsArray;
+  // Whether actionsArray is shared with clones of this node, and must be copied before changing it
+  private boolean actionsArrayShared;
   private int actionsMask;
   // Storage of flags
 
@@ -197,9 +222,7 @@ public class ShadowAccessibilityNodeInfo {
     if (shadowInfo.mOriginNodeId == 0) {
       shadowInfo.mOriginNodeId = sAllocationCount;
     }
-    StrictEqualityNodeWrapper wrapper = new StrictEqualityNodeWrapper(obtainedInstance);
-    obtainedInstances.put(wrapper, Thread.currentThread().getStackTrace());
-    orderedInstances.put(sAllocationCount, wrapper);
+    trackObtained(obtainedInstance);
     return obtainedInstance;
   }
 
@@ -228,9 +251,7 @@ public class ShadowAccessibilityNodeInfo {
     if (shadowObtained.mOriginNodeId == 0) {
       shadowObtained.mOriginNodeId = sAllocationCount;
     }
-    StrictEqualityNodeWrapper wrapper = new StrictEqualityNodeWrapper(obtainedInstance);
-    obtainedInstances.put(wrapper, Thread.currentThread().getStackTrace());
-    orderedInstances.put(sAllocationCount, wrapper);
+    trackObtained(obtainedInstance);
     return obtainedInstance;
   }
 
@@ -245,23 +266,70 @@ public class ShadowAccessibilityNodeInfo {
     return node;
   }
 
+  private static void trackObtained(AccessibilityNodeInfo obtainedInstance) {
+    // Throwable only walks the stack into frames when they are first asked for
+    Throwable obtainedAt = null;
+    if (obtainTrackingMode == ObtainTrackingMode.FULL
+        || (obtainTrackingMode == ObtainTrackingMode.SAMPLED
+            && sAllocationCount % ObtainTrackingMode.SAMPLING_INTERVAL == 0)) {
+      obtainedAt = new Throwable();
+    }
+    StrictEqualityNodeWrapper wrapper = new StrictEqualityNodeWrapper(obtainedInstance);
+    obtainedInstances.put(wrapper, new ObtainedInstance(sAllocationCount, obtainedAt));
+    orderedInstances.put(sAllocationCount, wrapper);
+  }
+
+  private static ObtainTrackingMode parseObtainTrackingMode(String mode) {
+    if (mode == null) {
+      return ObtainTrackingMode.FULL;
+    }
+    try {
+      return ObtainTrackingMode.valueOf(mode.toUpperCase(Locale.US));
+    } catch (IllegalArgumentException e) {
+      Logger.warn("Unknown robolectric.accessibility.nodeTracking mode %s, using full", mode);
+      return ObtainTrackingMode.FULL;
+    }
+  }
+
+  /**
+   * Sets how calls to {@code obtain()} are recorded, {@link ObtainTrackingMode#FULL} by default or
+   * as set with the {@code robolectric.accessibility.nodeTracking} system property. Recording
+   * where nodes are obtained is costly for tests traversing large accessibility trees.
+   */
+  public static void setObtainTrackingMode(ObtainTrackingMode mode) {
+    obtainTrackingMode = mode;
+  }
+
+  public static ObtainTrackingMode getObtainTrackingMode() {
+    return obtainTrackingMode;
+  }
+
   /**
    * Check for leaked objects that were {@code obtain}ed but never
    * {@code recycle}d.
    *
    * @param printUnrecycledNodesToSystemErr - if true, stack traces of calls
    *        to {@code obtain} that lack matching calls to {@code recycle} are
-   *        dumped to System.err.
+   *        dumped to System.err, for the calls recorded with the current
+   *        {@link ObtainTrackingMode}.
    * @return {@code true} if there are unrecycled nodes
    */
   public static boolean areThereUnrecycledNodes(boolean printUnrecycledNodesToSystemErr) {
     if (printUnrecycledNodesToSystemErr) {
-      for (final StrictEqualityNodeWrapper wrapper : obtainedInstances.keySet()) {
-        final ShadowAccessibilityNodeInfo shadow = Shadow.extract(wrapper.mInfo);
+      for (Map.Entry<StrictEqualityNodeWrapper, ObtainedInstance> entry :
+          obtainedInstances.entrySet()) {
+        final ShadowAccessibilityNodeInfo shadow = Shadow.extract(entry.getKey().mInfo);
+        Throwable obtainedAt = entry.getValue().obtainedAt;
+        if (obtainedAt == null) {
+          System.err.println(String.format(
+              "Leaked contentDescription = %s. Stack trace not recorded.",
+              shadow.getContentDescription()));
+          continue;
+        }
 
         System.err.println(String.format(
             "Leaked contentDescription = %s. Stack trace:", shadow.getContentDescription()));
-        for (final StackTraceElement stackTraceElement : obtainedInstances.get(wrapper)) {
+        for (final StackTraceElement stackTraceElement : obtainedAt.getStackTrace()) {
           System.err.println(stackTraceElement.toString());
         }
       }
@@ -278,13 +346,15 @@ public class ShadowAccessibilityNodeInfo {
   public static void resetObtainedInstances() {
     obtainedInstances.clear();
     orderedInstances.clear();
+    obtainTrackingMode = DEFAULT_OBTAIN_TRACKING_MODE;
   }
 
   @Implementation
   protected void recycle() {
     final StrictEqualityNodeWrapper wrapper =
         new StrictEqualityNodeWrapper(realAccessibilityNodeInfo);
-    if (!obtainedInstances.containsKey(wrapper)) {
+    final ObtainedInstance obtained = obtainedInstances.get(wrapper);
+    if (obtained == null) {
       throw new IllegalStateException();
     }
 
@@ -306,15 +376,7 @@ public class ShadowAccessibilityNodeInfo {
     }
 
     obtainedInstances.remove(wrapper);
-    int keyOfWrapper = -1;
-    for (int i = 0; i < orderedInstances.size(); i++) {
-      int key = orderedInstances.keyAt(i);
-      if (orderedInstances.get(key).equals(wrapper)) {
-        keyOfWrapper = key;
-        break;
-      }
-    }
-    orderedInstances.remove(keyOfWrapper);
+    orderedInstances.remove(obtained.key);
   }
 
   @Implementation
@@ -886,11 +948,9 @@ public class ShadowAccessibilityNodeInfo {
       return;
     }
 
-    if (actionsArray == null) {
-      actionsArray = new ArrayList<>();
-    }
-    actionsArray.remove(action);
-    actionsArray.add(action);
+    ArrayList<AccessibilityAction> actions = getMutableActionsArray();
+    actions.remove(action);
+    actions.add(action);
   }
 
   @Implementation(minSdk = LOLLIPOP)
@@ -904,7 +964,18 @@ public class ShadowAccessibilityNodeInfo {
     if (action == null || actionsArray == null) {
       return false;
     }
-    return actionsArray.remove(action);
+    return getMutableActionsArray().remove(action);
+  }
+
+  private ArrayList<AccessibilityAction> getMutableActionsArray() {
+    if (actionsArray == null) {
+      actionsArray = new ArrayList<>();
+      actionsArrayShared = false;
+    } else if (actionsArrayShared) {
+      actionsArray = new ArrayList<>(actionsArray);
+      actionsArrayShared = false;
+    }
+    return actionsArray;
   }
 
   /**
@@ -972,7 +1043,9 @@ public class ShadowAccessibilityNodeInfo {
       return Collections.emptyList();
     }
 
-    return actionsArray;
+    // a view, so reading doesn't copy a list shared with clones; as on the platform, changes must
+    // go through addAction() and removeAction()
+    return Collections.unmodifiableList(actionsArray);
   }
 
   @Implementation
@@ -1032,6 +1105,10 @@ public class ShadowAccessibilityNodeInfo {
   public void addChild(AccessibilityNodeInfo child) {
     if (children == null) {
       children = new ArrayList<>();
+      childrenShared = false;
+    } else if (childrenShared) {
+      children = new ArrayList<>(children);
+      childrenShared = false;
     }
 
     children.add(child);
@@ -1105,22 +1182,16 @@ public class ShadowAccessibilityNodeInfo {
     newShadow.textSelectionEnd = textSelectionEnd;
     newShadow.actionListener = actionListener;
     if (getApiLevel() >= LOLLIPOP) {
-      if (actionsArray != null) {
-        newShadow.actionsArray = new ArrayList<>();
-        newShadow.actionsArray.addAll(actionsArray);
-      } else {
-        newShadow.actionsArray = null;
-      }
+      // shared until either node changes its actions
+      newShadow.actionsArray = actionsArray;
+      newShadow.actionsArrayShared = actionsArrayShared = actionsArray != null;
     } else {
       newShadow.actionsMask = actionsMask;
     }
 
-    if (children != null) {
-      newShadow.children = new ArrayList<>();
-      newShadow.children.addAll(children);
-    } else {
-      newShadow.children = null;
-    }
+    // shared until either node adds children
+    newShadow.children = children;
+    newShadow.childrenShared = childrenShared = children != null;
 
     newShadow.refreshReturnValue = refreshReturnValue;
     newShadow.movementGranularities = movementGranularities;
@@ -1182,6 +1253,19 @@ public class ShadowAccessibilityNodeInfo {
     }
   }
 
+  /** Where an obtained instance came from. */
+  private static class ObtainedInstance {
+    // key in orderedInstances
+    private final int key;
+    // null unless recorded by the ObtainTrackingMode
+    private final Throwable obtainedAt;
+
+    private ObtainedInstance(int key, Throwable obtainedAt) {
+      this.key = key;
+      this.obtainedAt = obtainedAt;
+    }
+  }
+
   /**
    * Shadow of AccessibilityAction.
    */
@@ -1244,14 +1328,8 @@ public class ShadowAccessibilityNodeInfo {
   @Implementation
   protected void writeToParcel(Parcel dest, int flags) {
     StrictEqualityNodeWrapper wrapper = new StrictEqualityNodeWrapper(realAccessibilityNodeInfo);
-    int keyOfWrapper = -1;
-    for (int i = 0; i < orderedInstances.size(); i++) {
-      if (orderedInstances.valueAt(i).equals(wrapper)) {
-        keyOfWrapper = orderedInstances.keyAt(i);
-        break;
-      }
-    }
-    dest.writeInt(keyOfWrapper);
+    ObtainedInstance obtained = obtainedInstances.get(wrapper);
+    dest.writeInt(obtained == null ? -1 : obtained.key);
   }
 
   private static int getActionTypeMaskFromFramework() {
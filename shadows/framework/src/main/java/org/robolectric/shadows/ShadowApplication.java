@@ -36,7 +36,7 @@ public class ShadowApplication extends ShadowContextWrapper {
 
   private Scheduler backgroundScheduler = RoboSettings.isUseGlobalScheduler()
       ? getForegroundThreadScheduler()
-      : new Scheduler();
+      : RoboSettings.newScheduler();
   private List<android.widget.Toast> shownToasts = new ArrayList<>();
   private PowerManager.WakeLock latestWakeLock;
   private ShadowAlertDialog latestAlertDialog;
@@ -19,6 +19,7 @@ import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.Implementation;
 import org.robolectric.annotation.Implements;
 import org.robolectric.annotation.RealObject;
+import org.robolectric.res.android.ApkAssetsCache;
 import org.robolectric.res.android.Asset;
 import org.robolectric.res.android.CppApkAssets;
 import org.robolectric.res.android.Registries;
@@ -53,6 +54,8 @@ public class ShadowArscApkAssets9 extends ShadowApkAssets {
   private static final String FRAMEWORK_APK_PATH =
       ReflectionHelpers.getStaticField(AssetManager.class, "FRAMEWORK_APK_PATH");
 
+  // ApkAssets of this sandbox; the parsed resources they point to are shared by all sandboxes
+  // through ApkAssetsCache
   private static final HashMap<Key, WeakReference<ApkAssets>> cachedApkAssets =
       new HashMap<>();
 
@@ -215,9 +218,12 @@ public class ShadowArscApkAssets9 extends ShadowApkAssets {
         apk_assets = CppApkAssets.LoadOverlay(path, system);
       } else if (force_shared_lib) {
         apk_assets =
-            CppApkAssets.LoadAsSharedLibrary(path, system);
+            ApkAssetsCache.getInstance()
+                .acquire(path, system, true, () -> CppApkAssets.LoadAsSharedLibrary(path, system));
       } else {
-        apk_assets = CppApkAssets.Load(path, system);
+        apk_assets =
+            ApkAssetsCache.getInstance()
+                .acquire(path, system, false, () -> CppApkAssets.Load(path, system));
       }
     } catch (OutOfMemoryError e) {
       OutOfMemoryError outOfMemoryError = new OutOfMemoryError("Failed to load " + path);
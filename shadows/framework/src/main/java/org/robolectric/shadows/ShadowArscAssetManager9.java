@@ -54,6 +54,7 @@ import org.robolectric.annotation.Resetter;
 import org.robolectric.res.Fs;
 import org.robolectric.res.FsFile;
 import org.robolectric.res.android.CppApkAssets;
+import org.robolectric.res.android.ApkAssetsCache;
 import org.robolectric.res.android.ApkAssetsCookie;
 import org.robolectric.res.android.Asset;
 import org.robolectric.res.android.AssetDir;
@@ -502,6 +503,10 @@ public class ShadowArscAssetManager9 extends ShadowAssetManager.ArscBase {
     }
 
     // delete reinterpret_cast<GuardedAssetManager*>(ptr);
+    List<CppApkAssets> apk_assets = AssetManagerFromLong(ptr).GetApkAssets();
+    if (apk_assets != null) {
+      ApkAssetsCache.getInstance().release(apk_assets);
+    }
     Registries.NATIVE_ASSET_MANAGER_REGISTRY.unregister(ptr);
   }
 
@@ -529,6 +534,12 @@ public class ShadowArscAssetManager9 extends ShadowAssetManager.ArscBase {
     }
 
     CppAssetManager2 assetmanager = AssetManagerFromLong(ptr);
+    // Robolectric: keep the shared state of the new ApkAssets cached while this uses them
+    List<CppApkAssets> previous_apk_assets = assetmanager.GetApkAssets();
+    ApkAssetsCache.getInstance().retain(apk_assets);
+    if (previous_apk_assets != null) {
+      ApkAssetsCache.getInstance().release(previous_apk_assets);
+    }
     assetmanager.SetApkAssets(apk_assets, invalidate_caches);
   }
 
@@ -21,6 +21,7 @@ import org.robolectric.annotation.Implementation;
 import org.robolectric.annotation.Implements;
 import org.robolectric.annotation.RealObject;
 import org.robolectric.shadow.api.Shadow;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.ReflectionHelpers;
 
 @SuppressWarnings({"UnusedDeclaration"})
@@ -189,6 +190,12 @@ public class ShadowBitmap {
     return ImageUtil.writeToStream(realBitmap, format, quality, stream);
   }
 
+  private static Bitmap newBitmap() {
+    Bitmap bitmap = ReflectionHelpers.callConstructor(Bitmap.class);
+    LeakDetector.watch(bitmap, "Bitmap");
+    return bitmap;
+  }
+
   @Implementation
   protected static Bitmap createBitmap(int width, int height, Bitmap.Config config) {
     return createBitmap((DisplayMetrics) null, width, height, config);
@@ -210,7 +217,7 @@ public class ShadowBitmap {
     if (width <= 0 || height <= 0) {
       throw new IllegalArgumentException("width and height must be > 0");
     }
-    Bitmap scaledBitmap = ReflectionHelpers.callConstructor(Bitmap.class);
+    Bitmap scaledBitmap = newBitmap();
     ShadowBitmap shadowBitmap = Shadow.extract(scaledBitmap);
     shadowBitmap.setDescription("Bitmap (" + width + " x " + height + ")");
 
@@ -239,7 +246,7 @@ public class ShadowBitmap {
       return src; // Return the original.
     }
 
-    Bitmap scaledBitmap = ReflectionHelpers.callConstructor(Bitmap.class);
+    Bitmap scaledBitmap = newBitmap();
     ShadowBitmap shadowBitmap = Shadow.extract(scaledBitmap);
 
     ShadowBitmap shadowSrcBitmap = Shadow.extract(src);
@@ -263,7 +270,7 @@ public class ShadowBitmap {
       return src; // Return the original.
     }
 
-    Bitmap newBitmap = ReflectionHelpers.callConstructor(Bitmap.class);
+    Bitmap newBitmap = newBitmap();
     ShadowBitmap shadowBitmap = Shadow.extract(newBitmap);
 
     ShadowBitmap shadowSrcBitmap = Shadow.extract(src);
@@ -301,7 +308,7 @@ public class ShadowBitmap {
       throw new IllegalArgumentException("y + height must be <= bitmap.height()");
     }
 
-    Bitmap newBitmap = ReflectionHelpers.callConstructor(Bitmap.class);
+    Bitmap newBitmap = newBitmap();
     ShadowBitmap shadowNewBitmap = Shadow.extract(newBitmap);
 
     ShadowBitmap shadowSrcBitmap = Shadow.extract(src);
@@ -427,7 +434,7 @@ public class ShadowBitmap {
 
   @Implementation
   protected Bitmap copy(Bitmap.Config config, boolean isMutable) {
-    Bitmap newBitmap = ReflectionHelpers.callConstructor(Bitmap.class);
+    Bitmap newBitmap = newBitmap();
     ShadowBitmap shadowBitmap = Shadow.extract(newBitmap);
     shadowBitmap.createdFromBitmap = realBitmap;
     shadowBitmap.config = config;
@@ -12,12 +12,21 @@ import android.graphics.Point;
 import android.graphics.Rect;
 import android.net.Uri;
 import android.util.TypedValue;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileDescriptor;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.robolectric.RuntimeEnvironment;
@@ -26,6 +35,7 @@ import org.robolectric.annotation.Implements;
 import org.robolectric.annotation.Resetter;
 import org.robolectric.shadow.api.Shadow;
 import org.robolectric.util.Join;
+import org.robolectric.util.LeakDetector;
 import org.robolectric.util.NamedStream;
 import org.robolectric.util.ReflectionHelpers;
 import org.robolectric.util.ReflectionHelpers.ClassParameter;
@@ -33,8 +43,22 @@ import org.robolectric.util.ReflectionHelpers.ClassParameter;
 @SuppressWarnings({"UnusedDeclaration"})
 @Implements(BitmapFactory.class)
 public class ShadowBitmapFactory {
+  private static final int IMAGE_SIZE_CACHE_SIZE = 1024;
+
   private static Map<String, Point> widthAndHeightMap = new HashMap<>();
 
+  // Sizes of decoded images, by file and modification time or by a hash of their contents, and of
+  // resources by the file they resolved to. Access ordered, so the eldest entry is the least
+  // recently used one.
+  private static final Map<String, Point> imageSizeCache =
+      Collections.synchronizedMap(
+          new LinkedHashMap<String, Point>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Point> eldest) {
+              return size() > IMAGE_SIZE_CACHE_SIZE;
+            }
+          });
+
   @Implementation
   protected static Bitmap decodeResourceStream(
       Resources res, TypedValue value, InputStream is, Rect pad, BitmapFactory.Options opts) {
@@ -61,7 +85,22 @@ public class ShadowBitmapFactory {
     final TypedValue value = new TypedValue();
     InputStream is = res.openRawResource(id, value);
 
-    Point imageSizeFromStream = getImageSizeFromStream(is);
+    // the file the resource resolved to depends on the configuration
+    Point imageSizeFromStream = null;
+    if (value.string != null && new File(value.string.toString()).isFile()) {
+      imageSizeFromStream = getImageSizeFromFile(new File(value.string.toString()));
+    }
+    if (imageSizeFromStream == null) {
+      // resources packaged in an apk can't change during a test, and the cache is reset after it
+      String cacheKey = value.string == null ? null : "resource:" + id + ":" + value.string;
+      imageSizeFromStream = cacheKey == null ? null : imageSizeCache.get(cacheKey);
+      if (imageSizeFromStream == null) {
+        imageSizeFromStream = getImageSizeFromStream(is);
+        if (imageSizeFromStream != null && cacheKey != null) {
+          imageSizeCache.put(cacheKey, imageSizeFromStream);
+        }
+      }
+    }
 
     Bitmap bitmap = create("resource:" + res.getResourceName(id), options, imageSizeFromStream);
     ShadowBitmap shadowBitmap = Shadow.extract(bitmap);
@@ -76,7 +115,9 @@ public class ShadowBitmapFactory {
 
   @Implementation
   protected static Bitmap decodeFile(String pathName, BitmapFactory.Options options) {
-    Bitmap bitmap = create("file:" + pathName, options);
+    File file = pathName == null ? null : new File(pathName);
+    Point imageSize = file != null && file.isFile() ? getImageSizeFromFile(file) : null;
+    Bitmap bitmap = create("file:" + pathName, options, imageSize);
     ShadowBitmap shadowBitmap = Shadow.extract(bitmap);
     shadowBitmap.createdFromPath = pathName;
     return bitmap;
@@ -123,7 +164,13 @@ public class ShadowBitmapFactory {
     String name = (is instanceof NamedStream)
         ? is.toString().replace("stream for ", "")
         : null;
-    Point imageSize = (is instanceof NamedStream) ? null : getImageSizeFromStream(is);
+    Point imageSize = null;
+    if (is == null) {
+      imageSize = getImageSizeFromStream(null);
+    } else if (!(is instanceof NamedStream)) {
+      byte[] data = readBytes(is);
+      imageSize = getImageSizeFromBytes(data, 0, data.length);
+    }
     Bitmap bitmap = create(name, opts, imageSize);
     bitmap.setNinePatchChunk(ninePatchChunk);
     ShadowBitmap shadowBitmap = Shadow.extract(bitmap);
@@ -148,10 +195,72 @@ public class ShadowBitmapFactory {
       desc += " bytes " + offset + ".." + length;
     }
 
-    Point imageSize = getImageSizeFromStream(new ByteArrayInputStream(data, offset, length));
+    Point imageSize = getImageSizeFromBytes(data, offset, length);
     return create(desc, opts, imageSize);
   }
 
+  /** Returns the size of the image in {@code file}, cached until the file changes. */
+  private static Point getImageSizeFromFile(File file) {
+    String cacheKey;
+    try {
+      cacheKey =
+          "file:" + file.getCanonicalPath() + ":" + file.lastModified() + ":" + file.length();
+    } catch (IOException e) {
+      return null;
+    }
+    Point imageSize = imageSizeCache.get(cacheKey);
+    if (imageSize == null) {
+      try (InputStream is = new BufferedInputStream(new FileInputStream(file))) {
+        imageSize = getImageSizeFromStream(is);
+      } catch (IOException e) {
+        return null;
+      }
+      if (imageSize != null) {
+        imageSizeCache.put(cacheKey, imageSize);
+      }
+    }
+    return imageSize;
+  }
+
+  /** Returns the size of the image in the given bytes, cached by a hash of them. */
+  private static Point getImageSizeFromBytes(byte[] data, int offset, int length) {
+    // the same bounds as ByteArrayInputStream
+    int start = Math.min(offset, data.length);
+    int end = (int) Math.min((long) offset + length, data.length);
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException(e);
+    }
+    digest.update(data, start, Math.max(0, end - start));
+    String cacheKey = "bytes:" + new BigInteger(1, digest.digest()).toString(16);
+
+    Point imageSize = imageSizeCache.get(cacheKey);
+    if (imageSize == null) {
+      imageSize = getImageSizeFromStream(new ByteArrayInputStream(data, offset, length));
+      if (imageSize != null) {
+        imageSizeCache.put(cacheKey, imageSize);
+      }
+    }
+    return imageSize;
+  }
+
+  /** Reads the rest of {@code is}, without closing it, as decoding it would. */
+  private static byte[] readBytes(InputStream is) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[8192];
+    try {
+      int read;
+      while ((read = is.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return out.toByteArray();
+  }
+
   static Bitmap create(String name) {
     return create(name, null);
   }
@@ -162,6 +271,7 @@ public class ShadowBitmapFactory {
 
   public static Bitmap create(final String name, final BitmapFactory.Options options, final Point widthAndHeight) {
     Bitmap bitmap = Shadow.newInstanceOf(Bitmap.class);
+    LeakDetector.watch(bitmap, "Bitmap");
     ShadowBitmap shadowBitmap = Shadow.extract(bitmap);
     shadowBitmap.appendDescription(name == null ? "Bitmap" : "Bitmap for " + name);
 
@@ -228,6 +338,7 @@ public class ShadowBitmapFactory {
   @Resetter
   public static void reset() {
     widthAndHeightMap.clear();
+    imageSizeCache.clear();
   }
 
   private static Point selectWidthAndHeight(final String name, final Point widthAndHeight) {
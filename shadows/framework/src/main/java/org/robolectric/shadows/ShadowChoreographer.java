@@ -9,6 +9,7 @@ import org.robolectric.annotation.Implementation;
 import org.robolectric.annotation.Implements;
 import org.robolectric.annotation.Resetter;
 import org.robolectric.shadow.api.Shadow;
+import org.robolectric.util.PerfStatsCollector;
 import org.robolectric.util.SoftThreadLocal;
 import org.robolectric.util.TimeUtils;
 
@@ -17,6 +18,9 @@ import org.robolectric.util.TimeUtils;
  * point of view, aimed at making animations work correctly. Time starts out at {@code 0}
  * and advances by {@code frameInterval} every time
  * {@link Choreographer#getFrameTimeNanos()} is called.
+ *
+ * <p>Animations can be fast-forwarded with {@link #setAnimationMode(AnimationMode)}, so that they
+ * run only a few frames rather than one every {@code frameInterval}.
  */
 @Implements(Choreographer.class)
 public class ShadowChoreographer {
@@ -27,6 +31,25 @@ public class ShadowChoreographer {
   private Handler handler = new Handler(Looper.myLooper());
   private static volatile int postCallbackDelayMillis = 0;
   private static volatile int postFrameCallbackDelayMillis = 0;
+  private static volatile AnimationMode animationMode = AnimationMode.REAL;
+  private static volatile int sampledFrameCount;
+  private static volatile long sampledFrameInterval;
+
+  /** The frame interval of {@link AnimationMode#END_STATE}, longer than any sensible animation. */
+  private static final long END_STATE_FRAME_INTERVAL = 60 * 60 * 1000 * TimeUtils.NANOS_PER_MS;
+
+  /** How animations advance from one frame to the next. */
+  public enum AnimationMode {
+    /** Frames are {@link #getFrameInterval()} apart. */
+    REAL,
+    /** Running animations jump to their end state on the frame following their first one. */
+    END_STATE,
+    /**
+     * Besides their first and last frames, animations only run a given number of evenly spaced
+     * frames, see {@link #setAnimationMode(AnimationMode, int)}.
+     */
+    SAMPLED
+  }
 
   private static SoftThreadLocal<Choreographer> makeThreadLocal() {
     return new SoftThreadLocal<Choreographer>() {
@@ -69,6 +92,39 @@ public class ShadowChoreographer {
     postFrameCallbackDelayMillis = delayMillis;
   }
 
+  /**
+   * Sets how animations advance from one frame to the next, {@link AnimationMode#REAL} by default.
+   * Fast-forwarding animations saves running a frame callback, and often layout and drawing, every
+   * {@link #getFrameInterval()} for the whole duration of each animation.
+   */
+  public static void setAnimationMode(AnimationMode mode) {
+    setAnimationMode(mode, 0);
+  }
+
+  /**
+   * Sets how animations advance from one frame to the next. In {@link AnimationMode#SAMPLED} mode,
+   * the frames of an {@link android.animation.ValueAnimator} are spaced so that it runs {@code
+   * frameCount} frames between its first and last ones, but never less than {@link
+   * #getFrameInterval()} apart. As the frame time is shared by all animations, the spacing follows
+   * the most recently started animator.
+   */
+  public static void setAnimationMode(AnimationMode mode, int frameCount) {
+    animationMode = mode;
+    sampledFrameCount = frameCount;
+    sampledFrameInterval = 0;
+  }
+
+  public static AnimationMode getAnimationMode() {
+    return animationMode;
+  }
+
+  /** Called by {@link ShadowValueAnimator} when an animator of {@code durationMillis} starts. */
+  static void animatorStarted(long durationMillis) {
+    if (animationMode == AnimationMode.SAMPLED) {
+      sampledFrameInterval = durationMillis * TimeUtils.NANOS_PER_MS / (sampledFrameCount + 1);
+    }
+  }
+
   @Implementation
   protected static Choreographer getInstance() {
     return instance.get();
@@ -125,7 +181,8 @@ public class ShadowChoreographer {
   protected void postFrameCallbackDelayed(final FrameCallback callback, long delayMillis) {
     handler.postAtTime(new Runnable() {
       @Override public void run() {
-        callback.doFrame(getFrameTimeNanos());
+        PerfStatsCollector.getInstance()
+            .measure("choreographer frame callback", () -> callback.doFrame(getFrameTimeNanos()));
       }
     }, callback, SystemClock.uptimeMillis() + delayMillis);
   }
@@ -138,10 +195,21 @@ public class ShadowChoreographer {
   @Implementation
   protected long getFrameTimeNanos() {
     final long now = nanoTime;
-    nanoTime += ShadowChoreographer.FRAME_INTERVAL;
+    nanoTime += getNextFrameInterval();
     return now;
   }
 
+  private static long getNextFrameInterval() {
+    switch (animationMode) {
+      case END_STATE:
+        return END_STATE_FRAME_INTERVAL;
+      case SAMPLED:
+        return Math.max(FRAME_INTERVAL, sampledFrameInterval);
+      default:
+        return FRAME_INTERVAL;
+    }
+  }
+
   /**
    * Return the current inter-frame interval.
    *
@@ -169,6 +237,7 @@ public class ShadowChoreographer {
     }
     instance = makeThreadLocal();
     FRAME_INTERVAL = 10 * TimeUtils.NANOS_PER_MS; // 10ms
+    setAnimationMode(AnimationMode.REAL);
   }
 }
 
@@ -36,6 +36,7 @@ import com.google.common.util.concurrent.AsyncFunction;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -45,6 +46,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.robolectric.RuntimeEnvironment;
@@ -68,7 +71,11 @@ public class ShadowInstrumentation {
   private List<Intent> broadcastIntents = new ArrayList<>();
   private List<ServiceConnection> boundServiceConnections = new ArrayList<>();
   private List<ServiceConnection> unboundServiceConnections = new ArrayList<>();
-  private List<Wrapper> registeredReceivers = new ArrayList<>();
+  // copy-on-write so that receivers can be looked up from concurrent senders without copying
+  private final List<Wrapper> registeredReceivers = new CopyOnWriteArrayList<>();
+  // registered receivers keyed by each action of their filter at registration, in registration
+  // order
+  private final Map<String, List<Wrapper>> registeredReceiversByAction = new ConcurrentHashMap<>();
   // map of pid+uid to granted permissions
   private final Map<Pair<Integer, Integer>, Set<String>> grantedPermissionsMap = new HashMap<>();
   private boolean unbindServiceShouldThrowIllegalArgument = false;
@@ -215,37 +222,43 @@ public class ShadowInstrumentation {
   }
 
   void assertNoBroadcastListenersOfActionRegistered(ContextWrapper context, String action) {
-    for (Wrapper registeredReceiver : registeredReceivers) {
-      if (registeredReceiver.context == context.getBaseContext()) {
-        Iterator<String> actions = registeredReceiver.intentFilter.actionsIterator();
-        while (actions.hasNext()) {
-          if (actions.next().equals(action)) {
-            RuntimeException e =
-                new IllegalStateException(
-                    "Unexpected BroadcastReceiver on "
-                        + context
-                        + " with action "
-                        + action
-                        + " "
-                        + registeredReceiver.broadcastReceiver
-                        + " that was originally registered here:");
-            e.setStackTrace(registeredReceiver.exception.getStackTrace());
-            throw e;
-          }
-        }
+    for (Wrapper registeredReceiver : getReceiversForAction(action)) {
+      if (registeredReceiver.context == context.getBaseContext()
+          && registeredReceiver.intentFilter.hasAction(action)) {
+        RuntimeException e =
+            new IllegalStateException(
+                "Unexpected BroadcastReceiver on "
+                    + context
+                    + " with action "
+                    + action
+                    + " "
+                    + registeredReceiver.broadcastReceiver
+                    + " that was originally registered here:");
+        e.setStackTrace(registeredReceiver.exception.getStackTrace());
+        throw e;
       }
     }
   }
 
+  /**
+   * Returns a snapshot of the registered receivers that may match {@code action}, in registration
+   * order. Callers still need to match each receiver's filter.
+   */
+  private List<Wrapper> getReceiversForAction(String action) {
+    if (action == null) {
+      return registeredReceivers;
+    }
+    List<Wrapper> receivers = registeredReceiversByAction.get(action);
+    return receivers == null ? Collections.emptyList() : receivers;
+  }
+
   /** Returns the BroadcaseReceivers wrappers, matching intent's action and permissions. */
   private List<Wrapper> getAppropriateWrappers(Intent intent, String receiverPermission) {
     broadcastIntents.add(intent);
 
     List<Wrapper> result = new ArrayList<>();
 
-    List<Wrapper> copy = new ArrayList<>();
-    copy.addAll(registeredReceivers);
-    for (Wrapper wrapper : copy) {
+    for (Wrapper wrapper : getReceiversForAction(intent.getAction())) {
       if (hasMatchingPermission(wrapper.broadcastPermission, receiverPermission)
           && wrapper.intentFilter.matchAction(intent.getAction())) {
         final int match =
@@ -379,6 +392,10 @@ public class ShadowInstrumentation {
   }
 
   private void sortByPriority(List<Wrapper> wrappers) {
+    if (isSortedByPriority(wrappers)) {
+      // common case of receivers registered with unchanged, equal or decreasing priorities
+      return;
+    }
     Collections.sort(
         wrappers,
         new Comparator<Wrapper>() {
@@ -390,6 +407,16 @@ public class ShadowInstrumentation {
         });
   }
 
+  private static boolean isSortedByPriority(List<Wrapper> wrappers) {
+    for (int i = 1; i < wrappers.size(); i++) {
+      if (wrappers.get(i - 1).getIntentFilter().getPriority()
+          < wrappers.get(i).getIntentFilter().getPriority()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   List<Intent> getBroadcastIntents() {
     return broadcastIntents;
   }
@@ -617,16 +644,49 @@ public class ShadowInstrumentation {
       Handler scheduler,
       Context context) {
     if (receiver != null) {
-      registeredReceivers.add(
-          new Wrapper(receiver, filter, context, broadcastPermission, scheduler));
+      addRegisteredReceiver(new Wrapper(receiver, filter, context, broadcastPermission, scheduler));
     }
     return processStickyIntents(filter, receiver, context);
   }
 
+  private synchronized void addRegisteredReceiver(Wrapper wrapper) {
+    registeredReceivers.add(wrapper);
+    Iterator<String> actions =
+        wrapper.intentFilter == null ? null : wrapper.intentFilter.actionsIterator();
+    if (actions != null) {
+      while (actions.hasNext()) {
+        registeredReceiversByAction
+            .computeIfAbsent(actions.next(), action -> new CopyOnWriteArrayList<>())
+            .add(wrapper);
+      }
+    }
+  }
+
+  private synchronized boolean removeRegisteredReceiver(BroadcastReceiver broadcastReceiver) {
+    List<Wrapper> removed = new ArrayList<>();
+    for (Wrapper wrapper : registeredReceivers) {
+      if (wrapper.broadcastReceiver == broadcastReceiver) {
+        removed.add(wrapper);
+      }
+    }
+    if (removed.isEmpty()) {
+      return false;
+    }
+    registeredReceivers.removeAll(removed);
+    Iterator<List<Wrapper>> receiversByAction = registeredReceiversByAction.values().iterator();
+    while (receiversByAction.hasNext()) {
+      List<Wrapper> receivers = receiversByAction.next();
+      if (receivers.removeAll(removed) && receivers.isEmpty()) {
+        receiversByAction.remove();
+      }
+    }
+    return true;
+  }
+
   private Intent processStickyIntents(
       IntentFilter filter, BroadcastReceiver receiver, Context context) {
     Intent result = null;
-    for (Intent stickyIntent : stickyIntents.values()) {
+    for (Intent stickyIntent : getStickyIntentsForFilter(filter)) {
       if (filter.matchAction(stickyIntent.getAction())) {
         if (result == null) {
           result = stickyIntent;
@@ -643,17 +703,20 @@ public class ShadowInstrumentation {
     return result;
   }
 
-  void unregisterReceiver(BroadcastReceiver broadcastReceiver) {
-    boolean found = false;
-    Iterator<Wrapper> iterator = registeredReceivers.iterator();
-    while (iterator.hasNext()) {
-      Wrapper wrapper = iterator.next();
-      if (wrapper.broadcastReceiver == broadcastReceiver) {
-        iterator.remove();
-        found = true;
-      }
+  /** Returns the sticky intents that may match {@code filter}, in the order they were sent. */
+  private Collection<Intent> getStickyIntentsForFilter(IntentFilter filter) {
+    if (stickyIntents.size() <= 1 || filter.countActions() != 1) {
+      return stickyIntents.values();
     }
-    if (!found) {
+    // a single action can only match the one sticky intent stored for it
+    Intent stickyIntent = stickyIntents.get(filter.getAction(0));
+    return stickyIntent == null
+        ? Collections.<Intent>emptyList()
+        : Collections.singletonList(stickyIntent);
+  }
+
+  void unregisterReceiver(BroadcastReceiver broadcastReceiver) {
+    if (!removeRegisteredReceiver(broadcastReceiver)) {
       throw new IllegalArgumentException("Receiver not registered: " + broadcastReceiver);
     }
   }
@@ -661,7 +724,7 @@ public class ShadowInstrumentation {
   /** @deprecated use PackageManager.queryBroadcastReceivers instead */
   @Deprecated
   boolean hasReceiverForIntent(Intent intent) {
-    for (Wrapper wrapper : registeredReceivers) {
+    for (Wrapper wrapper : getReceiversForAction(intent.getAction())) {
       if (wrapper.intentFilter.matchAction(intent.getAction())) {
         return true;
       }
@@ -673,7 +736,7 @@ public class ShadowInstrumentation {
   @Deprecated
   List<BroadcastReceiver> getReceiversForIntent(Intent intent) {
     ArrayList<BroadcastReceiver> broadcastReceivers = new ArrayList<>();
-    for (Wrapper wrapper : registeredReceivers) {
+    for (Wrapper wrapper : getReceiversForAction(intent.getAction())) {
       if (wrapper.intentFilter.matchAction(intent.getAction())) {
         broadcastReceivers.add(wrapper.getBroadcastReceiver());
       }
@@ -681,9 +744,9 @@ public class ShadowInstrumentation {
     return broadcastReceivers;
   }
 
-  /** @return list of {@link Wrapper}s for registered receivers */
+  /** @return unmodifiable list of {@link Wrapper}s for registered receivers */
   List<Wrapper> getRegisteredReceivers() {
-    return registeredReceivers;
+    return Collections.unmodifiableList(registeredReceivers);
   }
 
   int checkPermission(String permission, int pid, int uid) {
@@ -4,26 +4,51 @@ import android.util.Log;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
 import org.robolectric.annotation.Implementation;
 import org.robolectric.annotation.Implements;
 import org.robolectric.annotation.Resetter;
 
+/**
+ * Captures log calls for {@link #getLogs()}, and prints them to {@link #stream} if set.
+ *
+ * <p>For chatty code under test, the number of captured log items can be bounded with {@link
+ * #setCaptureLimit(int)}, logs below a level can be dropped before being captured with {@link
+ * #setCaptureLevel}, and {@link #setStreamAsync(boolean)} moves printing to a background thread.
+ */
 @Implements(Log.class)
 public class ShadowLog {
+  /** Value of {@link #setCaptureLimit(int)} for capturing all logs. */
+  public static final int UNBOUNDED_CAPTURE = -1;
+
+  private static final int DEFAULT_CAPTURE_LIMIT =
+      Integer.getInteger("robolectric.logging.captureLimit", UNBOUNDED_CAPTURE);
+  private static final boolean DEFAULT_STREAM_ASYNC =
+      Boolean.getBoolean("robolectric.logging.async");
+
   private static final int extraLogLength = "l/: \n".length();
-  private static final Map<String, Queue<LogItem>> logsByTag = Collections.synchronizedMap(new
-      HashMap<String, Queue<LogItem>>());
-  private static final Queue<LogItem> logs = new ConcurrentLinkedQueue<>();
+  // both guarded by logs
+  private static final Map<String, ArrayDeque<LogItem>> logsByTag = new HashMap<>();
+  private static final ArrayDeque<LogItem> logs = new ArrayDeque<>();
   public static PrintStream stream;
   private static final Map<String, Integer> tagToLevel = Collections.synchronizedMap(new
       HashMap<String, Integer>());
+  private static final Map<String, Integer> tagToCaptureLevel = Collections.synchronizedMap(new
+      HashMap<String, Integer>());
+  private static volatile int captureLevel = Log.VERBOSE;
+  private static volatile int captureLimit = DEFAULT_CAPTURE_LIMIT;
+  private static volatile boolean streamAsync = DEFAULT_STREAM_ASYNC;
+  private static final AsyncStreamWriter asyncStreamWriter = new AsyncStreamWriter();
 
   /**
    * Whether calling {@link Log#wtf} will throw {@link TerribleFailure}. This is analogous to
@@ -133,30 +158,118 @@ public class ShadowLog {
     tagToLevel.put(tag, level);
   }
 
-  private static int addLog(int level, String tag, String msg, Throwable throwable) {
-    if (stream != null) {
-      logToStream(stream, level, tag, msg, throwable);
+  /**
+   * Drops logs below {@code level}, from {@link android.util.Log}, instead of capturing or printing
+   * them, for tags without a level set with {@link #setCaptureLevel(String, int)}.
+   */
+  public static void setCaptureLevel(int level) {
+    captureLevel = level;
+  }
+
+  /**
+   * Drops logs of {@code tag} below {@code level}, from {@link android.util.Log}, instead of
+   * capturing or printing them.
+   */
+  public static void setCaptureLevel(String tag, int level) {
+    tagToCaptureLevel.put(tag, level);
+  }
+
+  /**
+   * Keeps only the latest {@code limit} log items, dropping older ones as new ones are logged, or
+   * all of them for {@link #UNBOUNDED_CAPTURE}, the default unless set with the {@code
+   * robolectric.logging.captureLimit} system property.
+   */
+  public static void setCaptureLimit(int limit) {
+    synchronized (logs) {
+      captureLimit = limit;
+      trimLogs();
     }
+  }
 
-    LogItem item = new LogItem(level, tag, msg, throwable);
-    Queue<LogItem> itemList;
+  /**
+   * Sets whether logs are printed to {@link #stream} by a background thread, in batches, instead
+   * of by the logging thread. Enabled by default with the {@code robolectric.logging.async} system
+   * property. Each batch is printed to whichever stream is set when the background thread writes
+   * it, not when the logs were made. All pending logs are written by {@link #flushStream()}, and
+   * when logs are reset, which also stops the thread until the next log.
+   */
+  public static void setStreamAsync(boolean async) {
+    if (streamAsync && !async) {
+      flushStream();
+    }
+    streamAsync = async;
+  }
 
-    synchronized (logsByTag) {
-      if (!logsByTag.containsKey(tag)) {
-        itemList = new ConcurrentLinkedQueue<>();
-        logsByTag.put(tag, itemList);
+  /** Writes logs pending for the background thread to {@link #stream}, see {@link #setStreamAsync}. */
+  public static void flushStream() {
+    asyncStreamWriter.flush();
+  }
+
+  private static int addLog(int level, String tag, String msg, Throwable throwable) {
+    if (level < getCaptureLevel(tag)) {
+      return 0;
+    }
+
+    LogItem item = captureLimit == 0 ? null : new LogItem(level, tag, msg, throwable);
+    if (stream != null) {
+      if (streamAsync) {
+        asyncStreamWriter.enqueue(item != null ? item : new LogItem(level, tag, msg, throwable));
       } else {
-        itemList = logsByTag.get(tag);
+        logToStream(stream, level, tag, msg, throwable);
       }
     }
+    if (item == null) {
+      return 0;
+    }
 
-    itemList.add(item);
-    logs.add(item);
+    synchronized (logs) {
+      ArrayDeque<LogItem> itemList = logsByTag.get(tag);
+      if (itemList == null) {
+        itemList = new ArrayDeque<>();
+        logsByTag.put(tag, itemList);
+      }
+      itemList.add(item);
+      logs.add(item);
+      trimLogs();
+    }
 
     return 0;
   }
 
+  private static int getCaptureLevel(String tag) {
+    if (!tagToCaptureLevel.isEmpty()) {
+      Integer level = tagToCaptureLevel.get(tag);
+      if (level != null) {
+        return level;
+      }
+    }
+    return captureLevel;
+  }
+
+  /** Drops the oldest log items beyond the capture limit, must hold the lock on logs. */
+  private static void trimLogs() {
+    if (captureLimit < 0) {
+      return;
+    }
+    while (logs.size() > captureLimit) {
+      LogItem oldest = logs.poll();
+      // items of a tag are dropped in the same order as they were added
+      ArrayDeque<LogItem> itemList = logsByTag.get(oldest.tag);
+      itemList.poll();
+      if (itemList.isEmpty()) {
+        logsByTag.remove(oldest.tag);
+      }
+    }
+  }
+
   private static void logToStream(PrintStream ps, int level, String tag, String msg, Throwable throwable) {
+    ps.println(levelChar(level) + "/" + tag + ": " + msg);
+    if (throwable != null) {
+      throwable.printStackTrace(ps);
+    }
+  }
+
+  private static char levelChar(int level) {
     final char c;
     switch (level) {
       case Log.ASSERT: c = 'A'; break;
@@ -167,10 +280,7 @@ public class ShadowLog {
       case Log.VERBOSE:c = 'V'; break;
       default:         c = '?';
     }
-    ps.println(c + "/" + tag + ": " + msg);
-    if (throwable != null) {
-      throwable.printStackTrace(ps);
-    }
+    return c;
   }
 
   /**
@@ -178,7 +288,9 @@ public class ShadowLog {
    * @return List of log items
    */
   public static List<LogItem> getLogs() {
-    return new ArrayList<>(logs);
+    synchronized (logs) {
+      return new ArrayList<>(logs);
+    }
   }
 
   /**
@@ -188,8 +300,10 @@ public class ShadowLog {
    * @return The list of log items for the tag or an empty list if no logs for that tag exist.
    */
   public static List<LogItem> getLogsForTag(String tag) {
-    Queue<LogItem> logs = logsByTag.get(tag);
-    return logs == null ? Collections.emptyList() : new ArrayList<>(logs);
+    synchronized (logs) {
+      ArrayDeque<LogItem> itemList = logsByTag.get(tag);
+      return itemList == null ? Collections.emptyList() : new ArrayList<>(itemList);
+    }
   }
 
   /** Clear all accumulated logs. */
@@ -199,9 +313,16 @@ public class ShadowLog {
 
   @Resetter
   public static void reset() {
-    logs.clear();
-    logsByTag.clear();
+    asyncStreamWriter.stop();
+    synchronized (logs) {
+      logs.clear();
+      logsByTag.clear();
+      captureLimit = DEFAULT_CAPTURE_LIMIT;
+    }
     tagToLevel.clear();
+    tagToCaptureLevel.clear();
+    captureLevel = Log.VERBOSE;
+    streamAsync = DEFAULT_STREAM_ASYNC;
     wtfIsFatal = false;
   }
 
@@ -279,6 +400,122 @@ public class ShadowLog {
     }
   }
 
+  /**
+   * Prints logs to {@link #stream} on a daemon thread, formatting and writing each batch of logs
+   * pending at once. The thread is stopped on {@link #reset()}, so that it doesn't outlive the
+   * sandbox, and started again by the next log.
+   */
+  private static class AsyncStreamWriter implements Runnable {
+    // log items, and latches counted down once the items before them are written
+    private final BlockingQueue<Object> pending = new LinkedBlockingQueue<>();
+    // guarded by this
+    private Thread thread;
+
+    void enqueue(LogItem item) {
+      pending.add(item);
+      ensureStarted();
+    }
+
+    /** Blocks until all logs enqueued so far are written. */
+    void flush() {
+      CountDownLatch written = new CountDownLatch(1);
+      synchronized (this) {
+        if (thread == null) {
+          return;
+        }
+        // queued under the lock, so it's always ahead of the latch of a concurrent stop()
+        pending.add(written);
+      }
+      await(written);
+    }
+
+    /** Blocks until all logs enqueued so far are written, and stops the thread. */
+    void stop() {
+      CountDownLatch stopped = new StopLatch();
+      Thread stoppedThread;
+      synchronized (this) {
+        if (thread == null) {
+          return;
+        }
+        stoppedThread = thread;
+        thread = null;
+        pending.add(stopped);
+      }
+      await(stopped);
+      try {
+        stoppedThread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private static void await(CountDownLatch latch) {
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private synchronized void ensureStarted() {
+      if (thread == null) {
+        thread = new Thread(this, "ShadowLog stream writer");
+        thread.setDaemon(true);
+        thread.start();
+      }
+    }
+
+    @Override
+    public void run() {
+      List<Object> batch = new ArrayList<>();
+      StringWriter formatted = new StringWriter();
+      PrintWriter writer = new PrintWriter(formatted);
+      while (true) {
+        try {
+          batch.add(pending.take());
+        } catch (InterruptedException e) {
+          return;
+        }
+        pending.drainTo(batch);
+        PrintStream ps = stream;
+        boolean stop = false;
+        for (Object entry : batch) {
+          if (entry instanceof CountDownLatch) {
+            write(ps, formatted, writer);
+            ((CountDownLatch) entry).countDown();
+            stop |= entry instanceof StopLatch;
+          } else if (ps != null) {
+            LogItem item = (LogItem) entry;
+            writer.println(levelChar(item.type) + "/" + item.tag + ": " + item.msg);
+            if (item.throwable != null) {
+              item.throwable.printStackTrace(writer);
+            }
+          }
+        }
+        write(ps, formatted, writer);
+        batch.clear();
+        if (stop) {
+          return;
+        }
+      }
+    }
+
+    private static class StopLatch extends CountDownLatch {
+      StopLatch() {
+        super(1);
+      }
+    }
+
+    private static void write(PrintStream ps, StringWriter formatted, PrintWriter writer) {
+      writer.flush();
+      if (ps != null && formatted.getBuffer().length() > 0) {
+        ps.print(formatted);
+        ps.flush();
+      }
+      formatted.getBuffer().setLength(0);
+    }
+  }
+
   /**
    * Failure thrown when wtf_is_fatal is true and Log.wtf is called. This is a parallel
    * implementation of framework's hidden API {@link android.util.Log#TerribleFailure}, to allow
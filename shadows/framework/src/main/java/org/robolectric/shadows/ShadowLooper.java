@@ -25,6 +25,13 @@ import org.robolectric.util.Scheduler;
  * (on this thread) later. {@code Runnable}s that are scheduled to run immediately can be
  * triggered by calling {@link #idle()}.
  *
+ * <p>When {@link RoboSettings#isUseRealBackgroundLoopers()} is enabled, loopers prepared on
+ * background threads instead dispatch their messages on their own thread, as soon as they are due
+ * at the current time of the looper's {@link Scheduler}. Advancing that scheduler, e.g. with {@link
+ * #idle(long, TimeUnit)} on such a looper, releases delayed messages, and {@link
+ * #idleBackgroundLoopers()} waits for all of them to be handled. Tests must not block a looper
+ * thread waiting on the main thread while it waits for that looper, or they deadlock.
+ *
  * @see ShadowMessageQueue
  */
 @Implements(Looper.class)
@@ -42,7 +49,10 @@ public class ShadowLooper {
 
   private @RealObject Looper realObject;
 
-  boolean quit;
+  private Thread looperThread;
+
+  // volatile so that a looper thread dispatching its queue sees it without locking the looper
+  volatile boolean quit;
 
   @Resetter
   public static synchronized void resetThreadLoopers() {
@@ -79,9 +89,13 @@ public class ShadowLooper {
     if (isMainThread()) {
       mainLooper = realObject;
     } else {
-      loopingLoopers.put(Thread.currentThread(), realObject);
+      looperThread = Thread.currentThread();
+      loopingLoopers.put(looperThread, realObject);
     }
     resetScheduler();
+    if (looperThread != null && RoboSettings.isUseRealBackgroundLoopers()) {
+      shadowOf(realObject.getQueue()).setDispatchedOnLooperThread(true);
+    }
   }
 
   @Implementation
@@ -100,7 +114,14 @@ public class ShadowLooper {
   }
 
   private void doLoop() {
-    if (realObject != Looper.getMainLooper()) {
+    ShadowMessageQueue shadowQueue = shadowOf(realObject.getQueue());
+    if (shadowQueue.isDispatchedOnLooperThread()) {
+      try {
+        shadowQueue.dispatchOnLooperThread(this);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } else if (realObject != Looper.getMainLooper()) {
       synchronized (realObject) {
         while (!quit) {
           try {
@@ -130,6 +151,15 @@ public class ShadowLooper {
       getScheduler().reset();
       shadowOf(realObject.getQueue()).reset();
     }
+    // notified outside of the looper's lock, a looper thread checks for quit holding the queue's
+    MessageQueue queue = realObject.getQueue();
+    synchronized (queue) {
+      queue.notifyAll();
+    }
+  }
+
+  boolean isLooperThreadAlive() {
+    return looperThread != null && looperThread.isAlive();
   }
 
   public boolean hasQuit() {
@@ -213,6 +243,35 @@ public class ShadowLooper {
     getShadowMainLooper().idleConstantly(shouldIdleConstantly);
   }
 
+  /**
+   * Waits until every background looper dispatching on its own thread has handled all messages due
+   * at the current virtual time. Loopers that have quit, or whose thread has died, aren't waited
+   * for.
+   *
+   * @see RoboSettings#isUseRealBackgroundLoopers()
+   */
+  public static void idleBackgroundLoopers() {
+    try {
+      boolean waited;
+      do {
+        // handling a message may post to another looper, so repeat until all of them are idle
+        waited = false;
+        Looper[] loopers;
+        synchronized (loopingLoopers) {
+          loopers = loopingLoopers.values().toArray(new Looper[0]);
+        }
+        for (Looper looper : loopers) {
+          ShadowMessageQueue shadowQueue = shadowOf(looper.getQueue());
+          if (shadowQueue.isDispatchedOnLooperThread()) {
+            waited |= shadowQueue.awaitDispatchedOnLooperThread(shadowOf(looper));
+          }
+        }
+      } while (waited);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
   public static void runMainLooperOneTask() {
     getShadowMainLooper().runOneTask();
   }
@@ -270,7 +329,13 @@ public class ShadowLooper {
    * advancing the scheduler's clock.
    */
   public void idle(long amount, TimeUnit unit) {
-    getScheduler().advanceBy(amount, unit);
+    if (shadowOf(realObject.getQueue()).isDispatchedOnLooperThread()) {
+      // advancing the scheduler wakes up the looper thread, which dispatches what became due
+      getScheduler().advanceBy(amount, unit);
+      idleBackgroundLoopers();
+    } else {
+      getScheduler().advanceBy(amount, unit);
+    }
   }
 
   public void idleConstantly(boolean shouldIdleConstantly) {
@@ -366,7 +431,7 @@ public class ShadowLooper {
     if (realObject == Looper.getMainLooper() || RoboSettings.isUseGlobalScheduler()) {
       shadowMessageQueue.setScheduler(RuntimeEnvironment.getMasterScheduler());
     } else {
-      shadowMessageQueue.setScheduler(new Scheduler());
+      shadowMessageQueue.setScheduler(RoboSettings.newScheduler());
     }
   }
 
@@ -15,6 +15,7 @@ import static org.robolectric.util.ReflectionHelpers.setField;
 import android.os.Handler;
 import android.os.Message;
 import android.os.MessageQueue;
+import android.os.SystemClock;
 import java.util.ArrayList;
 import org.robolectric.annotation.HiddenApi;
 import org.robolectric.annotation.Implementation;
@@ -29,16 +30,46 @@ import org.robolectric.util.Scheduler;
  * them to be handled on a separate thread. {@link android.os.Message}s that are scheduled to
  * be dispatched can be triggered by calling {@link ShadowLooper#idleMainLooper}.
  *
+ * <p>Queues of background loopers can instead be dispatched by their own thread, see {@link
+ * org.robolectric.RoboSettings#isUseRealBackgroundLoopers()}. Messages then stay in the real
+ * queue until they are due at the current time of the looper's {@link Scheduler}, and the looper
+ * thread is woken up whenever that time changes.
+ *
  * @see ShadowLooper
  */
 @Implements(MessageQueue.class)
 public class ShadowMessageQueue {
 
+  /**
+   * How often a thread waiting for the looper thread checks that it's still alive, in case it died
+   * without looping.
+   */
+  private static final long LOOPER_THREAD_CHECK_INTERVAL_MILLIS = 100;
+
   @RealObject
   private MessageQueue realQueue;
 
   private Scheduler scheduler;
 
+  /** Whether messages are dispatched by the looper's own thread rather than the scheduler. */
+  private boolean dispatchedOnLooperThread;
+  /** Whether the looper's thread is currently dispatching a message, guarded by the queue. */
+  private boolean dispatching;
+  /** Whether the looper's thread has stopped dispatching, guarded by the queue. */
+  private boolean dispatchLoopExited;
+
+  /** Wakes up the looper thread, which may be waiting for a message to become due. */
+  @SuppressWarnings("SynchronizeOnNonFinalField")
+  private final Runnable wakeLooperThread =
+      new Runnable() {
+        @Override
+        public void run() {
+          synchronized (realQueue) {
+            realQueue.notifyAll();
+          }
+        }
+      };
+
   // Stub out the native peer - scheduling
   // is handled by the Scheduler class which is user-driven
   // rather than automatic.
@@ -74,7 +105,28 @@ public class ShadowMessageQueue {
   }
 
   public void setScheduler(Scheduler scheduler) {
+    if (this.scheduler != null) {
+      this.scheduler.removeTimeListener(wakeLooperThread);
+    }
     this.scheduler = scheduler;
+    if (dispatchedOnLooperThread) {
+      scheduler.addTimeListener(wakeLooperThread);
+    }
+  }
+
+  void setDispatchedOnLooperThread(boolean dispatchedOnLooperThread) {
+    this.dispatchedOnLooperThread = dispatchedOnLooperThread;
+    if (scheduler != null) {
+      scheduler.removeTimeListener(wakeLooperThread);
+      if (dispatchedOnLooperThread) {
+        scheduler.addTimeListener(wakeLooperThread);
+      }
+    }
+  }
+
+  /** Returns true if messages of this queue are dispatched by its looper's own thread. */
+  public boolean isDispatchedOnLooperThread() {
+    return dispatchedOnLooperThread;
   }
 
   public Message getHead() {
@@ -94,8 +146,18 @@ public class ShadowMessageQueue {
   @Implementation
   @SuppressWarnings("SynchronizeOnNonFinalField")
   protected boolean enqueueMessage(final Message msg, long when) {
+    if (dispatchedOnLooperThread && when != 0) {
+      // Handlers compute when from SystemClock, which follows the main looper's scheduler; the
+      // message is due after the same delay on this looper's scheduler
+      when = scheduler.getCurrentTime() + (when - SystemClock.uptimeMillis());
+    }
     final boolean retval = directlyOn(realQueue, MessageQueue.class, "enqueueMessage", from(Message.class, msg), from(long.class, when));
-    if (retval) {
+    if (retval && dispatchedOnLooperThread) {
+      synchronized (realQueue) {
+        // wake up the looper thread, it picks the message up from the real queue
+        realQueue.notifyAll();
+      }
+    } else if (retval) {
       final Runnable callback = new Runnable() {
         @Override
         public void run() {
@@ -133,6 +195,92 @@ public class ShadowMessageQueue {
     return retval;
   }
 
+  /**
+   * Dispatches due messages on the calling thread, which must be the looper's thread, until {@code
+   * looper} quits. Used when {@link #isDispatchedOnLooperThread()}.
+   */
+  void dispatchOnLooperThread(ShadowLooper looper) throws InterruptedException {
+    synchronized (realQueue) {
+      dispatchLoopExited = false;
+    }
+    try {
+      while (true) {
+        Message msg;
+        synchronized (realQueue) {
+          dispatching = false;
+          realQueue.notifyAll();
+          while ((msg = pollDueMessage()) == null) {
+            if (looper.quit) {
+              return;
+            }
+            // woken up by new messages, by the scheduler's time changing, and by quitting
+            realQueue.wait();
+          }
+          dispatching = true;
+        }
+        dispatchMessage(msg);
+      }
+    } finally {
+      synchronized (realQueue) {
+        dispatching = false;
+        dispatchLoopExited = true;
+        realQueue.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Blocks until the looper's thread has dispatched all messages due at the scheduler's current
+   * time, unless it has quit or died.
+   *
+   * @return true if any message had to be waited for
+   */
+  boolean awaitDispatchedOnLooperThread(ShadowLooper looper) throws InterruptedException {
+    boolean waited = false;
+    synchronized (realQueue) {
+      // the looper thread notifies after each message, and when it stops
+      while ((dispatching || findDueMessage() != null)
+          && !looper.quit
+          && !dispatchLoopExited
+          && looper.isLooperThreadAlive()) {
+        waited = true;
+        realQueue.wait(LOOPER_THREAD_CHECK_INTERVAL_MILLIS);
+      }
+    }
+    return waited;
+  }
+
+  /** Returns the first message due at the scheduler's current time, honoring sync barriers. */
+  private Message findDueMessage() {
+    long now = scheduler.getCurrentTime();
+    Message msg = getHead();
+    if (msg != null && msg.getTarget() == null) {
+      // sync barrier, only asynchronous messages may be dispatched
+      do {
+        msg = shadowOf(msg).getNext();
+      } while (msg != null && !msg.isAsynchronous());
+    }
+    return msg != null && msg.getWhen() <= now ? msg : null;
+  }
+
+  /** Removes and returns the first due message from the real queue, see {@link #findDueMessage}. */
+  private Message pollDueMessage() {
+    Message msg = findDueMessage();
+    if (msg == null) {
+      return null;
+    }
+    Message previous = null;
+    for (Message m = getHead(); m != msg; m = shadowOf(m).getNext()) {
+      previous = m;
+    }
+    if (previous == null) {
+      setHead(shadowOf(msg).getNext());
+    } else {
+      shadowOf(previous).setNext(shadowOf(msg).getNext());
+    }
+    return msg;
+  }
+
   private static void dispatchMessage(Message msg) {
     final Handler target = msg.getTarget();
 
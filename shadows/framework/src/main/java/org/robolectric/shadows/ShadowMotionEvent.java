@@ -23,7 +23,6 @@ import android.view.MotionEvent.PointerCoords;
 import android.view.MotionEvent.PointerProperties;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
-import java.util.List;
 import org.robolectric.RuntimeEnvironment;
 import org.robolectric.annotation.HiddenApi;
 import org.robolectric.annotation.Implementation;
@@ -108,19 +107,32 @@ public class ShadowMotionEvent {
     checkNotNull(pointerPropertiesObj, "pointerProperties must not be null");
   }
 
-  private static NativeInput.PointerCoords pointerCoordsToNative(
-      PointerCoords pointerCoordsObj, float xOffset, float yOffset) {
-    NativeInput.PointerCoords outRawPointerCoords = new NativeInput.PointerCoords();
-    outRawPointerCoords.clear();
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_X, pointerCoordsObj.x - xOffset);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_Y, pointerCoordsObj.y - yOffset);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_PRESSURE, pointerCoordsObj.pressure);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_SIZE, pointerCoordsObj.size);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_TOUCH_MAJOR, pointerCoordsObj.touchMajor);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_TOUCH_MINOR, pointerCoordsObj.touchMinor);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_TOOL_MAJOR, pointerCoordsObj.toolMajor);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_TOOL_MINOR, pointerCoordsObj.toolMinor);
-    outRawPointerCoords.setAxisValue(AMOTION_EVENT_AXIS_ORIENTATION, pointerCoordsObj.orientation);
+  /** Writes the axis values of a pointer into the sample of {@code event} at {@code historyPos}. */
+  private static void pointerCoordsToNative(
+      PointerCoords pointerCoordsObj,
+      float xOffset,
+      float yOffset,
+      NativeInput.MotionEvent event,
+      int pointerIndex,
+      int historyPos) {
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_X, pointerIndex, historyPos, pointerCoordsObj.x - xOffset);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_Y, pointerIndex, historyPos, pointerCoordsObj.y - yOffset);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_PRESSURE, pointerIndex, historyPos, pointerCoordsObj.pressure);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_SIZE, pointerIndex, historyPos, pointerCoordsObj.size);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_TOUCH_MAJOR, pointerIndex, historyPos, pointerCoordsObj.touchMajor);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_TOUCH_MINOR, pointerIndex, historyPos, pointerCoordsObj.touchMinor);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_TOOL_MAJOR, pointerIndex, historyPos, pointerCoordsObj.toolMajor);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_TOOL_MINOR, pointerIndex, historyPos, pointerCoordsObj.toolMinor);
+    event.setHistoricalRawAxisValue(
+        AMOTION_EVENT_AXIS_ORIENTATION, pointerIndex, historyPos, pointerCoordsObj.orientation);
     long packedAxisBits = ReflectionHelpers.getField(pointerCoordsObj, "mPackedAxisBits");
     NativeBitSet64 bits = new NativeBitSet64(packedAxisBits);
     if (!bits.isEmpty()) {
@@ -129,11 +141,10 @@ public class ShadowMotionEvent {
         int index = 0;
         do {
           int axis = bits.clearFirstMarkedBit();
-          outRawPointerCoords.setAxisValue(axis, valuesArray[index++]);
+          event.setHistoricalRawAxisValue(axis, pointerIndex, historyPos, valuesArray[index++]);
         } while (!bits.isEmpty());
       }
     }
-    return outRawPointerCoords;
   }
 
   private static float[] obtainPackedAxisValuesArray(
@@ -155,21 +166,33 @@ public class ShadowMotionEvent {
   }
 
   private static void pointerCoordsFromNative(
-      NativeInput.PointerCoords rawPointerCoords,
-      float xOffset,
-      float yOffset,
+      NativeInput.MotionEvent event,
+      int pointerIndex,
+      int historyPos,
       PointerCoords outPointerCoordsObj) {
-    outPointerCoordsObj.x = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_X) + xOffset;
-    outPointerCoordsObj.y = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_Y) + yOffset;
-    outPointerCoordsObj.pressure = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_PRESSURE);
-    outPointerCoordsObj.size = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_SIZE);
-    outPointerCoordsObj.touchMajor = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_TOUCH_MAJOR);
-    outPointerCoordsObj.touchMinor = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_TOUCH_MINOR);
-    outPointerCoordsObj.toolMajor = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_TOOL_MAJOR);
-    outPointerCoordsObj.toolMinor = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_TOOL_MINOR);
-    outPointerCoordsObj.orientation = rawPointerCoords.getAxisValue(AMOTION_EVENT_AXIS_ORIENTATION);
+    float xOffset = event.getXOffset();
+    float yOffset = event.getYOffset();
+    outPointerCoordsObj.x =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_X, pointerIndex, historyPos) + xOffset;
+    outPointerCoordsObj.y =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_Y, pointerIndex, historyPos) + yOffset;
+    outPointerCoordsObj.pressure =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_PRESSURE, pointerIndex, historyPos);
+    outPointerCoordsObj.size =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_SIZE, pointerIndex, historyPos);
+    outPointerCoordsObj.touchMajor =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_TOUCH_MAJOR, pointerIndex, historyPos);
+    outPointerCoordsObj.touchMinor =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_TOUCH_MINOR, pointerIndex, historyPos);
+    outPointerCoordsObj.toolMajor =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_TOOL_MAJOR, pointerIndex, historyPos);
+    outPointerCoordsObj.toolMinor =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_TOOL_MINOR, pointerIndex, historyPos);
+    outPointerCoordsObj.orientation =
+        event.getHistoricalRawAxisValue(AMOTION_EVENT_AXIS_ORIENTATION, pointerIndex, historyPos);
     long outBits = 0;
-    NativeBitSet64 bits = new NativeBitSet64(rawPointerCoords.getBits());
+    NativeBitSet64 bits =
+        new NativeBitSet64(event.getHistoricalRawAxisBits(pointerIndex, historyPos));
     bits.clearBit(AMOTION_EVENT_AXIS_X);
     bits.clearBit(AMOTION_EVENT_AXIS_Y);
     bits.clearBit(AMOTION_EVENT_AXIS_PRESSURE);
@@ -187,7 +210,7 @@ public class ShadowMotionEvent {
       do {
         int axis = bits.clearFirstMarkedBit();
         outBits |= NativeBitSet64.valueForBit(axis);
-        outValues[index++] = rawPointerCoords.getAxisValue(axis);
+        outValues[index++] = event.getHistoricalRawAxisValue(axis, pointerIndex, historyPos);
       } while (!bits.isEmpty());
     }
     ReflectionHelpers.setField(outPointerCoordsObj, "mPackedAxisBits", outBits);
@@ -267,11 +290,8 @@ public class ShadowMotionEvent {
       nativePtr = nativeMotionEventRegistry.register(event);
     }
 
-    NativeInput.PointerCoords[] rawPointerCoords = new NativeInput.PointerCoords[pointerCount];
     for (int i = 0; i < pointerCount; i++) {
-      PointerCoords pointerCoordsObj = pointerCoordsObjArray[i];
-      checkNotNull(pointerCoordsObj);
-      rawPointerCoords[i] = pointerCoordsToNative(pointerCoordsObj, xOffset, yOffset);
+      checkNotNull(pointerCoordsObjArray[i]);
     }
 
     event.initialize(
@@ -288,10 +308,12 @@ public class ShadowMotionEvent {
         xPrecision,
         yPrecision,
         downTimeNanos,
-        eventTimeNanos,
         pointerCount,
-        pointerPropertiesObjArray,
-        rawPointerCoords);
+        pointerPropertiesObjArray);
+    int historyPos = event.addSample(eventTimeNanos);
+    for (int i = 0; i < pointerCount; i++) {
+      pointerCoordsToNative(pointerCoordsObjArray[i], xOffset, yOffset, event, i, historyPos);
+    }
     return nativePtr;
   }
 
@@ -322,14 +344,19 @@ public class ShadowMotionEvent {
     NativeInput.MotionEvent event = getNativeMotionEvent(nativePtr);
     int pointerCount = event.getPointerCount();
     validatePointerCoordsObjArray(pointerCoordsObjArray, pointerCount);
-    NativeInput.PointerCoords[] rawPointerCoords = new NativeInput.PointerCoords[pointerCount];
     for (int i = 0; i < pointerCount; i++) {
-      PointerCoords pointerCoordsObj = pointerCoordsObjArray[i];
-      checkNotNull(pointerCoordsObj);
-      rawPointerCoords[i] =
-          pointerCoordsToNative(pointerCoordsObj, event.getXOffset(), event.getYOffset());
+      checkNotNull(pointerCoordsObjArray[i]);
+    }
+    int historyPos = event.addSample(eventTimeNanos);
+    for (int i = 0; i < pointerCount; i++) {
+      pointerCoordsToNative(
+          pointerCoordsObjArray[i],
+          event.getXOffset(),
+          event.getYOffset(),
+          event,
+          i,
+          historyPos);
     }
-    event.addSample(eventTimeNanos, rawPointerCoords);
     event.setMetaState(event.getMetaState() | metaState);
   }
 
@@ -349,16 +376,13 @@ public class ShadowMotionEvent {
     validatePointerIndex(pointerIndex, pointerCount);
     validatePointerCoords(outPointerCoordsObj);
 
-    NativeInput.PointerCoords rawPointerCoords;
+    int historySize = event.getHistorySize();
     if (historyPos == HISTORY_CURRENT) {
-      rawPointerCoords = event.getRawPointerCoords(pointerIndex);
+      historyPos = historySize;
     } else {
-      int historySize = event.getHistorySize();
       validateHistoryPos(historyPos, historySize);
-      rawPointerCoords = event.getHistoricalRawPointerCoords(pointerIndex, historyPos);
     }
-    pointerCoordsFromNative(
-        rawPointerCoords, event.getXOffset(), event.getYOffset(), outPointerCoordsObj);
+    pointerCoordsFromNative(event, pointerIndex, historyPos, outPointerCoordsObj);
   }
 
   @Implementation(maxSdk = KITKAT_WATCH)
@@ -377,9 +401,9 @@ public class ShadowMotionEvent {
     validatePointerIndex(pointerIndex, pointerCount);
     validatePointerProperties(outPointerPropertiesObj);
 
-    PointerProperties pointerProperties = event.getPointerProperties(pointerIndex);
     // pointerPropertiesFromNative(env, pointerProperties, outPointerPropertiesObj);
-    outPointerPropertiesObj.copyFrom(pointerProperties);
+    outPointerPropertiesObj.id = event.getPointerId(pointerIndex);
+    outPointerPropertiesObj.toolType = event.getToolType(pointerIndex);
   }
 
   @Implementation(maxSdk = KITKAT_WATCH)
@@ -939,25 +963,14 @@ public class ShadowMotionEvent {
   @Deprecated
   public MotionEvent setPointer2(float pointer1X, float pointer1Y) {
     NativeInput.MotionEvent event = getNativeMotionEvent();
-    List<NativeInput.PointerCoords> pointerCoords = event.getSamplePointerCoords();
-    List<PointerProperties> pointerProperties = event.getPointerProperties();
-    ensureTwoPointers(pointerCoords, pointerProperties);
+    event.ensurePointerCount(2);
 
-    pointerCoords.get(1).setAxisValue(AMOTION_EVENT_AXIS_X, pointer1X);
-    pointerCoords.get(1).setAxisValue(AMOTION_EVENT_AXIS_Y, pointer1Y);
+    int historyPos = event.getHistorySize();
+    event.setHistoricalRawAxisValue(AMOTION_EVENT_AXIS_X, 1, historyPos, pointer1X);
+    event.setHistoricalRawAxisValue(AMOTION_EVENT_AXIS_Y, 1, historyPos, pointer1Y);
     return realMotionEvent;
   }
 
-  private static void ensureTwoPointers(
-      List<NativeInput.PointerCoords> pointerCoords, List<PointerProperties> pointerProperties) {
-    if (pointerCoords.size() < 2) {
-      pointerCoords.add(new NativeInput.PointerCoords());
-    }
-    if (pointerProperties.size() < 2) {
-      pointerProperties.add(new PointerProperties());
-    }
-  }
-
   /**
    * @deprecated use {@link MotionEvent#obtain} or {@link
    *     androidx.test.core.view.MotionEventBuilder#setPointerAction(int, int)} to create a
@@ -978,11 +991,9 @@ public class ShadowMotionEvent {
   @Deprecated
   public void setPointerIds(int index0PointerId, int index1PointerId) {
     NativeInput.MotionEvent event = getNativeMotionEvent();
-    List<NativeInput.PointerCoords> pointerCoords = event.getSamplePointerCoords();
-    List<PointerProperties> pointerProperties = event.getPointerProperties();
-    ensureTwoPointers(pointerCoords, pointerProperties);
+    event.ensurePointerCount(2);
 
-    pointerProperties.get(0).id = index0PointerId;
-    pointerProperties.get(1).id = index1PointerId;
+    event.setPointerId(0, index0PointerId);
+    event.setPointerId(1, index1PointerId);
   }
 }
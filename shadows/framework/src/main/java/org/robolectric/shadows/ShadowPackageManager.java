@@ -103,6 +103,7 @@ public class ShadowPackageManager {
   static final List<String> systemSharedLibraryNames = new ArrayList<>();
   static final Map<String, PackageInfo> packageInfos = new LinkedHashMap<>();
   static final Map<String, Package> packages = new LinkedHashMap<>();
+  static final PackageIntentIndex packageIntentIndex = new PackageIntentIndex();
   private static Map<String, PackageInfo> packageArchiveInfo = new HashMap<>();
   static final Map<String, PackageStats> packageStatsMap = new HashMap<>();
   static final Map<String, String> packageInstallerMap = new HashMap<>();
@@ -542,6 +543,7 @@ public class ShadowPackageManager {
 
   public void removePackage(String packageName) {
     packages.remove(packageName);
+    packageIntentIndex.removePackage(packageName);
     packageInfos.remove(packageName);
 
     packageSettings.remove(packageName);
@@ -682,6 +684,7 @@ public class ShadowPackageManager {
     deletedPackages.add(packageName);
     packageInfos.remove(packageName);
     packages.remove(packageName);
+    packageIntentIndex.removePackage(packageName);
   }
 
   protected void deletePackage(String packageName, IPackageDeleteObserver observer, int flags) {
@@ -713,6 +716,7 @@ public class ShadowPackageManager {
         deletedPackages.add(packageName);
         packageInfos.remove(packageName);
         packages.remove(packageName);
+        packageIntentIndex.removePackage(packageName);
         resultCode = PackageManager.DELETE_SUCCEEDED;
       }
 
@@ -773,7 +777,12 @@ public class ShadowPackageManager {
             | MATCH_DIRECT_BOOT_UNAWARE
             | MATCH_DIRECT_BOOT_AWARE;
 
-    packages.put(appPackage.packageName, appPackage);
+    if (packages.put(appPackage.packageName, appPackage) == null) {
+      packageIntentIndex.addPackage(appPackage);
+    } else {
+      // a replaced package keeps its original position in installation order
+      packageIntentIndex.rebuild(packages.values());
+    }
     PackageInfo packageInfo;
     if (RuntimeEnvironment.getApiLevel() >= M) {
       packageInfo =
@@ -1126,6 +1135,7 @@ public class ShadowPackageManager {
     systemSharedLibraryNames.clear();
     packageInfos.clear();
     packages.clear();
+    packageIntentIndex.clear();
     packageArchiveInfo.clear();
     packageStatsMap.clear();
     packageInstallerMap.clear();
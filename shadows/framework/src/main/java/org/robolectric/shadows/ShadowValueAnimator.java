@@ -42,6 +42,12 @@ public class ShadowValueAnimator {
     }
   }
 
+  @Implementation
+  protected void start() {
+    ShadowChoreographer.animatorStarted(realObject.getDuration());
+    directlyOn(realObject, ValueAnimator.class).start();
+  }
+
   @Implementation
   protected void setRepeatCount(int count) {
     actualRepeatCount = count;
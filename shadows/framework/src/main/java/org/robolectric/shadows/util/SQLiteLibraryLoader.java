@@ -3,18 +3,29 @@ package org.robolectric.shadows.util;
 import com.almworks.sqlite4java.SQLite;
 import com.almworks.sqlite4java.SQLiteException;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
 import com.google.common.io.ByteSource;
 import com.google.common.io.Files;
 import com.google.common.io.Resources;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Initializes sqlite native libraries.
+ *
+ * <p>The library is extracted once into a directory named after its checksum, under the {@code
+ * robolectric.sqlite.cacheDir} system property or a {@code robolectric-sqlite4java} directory in
+ * the system temporary directory, and reused by later and concurrent JVMs.
  */
 public class SQLiteLibraryLoader {
   private static SQLiteLibraryLoader instance;
@@ -46,6 +57,79 @@ public class SQLiteLibraryLoader {
       return;
     }
     final long startTime = System.currentTimeMillis();
+    try {
+      extractToCache(getCacheRoot(), true);
+    } catch (IOException e) {
+      log("Cannot extract SQLite library into shared cache, using a temporary copy: " + e);
+      loadFromDirectory(extractToTempDir().getParentFile());
+    }
+    logWithTime("SQLite natives prepared in", startTime);
+  }
+
+  /**
+   * Extracts the library into a directory of {@code cacheRoot} named after its checksum, unless a
+   * previous extraction there has the same checksum, and returns it.
+   *
+   * <p>JVMs extracting concurrently are serialized by a lock file, and the library is moved into
+   * place atomically, so that a partially written library is never loaded.
+   */
+  @VisibleForTesting
+  public File extractToCache(File cacheRoot) throws IOException {
+    return extractToCache(cacheRoot, false);
+  }
+
+  private File extractToCache(File cacheRoot, boolean load) throws IOException {
+    ByteSource library = getLibraryByteSource();
+    HashCode checksum = library.hash(Hashing.sha256());
+    File directory = new File(cacheRoot, getNativesResourcesPathPart() + "-" + checksum);
+    if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+      throw new IOException("Cannot create " + directory);
+    }
+    File extractedLibraryPath = new File(directory, getLibName());
+    // File locks are held by the whole JVM, and locking a file twice in it throws
+    // OverlappingFileLockException. Sandboxes have their own copy of this class, but share
+    // sqlite4java's, so its class is the monitor for threads of this JVM.
+    synchronized (SQLite.class) {
+      try (FileChannel lockChannel =
+              FileChannel.open(
+                  new File(directory, getLibName() + ".lock").toPath(),
+                  StandardOpenOption.CREATE,
+                  StandardOpenOption.WRITE);
+          FileLock lock = lockChannel.lock()) {
+        if (!extractedLibraryPath.isFile()
+            || !Files.asByteSource(extractedLibraryPath).hash(Hashing.sha256()).equals(checksum)) {
+          File tempFile = File.createTempFile(getLibName(), ".tmp", directory);
+          try {
+            library.copyTo(Files.asByteSink(tempFile));
+            moveAtomically(tempFile, extractedLibraryPath);
+          } finally {
+            tempFile.delete();
+          }
+        }
+        // loaded while still locked, so another JVM can't replace the verified library first
+        if (load) {
+          loadFromDirectory(directory);
+        }
+      }
+    }
+    return extractedLibraryPath;
+  }
+
+  private static void moveAtomically(File source, File target) throws IOException {
+    try {
+      java.nio.file.Files.move(
+          source.toPath(),
+          target.toPath(),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      // the target is only replaced when its checksum is wrong, so it can't be in use
+      java.nio.file.Files.move(
+          source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  private File extractToTempDir() {
     File tempDir = Files.createTempDir();
     tempDir.deleteOnExit();
     File extractedLibraryPath = new File(tempDir, getLibName());
@@ -54,8 +138,15 @@ public class SQLiteLibraryLoader {
     } catch (IOException e) {
       throw new RuntimeException("Cannot extract SQLite library into " + extractedLibraryPath, e);
     }
-    loadFromDirectory(tempDir);
-    logWithTime("SQLite natives prepared in", startTime);
+    return extractedLibraryPath;
+  }
+
+  private static File getCacheRoot() {
+    String cacheDir = System.getProperty("robolectric.sqlite.cacheDir");
+    if (cacheDir != null) {
+      return new File(cacheDir);
+    }
+    return new File(System.getProperty("java.io.tmpdir"), "robolectric-sqlite4java");
   }
 
   public String getLibClasspathResourceName() {
@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -21,13 +22,24 @@ import org.apache.http.params.HttpParams;
 import org.apache.http.protocol.HttpContext;
 
 public class FakeHttpLayer {
+  /** Value of {@link #setRequestLogSize(int)} for keeping every request and response. */
+  public static final int UNBOUNDED_REQUEST_LOG = -1;
+
   private final List<HttpResponseGenerator> pendingHttpResponses = new ArrayList<>();
   private final List<HttpRequestInfo> httpRequestInfos = new ArrayList<>();
   private final List<HttpResponse> httpResponses = new ArrayList<>();
-  private final List<HttpEntityStub.ResponseRule> httpResponseRules = new ArrayList<>();
+  // rules matching exact request lines, see RuleKey
+  private final Map<String, LinkedList<IndexedResponseRule>> indexedHttpResponseRules =
+      new HashMap<>();
+  // all other rules, most recently added first
+  private final List<IndexedResponseRule> httpResponseRules = new ArrayList<>();
+  private int httpResponseRuleCount;
+  private boolean hasHostPathRules;
   private HttpResponse defaultHttpResponse;
   private boolean interceptHttpRequests = true;
   private boolean logHttpRequests = false;
+  private int requestLogSize =
+      Integer.getInteger("robolectric.fakehttp.requestLogSize", UNBOUNDED_REQUEST_LOG);
   private List<byte[]> httpResposeContent = new ArrayList<>();
   private boolean interceptResponseContent;
 
@@ -82,8 +94,28 @@ public class FakeHttpLayer {
     addHttpResponseRule(new RequestMatcherResponseRule(requestMatcher, responses));
   }
 
+  /**
+   * Adds a response rule, which takes precedence over the rules added before it.
+   *
+   * <p>Rules matching requests by exact method and URI, or by exact method, host and path with a
+   * {@link RequestMatcherBuilder}, are looked up by the request line rather than tried one by one.
+   * Builders are indexed as configured when they are added.
+   */
   public void addHttpResponseRule(HttpEntityStub.ResponseRule responseRule) {
-    httpResponseRules.add(0, responseRule);
+    IndexedResponseRule indexedRule =
+        new IndexedResponseRule(responseRule, httpResponseRuleCount++);
+    String key = RuleKey.of(responseRule);
+    if (key == null) {
+      httpResponseRules.add(0, indexedRule);
+    } else {
+      LinkedList<IndexedResponseRule> rules = indexedHttpResponseRules.get(key);
+      if (rules == null) {
+        rules = new LinkedList<>();
+        indexedHttpResponseRules.put(key, rules);
+      }
+      rules.addFirst(indexedRule);
+      hasHostPathRules |= key.startsWith(RuleKey.HOST_PATH_KEY);
+    }
   }
 
   public void setDefaultHttpResponse(HttpResponse defaultHttpResponse) {
@@ -99,10 +131,9 @@ public class FakeHttpLayer {
       return pendingHttpResponses.remove(0).getResponse(httpRequest);
     }
 
-    for (HttpEntityStub.ResponseRule httpResponseRule : httpResponseRules) {
-      if (httpResponseRule.matches(httpRequest)) {
-        return httpResponseRule.getResponse();
-      }
+    IndexedResponseRule rule = findResponseRule(httpRequest);
+    if (rule != null) {
+      return rule.responseRule.getResponse();
     }
 
     System.err.println("Unexpected HTTP call " + httpRequest.getRequestLine());
@@ -110,6 +141,52 @@ public class FakeHttpLayer {
     return defaultHttpResponse;
   }
 
+  /** Returns the most recently added rule matching {@code httpRequest}. */
+  private IndexedResponseRule findResponseRule(HttpRequest httpRequest) {
+    IndexedResponseRule found = null;
+    if (!indexedHttpResponseRules.isEmpty()) {
+      String method = httpRequest.getRequestLine().getMethod();
+      String uri = httpRequest.getRequestLine().getUri();
+      found = newer(found, findIndexedRule(RuleKey.forUri(uri), httpRequest));
+      found = newer(found, findIndexedRule(RuleKey.forMethodAndUri(method, uri), httpRequest));
+      if (hasHostPathRules) {
+        String hostPathKey = RuleKey.forHostAndPath(method, uri);
+        if (hostPathKey != null) {
+          found = newer(found, findIndexedRule(hostPathKey, httpRequest));
+        }
+      }
+    }
+    // other rules only need to be tried if they were added after the indexed one found
+    for (IndexedResponseRule rule : httpResponseRules) {
+      if (found != null && rule.order < found.order) {
+        break;
+      }
+      if (rule.responseRule.matches(httpRequest)) {
+        return rule;
+      }
+    }
+    return found;
+  }
+
+  private IndexedResponseRule findIndexedRule(String key, HttpRequest httpRequest) {
+    List<IndexedResponseRule> rules = indexedHttpResponseRules.get(key);
+    if (rules != null) {
+      for (IndexedResponseRule rule : rules) {
+        if (rule.responseRule.matches(httpRequest)) {
+          return rule;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static IndexedResponseRule newer(IndexedResponseRule a, IndexedResponseRule b) {
+    if (a == null) {
+      return b;
+    }
+    return b == null || a.order > b.order ? a : b;
+  }
+
   public HttpResponse emulateRequest(HttpHost httpHost, HttpRequest httpRequest, HttpContext httpContext, RequestDirector requestDirector) throws HttpException, IOException {
     if (logHttpRequests) {
       System.out.println("  <-- " + httpRequest.getRequestLine());
@@ -158,11 +235,42 @@ public class FakeHttpLayer {
    * @param requestInfo Request info object to add.
    */
   public void addRequestInfo(HttpRequestInfo requestInfo) {
-    httpRequestInfos.add(requestInfo);
+    addToRequestLog(httpRequestInfos, requestInfo);
   }
 
   public boolean hasResponseRules() {
-    return !httpResponseRules.isEmpty();
+    return !httpResponseRules.isEmpty() || !indexedHttpResponseRules.isEmpty();
+  }
+
+  /**
+   * Limits how many sent requests, responses and intercepted response contents are kept, dropping
+   * the oldest ones beyond that. 0 keeps none, and {@link #UNBOUNDED_REQUEST_LOG}, the default
+   * unless set with the {@code robolectric.fakehttp.requestLogSize} system property, keeps all.
+   *
+   * <p>Tests issuing many requests can use this to avoid holding on to all of them.
+   */
+  public void setRequestLogSize(int requestLogSize) {
+    this.requestLogSize = requestLogSize;
+    trimRequestLog(httpRequestInfos);
+    trimRequestLog(httpResponses);
+    trimRequestLog(httpResposeContent);
+  }
+
+  public int getRequestLogSize() {
+    return requestLogSize;
+  }
+
+  private <T> void addToRequestLog(List<T> log, T item) {
+    if (requestLogSize != 0) {
+      log.add(item);
+      trimRequestLog(log);
+    }
+  }
+
+  private void trimRequestLog(List<?> log) {
+    if (requestLogSize >= 0 && log.size() > requestLogSize) {
+      log.subList(0, log.size() - requestLogSize).clear();
+    }
   }
 
   public boolean hasRequestMatchingRule(RequestMatcher rule) {
@@ -196,6 +304,8 @@ public class FakeHttpLayer {
 
   public void clearHttpResponseRules() {
     httpResponseRules.clear();
+    indexedHttpResponseRules.clear();
+    hasHostPathRules = false;
   }
 
   public void clearPendingHttpResponses() {
@@ -222,11 +332,11 @@ public class FakeHttpLayer {
    * @param response The final response received by the server
    */
   public void addHttpResponse(HttpResponse response) {
-    this.httpResponses.add(response);
+    addToRequestLog(httpResponses, response);
   }
 
   public void addHttpResponseContent(byte[] content) {
-    this.httpResposeContent.add(content);
+    addToRequestLog(httpResposeContent, content);
   }
 
   public List<byte[]> getHttpResposeContentList() {
@@ -272,6 +382,66 @@ public class FakeHttpLayer {
     return interceptResponseContent;
   }
 
+  private static class IndexedResponseRule {
+    private final HttpEntityStub.ResponseRule responseRule;
+    // position in which the rule was added, later rules take precedence
+    private final int order;
+
+    private IndexedResponseRule(HttpEntityStub.ResponseRule responseRule, int order) {
+      this.responseRule = responseRule;
+      this.order = order;
+    }
+  }
+
+  /** Index keys of rules that only match requests with a given request line. */
+  private static class RuleKey {
+    private static final String URI_KEY = "uri ";
+    private static final String METHOD_URI_KEY = "method-uri ";
+    private static final String HOST_PATH_KEY = "host-path ";
+
+    /** Returns the key of {@code responseRule}, or null if it can't be indexed. */
+    static String of(HttpEntityStub.ResponseRule responseRule) {
+      if (!(responseRule instanceof RequestMatcherResponseRule)) {
+        return null;
+      }
+      RequestMatcher matcher = ((RequestMatcherResponseRule) responseRule).requestMatcher;
+      if (matcher instanceof UriRequestMatcher) {
+        return forUri(((UriRequestMatcher) matcher).uri);
+      } else if (matcher instanceof DefaultRequestMatcher) {
+        DefaultRequestMatcher defaultMatcher = (DefaultRequestMatcher) matcher;
+        if (defaultMatcher.method == null || defaultMatcher.uri == null) {
+          return null;
+        }
+        return forMethodAndUri(defaultMatcher.method, defaultMatcher.uri);
+      } else if (matcher != null && matcher.getClass() == RequestMatcherBuilder.class) {
+        RequestMatcherBuilder builder = (RequestMatcherBuilder) matcher;
+        if (builder.method == null || builder.hostname == null || builder.path == null) {
+          return null;
+        }
+        return HOST_PATH_KEY + builder.method + " " + builder.hostname + " " + builder.path;
+      }
+      return null;
+    }
+
+    static String forUri(String uri) {
+      return URI_KEY + uri;
+    }
+
+    static String forMethodAndUri(String method, String uri) {
+      return METHOD_URI_KEY + method + " " + uri;
+    }
+
+    /** Returns the key of a request, or null if its URI can't be parsed. */
+    static String forHostAndPath(String method, String uri) {
+      try {
+        URI parsed = URI.create(uri);
+        return HOST_PATH_KEY + method + " " + parsed.getHost() + " " + parsed.getRawPath();
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+    }
+  }
+
   public static class RequestMatcherResponseRule implements HttpEntityStub.ResponseRule {
     private RequestMatcher requestMatcher;
     private HttpResponse responseToGive;
@@ -0,0 +1,13 @@
+package org.robolectric.shadows.httpclient;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Produces the body of a {@link TestHttpResponse} as it's read, so that large bodies don't need to
+ * be held in memory.
+ */
+public interface HttpResponseBodyGenerator {
+  /** Returns a new stream of the whole body, each time the body is read. */
+  public InputStream generate() throws IOException;
+}
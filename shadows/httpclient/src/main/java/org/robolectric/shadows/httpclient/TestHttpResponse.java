@@ -3,6 +3,9 @@ package org.robolectric.shadows.httpclient;
 import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -23,6 +26,9 @@ public class TestHttpResponse extends HttpResponseStub {
 
   private int statusCode;
   private byte[] responseBody;
+  // when set, the body is streamed from it instead of responseBody
+  private HttpResponseBodyGenerator responseBodyGenerator;
+  private long responseBodyLength;
   private TestStatusLine statusLine = new TestStatusLine();
   private TestHttpEntity httpEntity = new TestHttpEntity();
   private int openEntityContentStreamCount = 0;
@@ -49,8 +55,44 @@ public class TestHttpResponse extends HttpResponseStub {
     this.headers = headers;
   }
 
+  /**
+   * Creates a response whose body is streamed from {@code responseBody} each time it's read,
+   * rather than loaded in memory.
+   */
+  public TestHttpResponse(int statusCode, final File responseBody, Header... headers) {
+    this(
+        statusCode,
+        new HttpResponseBodyGenerator() {
+          @Override
+          public InputStream generate() throws IOException {
+            return new FileInputStream(responseBody);
+          }
+        },
+        responseBody.length(),
+        headers);
+  }
+
+  /**
+   * Creates a response whose body is streamed from {@code responseBodyGenerator} each time it's
+   * read, rather than held in memory.
+   *
+   * @param contentLength the length of the body, or a negative number if unknown
+   */
+  public TestHttpResponse(
+      int statusCode,
+      HttpResponseBodyGenerator responseBodyGenerator,
+      long contentLength,
+      Header... headers) {
+    this.statusCode = statusCode;
+    this.responseBody = new byte[0];
+    this.responseBodyGenerator = responseBodyGenerator;
+    this.responseBodyLength = contentLength;
+    this.headers = headers;
+  }
+
   protected void setResponseBody(String responseBody) {
     this.responseBody = responseBody.getBytes(UTF_8);
+    this.responseBodyGenerator = null;
   }
 
   @Override public StatusLine getStatusLine() {
@@ -186,10 +228,10 @@ public class TestHttpResponse extends HttpResponseStub {
 
   public class TestHttpEntity extends HttpEntityStub {
 
-    private ByteArrayInputStream inputStream;
+    private InputStream inputStream;
 
     @Override public long getContentLength() {
-      return responseBody.length;
+      return responseBodyGenerator != null ? responseBodyLength : responseBody.length;
     }
 
     @Override public Header getContentType() {
@@ -209,8 +251,12 @@ public class TestHttpResponse extends HttpResponseStub {
     }
 
     @Override public InputStream getContent() throws IOException, IllegalStateException {
+      InputStream content =
+          responseBodyGenerator != null
+              ? responseBodyGenerator.generate()
+              : new ByteArrayInputStream(responseBody);
       openEntityContentStreamCount++;
-      inputStream = new ByteArrayInputStream(responseBody) {
+      inputStream = new FilterInputStream(content) {
         @Override
         public void close() throws IOException {
           openEntityContentStreamCount--;
@@ -221,7 +267,17 @@ public class TestHttpResponse extends HttpResponseStub {
     }
 
     @Override public void writeTo(OutputStream outputStream) throws IOException {
-      outputStream.write(responseBody);
+      if (responseBodyGenerator == null) {
+        outputStream.write(responseBody);
+        return;
+      }
+      try (InputStream content = responseBodyGenerator.generate()) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+          outputStream.write(buffer, 0, read);
+        }
+      }
     }
 
     @Override public void consumeContent() throws IOException {
@@ -79,4 +79,46 @@ public class FakeHttpLayerTest {
     assertThat(requestMatcherBuilder.matches(noMatch)).isFalse();
     assertThat(requestMatcherBuilder.matches(match)).isTrue();
   }
+
+  @Test
+  public void emulateRequest_shouldPreferMostRecentlyAddedOfIndexedAndRegexRules() throws Exception {
+    FakeHttpLayer fakeHttpLayer = new FakeHttpLayer();
+    TestHttpResponse exact = new TestHttpResponse(200, "exact");
+    TestHttpResponse regex = new TestHttpResponse(200, "regex");
+    TestHttpResponse builder = new TestHttpResponse(200, "builder");
+
+    fakeHttpLayer.addHttpResponseRule("GET", "http://example.com/a", exact);
+    fakeHttpLayer.addHttpResponseRule(
+        new FakeHttpLayer.UriRegexMatcher("GET", "http://example.com/.*"), regex);
+    assertThat(fakeHttpLayer.emulateRequest(null, new HttpGet("http://example.com/a"), null, null))
+        .isSameAs(regex);
+
+    fakeHttpLayer.addHttpResponseRule(
+        new FakeHttpLayer.RequestMatcherBuilder().method("GET").host("example.com").path("a"),
+        builder);
+    assertThat(
+            fakeHttpLayer.emulateRequest(null, new HttpGet("http://example.com/a?x=1"), null, null))
+        .isSameAs(builder);
+    assertThat(fakeHttpLayer.emulateRequest(null, new HttpGet("http://example.com/b"), null, null))
+        .isSameAs(regex);
+  }
+
+  @Test
+  public void setRequestLogSize_shouldKeepOnlyMostRecentRequests() throws Exception {
+    FakeHttpLayer fakeHttpLayer = new FakeHttpLayer();
+    fakeHttpLayer.setDefaultHttpResponse(200, "ok");
+    fakeHttpLayer.setRequestLogSize(2);
+
+    for (int i = 0; i < 5; i++) {
+      fakeHttpLayer.emulateRequest(null, new HttpGet("http://example.com/" + i), null, null);
+    }
+
+    assertThat(fakeHttpLayer.getSentHttpRequestInfos()).hasSize(2);
+    assertThat(fakeHttpLayer.getSentHttpRequestInfo(0).getHttpRequest().getRequestLine().getUri())
+        .isEqualTo("http://example.com/3");
+    assertThat(fakeHttpLayer.getHttpResponses()).hasSize(2);
+
+    fakeHttpLayer.setRequestLogSize(0);
+    assertThat(fakeHttpLayer.hasRequestInfos()).isFalse();
+  }
 }
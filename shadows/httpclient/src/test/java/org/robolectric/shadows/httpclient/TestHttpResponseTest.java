@@ -1,11 +1,14 @@
 package org.robolectric.shadows.httpclient;
 
 import static com.google.common.truth.Truth.assertThat;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
+import java.io.ByteArrayInputStream;
 import org.apache.http.Header;
 import org.apache.http.HeaderIterator;
 import org.apache.http.HttpResponse;
 import org.apache.http.message.BasicHeader;
+import org.apache.http.util.EntityUtils;
 import org.junit.Test;
 
 public class TestHttpResponseTest {
@@ -122,4 +125,23 @@ public class TestHttpResponseTest {
     assertThat(response.getHeaders("foo")[1].getValue()).isEqualTo("baz");
   }
 
+  @Test
+  public void streamsBodyFromGeneratorEachTimeItIsRead() throws Exception {
+    final int[] generated = {0};
+    TestHttpResponse response =
+        new TestHttpResponse(
+            200,
+            () -> {
+              generated[0]++;
+              return new ByteArrayInputStream("streamed".getBytes(UTF_8));
+            },
+            -1);
+
+    assertThat(generated[0]).isEqualTo(0);
+    assertThat(response.getEntity().getContentLength()).isEqualTo(-1);
+    assertThat(EntityUtils.toString(response.getEntity())).isEqualTo("streamed");
+    assertThat(EntityUtils.toString(response.getEntity())).isEqualTo("streamed");
+    assertThat(generated[0]).isEqualTo(2);
+    assertThat(response.entityContentStreamsHaveBeenClosed()).isTrue();
+  }
 }
@@ -0,0 +1,19 @@
+package org.robolectric.util;
+
+/**
+ * {@link Scheduler} for tests that post and remove large numbers of runnables, such as delayed
+ * handler messages from debouncers, animations or retry loops.
+ *
+ * <p>Runnables scheduled within the next couple of seconds are kept in a timing wheel, so posting
+ * and removing them take constant time instead of a priority queue insertion and a scan of the
+ * whole queue. Runnables posted for the same time still run in the order they were posted.
+ *
+ * <p>Enabled for loopers and the background scheduler with the {@code
+ * robolectric.scheduling.indexed} system property.
+ */
+public class IndexedScheduler extends Scheduler {
+
+  public IndexedScheduler() {
+    super(new TimingWheelRunnableQueue());
+  }
+}
@@ -0,0 +1,48 @@
+package org.robolectric.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Measures allocations with {@link com.sun.management.ThreadMXBean}, and heap usage with
+ * {@link MemoryMXBean} after requesting a garbage collection, so that heap deltas approximate the
+ * memory retained in between.
+ */
+class JvmMemoryMeter implements MemoryMeter {
+  private final com.sun.management.ThreadMXBean threadBean;
+  private final MemoryMXBean memoryBean;
+
+  private JvmMemoryMeter(com.sun.management.ThreadMXBean threadBean, MemoryMXBean memoryBean) {
+    this.threadBean = threadBean;
+    this.memoryBean = memoryBean;
+  }
+
+  /** Returns a meter for this JVM, or {@link MemoryMeter#NONE} if it can't measure allocations. */
+  static MemoryMeter create() {
+    try {
+      java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+      if (threadBean instanceof com.sun.management.ThreadMXBean) {
+        com.sun.management.ThreadMXBean sunThreadBean =
+            (com.sun.management.ThreadMXBean) threadBean;
+        if (sunThreadBean.isThreadAllocatedMemorySupported()) {
+          sunThreadBean.setThreadAllocatedMemoryEnabled(true);
+          return new JvmMemoryMeter(sunThreadBean, ManagementFactory.getMemoryMXBean());
+        }
+      }
+    } catch (LinkageError | UnsupportedOperationException e) {
+      // e.g. on Android, which has no java.lang.management
+    }
+    return NONE;
+  }
+
+  @Override
+  public long allocatedBytes(long threadId) {
+    return Math.max(threadBean.getThreadAllocatedBytes(threadId), 0);
+  }
+
+  @Override
+  public long heapUsedBytes() {
+    System.gc();
+    return memoryBean.getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,292 @@
+package org.robolectric.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds objects from a test, such as Activities, Applications and Bitmaps, which are still
+ * reachable after the test has finished and Robolectric has reset its static state.
+ *
+ * Objects are watched through weak references, so watching them doesn't keep them alive. After the
+ * test, {@link #findLeaks(Collection)} collects garbage, and for each watched object which
+ * survived, searches the static fields of the given classes for the shortest path to it.
+ *
+ * Disabled unless the {@code robolectric.leakDetection} system property is set, since searching
+ * the heap is slow.
+ */
+public final class LeakDetector {
+
+  private static final int MAX_GC_ATTEMPTS = 5;
+  private static final int MAX_OBJECTS_SEARCHED = 2_000_000;
+
+  private static final List<WatchedObject> watchedObjects = new ArrayList<>();
+
+  private LeakDetector() {}
+
+  public static boolean isEnabled() {
+    return Boolean.getBoolean("robolectric.leakDetection");
+  }
+
+  /**
+   * Watches {@code object}, if leak detection is enabled, to check whether it outlives the test.
+   *
+   * @param description what the object is, e.g. "Activity"
+   */
+  public static void watch(Object object, String description) {
+    if (object == null || !isEnabled()) {
+      return;
+    }
+    synchronized (watchedObjects) {
+      watchedObjects.add(new WatchedObject(object, description));
+    }
+  }
+
+  /**
+   * Returns the watched objects which are still reachable after garbage collection, along with a
+   * path to each from a static field of one of {@code rootClasses}, and stops watching all objects.
+   */
+  public static List<Leak> findLeaks(Collection<Class<?>> rootClasses) {
+    List<WatchedObject> watched;
+    synchronized (watchedObjects) {
+      watched = new ArrayList<>(watchedObjects);
+      watchedObjects.clear();
+    }
+
+    Map<Object, WatchedObject> survivors = new IdentityHashMap<>();
+    for (int i = 0; i < MAX_GC_ATTEMPTS; i++) {
+      System.gc();
+      System.runFinalization();
+      survivors.clear();
+      for (WatchedObject watchedObject : watched) {
+        Object object = watchedObject.get();
+        if (object != null) {
+          survivors.put(object, watchedObject);
+        }
+      }
+      if (survivors.isEmpty()) {
+        return Collections.emptyList();
+      }
+    }
+
+    List<Leak> leaks = new ArrayList<>();
+    new PathFinder(survivors, leaks).search(rootClasses);
+    for (Map.Entry<Object, WatchedObject> survivor : survivors.entrySet()) {
+      leaks.add(new Leak(describe(survivor.getKey(), survivor.getValue()), null));
+    }
+    return leaks;
+  }
+
+  private static String describe(Object object, WatchedObject watchedObject) {
+    return watchedObject.description + " " + object.getClass().getName() + "@"
+        + Integer.toHexString(System.identityHashCode(object));
+  }
+
+  /** An object which outlived its test. */
+  public static class Leak {
+    private final String description;
+    private final String path;
+
+    Leak(String description, String path) {
+      this.description = description;
+      this.path = path;
+    }
+
+    public String getDescription() {
+      return description;
+    }
+
+    /**
+     * Returns the path from a static field to the object, e.g. {@code
+     * com.example.Cache.instance.listeners[0].activity}, or null if none was found, e.g. because
+     * the object is only held by a thread.
+     */
+    public String getPath() {
+      return path;
+    }
+
+    @Override
+    public String toString() {
+      return description + (path == null ? " (root not found)" : " held by " + path);
+    }
+  }
+
+  private static class WatchedObject extends WeakReference<Object> {
+    private final String description;
+
+    WatchedObject(Object object, String description) {
+      super(object);
+      this.description = description;
+    }
+  }
+
+  /** Breadth-first search from static fields, so the shortest path to each object is found. */
+  private static class PathFinder {
+    private final Map<Object, WatchedObject> targets;
+    private final List<Leak> leaks;
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final ArrayDeque<Node> queue = new ArrayDeque<>();
+    private final Map<Class<?>, List<Field>> instanceFields = new HashMap<>();
+
+    PathFinder(Map<Object, WatchedObject> targets, List<Leak> leaks) {
+      this.targets = targets;
+      this.leaks = leaks;
+    }
+
+    void search(Collection<Class<?>> rootClasses) {
+      for (Class<?> rootClass : rootClasses) {
+        for (Field field : getDeclaredFields(rootClass)) {
+          if (Modifier.isStatic(field.getModifiers()) && !field.getType().isPrimitive()) {
+            enqueue(get(field, null), null, rootClass.getName() + "." + field.getName());
+          }
+        }
+      }
+
+      while (!queue.isEmpty() && !targets.isEmpty() && visited.size() < MAX_OBJECTS_SEARCHED) {
+        Node node = queue.poll();
+        WatchedObject watchedObject = targets.remove(node.object);
+        if (watchedObject != null) {
+          leaks.add(new Leak(describe(node.object, watchedObject), node.path()));
+        }
+        enqueueReferents(node);
+      }
+    }
+
+    private void enqueueReferents(Node node) {
+      Object object = node.object;
+      Class<?> type = object.getClass();
+      if (object instanceof Class) {
+        // its static fields are only searched if it's one of the root classes
+      } else if (type.isArray()) {
+        if (!type.getComponentType().isPrimitive()) {
+          for (int i = 0; i < Array.getLength(object); i++) {
+            enqueue(Array.get(object, i), node, "[" + i + "]");
+          }
+        }
+      } else if (isPlatformClass(type) && object instanceof Map) {
+        try {
+          for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+            enqueue(entry.getKey(), node, ".keySet()");
+            enqueue(entry.getValue(), node, ".get(" + describeKey(entry.getKey()) + ")");
+          }
+        } catch (RuntimeException e) {
+          // e.g. ConcurrentModificationException
+        }
+      } else if (isPlatformClass(type) && object instanceof Collection) {
+        try {
+          int i = 0;
+          for (Object element : (Collection<?>) object) {
+            enqueue(element, node, "[" + i++ + "]");
+          }
+        } catch (RuntimeException e) {
+          // e.g. ConcurrentModificationException
+        }
+      } else {
+        for (Field field : getInstanceFields(type)) {
+          enqueue(get(field, object), node, "." + field.getName());
+        }
+      }
+    }
+
+    private void enqueue(Object object, Node parent, String name) {
+      if (object != null && visited.add(object)) {
+        queue.add(new Node(object, parent, name));
+      }
+    }
+
+    private List<Field> getInstanceFields(Class<?> type) {
+      List<Field> fields = instanceFields.get(type);
+      if (fields == null) {
+        fields = new ArrayList<>();
+        // weak, soft and phantom references don't keep their referents alive
+        for (Class<?> c = type; c != null && c != Reference.class; c = c.getSuperclass()) {
+          for (Field field : getDeclaredFields(c)) {
+            if (!Modifier.isStatic(field.getModifiers())
+                && !field.getType().isPrimitive()
+                && makeAccessible(field)) {
+              fields.add(field);
+            }
+          }
+        }
+        instanceFields.put(type, fields);
+      }
+      return fields;
+    }
+
+    private static Field[] getDeclaredFields(Class<?> type) {
+      try {
+        return type.getDeclaredFields();
+      } catch (LinkageError e) {
+        return new Field[0];
+      }
+    }
+
+    private static boolean makeAccessible(Field field) {
+      try {
+        field.setAccessible(true);
+        return true;
+      } catch (RuntimeException e) {
+        // e.g. fields of JDK classes on Java 9+, unless their packages are opened
+        return false;
+      }
+    }
+
+    private static Object get(Field field, Object object) {
+      if (object == null && !makeAccessible(field)) {
+        return null;
+      }
+      try {
+        return field.get(object);
+      } catch (IllegalAccessException | RuntimeException | LinkageError e) {
+        return null;
+      }
+    }
+
+    private static boolean isPlatformClass(Class<?> type) {
+      String name = type.getName();
+      return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("sun.");
+    }
+
+    private static String describeKey(Object key) {
+      if (key instanceof String) {
+        return "\"" + key + "\"";
+      } else if (key instanceof Number || key instanceof Enum || key instanceof Character
+          || key instanceof Boolean) {
+        return String.valueOf(key);
+      } else {
+        return key == null ? "null" : key.getClass().getSimpleName();
+      }
+    }
+  }
+
+  private static class Node {
+    private final Object object;
+    private final Node parent;
+    private final String name;
+
+    Node(Object object, Node parent, String name) {
+      this.object = object;
+      this.parent = parent;
+      this.name = name;
+    }
+
+    String path() {
+      StringBuilder path = new StringBuilder();
+      for (Node node = this; node != null; node = node.parent) {
+        path.insert(0, node.name);
+      }
+      return path.toString();
+    }
+  }
+}
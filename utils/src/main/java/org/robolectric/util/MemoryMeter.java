@@ -0,0 +1,21 @@
+package org.robolectric.util;
+
+interface MemoryMeter {
+  MemoryMeter NONE = new MemoryMeter() {
+    @Override
+    public long allocatedBytes(long threadId) {
+      return 0;
+    }
+
+    @Override
+    public long heapUsedBytes() {
+      return 0;
+    }
+  };
+
+  /** Returns the total number of bytes allocated so far by the given thread. */
+  long allocatedBytes(long threadId);
+
+  /** Returns the number of bytes of heap in use. */
+  long heapUsedBytes();
+}
@@ -8,6 +8,13 @@ import java.util.Map;
 /**
  * Collects performance statistics for later reporting via {@link PerfStatsReporter}.
  *
+ * Besides elapsed time, events can record the bytes allocated by the thread that started them,
+ * where the JVM supports it, if {@link #setAllocationTrackingEnabled(boolean) enabled}; since that
+ * queries the JVM at each end of every event, it's off by default. Events started with {@link
+ * #startEvent(String, boolean)} can also record the change in heap usage, if {@link
+ * #setHeapTrackingEnabled(boolean) enabled}; since that requires a garbage collection at each end,
+ * it's off by default too.
+ *
  * @since 3.6
  */
 public class PerfStatsCollector {
@@ -15,16 +22,24 @@ public class PerfStatsCollector {
   private static final PerfStatsCollector INSTANCE = new PerfStatsCollector();
 
   private final Clock clock;
+  private final MemoryMeter memoryMeter;
   private final Map<Class<?>, Object> metadata = new HashMap<>();
   private final Map<MetricKey, Metric> metricMap = new HashMap<>();
   private boolean enabled = true;
+  private boolean allocationTrackingEnabled;
+  private boolean heapTrackingEnabled;
 
   public PerfStatsCollector() {
-    this(System::nanoTime);
+    this(System::nanoTime, JvmMemoryMeter.create());
   }
 
   PerfStatsCollector(Clock clock) {
+    this(clock, MemoryMeter.NONE);
+  }
+
+  PerfStatsCollector(Clock clock, MemoryMeter memoryMeter) {
     this.clock = clock;
+    this.memoryMeter = memoryMeter;
   }
 
   public static PerfStatsCollector getInstance() {
@@ -38,8 +53,33 @@ public class PerfStatsCollector {
     this.enabled = isEnabled;
   }
 
+  /**
+   * If enabled, events record the bytes allocated between their start and finish by the thread
+   * that started them.
+   */
+  public void setAllocationTrackingEnabled(boolean isEnabled) {
+    this.allocationTrackingEnabled = isEnabled;
+  }
+
+  /**
+   * If enabled, events started with {@link #startEvent(String, boolean)} record the change in
+   * heap usage between their start and finish, measured after a garbage collection.
+   */
+  public void setHeapTrackingEnabled(boolean isEnabled) {
+    this.heapTrackingEnabled = isEnabled;
+  }
+
   public Event startEvent(String eventName) {
-    return new Event(eventName);
+    return startEvent(eventName, false);
+  }
+
+  /**
+   * Starts an event which also records the change in heap usage, if {@link
+   * #setHeapTrackingEnabled(boolean) heap tracking} is enabled. Meant for infrequent events such
+   * as the phases of a test.
+   */
+  public Event startEvent(String eventName, boolean trackHeap) {
+    return new Event(eventName, trackHeap && enabled && heapTrackingEnabled);
   }
 
   public <T, E extends Exception> T measure(String eventName, ThrowingSupplier<T, E> supplier)
@@ -112,10 +152,20 @@ public class PerfStatsCollector {
    */
   public class Event {
     private final String name;
+    private final long threadId;
+    private final boolean trackAllocations;
+    private final boolean trackHeap;
+    private final long startHeapUsedBytes;
+    private final long startAllocatedBytes;
     private final long startTimeNs;
 
-    Event(String name) {
+    Event(String name, boolean trackHeap) {
       this.name = name;
+      this.threadId = Thread.currentThread().getId();
+      this.trackAllocations = enabled && allocationTrackingEnabled;
+      this.trackHeap = trackHeap;
+      this.startHeapUsedBytes = trackHeap ? memoryMeter.heapUsedBytes() : 0;
+      this.startAllocatedBytes = trackAllocations ? memoryMeter.allocatedBytes(threadId) : 0;
       this.startTimeNs = clock.nanoTime();
     }
 
@@ -128,6 +178,12 @@ public class PerfStatsCollector {
         return;
       }
 
+      long elapsedNs = clock.nanoTime() - startTimeNs;
+      long allocatedBytes = trackAllocations
+          ? Math.max(memoryMeter.allocatedBytes(threadId) - startAllocatedBytes, 0)
+          : 0;
+      long heapDeltaBytes = trackHeap ? memoryMeter.heapUsedBytes() - startHeapUsedBytes : 0;
+
       synchronized (PerfStatsCollector.this) {
         MetricKey key = new MetricKey(name, success);
         Metric metric = metricMap.get(key);
@@ -135,7 +191,9 @@ public class PerfStatsCollector {
           metricMap.put(key, metric = new Metric(key.name, key.success));
         }
         metric.count++;
-        metric.elapsedNs += clock.nanoTime() - startTimeNs;
+        metric.elapsedNs += elapsedNs;
+        metric.allocatedBytes += allocatedBytes;
+        metric.heapDeltaBytes += heapDeltaBytes;
       }
     }
   }
@@ -147,12 +205,21 @@ public class PerfStatsCollector {
     private final String name;
     private int count;
     private long elapsedNs;
+    private long allocatedBytes;
+    private long heapDeltaBytes;
     private final boolean success;
 
     public Metric(String name, int count, int elapsedNs, boolean success) {
+      this(name, count, elapsedNs, 0, 0, success);
+    }
+
+    public Metric(String name, int count, long elapsedNs, long allocatedBytes,
+        long heapDeltaBytes, boolean success) {
       this.name = name;
       this.count = count;
       this.elapsedNs = elapsedNs;
+      this.allocatedBytes = allocatedBytes;
+      this.heapDeltaBytes = heapDeltaBytes;
       this.success = success;
     }
 
@@ -172,6 +239,22 @@ public class PerfStatsCollector {
       return elapsedNs;
     }
 
+    /**
+     * Returns the total bytes allocated during these events by the threads which started them, or 0
+     * unless allocation tracking was enabled and the JVM can measure allocations.
+     */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    /**
+     * Returns the total change in heap usage across these events, measured after garbage
+     * collections, so roughly the memory they retained; 0 unless heap tracking was enabled.
+     */
+    public long getHeapDeltaBytes() {
+      return heapDeltaBytes;
+    }
+
     public boolean isSuccess() {
       return success;
     }
@@ -193,6 +276,12 @@ public class PerfStatsCollector {
       if (elapsedNs != metric.elapsedNs) {
         return false;
       }
+      if (allocatedBytes != metric.allocatedBytes) {
+        return false;
+      }
+      if (heapDeltaBytes != metric.heapDeltaBytes) {
+        return false;
+      }
       if (success != metric.success) {
         return false;
       }
@@ -204,6 +293,8 @@ public class PerfStatsCollector {
       int result = name != null ? name.hashCode() : 0;
       result = 31 * result + count;
       result = 31 * result + (int) (elapsedNs ^ (elapsedNs >>> 32));
+      result = 31 * result + (int) (allocatedBytes ^ (allocatedBytes >>> 32));
+      result = 31 * result + (int) (heapDeltaBytes ^ (heapDeltaBytes >>> 32));
       result = 31 * result + (success ? 1 : 0);
       return result;
     }
@@ -214,6 +305,8 @@ public class PerfStatsCollector {
           + "name='" + name + '\''
           + ", count=" + count
           + ", elapsedNs=" + elapsedNs
+          + ", allocatedBytes=" + allocatedBytes
+          + ", heapDeltaBytes=" + heapDeltaBytes
           + ", success=" + success
           + '}';
     }
@@ -4,6 +4,16 @@ import java.util.Collection;
 import org.robolectric.util.PerfStatsCollector.Metadata;
 import org.robolectric.util.PerfStatsCollector.Metric;
 
+/**
+ * Receives the performance stats collected for each test.
+ *
+ * The metrics include one for each phase of the test: {@code initialization} (which includes
+ * {@code application onCreate()}), {@code test} and {@code reset}. If allocation tracking is
+ * enabled with the {@code robolectric.perfStats.trackAllocations} system property, their allocated
+ * bytes add up to the test thread's allocations, and if heap tracking is enabled with the {@code
+ * robolectric.perfStats.trackHeap} system property, their heap deltas add up to the memory it
+ * retained.
+ */
 public interface PerfStatsReporter {
 
   /**
@@ -5,7 +5,9 @@ import static org.robolectric.util.Scheduler.IdleState.PAUSED;
 import static org.robolectric.util.Scheduler.IdleState.UNPAUSED;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -26,6 +28,9 @@ import java.util.concurrent.TimeUnit;
  *       the Scheduler will continue looping through posted events (including future events),
  *       advancing its clock as it goes.
  * </ul>
+ *
+ * <p>Runnables are kept in a {@link PriorityQueue}, see {@link IndexedScheduler} for an
+ * implementation better suited to posting and removing large numbers of runnables.
  */
 public class Scheduler {
 
@@ -59,8 +64,17 @@ public class Scheduler {
 
   private boolean isExecutingRunnable = false;
   private final Thread associatedThread = Thread.currentThread();
-  private final PriorityQueue<ScheduledRunnable> runnables = new PriorityQueue<>();
+  private final RunnableQueue runnables;
   private volatile IdleState idleState = UNPAUSED;
+  private final List<Runnable> timeListeners = new CopyOnWriteArrayList<>();
+
+  public Scheduler() {
+    this(new PriorityRunnableQueue());
+  }
+
+  Scheduler(RunnableQueue runnables) {
+    this.runnables = runnables;
+  }
 
   /**
    * Retrieves the current idling state of this <tt>Scheduler</tt>.
@@ -103,6 +117,27 @@ public class Scheduler {
     return currentTime;
   }
 
+  /**
+   * Adds a listener to be called, holding this scheduler's lock, whenever its current time
+   * changes. Listeners must not call back into this scheduler from another thread.
+   */
+  public void addTimeListener(Runnable listener) {
+    timeListeners.add(listener);
+  }
+
+  public void removeTimeListener(Runnable listener) {
+    timeListeners.remove(listener);
+  }
+
+  private void setCurrentTime(long time) {
+    if (time != currentTime) {
+      currentTime = time;
+      for (Runnable listener : timeListeners) {
+        listener.run();
+      }
+    }
+  }
+
   /**
    * Pause the scheduler. Equivalent to <tt>setIdleState(PAUSED)</tt>.
    *
@@ -157,7 +192,7 @@ public class Scheduler {
   public synchronized void postDelayed(Runnable runnable, long delay, TimeUnit unit) {
     long delayMillis = unit.toMillis(delay);
     if ((idleState != CONSTANT_IDLE && (isPaused() || delayMillis > 0)) || Thread.currentThread() != associatedThread) {
-      runnables.add(new ScheduledRunnable(runnable, currentTime + delayMillis));
+      queueRunnable(runnable, currentTime + delayMillis);
     } else {
       runOrQueueRunnable(runnable, currentTime + delayMillis);
     }
@@ -174,9 +209,9 @@ public class Scheduler {
       if (runnables.isEmpty()) {
         timeDisambiguator = nextTimeDisambiguator++;
       } else {
-        timeDisambiguator = runnables.peek().timeDisambiguator - 1;
+        timeDisambiguator = runnables.peekTimeDisambiguator() - 1;
       }
-      runnables.add(new ScheduledRunnable(runnable, 0, timeDisambiguator));
+      runnables.add(runnable, 0, timeDisambiguator);
     } else {
       runOrQueueRunnable(runnable, currentTime);
     }
@@ -188,12 +223,7 @@ public class Scheduler {
    * @param runnable  Runnable to remove.
    */
   public synchronized void remove(Runnable runnable) {
-    Iterator<ScheduledRunnable> iterator = runnables.iterator();
-    while (iterator.hasNext()) {
-      if (iterator.next().runnable == runnable) {
-        iterator.remove();
-      }
-    }
+    runnables.remove(runnable);
   }
 
   /**
@@ -204,10 +234,8 @@ public class Scheduler {
    */
   public synchronized boolean advanceToLastPostedRunnable() {
     long currentMaxTime = currentTime;
-    for (ScheduledRunnable scheduled : runnables) {
-      if (currentMaxTime < scheduled.scheduledTime) {
-        currentMaxTime = scheduled.scheduledTime;
-      }
+    if (!runnables.isEmpty() && currentMaxTime < runnables.maxScheduledTime()) {
+      currentMaxTime = runnables.maxScheduledTime();
     }
     return advanceTo(currentMaxTime);
   }
@@ -218,7 +246,7 @@ public class Scheduler {
    * @return  True if a runnable was executed.
    */
   public synchronized boolean advanceToNextPostedRunnable() {
-    return !runnables.isEmpty() && advanceTo(runnables.peek().scheduledTime);
+    return !runnables.isEmpty() && advanceTo(runnables.peekScheduledTime());
   }
 
   /**
@@ -251,7 +279,7 @@ public class Scheduler {
    */
   public synchronized boolean advanceTo(long endTime) {
     if (endTime < currentTime || runnables.isEmpty()) {
-      currentTime = endTime;
+      setCurrentTime(endTime);
       return false;
     }
 
@@ -260,7 +288,7 @@ public class Scheduler {
       runOneTask();
       ++runCount;
     }
-    currentTime = endTime;
+    setCurrentTime(endTime);
     return runCount > 0;
   }
 
@@ -270,15 +298,16 @@ public class Scheduler {
    * @return  True if a runnable was executed.
    */
   public synchronized boolean runOneTask() {
-    ScheduledRunnable postedRunnable = runnables.poll();
-    if (postedRunnable != null) {
-      if (postedRunnable.scheduledTime > currentTime) {
-        currentTime = postedRunnable.scheduledTime;
-      }
-      postedRunnable.run();
-      return true;
+    if (runnables.isEmpty()) {
+      return false;
+    }
+    long scheduledTime = runnables.peekScheduledTime();
+    Runnable postedRunnable = runnables.poll();
+    if (scheduledTime > currentTime) {
+      setCurrentTime(scheduledTime);
     }
-    return false;
+    runExclusively(postedRunnable);
+    return true;
   }
 
   /**
@@ -296,7 +325,7 @@ public class Scheduler {
   public synchronized void reset() {
     runnables.clear();
     idleState = UNPAUSED;
-    currentTime = START_TIME;
+    setCurrentTime(START_TIME);
     isExecutingRunnable = false;
   }
 
@@ -325,22 +354,30 @@ public class Scheduler {
   }
 
   private boolean nextTaskIsScheduledBefore(long endingTime) {
-    return !runnables.isEmpty() && runnables.peek().scheduledTime <= endingTime;
+    return !runnables.isEmpty() && runnables.peekScheduledTime() <= endingTime;
   }
 
-  private void runOrQueueRunnable(Runnable runnable, long scheduledTime) {
-    if (isExecutingRunnable) {
-      runnables.add(new ScheduledRunnable(runnable, scheduledTime));
-      return;
-    }
+  private void queueRunnable(Runnable runnable, long scheduledTime) {
+    runnables.add(runnable, scheduledTime, nextTimeDisambiguator++);
+  }
+
+  private void runExclusively(Runnable runnable) {
     isExecutingRunnable = true;
     try {
       runnable.run();
     } finally {
       isExecutingRunnable = false;
     }
+  }
+
+  private void runOrQueueRunnable(Runnable runnable, long scheduledTime) {
+    if (isExecutingRunnable) {
+      queueRunnable(runnable, scheduledTime);
+      return;
+    }
+    runExclusively(runnable);
     if (scheduledTime > currentTime) {
-      currentTime = scheduledTime;
+      setCurrentTime(scheduledTime);
     }
     // The runnable we just ran may have queued other runnables. If there are
     // any pending immediate execution we should run these now too, unless we are
@@ -356,15 +393,101 @@ public class Scheduler {
     }
   }
 
-  private class ScheduledRunnable implements Comparable<ScheduledRunnable> {
+  /**
+   * Runnables waiting to be run, ordered by scheduled time and then by time disambiguator.
+   *
+   * <p>Implementations are only accessed while holding the {@link Scheduler}'s lock.
+   */
+  interface RunnableQueue {
+    void add(Runnable runnable, long scheduledTime, long timeDisambiguator);
+
+    /** Removes all queued instances of {@code runnable}. */
+    void remove(Runnable runnable);
+
+    /** Removes and returns the first runnable. Must not be called when empty. */
+    Runnable poll();
+
+    /** Returns the scheduled time of the first runnable. Must not be called when empty. */
+    long peekScheduledTime();
+
+    /** Returns the time disambiguator of the first runnable. Must not be called when empty. */
+    long peekTimeDisambiguator();
+
+    /** Returns the latest scheduled time of all runnables. Must not be called when empty. */
+    long maxScheduledTime();
+
+    boolean isEmpty();
+
+    int size();
+
+    void clear();
+  }
+
+  private static class PriorityRunnableQueue implements RunnableQueue {
+    private final PriorityQueue<ScheduledRunnable> runnables = new PriorityQueue<>();
+
+    @Override
+    public void add(Runnable runnable, long scheduledTime, long timeDisambiguator) {
+      runnables.add(new ScheduledRunnable(runnable, scheduledTime, timeDisambiguator));
+    }
+
+    @Override
+    public void remove(Runnable runnable) {
+      Iterator<ScheduledRunnable> iterator = runnables.iterator();
+      while (iterator.hasNext()) {
+        if (iterator.next().runnable == runnable) {
+          iterator.remove();
+        }
+      }
+    }
+
+    @Override
+    public Runnable poll() {
+      return runnables.poll().runnable;
+    }
+
+    @Override
+    public long peekScheduledTime() {
+      return runnables.peek().scheduledTime;
+    }
+
+    @Override
+    public long peekTimeDisambiguator() {
+      return runnables.peek().timeDisambiguator;
+    }
+
+    @Override
+    public long maxScheduledTime() {
+      long maxTime = Long.MIN_VALUE;
+      for (ScheduledRunnable scheduled : runnables) {
+        if (maxTime < scheduled.scheduledTime) {
+          maxTime = scheduled.scheduledTime;
+        }
+      }
+      return maxTime;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return runnables.isEmpty();
+    }
+
+    @Override
+    public int size() {
+      return runnables.size();
+    }
+
+    @Override
+    public void clear() {
+      runnables.clear();
+    }
+  }
+
+  private static class ScheduledRunnable implements Comparable<ScheduledRunnable> {
     private final Runnable runnable;
     private final long scheduledTime;
     private final long timeDisambiguator;
 
-    private ScheduledRunnable(Runnable runnable, long scheduledTime) {
-      this(runnable, scheduledTime, nextTimeDisambiguator++);
-    }
-
     private ScheduledRunnable(Runnable runnable, long scheduledTime, long timeDisambiguator) {
       this.runnable = runnable;
       this.scheduledTime = scheduledTime;
@@ -379,14 +502,5 @@ public class Scheduler {
       }
       return timeCompare;
     }
-
-    public void run() {
-      isExecutingRunnable = true;
-      try {
-        runnable.run();
-      } finally {
-        isExecutingRunnable = false;
-      }
-    }
   }
 }
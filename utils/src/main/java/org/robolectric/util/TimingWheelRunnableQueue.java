@@ -0,0 +1,351 @@
+package org.robolectric.util;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * {@link Scheduler.RunnableQueue} backed by a timing wheel, used by {@link IndexedScheduler}.
+ *
+ * <p>The wheel has one slot per millisecond for the {@link #WHEEL_SIZE} milliseconds starting at
+ * {@link #wheelStart}, so each slot holds the runnables of exactly one scheduled time, as a linked
+ * list in time disambiguator order. Runnables scheduled outside of that window (far in the future,
+ * or before the window after the clock has moved on) are kept in an indexed binary heap, and are
+ * moved into the wheel as the window slides forward.
+ *
+ * <p>Every queued entry is also reachable from its runnable, so posting and removing a runnable
+ * scheduled inside the window are constant time, and the first runnable is found with a scan of
+ * the slot occupancy bitmap.
+ */
+class TimingWheelRunnableQueue implements Scheduler.RunnableQueue {
+  static final int WHEEL_SIZE = 2048;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final int NOT_IN_HEAP = -1;
+
+  private final Entry[] slotHeads = new Entry[WHEEL_SIZE];
+  private final Entry[] slotTails = new Entry[WHEEL_SIZE];
+  private final long[] occupiedSlots = new long[WHEEL_SIZE / Long.SIZE];
+  private long wheelStart = 0;
+  private int wheelCount = 0;
+
+  private Entry[] heap = new Entry[16];
+  private int heapCount = 0;
+
+  /** Queued entries by runnable, chained through {@link Entry#nextForRunnable}. */
+  private final Map<Runnable, Entry> entriesByRunnable = new IdentityHashMap<>();
+
+  /**
+   * Latest scheduled time. Only an upper bound once {@link #maxTimeCount} drops to zero, in which
+   * case it's recomputed on demand.
+   */
+  private long maxTime = Long.MIN_VALUE;
+  /** Number of entries scheduled at {@link #maxTime}. */
+  private int maxTimeCount = 0;
+
+  private static final class Entry {
+    private final Runnable runnable;
+    private final long scheduledTime;
+    private final long timeDisambiguator;
+    private Entry previousInSlot;
+    private Entry nextInSlot;
+    private int heapIndex = NOT_IN_HEAP;
+    private Entry nextForRunnable;
+
+    private Entry(Runnable runnable, long scheduledTime, long timeDisambiguator) {
+      this.runnable = runnable;
+      this.scheduledTime = scheduledTime;
+      this.timeDisambiguator = timeDisambiguator;
+    }
+
+    private boolean isBefore(Entry that) {
+      return scheduledTime < that.scheduledTime
+          || (scheduledTime == that.scheduledTime && timeDisambiguator < that.timeDisambiguator);
+    }
+  }
+
+  @Override
+  public void add(Runnable runnable, long scheduledTime, long timeDisambiguator) {
+    Entry entry = new Entry(runnable, scheduledTime, timeDisambiguator);
+    entry.nextForRunnable = entriesByRunnable.put(runnable, entry);
+    insert(entry);
+
+    if (scheduledTime > maxTime) {
+      maxTime = scheduledTime;
+      maxTimeCount = 1;
+    } else if (scheduledTime == maxTime) {
+      maxTimeCount++;
+    }
+  }
+
+  @Override
+  public void remove(Runnable runnable) {
+    Entry entry = entriesByRunnable.remove(runnable);
+    while (entry != null) {
+      detach(entry);
+      entry = entry.nextForRunnable;
+    }
+  }
+
+  @Override
+  public Runnable poll() {
+    Entry first = first();
+    detach(first);
+    unlinkFromRunnable(first);
+    // nothing queued is scheduled before this entry, so the window can start there
+    slideTo(first.scheduledTime);
+    return first.runnable;
+  }
+
+  @Override
+  public long peekScheduledTime() {
+    return first().scheduledTime;
+  }
+
+  @Override
+  public long peekTimeDisambiguator() {
+    return first().timeDisambiguator;
+  }
+
+  @Override
+  public long maxScheduledTime() {
+    if (maxTimeCount == 0) {
+      recomputeMaxTime();
+    }
+    return maxTime;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return wheelCount == 0 && heapCount == 0;
+  }
+
+  @Override
+  public int size() {
+    return wheelCount + heapCount;
+  }
+
+  @Override
+  public void clear() {
+    Arrays.fill(slotHeads, null);
+    Arrays.fill(slotTails, null);
+    Arrays.fill(occupiedSlots, 0);
+    Arrays.fill(heap, 0, heapCount, null);
+    wheelStart = 0;
+    wheelCount = 0;
+    heapCount = 0;
+    entriesByRunnable.clear();
+    maxTime = Long.MIN_VALUE;
+    maxTimeCount = 0;
+  }
+
+  private boolean isInWheel(long scheduledTime) {
+    return scheduledTime >= wheelStart && scheduledTime - wheelStart < WHEEL_SIZE;
+  }
+
+  private void insert(Entry entry) {
+    if (isInWheel(entry.scheduledTime)) {
+      addToSlot(entry);
+    } else {
+      addToHeap(entry);
+    }
+  }
+
+  /** Removes {@code entry} from the wheel or the heap, leaving the runnable index untouched. */
+  private void detach(Entry entry) {
+    if (entry.heapIndex != NOT_IN_HEAP) {
+      removeFromHeap(entry);
+    } else {
+      removeFromSlot(entry);
+    }
+    if (entry.scheduledTime == maxTime) {
+      maxTimeCount--;
+    }
+  }
+
+  private void unlinkFromRunnable(Entry entry) {
+    Entry head = entriesByRunnable.get(entry.runnable);
+    if (head == entry) {
+      if (entry.nextForRunnable == null) {
+        entriesByRunnable.remove(entry.runnable);
+      } else {
+        entriesByRunnable.put(entry.runnable, entry.nextForRunnable);
+      }
+      return;
+    }
+    for (Entry previous = head; previous != null; previous = previous.nextForRunnable) {
+      if (previous.nextForRunnable == entry) {
+        previous.nextForRunnable = entry.nextForRunnable;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Returns the first entry. Entries in the heap scheduled before the window come first, then the
+   * wheel, then the rest of the heap, which is all scheduled after the window.
+   */
+  private Entry first() {
+    if (heapCount > 0 && (wheelCount == 0 || heap[0].scheduledTime < wheelStart)) {
+      return heap[0];
+    }
+    return slotHeads[firstOccupiedSlot()];
+  }
+
+  /**
+   * Moves the window to start at {@code time}, which must not be after any queued entry, pulling
+   * in heap entries that now fall inside it.
+   */
+  private void slideTo(long time) {
+    if (time <= wheelStart) {
+      return;
+    }
+    wheelStart = time;
+    while (heapCount > 0 && isInWheel(heap[0].scheduledTime)) {
+      Entry entry = heap[0];
+      removeFromHeap(entry);
+      addToSlot(entry);
+    }
+  }
+
+  private void recomputeMaxTime() {
+    maxTime = Long.MIN_VALUE;
+    maxTimeCount = 0;
+    for (Entry head : entriesByRunnable.values()) {
+      for (Entry entry = head; entry != null; entry = entry.nextForRunnable) {
+        if (entry.scheduledTime > maxTime) {
+          maxTime = entry.scheduledTime;
+          maxTimeCount = 1;
+        } else if (entry.scheduledTime == maxTime) {
+          maxTimeCount++;
+        }
+      }
+    }
+  }
+
+  // wheel
+
+  private void addToSlot(Entry entry) {
+    int slot = (int) (entry.scheduledTime & WHEEL_MASK);
+    Entry tail = slotTails[slot];
+    if (tail == null) {
+      slotHeads[slot] = entry;
+      slotTails[slot] = entry;
+      occupiedSlots[slot >>> 6] |= 1L << slot;
+    } else if (!entry.isBefore(tail)) {
+      tail.nextInSlot = entry;
+      entry.previousInSlot = tail;
+      slotTails[slot] = entry;
+    } else {
+      // only runnables posted at the front of the queue go before ones already queued
+      Entry next = tail;
+      while (next.previousInSlot != null && entry.isBefore(next.previousInSlot)) {
+        next = next.previousInSlot;
+      }
+      entry.nextInSlot = next;
+      entry.previousInSlot = next.previousInSlot;
+      if (next.previousInSlot == null) {
+        slotHeads[slot] = entry;
+      } else {
+        next.previousInSlot.nextInSlot = entry;
+      }
+      next.previousInSlot = entry;
+    }
+    wheelCount++;
+  }
+
+  private void removeFromSlot(Entry entry) {
+    int slot = (int) (entry.scheduledTime & WHEEL_MASK);
+    if (entry.previousInSlot == null) {
+      slotHeads[slot] = entry.nextInSlot;
+    } else {
+      entry.previousInSlot.nextInSlot = entry.nextInSlot;
+    }
+    if (entry.nextInSlot == null) {
+      slotTails[slot] = entry.previousInSlot;
+    } else {
+      entry.nextInSlot.previousInSlot = entry.previousInSlot;
+    }
+    entry.previousInSlot = null;
+    entry.nextInSlot = null;
+    if (slotHeads[slot] == null) {
+      occupiedSlots[slot >>> 6] &= ~(1L << slot);
+    }
+    wheelCount--;
+  }
+
+  /** Returns the first occupied slot at or after the start of the window, wrapping around. */
+  private int firstOccupiedSlot() {
+    int start = (int) (wheelStart & WHEEL_MASK);
+    int word = start >>> 6;
+    long bits = occupiedSlots[word] & (-1L << start);
+    for (int i = 0; i <= occupiedSlots.length; i++) {
+      if (bits != 0) {
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+      }
+      word = (word + 1) % occupiedSlots.length;
+      bits = occupiedSlots[word];
+    }
+    throw new IllegalStateException("wheel is empty");
+  }
+
+  // heap
+
+  private void addToHeap(Entry entry) {
+    if (heapCount == heap.length) {
+      heap = Arrays.copyOf(heap, heapCount * 2);
+    }
+    entry.heapIndex = heapCount++;
+    heap[entry.heapIndex] = entry;
+    siftUp(entry.heapIndex);
+  }
+
+  private void removeFromHeap(Entry entry) {
+    int index = entry.heapIndex;
+    Entry last = heap[--heapCount];
+    heap[heapCount] = null;
+    entry.heapIndex = NOT_IN_HEAP;
+    if (last != entry) {
+      heap[index] = last;
+      last.heapIndex = index;
+      siftDown(index);
+      siftUp(last.heapIndex);
+    }
+  }
+
+  private void siftUp(int index) {
+    Entry entry = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!entry.isBefore(heap[parent])) {
+        break;
+      }
+      moveInHeap(heap[parent], index);
+      index = parent;
+    }
+    moveInHeap(entry, index);
+  }
+
+  private void siftDown(int index) {
+    Entry entry = heap[index];
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= heapCount) {
+        break;
+      }
+      if (child + 1 < heapCount && heap[child + 1].isBefore(heap[child])) {
+        child++;
+      }
+      if (!heap[child].isBefore(entry)) {
+        break;
+      }
+      moveInHeap(heap[child], index);
+      index = child;
+    }
+    moveInHeap(entry, index);
+  }
+
+  private void moveInHeap(Entry entry, int index) {
+    heap[index] = entry;
+    entry.heapIndex = index;
+  }
+}
@@ -0,0 +1,94 @@
+package org.robolectric.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+/** Runs the {@link SchedulerTest} cases against {@link IndexedScheduler}, plus some of its own. */
+@RunWith(JUnit4.class)
+public class IndexedSchedulerTest extends SchedulerTest {
+  private static final int WHEEL_SIZE = TimingWheelRunnableQueue.WHEEL_SIZE;
+
+  private final IndexedScheduler indexedScheduler = new IndexedScheduler();
+  private final List<String> events = new ArrayList<>();
+
+  @Override
+  Scheduler createScheduler() {
+    return new IndexedScheduler();
+  }
+
+  @Test
+  public void postDelayed_beyondWheel_runsInTimeOrder() {
+    indexedScheduler.pause();
+    indexedScheduler.postDelayed(new Event("far"), 3 * WHEEL_SIZE);
+    indexedScheduler.postDelayed(new Event("farther"), 5 * WHEEL_SIZE);
+    indexedScheduler.postDelayed(new Event("near"), 10);
+    indexedScheduler.postDelayed(new Event("far again"), 3 * WHEEL_SIZE);
+
+    indexedScheduler.advanceToLastPostedRunnable();
+
+    assertThat(events).containsExactly("near", "far", "far again", "farther").inOrder();
+    assertThat(indexedScheduler.getCurrentTime()).isEqualTo(100 + 5 * WHEEL_SIZE);
+  }
+
+  @Test
+  public void remove_shouldRemoveRunnablesInsideAndBeyondWheel() {
+    indexedScheduler.pause();
+    Runnable repeated = new Event("repeated");
+    indexedScheduler.postDelayed(repeated, 1);
+    indexedScheduler.postDelayed(new Event("kept"), 2);
+    indexedScheduler.postDelayed(repeated, 10 * WHEEL_SIZE);
+    indexedScheduler.postDelayed(repeated, 1);
+
+    indexedScheduler.remove(repeated);
+
+    assertThat(indexedScheduler.size()).isEqualTo(1);
+    indexedScheduler.advanceToLastPostedRunnable();
+    assertThat(events).containsExactly("kept");
+    assertThat(indexedScheduler.getCurrentTime()).isEqualTo(102);
+  }
+
+  @Test
+  public void advanceToLastPostedRunnable_afterRemovingLatest_usesRemainingLatest() {
+    indexedScheduler.pause();
+    Runnable latest = new Event("latest");
+    indexedScheduler.postDelayed(new Event("earlier"), 50);
+    indexedScheduler.postDelayed(latest, 500);
+
+    indexedScheduler.remove(latest);
+    indexedScheduler.advanceToLastPostedRunnable();
+
+    assertThat(events).containsExactly("earlier");
+    assertThat(indexedScheduler.getCurrentTime()).isEqualTo(150);
+  }
+
+  @Test
+  public void postDelayed_afterClockMovedPastWheel_keepsFifoOrderAtSameTime() {
+    indexedScheduler.pause();
+    indexedScheduler.advanceBy(4 * WHEEL_SIZE);
+    indexedScheduler.postDelayed(new Event("first"), 5);
+    indexedScheduler.postDelayed(new Event("second"), 5);
+    indexedScheduler.postAtFrontOfQueue(new Event("front"));
+
+    indexedScheduler.advanceBy(5);
+
+    assertThat(events).containsExactly("front", "first", "second").inOrder();
+  }
+
+  private class Event implements Runnable {
+    private final String name;
+
+    Event(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void run() {
+      events.add(name);
+    }
+  }
+}
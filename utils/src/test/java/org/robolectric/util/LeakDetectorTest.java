@@ -0,0 +1,92 @@
+package org.robolectric.util;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import org.robolectric.util.LeakDetector.Leak;
+
+@RunWith(JUnit4.class)
+public class LeakDetectorTest {
+
+  @Before
+  public void setUp() throws Exception {
+    System.setProperty("robolectric.leakDetection", "true");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    System.clearProperty("robolectric.leakDetection");
+    Holder.objects.clear();
+    Holder.cache.clear();
+  }
+
+  @Test
+  public void findLeaks_shouldIgnoreCollectedObjects() throws Exception {
+    LeakDetector.watch(new Leaky(), "Leaky");
+
+    assertThat(LeakDetector.findLeaks(Collections.singletonList(Holder.class))).isEmpty();
+  }
+
+  @Test
+  public void findLeaks_shouldReportPathFromStaticField() throws Exception {
+    Leaky leaky = new Leaky();
+    Holder.cache.put("key", new Leaky());
+    Holder.cache.get("key").next = leaky;
+    LeakDetector.watch(leaky, "Leaky");
+    leaky = null;
+
+    List<Leak> leaks = LeakDetector.findLeaks(Collections.singletonList(Holder.class));
+
+    assertThat(leaks).hasSize(1);
+    assertThat(leaks.get(0).getDescription()).startsWith("Leaky " + Leaky.class.getName() + "@");
+    assertThat(leaks.get(0).getPath())
+        .isEqualTo(Holder.class.getName() + ".cache.get(\"key\").next");
+  }
+
+  @Test
+  public void findLeaks_shouldReportLeakWithoutPath_whenNotHeldByRootClasses() throws Exception {
+    Holder.objects.add(new Leaky());
+    LeakDetector.watch(Holder.objects.get(0), "Leaky");
+
+    List<Leak> leaks = LeakDetector.findLeaks(Collections.emptyList());
+
+    assertThat(leaks).hasSize(1);
+    assertThat(leaks.get(0).getPath()).isNull();
+  }
+
+  @Test
+  public void findLeaks_shouldStopWatching() throws Exception {
+    Holder.objects.add(new Leaky());
+    LeakDetector.watch(Holder.objects.get(0), "Leaky");
+    LeakDetector.findLeaks(Collections.singletonList(Holder.class));
+
+    assertThat(LeakDetector.findLeaks(Collections.singletonList(Holder.class))).isEmpty();
+  }
+
+  @Test
+  public void watch_shouldDoNothing_whenDisabled() throws Exception {
+    System.clearProperty("robolectric.leakDetection");
+    Holder.objects.add(new Leaky());
+    LeakDetector.watch(Holder.objects.get(0), "Leaky");
+
+    assertThat(LeakDetector.findLeaks(Collections.singletonList(Holder.class))).isEmpty();
+  }
+
+  private static class Leaky {
+    Leaky next;
+  }
+
+  private static class Holder {
+    static final List<Object> objects = new ArrayList<>();
+    static final Map<String, Leaky> cache = new HashMap<>();
+  }
+}
@@ -116,6 +116,80 @@ public class PerfStatsCollectorTest {
     assertThat(collector.getMetrics()).isEmpty();
   }
 
+  @Test
+  public void shouldMeasureAllocatedBytesForEvents_onlyIfEnabled() throws Exception {
+    FakeMemoryMeter memoryMeter = new FakeMemoryMeter();
+    collector = new PerfStatsCollector(fakeClock, memoryMeter);
+
+    Event untracked = collector.startEvent("untracked");
+    memoryMeter.allocate(10);
+    untracked.finished();
+
+    collector.setAllocationTrackingEnabled(true);
+
+    Event event = collector.startEvent("event");
+    memoryMeter.allocate(100);
+    event.finished();
+
+    Event otherEvent = collector.startEvent("event");
+    memoryMeter.allocate(50);
+    otherEvent.finished();
+
+    assertThat(collector.getMetrics()).containsExactly(
+        new Metric("untracked", 1, 0, 0, 0, true),
+        new Metric("event", 2, 0, 150, 0, true));
+  }
+
+  @Test
+  public void shouldMeasureHeapDelta_onlyIfRequestedAndEnabled() throws Exception {
+    FakeMemoryMeter memoryMeter = new FakeMemoryMeter();
+    collector = new PerfStatsCollector(fakeClock, memoryMeter);
+    collector.setAllocationTrackingEnabled(true);
+
+    Event untracked = collector.startEvent("untracked", true);
+    memoryMeter.retain(10);
+    untracked.finished();
+
+    collector.setHeapTrackingEnabled(true);
+    Event tracked = collector.startEvent("tracked", true);
+    memoryMeter.retain(20);
+    tracked.finished();
+
+    Event notRequested = collector.startEvent("not requested");
+    memoryMeter.retain(30);
+    notRequested.finished();
+
+    assertThat(collector.getMetrics()).containsExactly(
+        new Metric("untracked", 1, 0, 10, 0, true),
+        new Metric("tracked", 1, 0, 20, 20, true),
+        new Metric("not requested", 1, 0, 30, 0, true));
+  }
+
+  private static class FakeMemoryMeter implements MemoryMeter {
+
+    private long allocatedBytes;
+    private long heapUsedBytes;
+
+    @Override
+    public long allocatedBytes(long threadId) {
+      return allocatedBytes;
+    }
+
+    @Override
+    public long heapUsedBytes() {
+      return heapUsedBytes;
+    }
+
+    public void allocate(long bytes) {
+      allocatedBytes += bytes;
+    }
+
+    public void retain(long bytes) {
+      allocate(bytes);
+      heapUsedBytes += bytes;
+    }
+  }
+
   private static class FakeClock implements Clock {
 
     private int timeNs = 0;
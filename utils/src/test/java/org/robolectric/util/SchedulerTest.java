@@ -20,17 +20,37 @@ import org.junit.runners.JUnit4;
 
 @RunWith(JUnit4.class)
 public class SchedulerTest {
-  private final Scheduler scheduler = new Scheduler();
+  private final Scheduler scheduler = createScheduler();
   private final List<String> transcript = new ArrayList<>();
 
   private long startTime;
-  
+
+  Scheduler createScheduler() {
+    return new Scheduler();
+  }
+
   @Before
   public void setUp() throws Exception {
     scheduler.pause();
     startTime = scheduler.getCurrentTime();
   }
 
+  @Test
+  public void timeListener_isCalledWhenTimeChanges() {
+    List<Long> times = new ArrayList<>();
+    Runnable listener = () -> times.add(scheduler.getCurrentTime());
+    scheduler.addTimeListener(listener);
+
+    scheduler.advanceBy(0);
+    scheduler.advanceBy(10);
+    scheduler.postDelayed(() -> {}, 20);
+    scheduler.runOneTask();
+    scheduler.removeTimeListener(listener);
+    scheduler.advanceBy(10);
+
+    assertThat(times).containsExactly(startTime + 10, startTime + 30).inOrder();
+  }
+
   @Test
   public void whenIdleStateIsConstantIdle_isPausedReturnsFalse() {
     scheduler.setIdleState(CONSTANT_IDLE);